@@ -0,0 +1,60 @@
+package com.example.kpo.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token checks done by {@link JwtAuthenticationFilter} on every API request:
+ * parsing the token once and checking the parsed claims against the user.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private String token;
+    private Claims claims;
+    private UserDetails user;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService("BenchmarkSecretKeyForJwt1234567890", 3_600_000, new SimpleMeterRegistry());
+        token = jwtService.generateToken("ADMIN");
+        claims = jwtService.parseClaims(token);
+        user = new User("ADMIN", "", List.of());
+    }
+
+    @Benchmark
+    public Claims parseClaims() {
+        return jwtService.parseClaims(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(claims, user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken("ADMIN");
+    }
+}
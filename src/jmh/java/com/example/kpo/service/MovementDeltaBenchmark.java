@@ -0,0 +1,109 @@
+package com.example.kpo.service;
+
+import com.example.kpo.entity.Category;
+import com.example.kpo.entity.Movement;
+import com.example.kpo.entity.MovementProduct;
+import com.example.kpo.entity.MovementType;
+import com.example.kpo.entity.Product;
+import com.example.kpo.entity.Warehouse;
+import com.example.kpo.entity.WarehouseProduct;
+import com.example.kpo.repository.WarehouseProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stock delta of an edited movement: {@code aggregateItems} alone and the whole
+ * {@code applyMovementDelta} against an in-memory stock table. Every second line
+ * changes quantity between the two versions; the versions swap on each call, so
+ * stock levels stay bounded however long the benchmark runs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MovementDeltaBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int lines;
+
+    private MovementService movementService;
+    private Movement first;
+    private Movement second;
+    private boolean swapped;
+
+    @Setup
+    public void setUp() {
+        Map<String, WarehouseProduct> stock = new HashMap<>();
+        WarehouseProductRepository warehouseProductRepository = RepositoryStubs.stub(WarehouseProductRepository.class, Map.of(
+                "findByWarehouseAndProduct", args -> Optional.ofNullable(stock.get(key((Warehouse) args[0], (Product) args[1]))),
+                "save", args -> {
+                    WarehouseProduct row = (WarehouseProduct) args[0];
+                    stock.put(key(row.getWarehouse(), row.getProduct()), row);
+                    return row;
+                },
+                "delete", args -> {
+                    WarehouseProduct row = (WarehouseProduct) args[0];
+                    return stock.remove(key(row.getWarehouse(), row.getProduct()));
+                }));
+        movementService = new MovementService(null, null, null, null, null, warehouseProductRepository, null,
+                new SimpleMeterRegistry(), event -> {
+                }, new StockTotalService(null));
+        // the totals are only summed up, nothing commits
+        TransactionSynchronizationManager.initSynchronization();
+
+        Warehouse warehouse = new Warehouse(1L, "Склад", null);
+        Category category = new Category(1L, "Категория");
+        first = new Movement();
+        first.setType(MovementType.INBOUND);
+        first.setWarehouse(warehouse);
+        first.setItems(new ArrayList<>());
+        second = new Movement();
+        second.setType(MovementType.INBOUND);
+        second.setWarehouse(warehouse);
+        second.setItems(new ArrayList<>());
+        for (int line = 0; line < lines; line++) {
+            Product product = new Product((long) line, "Товар " + line, null);
+            product.setCategory(category);
+            first.getItems().add(new MovementProduct(first, product, 10));
+            second.getItems().add(new MovementProduct(second, product, line % 2 == 0 ? 10 : 11));
+            stock.put(key(warehouse, product), new WarehouseProduct(warehouse, product, 1_000));
+        }
+    }
+
+    @Benchmark
+    public Map<Long, MovementService.ProductQuantity> aggregateItems() {
+        return movementService.aggregateItems(first.getItems());
+    }
+
+    @Benchmark
+    public boolean applyMovementDelta() {
+        swapped = !swapped;
+        return swapped
+                ? movementService.applyMovementDelta(first, second)
+                : movementService.applyMovementDelta(second, first);
+    }
+
+    private static String key(Warehouse warehouse, Product product) {
+        return warehouse.getId() + ":" + product.getId();
+    }
+}
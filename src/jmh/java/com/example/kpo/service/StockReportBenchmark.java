@@ -0,0 +1,130 @@
+package com.example.kpo.service;
+
+import com.example.kpo.config.ArchiveProperties;
+import com.example.kpo.dto.StockReportRequest;
+import com.example.kpo.entity.Category;
+import com.example.kpo.entity.Movement;
+import com.example.kpo.entity.MovementProduct;
+import com.example.kpo.entity.MovementType;
+import com.example.kpo.entity.Product;
+import com.example.kpo.entity.Warehouse;
+import com.example.kpo.repository.CategoryRepository;
+import com.example.kpo.repository.MovementArchiveStateRepository;
+import com.example.kpo.repository.MovementRepository;
+import com.example.kpo.repository.WarehouseRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code StockReportService.loadStockData} on synthetic in-memory histories of
+ * {@code lines} movement lines, five per movement, over 200 warehouses and 5,000
+ * products. The largest history needs a few gigabytes of heap, hence the fork settings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class StockReportBenchmark {
+
+    private static final int WAREHOUSES = 200;
+    private static final int PRODUCTS = 5_000;
+    private static final int CATEGORIES = 50;
+    private static final int LINES_PER_MOVEMENT = 5;
+
+    @Param({"10000", "100000", "1000000", "5000000"})
+    public int lines;
+
+    private StockReportService stockReportService;
+    private StockReportRequest request;
+
+    @Setup
+    public void setUp() {
+        List<Movement> history = generateHistory(lines);
+        MovementRepository movementRepository = RepositoryStubs.stub(MovementRepository.class, Map.of(
+                "findAllForReport", args -> history));
+        MovementArchiveStateRepository archiveStateRepository = RepositoryStubs.stub(MovementArchiveStateRepository.class,
+                Map.of("findById", args -> Optional.empty()));
+        MovementArchiveService movementArchiveService = new MovementArchiveService(new ArchiveProperties(),
+                null, null, null, archiveStateRepository, null, null, null, null, null);
+        stockReportService = new StockReportService(movementRepository,
+                RepositoryStubs.stub(WarehouseRepository.class, Map.of()),
+                RepositoryStubs.stub(CategoryRepository.class, Map.of()),
+                movementArchiveService,
+                new SimpleMeterRegistry(),
+                null);
+        request = new StockReportRequest();
+    }
+
+    @Benchmark
+    public List<StockReportService.StockRow> loadStockData() {
+        return stockReportService.loadStockData(request);
+    }
+
+    /**
+     * The first half are inbound deliveries of 10-99 units, the rest mixes further
+     * deliveries with transfers and shipments of 1-3 units. Like the report itself
+     * the generator does not check stock, negative totals are simply left out.
+     */
+    static List<Movement> generateHistory(int lines) {
+        SplittableRandom random = new SplittableRandom(42);
+        Category[] categories = new Category[CATEGORIES];
+        for (int i = 0; i < CATEGORIES; i++) {
+            categories[i] = new Category((long) i + 1, "Категория " + (i + 1));
+        }
+        Product[] products = new Product[PRODUCTS];
+        for (int i = 0; i < PRODUCTS; i++) {
+            products[i] = new Product((long) i + 1, "Товар " + (i + 1), null);
+            products[i].setCategory(categories[i % CATEGORIES]);
+        }
+        Warehouse[] warehouses = new Warehouse[WAREHOUSES];
+        for (int i = 0; i < WAREHOUSES; i++) {
+            warehouses[i] = new Warehouse((long) i + 1, "Склад " + (i + 1), null);
+        }
+
+        int movementCount = Math.max(1, lines / LINES_PER_MOVEMENT);
+        List<Movement> movements = new ArrayList<>(movementCount);
+        LocalDateTime start = LocalDate.of(2020, 1, 1).atStartOfDay();
+        for (int index = 0; index < movementCount; index++) {
+            MovementType type = index < movementCount / 2 || index % 3 == 0
+                    ? MovementType.INBOUND
+                    : index % 3 == 1 ? MovementType.OUTBOUND : MovementType.TRANSFER;
+            Movement movement = new Movement();
+            movement.setId((long) index + 1);
+            movement.setDate(start.plusMinutes(index));
+            movement.setType(type);
+            movement.setWarehouse(warehouses[random.nextInt(WAREHOUSES)]);
+            if (type == MovementType.TRANSFER) {
+                movement.setTargetWarehouse(warehouses[random.nextInt(WAREHOUSES)]);
+            }
+            List<MovementProduct> items = new ArrayList<>(LINES_PER_MOVEMENT);
+            for (int line = 0; line < LINES_PER_MOVEMENT; line++) {
+                int quantity = type == MovementType.INBOUND ? 10 + random.nextInt(90) : 1 + random.nextInt(3);
+                items.add(new MovementProduct(movement, products[random.nextInt(PRODUCTS)], quantity));
+            }
+            movement.setItems(items);
+            movements.add(movement);
+        }
+        return movements;
+    }
+}
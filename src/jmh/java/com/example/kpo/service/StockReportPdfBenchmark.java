@@ -0,0 +1,78 @@
+package com.example.kpo.service;
+
+import com.example.kpo.config.ArchiveProperties;
+import com.example.kpo.dto.StockReportRequest;
+import com.example.kpo.entity.Category;
+import com.example.kpo.entity.Product;
+import com.example.kpo.entity.Warehouse;
+import com.example.kpo.repository.CategoryRepository;
+import com.example.kpo.repository.MovementRepository;
+import com.example.kpo.repository.WarehouseRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PDF rendering of a stock report with {@code rows} stock rows spread over
+ * 20 warehouses and 10 categories, fonts already loaded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StockReportPdfBenchmark {
+
+    private static final int WAREHOUSES = 20;
+    private static final int CATEGORIES = 10;
+
+    @Param({"100", "1000", "10000"})
+    public int rows;
+
+    private StockReportService stockReportService;
+    private String filtersSummary;
+    private List<StockReportService.StockRow> stockRows;
+
+    @Setup
+    public void setUp() {
+        stockReportService = new StockReportService(
+                RepositoryStubs.stub(MovementRepository.class, Map.of()),
+                RepositoryStubs.stub(WarehouseRepository.class, Map.of()),
+                RepositoryStubs.stub(CategoryRepository.class, Map.of()),
+                new MovementArchiveService(new ArchiveProperties(), null, null, null, null, null, null, null, null, null),
+                new SimpleMeterRegistry(),
+                null);
+        filtersSummary = stockReportService.buildFiltersSummary(new StockReportRequest());
+        stockRows = new ArrayList<>(rows);
+        for (int index = 0; index < rows; index++) {
+            Warehouse warehouse = new Warehouse((long) index % WAREHOUSES + 1, "Склад " + (index % WAREHOUSES + 1), null);
+            Product product = new Product((long) index + 1, "Товар " + (index + 1), null);
+            product.setCategory(new Category((long) index % CATEGORIES + 1, "Категория " + (index % CATEGORIES + 1)));
+            stockRows.add(new StockReportService.StockRow(warehouse, product, 1 + index % 500));
+        }
+        stockRows.sort(Comparator.comparing(StockReportService.StockRow::warehouseName)
+                .thenComparing(StockReportService.StockRow::categoryName));
+        stockReportService.renderReport(filtersSummary, stockRows);
+    }
+
+    @Benchmark
+    public byte[] renderReport() {
+        return stockReportService.renderReport(filtersSummary, stockRows);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.kpo.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of the date formats found in existing databases: the canonical
+ * {@code yyyy-MM-dd HH:mm:ss}, ISO with fractions, plain dates, epoch seconds and
+ * epoch milliseconds, plus the formatting used on every write.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocalDateTimeConverterBenchmark {
+
+    private final LocalDateTimeAttributeConverter converter = new LocalDateTimeAttributeConverter();
+    private final LocalDateTime dateTime = LocalDateTime.of(2025, 1, 5, 10, 15, 30);
+
+    @Benchmark
+    public LocalDateTime parse(StoredValue stored) {
+        return converter.convertToEntityAttribute(stored.value);
+    }
+
+    @Benchmark
+    public String format() {
+        return converter.convertToDatabaseColumn(dateTime);
+    }
+
+    @State(Scope.Thread)
+    public static class StoredValue {
+
+        @Param({"2025-01-05 10:15:30", "2025-01-05T10:15:30.123", "2025-01-05", "1736072130", "1736072130123"})
+        public String value;
+    }
+}
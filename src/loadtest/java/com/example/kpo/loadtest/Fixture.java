@@ -0,0 +1,90 @@
+package com.example.kpo.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * What the scenarios need to know about the instance under test: a token and the
+ * ids of existing reference data, read once before the run.
+ */
+final class Fixture {
+
+    final String baseUrl;
+    final String loginBody;
+    final String token;
+    final long[] warehouseIds;
+    final long[] productIds;
+    final long[] employeeIds;
+    final long[] counterpartyIds;
+
+    private Fixture(String baseUrl, String loginBody, String token, long[] warehouseIds, long[] productIds,
+                    long[] employeeIds, long[] counterpartyIds) {
+        this.baseUrl = baseUrl;
+        this.loginBody = loginBody;
+        this.token = token;
+        this.warehouseIds = warehouseIds;
+        this.productIds = productIds;
+        this.employeeIds = employeeIds;
+        this.counterpartyIds = counterpartyIds;
+    }
+
+    static Fixture load(HttpClient client, ObjectMapper objectMapper, LoadTestOptions options)
+            throws IOException, InterruptedException {
+        String loginBody = objectMapper.writeValueAsString(
+                Map.of("username", options.username, "password", options.password));
+        HttpResponse<String> login = client.send(HttpRequest.newBuilder(URI.create(options.baseUrl + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(loginBody))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (login.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with HTTP " + login.statusCode() + ": " + login.body());
+        }
+        String token = objectMapper.readTree(login.body()).get("token").asText();
+        Fixture fixture = new Fixture(options.baseUrl, loginBody, token,
+                ids(client, objectMapper, options.baseUrl, token, "/warehouses"),
+                ids(client, objectMapper, options.baseUrl, token, "/products"),
+                ids(client, objectMapper, options.baseUrl, token, "/employees"),
+                ids(client, objectMapper, options.baseUrl, token, "/counterparties"));
+        if (fixture.warehouseIds.length == 0 || fixture.productIds.length == 0
+                || fixture.employeeIds.length == 0 || fixture.counterpartyIds.length == 0) {
+            throw new IllegalStateException("The instance needs warehouses, products, employees and counterparties;"
+                    + " fill it with the \"generate\" profile first");
+        }
+        return fixture;
+    }
+
+    HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token);
+    }
+
+    static long pick(long[] ids, SplittableRandom random) {
+        return ids[random.nextInt(ids.length)];
+    }
+
+    private static long[] ids(HttpClient client, ObjectMapper objectMapper, String baseUrl, String token, String path)
+            throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " failed with HTTP " + response.statusCode());
+        }
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode node : objectMapper.readTree(response.body())) {
+            ids.add(node.get("id").asLong());
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.kpo.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model HTTP load generator for a running instance. Requests are started
+ * at the configured arrival rate regardless of how fast earlier ones complete,
+ * each on its own virtual thread, and their latencies go into one HdrHistogram
+ * per scenario. The summary is printed and written as JSON; with a baseline it
+ * is compared against an earlier run and the exit code is 1 on a regression.
+ * See the {@code loadtest} profile in the pom for how to launch it.
+ */
+public final class LoadTest {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final LoadTestOptions options;
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final Map<Scenario, Histogram> latencies = new EnumMap<>(Scenario.class);
+    private final Map<Scenario, AtomicLong> errors = new EnumMap<>(Scenario.class);
+    private final Map<Scenario, AtomicLong> dropped = new EnumMap<>(Scenario.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private LoadTest(LoadTestOptions options) {
+        this.options = options;
+        for (Scenario scenario : Scenario.values()) {
+            latencies.put(scenario, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(scenario, new AtomicLong());
+            dropped.put(scenario, new AtomicLong());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException exception) {
+            System.err.println(exception.getMessage());
+            System.exit(2);
+            return;
+        }
+        LoadTest loadTest = new LoadTest(options);
+        System.exit(options.compare != null ? loadTest.compareSaved() : loadTest.run());
+    }
+
+    private int compareSaved() throws IOException {
+        RunSummary baseline = read(options.compare[0]);
+        RunSummary current = read(options.compare[1]);
+        return RunComparison.compare(baseline, current, options.tolerancePercent, System.out) == 0 ? 0 : 1;
+    }
+
+    private int run() throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(executor)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            Fixture fixture = Fixture.load(client, objectMapper, options);
+            Instant startedAt = Instant.now();
+            System.out.printf("Loading %s at %.1f req/s (%s arrivals): %s warm-up, %s measured%n",
+                    options.baseUrl, options.rate, options.poisson ? "poisson" : "constant",
+                    options.warmup, options.duration);
+            generate(client, executor, fixture);
+            awaitInFlight();
+            RunSummary summary = summarize(startedAt);
+            print(summary);
+            Files.createDirectories(options.output.toAbsolutePath().getParent());
+            objectMapper.writeValue(options.output.toFile(), summary);
+            System.out.println("Summary written to " + options.output);
+            if (options.baseline != null) {
+                System.out.println();
+                return RunComparison.compare(read(options.baseline), summary, options.tolerancePercent,
+                        System.out) == 0 ? 0 : 1;
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Starts requests on schedule until the run is over; only requests scheduled
+     * after the warm-up are recorded.
+     */
+    private void generate(HttpClient client, ExecutorService executor, Fixture fixture) {
+        SplittableRandom random = new SplittableRandom(options.seed);
+        Scenario[] weighted = options.mix.entrySet().stream()
+                .flatMap(entry -> Collections.nCopies(entry.getValue(), entry.getKey()).stream())
+                .toArray(Scenario[]::new);
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate;
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup.toNanos();
+        long end = measureFrom + options.duration.toNanos();
+        double intended = start;
+        while (intended < end) {
+            long scheduled = (long) intended;
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Scenario scenario = weighted[random.nextInt(weighted.length)];
+            boolean measured = scheduled >= measureFrom;
+            if (inFlight.incrementAndGet() > options.maxInFlight) {
+                inFlight.decrementAndGet();
+                if (measured) {
+                    dropped.get(scenario).incrementAndGet();
+                }
+            } else {
+                SplittableRandom requestRandom = random.split();
+                executor.execute(() -> send(client, fixture, scenario, requestRandom, scheduled, measured));
+            }
+            intended += options.poisson
+                    ? -Math.log(1 - random.nextDouble()) * meanIntervalNanos
+                    : meanIntervalNanos;
+        }
+    }
+
+    private void send(HttpClient client, Fixture fixture, Scenario scenario, SplittableRandom random,
+                      long scheduled, boolean measured) {
+        boolean failed;
+        try {
+            HttpResponse<Void> response = client.send(scenario.request(fixture, random),
+                    HttpResponse.BodyHandlers.discarding());
+            failed = response.statusCode() >= 400;
+        } catch (IOException exception) {
+            failed = true;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            failed = true;
+        } finally {
+            inFlight.decrementAndGet();
+        }
+        if (measured) {
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduled);
+            latencies.get(scenario).recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+            if (failed) {
+                errors.get(scenario).incrementAndGet();
+            }
+        }
+    }
+
+    private void awaitInFlight() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+        }
+        if (inFlight.get() > 0) {
+            System.err.println(inFlight.get() + " request(s) still running after 60 s are not included");
+        }
+    }
+
+    private RunSummary summarize(Instant startedAt) {
+        double seconds = options.duration.toMillis() / 1000.0;
+        Map<String, RunSummary.EndpointSummary> endpoints = new LinkedHashMap<>();
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        long totalErrors = 0;
+        long totalDropped = 0;
+        for (Scenario scenario : options.mix.keySet()) {
+            Histogram histogram = latencies.get(scenario);
+            endpoints.put(scenario.cliName(), RunSummary.EndpointSummary.of(histogram,
+                    errors.get(scenario).get(), dropped.get(scenario).get(), seconds));
+            total.add(histogram);
+            totalErrors += errors.get(scenario).get();
+            totalDropped += dropped.get(scenario).get();
+        }
+        endpoints.put("all", RunSummary.EndpointSummary.of(total, totalErrors, totalDropped, seconds));
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        options.mix.forEach((scenario, weight) -> mix.put(scenario.cliName(), weight));
+        return new RunSummary(options.baseUrl, startedAt.toString(), options.rate,
+                options.poisson ? "poisson" : "constant", seconds, mix, endpoints);
+    }
+
+    private static void print(RunSummary summary) {
+        System.out.printf("%n%-16s %8s %7s %7s %9s %9s %9s %9s %9s %9s%n", "endpoint", "count", "errors",
+                "dropped", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        summary.endpoints().forEach((name, endpoint) -> System.out.printf(
+                "%-16s %8d %7d %7d %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n", name, endpoint.count(),
+                endpoint.errors(), endpoint.dropped(), endpoint.throughput(), endpoint.p50(), endpoint.p90(),
+                endpoint.p99(), endpoint.p999(), endpoint.max()));
+    }
+
+    private RunSummary read(Path path) throws IOException {
+        return objectMapper.readValue(path.toFile(), RunSummary.class);
+    }
+}
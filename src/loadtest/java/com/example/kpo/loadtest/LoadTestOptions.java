@@ -0,0 +1,123 @@
+package com.example.kpo.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line options of {@link LoadTest}, given as {@code name=value} or
+ * {@code --name=value}.
+ */
+final class LoadTestOptions {
+
+    static final String USAGE = """
+            Options (name=value):
+              base-url      application under test             [http://localhost:8080]
+              username      admin login                        [ADMIN]
+              password      admin password                     []
+              rate          requests started per second        [20]
+              arrival       constant | poisson                 [poisson]
+              warmup        warm-up, not recorded              [10s]
+              duration      measured run                       [60s]
+              max-in-flight requests beyond this are dropped   [1000]
+              mix           scenario weights                   [login=1,createMovement=4,listMovements=1,listProducts=2,warehouseStock=10,report=1]
+              seed          random seed                        [42]
+              output        summary JSON                       [target/loadtest/summary.json]
+              baseline      summary of an earlier run to compare with
+              tolerance     allowed regression in percent      [10]
+            Compare two saved runs without load: compare=<baseline.json>,<current.json>
+            """;
+
+    String baseUrl = "http://localhost:8080";
+    String username = "ADMIN";
+    String password = "";
+    double rate = 20;
+    boolean poisson = true;
+    Duration warmup = Duration.ofSeconds(10);
+    Duration duration = Duration.ofSeconds(60);
+    int maxInFlight = 1000;
+    Map<Scenario, Integer> mix = parseMix("login=1,createMovement=4,listMovements=1,listProducts=2,warehouseStock=10,report=1");
+    long seed = 42;
+    Path output = Path.of("target", "loadtest", "summary.json");
+    Path baseline;
+    double tolerancePercent = 10;
+    Path[] compare;
+
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            String option = arg.startsWith("--") ? arg.substring(2) : arg;
+            if (!option.contains("=")) {
+                throw new IllegalArgumentException("Unexpected argument " + arg + "\n" + USAGE);
+            }
+            String name = option.substring(0, option.indexOf('='));
+            String value = option.substring(option.indexOf('=') + 1);
+            switch (name) {
+                case "base-url" -> options.baseUrl = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "username" -> options.username = value;
+                case "password" -> options.password = value;
+                case "rate" -> options.rate = Double.parseDouble(value);
+                case "arrival" -> options.poisson = switch (value) {
+                    case "poisson" -> true;
+                    case "constant" -> false;
+                    default -> throw new IllegalArgumentException("arrival must be constant or poisson");
+                };
+                case "warmup" -> options.warmup = parseDuration(value);
+                case "duration" -> options.duration = parseDuration(value);
+                case "max-in-flight" -> options.maxInFlight = Integer.parseInt(value);
+                case "mix" -> options.mix = parseMix(value);
+                case "seed" -> options.seed = Long.parseLong(value);
+                case "output" -> options.output = Path.of(value);
+                case "baseline" -> options.baseline = Path.of(value);
+                case "tolerance" -> options.tolerancePercent = Double.parseDouble(value);
+                case "compare" -> {
+                    String[] files = value.split(",");
+                    if (files.length != 2) {
+                        throw new IllegalArgumentException("compare expects <baseline.json>,<current.json>");
+                    }
+                    options.compare = new Path[]{Path.of(files[0]), Path.of(files[1])};
+                }
+                default -> throw new IllegalArgumentException("Unknown option " + name + "\n" + USAGE);
+            }
+        }
+        if (options.rate <= 0) {
+            throw new IllegalArgumentException("rate must be positive");
+        }
+        return options;
+    }
+
+    /**
+     * Accepts {@code 90s}, {@code 5m}, {@code 500ms} or plain seconds.
+     */
+    private static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+
+    private static Map<Scenario, Integer> parseMix(String value) {
+        Map<Scenario, Integer> mix = new LinkedHashMap<>();
+        for (String part : value.split(",")) {
+            String[] weight = part.split("=");
+            if (weight.length != 2) {
+                throw new IllegalArgumentException("mix entries look like scenario=weight, got " + part);
+            }
+            int parsed = Integer.parseInt(weight[1].trim());
+            if (parsed > 0) {
+                mix.put(Scenario.fromCliName(weight[0].trim()), parsed);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("mix has no scenario with a positive weight");
+        }
+        return mix;
+    }
+}
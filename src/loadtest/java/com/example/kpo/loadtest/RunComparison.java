@@ -0,0 +1,71 @@
+package com.example.kpo.loadtest;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Compares a run with a baseline endpoint by endpoint. A latency percentile that
+ * grew, or a throughput that fell, by more than the tolerance counts as a
+ * regression, as does an error rate that grew by more than the tolerance in
+ * percentage points.
+ */
+final class RunComparison {
+
+    private static final Map<String, ToDoubleFunction<RunSummary.EndpointSummary>> LATENCIES = Map.of(
+            "p50", RunSummary.EndpointSummary::p50,
+            "p90", RunSummary.EndpointSummary::p90,
+            "p99", RunSummary.EndpointSummary::p99);
+
+    private RunComparison() {
+    }
+
+    /**
+     * Prints the comparison and returns the number of regressions found.
+     */
+    static int compare(RunSummary baseline, RunSummary current, double tolerancePercent, PrintStream out) {
+        int regressions = 0;
+        if (baseline.targetRate() != current.targetRate() || !baseline.mix().equals(current.mix())) {
+            out.println("Warning: the runs used different rates or scenario mixes, latencies are not comparable");
+        }
+        out.printf("%-16s %-10s %12s %12s %9s%n", "endpoint", "metric", "baseline", "current", "change");
+        for (Map.Entry<String, RunSummary.EndpointSummary> entry : current.endpoints().entrySet()) {
+            RunSummary.EndpointSummary before = baseline.endpoints().get(entry.getKey());
+            RunSummary.EndpointSummary after = entry.getValue();
+            if (before == null || before.count() == 0 || after.count() == 0) {
+                out.printf("%-16s not measured in both runs, skipped%n", entry.getKey());
+                continue;
+            }
+            for (String metric : new String[]{"p50", "p90", "p99"}) {
+                ToDoubleFunction<RunSummary.EndpointSummary> value = LATENCIES.get(metric);
+                double change = change(value.applyAsDouble(before), value.applyAsDouble(after));
+                regressions += print(out, entry.getKey(), metric + " ms", value.applyAsDouble(before),
+                        value.applyAsDouble(after), change, change > tolerancePercent);
+            }
+            double throughputChange = change(before.throughput(), after.throughput());
+            regressions += print(out, entry.getKey(), "req/s", before.throughput(), after.throughput(),
+                    throughputChange, throughputChange < -tolerancePercent);
+            double errorChange = after.errorPercent() - before.errorPercent();
+            regressions += print(out, entry.getKey(), "errors %", before.errorPercent(), after.errorPercent(),
+                    errorChange, errorChange > tolerancePercent);
+        }
+        out.println(regressions == 0
+                ? "No regressions beyond " + tolerancePercent + "%"
+                : regressions + " regression(s) beyond " + tolerancePercent + "%");
+        return regressions;
+    }
+
+    private static double change(double before, double after) {
+        if (before == 0) {
+            return after == 0 ? 0 : 100;
+        }
+        return 100.0 * (after - before) / before;
+    }
+
+    private static int print(PrintStream out, String endpoint, String metric, double before, double after,
+                             double change, boolean regression) {
+        out.printf("%-16s %-10s %12.2f %12.2f %+8.1f%%%s%n", endpoint, metric, before, after, change,
+                regression ? "  REGRESSION" : "");
+        return regression ? 1 : 0;
+    }
+}
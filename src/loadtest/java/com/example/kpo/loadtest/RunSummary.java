@@ -0,0 +1,58 @@
+package com.example.kpo.loadtest;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+
+/**
+ * Machine-readable result of one run, written as JSON so that later runs can be
+ * compared with it. Latencies are in milliseconds and measured from the moment a
+ * request was scheduled to start, so time spent queueing behind a slow server is
+ * included.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+record RunSummary(String baseUrl,
+                  String startedAt,
+                  double targetRate,
+                  String arrival,
+                  double durationSeconds,
+                  Map<String, Integer> mix,
+                  Map<String, EndpointSummary> endpoints) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record EndpointSummary(long count,
+                           long errors,
+                           long dropped,
+                           double throughput,
+                           double mean,
+                           double p50,
+                           double p90,
+                           double p99,
+                           double p999,
+                           double max) {
+
+        static EndpointSummary of(Histogram micros, long errors, long dropped, double durationSeconds) {
+            return new EndpointSummary(micros.getTotalCount(), errors, dropped,
+                    round(micros.getTotalCount() / durationSeconds),
+                    millis(micros.getMean()),
+                    millis(micros.getValueAtPercentile(50)),
+                    millis(micros.getValueAtPercentile(90)),
+                    millis(micros.getValueAtPercentile(99)),
+                    millis(micros.getValueAtPercentile(99.9)),
+                    millis(micros.getMaxValue()));
+        }
+
+        double errorPercent() {
+            return count == 0 ? 0 : 100.0 * errors / count;
+        }
+
+        private static double millis(double micros) {
+            return round(micros / 1000.0);
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 100) / 100.0;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.kpo.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.SplittableRandom;
+
+/**
+ * Requests the load test sends, modelled on what the UI does: logins, inbound
+ * deliveries, list pages, the stock page of a warehouse and report downloads.
+ * Each one has the name it goes by in the {@code mix} option and the summary.
+ */
+enum Scenario {
+
+    LOGIN("login") {
+        @Override
+        HttpRequest request(Fixture fixture, SplittableRandom random) {
+            return HttpRequest.newBuilder(URI.create(fixture.baseUrl + "/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(fixture.loginBody))
+                    .build();
+        }
+    },
+
+    CREATE_MOVEMENT("createMovement") {
+        @Override
+        HttpRequest request(Fixture fixture, SplittableRandom random) {
+            StringBuilder items = new StringBuilder();
+            int lines = 1 + random.nextInt(5);
+            for (int line = 0; line < lines; line++) {
+                if (line > 0) {
+                    items.append(',');
+                }
+                items.append("{\"product\":{\"id\":").append(Fixture.pick(fixture.productIds, random))
+                        .append("},\"quantity\":").append(1 + random.nextInt(50)).append('}');
+            }
+            String body = "{\"type\":\"INBOUND\",\"date\":\"" + LocalDateTime.now().withNano(0)
+                    + "\",\"info\":\"load test\""
+                    + ",\"warehouse\":{\"id\":" + Fixture.pick(fixture.warehouseIds, random) + "}"
+                    + ",\"employee\":{\"id\":" + Fixture.pick(fixture.employeeIds, random) + "}"
+                    + ",\"counterparty\":{\"id\":" + Fixture.pick(fixture.counterpartyIds, random) + "}"
+                    + ",\"items\":[" + items + "]}";
+            return fixture.request("/movements")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+    },
+
+    LIST_MOVEMENTS("listMovements") {
+        @Override
+        HttpRequest request(Fixture fixture, SplittableRandom random) {
+            return fixture.request("/movements").GET().build();
+        }
+    },
+
+    LIST_PRODUCTS("listProducts") {
+        @Override
+        HttpRequest request(Fixture fixture, SplittableRandom random) {
+            return fixture.request("/products").GET().build();
+        }
+    },
+
+    WAREHOUSE_STOCK("warehouseStock") {
+        @Override
+        HttpRequest request(Fixture fixture, SplittableRandom random) {
+            return fixture.request("/warehouses/" + Fixture.pick(fixture.warehouseIds, random) + "/products")
+                    .GET()
+                    .build();
+        }
+    },
+
+    REPORT("report") {
+        @Override
+        HttpRequest request(Fixture fixture, SplittableRandom random) {
+            String date = LocalDate.now().minusDays(random.nextInt(365)).format(DateTimeFormatter.ISO_LOCAL_DATE);
+            String body = "{\"reportDate\":\"" + date + "\",\"warehouseIds\":["
+                    + Fixture.pick(fixture.warehouseIds, random) + "]}";
+            return fixture.request("/reports/stock")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+    };
+
+    private final String cliName;
+
+    Scenario(String cliName) {
+        this.cliName = cliName;
+    }
+
+    String cliName() {
+        return cliName;
+    }
+
+    static Scenario fromCliName(String cliName) {
+        for (Scenario scenario : values()) {
+            if (scenario.cliName.equals(cliName)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario " + cliName);
+    }
+
+    abstract HttpRequest request(Fixture fixture, SplittableRandom random);
+}
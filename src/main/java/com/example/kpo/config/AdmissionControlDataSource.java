@@ -0,0 +1,114 @@
+package com.example.kpo.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Lets at most a fixed number of callers hold a connection of the target pool
+ * at once; the others wait in a fair semaphore, which costs a parked virtual
+ * thread nothing, instead of piling up inside the pool. A permit is taken
+ * before the connection is borrowed and given back when it is closed.
+ * The queue length is published as {@code kpo.db.admission.waiting} and the
+ * time spent waiting as {@code kpo.db.admission.wait}, both tagged with the pool.
+ */
+public class AdmissionControlDataSource extends DelegatingDataSource {
+
+    private final String pool;
+    private final Semaphore permits;
+    private final Duration timeout;
+    private final Timer waitTimer;
+
+    public AdmissionControlDataSource(DataSource targetDataSource, String pool, int maxConcurrent,
+                                      Duration timeout, MeterRegistry meterRegistry) {
+        super(targetDataSource);
+        this.pool = pool;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.timeout = timeout;
+        this.waitTimer = Timer.builder("kpo.db.admission.wait")
+                .description("Time spent waiting for permission to borrow a database connection")
+                .tag("pool", pool)
+                .register(meterRegistry);
+        Gauge.builder("kpo.db.admission.waiting", permits, Semaphore::getQueueLength)
+                .description("Callers waiting for permission to borrow a database connection")
+                .tag("pool", pool)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        return admitted(this::borrow);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        return admitted(() -> obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection borrow() throws SQLException {
+        return obtainTargetDataSource().getConnection();
+    }
+
+    private void acquire() throws SQLException {
+        long started = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection of " + pool);
+        } finally {
+            waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            throw new SQLTransientConnectionException(pool + " - no connection admitted within "
+                    + timeout.toMillis() + " ms, " + permits.getQueueLength() + " callers waiting");
+        }
+    }
+
+    private Connection admitted(ConnectionSupplier supplier) throws SQLException {
+        Connection connection;
+        try {
+            connection = supplier.get();
+        } catch (SQLException | RuntimeException exception) {
+            permits.release();
+            throw exception;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                        try {
+                            connection.close();
+                        } finally {
+                            permits.release();
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException exception) {
+                        throw exception.getTargetException();
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+}
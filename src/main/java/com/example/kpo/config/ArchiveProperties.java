@@ -0,0 +1,55 @@
+package com.example.kpo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings of the movement archive. Scheduled runs ({@code schedule} is a Spring cron
+ * expression, "-" disables them) move movements older than {@code retain} into the
+ * SQLite file at {@code path}, {@code batchSize} movements per transaction.
+ */
+@ConfigurationProperties(prefix = "kpo.archive")
+public class ArchiveProperties {
+
+    private Path path = Path.of("kpo-archive.db");
+
+    private String schedule = "-";
+
+    private Duration retain = Duration.ofDays(365);
+
+    private int batchSize = 500;
+
+    public Path getPath() {
+        return path;
+    }
+
+    public void setPath(Path path) {
+        this.path = path;
+    }
+
+    public String getSchedule() {
+        return schedule;
+    }
+
+    public void setSchedule(String schedule) {
+        this.schedule = schedule;
+    }
+
+    public Duration getRetain() {
+        return retain;
+    }
+
+    public void setRetain(Duration retain) {
+        this.retain = retain;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.kpo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings of the online SQLite backup. Snapshots are written to {@code directory},
+ * {@code schedule} is a Spring cron expression ("-" disables scheduled backups)
+ * and only the {@code retention} newest snapshots are kept.
+ */
+@ConfigurationProperties(prefix = "kpo.backup")
+public class BackupProperties {
+
+    private Path directory = Path.of("backups");
+
+    private String schedule = "-";
+
+    private int retention = 7;
+
+    /**
+     * Database pages copied per backup step.
+     */
+    private int pagesPerStep = 256;
+
+    /**
+     * Pause between two steps, leaves I/O to the application.
+     */
+    private Duration stepPause = Duration.ofMillis(5);
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(Path directory) {
+        this.directory = directory;
+    }
+
+    public String getSchedule() {
+        return schedule;
+    }
+
+    public void setSchedule(String schedule) {
+        this.schedule = schedule;
+    }
+
+    public int getRetention() {
+        return retention;
+    }
+
+    public void setRetention(int retention) {
+        this.retention = retention;
+    }
+
+    public int getPagesPerStep() {
+        return pagesPerStep;
+    }
+
+    public void setPagesPerStep(int pagesPerStep) {
+        this.pagesPerStep = pagesPerStep;
+    }
+
+    public Duration getStepPause() {
+        return stepPause;
+    }
+
+    public void setStepPause(Duration stepPause) {
+        this.stepPause = stepPause;
+    }
+}
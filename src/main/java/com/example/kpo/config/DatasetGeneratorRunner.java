@@ -0,0 +1,34 @@
+package com.example.kpo.config;
+
+import com.example.kpo.service.DatasetGenerator;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generates the synthetic dataset and stops the application. Usage:
+ * <pre>
+ * java -jar kpo.jar --spring.profiles.active=generate \
+ *     --spring.datasource.url=jdbc:sqlite:perf.db --kpo.generator.movements=1000000
+ * </pre>
+ */
+@Component
+@Profile("generate")
+public class DatasetGeneratorRunner implements CommandLineRunner {
+
+    private final DatasetGenerator datasetGenerator;
+    private final ApplicationContext applicationContext;
+
+    public DatasetGeneratorRunner(DatasetGenerator datasetGenerator, ApplicationContext applicationContext) {
+        this.datasetGenerator = datasetGenerator;
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void run(String... args) {
+        datasetGenerator.generate();
+        System.exit(SpringApplication.exit(applicationContext));
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.kpo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the movement export. Rows are read from a forward-only cursor
+ * {@code fetchSize} at a time, and the persistence context is cleared after every
+ * {@code clearInterval} movements so that it does not grow with the history.
+ */
+@ConfigurationProperties(prefix = "kpo.export")
+public class ExportProperties {
+
+    private int fetchSize = 500;
+
+    private int clearInterval = 500;
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    public int getClearInterval() {
+        return clearInterval;
+    }
+
+    public void setClearInterval(int clearInterval) {
+        this.clearInterval = clearInterval;
+    }
+}
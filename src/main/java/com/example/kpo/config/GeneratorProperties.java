@@ -0,0 +1,144 @@
+package com.example.kpo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Volumes of the synthetic dataset written by the "generate" profile. Movements are
+ * spread evenly over the last {@code years}; {@code inboundShare} and
+ * {@code transferShare} set the type mix (the rest is outbound), product popularity
+ * follows a Zipf law with {@code zipfExponent}, and every {@code batchSize}
+ * movements are committed together.
+ */
+@ConfigurationProperties(prefix = "kpo.generator")
+public class GeneratorProperties {
+
+    private int categories = 50;
+
+    private int products = 50_000;
+
+    private int warehouses = 200;
+
+    private int employees = 100;
+
+    private int counterparties = 500;
+
+    private int movements = 500_000;
+
+    private int years = 5;
+
+    private int maxItemsPerMovement = 10;
+
+    private double inboundShare = 0.4;
+
+    private double transferShare = 0.2;
+
+    private double zipfExponent = 1.0;
+
+    private long seed = 42L;
+
+    private int batchSize = 5_000;
+
+    public int getCategories() {
+        return categories;
+    }
+
+    public void setCategories(int categories) {
+        this.categories = categories;
+    }
+
+    public int getProducts() {
+        return products;
+    }
+
+    public void setProducts(int products) {
+        this.products = products;
+    }
+
+    public int getWarehouses() {
+        return warehouses;
+    }
+
+    public void setWarehouses(int warehouses) {
+        this.warehouses = warehouses;
+    }
+
+    public int getEmployees() {
+        return employees;
+    }
+
+    public void setEmployees(int employees) {
+        this.employees = employees;
+    }
+
+    public int getCounterparties() {
+        return counterparties;
+    }
+
+    public void setCounterparties(int counterparties) {
+        this.counterparties = counterparties;
+    }
+
+    public int getMovements() {
+        return movements;
+    }
+
+    public void setMovements(int movements) {
+        this.movements = movements;
+    }
+
+    public int getYears() {
+        return years;
+    }
+
+    public void setYears(int years) {
+        this.years = years;
+    }
+
+    public int getMaxItemsPerMovement() {
+        return maxItemsPerMovement;
+    }
+
+    public void setMaxItemsPerMovement(int maxItemsPerMovement) {
+        this.maxItemsPerMovement = maxItemsPerMovement;
+    }
+
+    public double getInboundShare() {
+        return inboundShare;
+    }
+
+    public void setInboundShare(double inboundShare) {
+        this.inboundShare = inboundShare;
+    }
+
+    public double getTransferShare() {
+        return transferShare;
+    }
+
+    public void setTransferShare(double transferShare) {
+        this.transferShare = transferShare;
+    }
+
+    public double getZipfExponent() {
+        return zipfExponent;
+    }
+
+    public void setZipfExponent(double zipfExponent) {
+        this.zipfExponent = zipfExponent;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.kpo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the movement writer thread. When enabled, concurrent movement
+ * writes are collected for up to {@code maxWait} or {@code maxBatchSize}
+ * commands and committed together in one transaction.
+ */
+@ConfigurationProperties(prefix = "kpo.movements.group-commit")
+public class GroupCommitProperties {
+
+    private boolean enabled = false;
+
+    private int maxBatchSize = 64;
+
+    private Duration maxWait = Duration.ofMillis(2);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+
+    public void setMaxWait(Duration maxWait) {
+        this.maxWait = maxWait;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.kpo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the CSV catalogue import. Rows are written {@code batchSize} at a
+ * time, one transaction per batch, and at most {@code maxReportedErrors} row
+ * errors are listed in the result; the rest are only counted.
+ */
+@ConfigurationProperties(prefix = "kpo.import")
+public class ImportProperties {
+
+    private int batchSize = 500;
+
+    private int maxReportedErrors = 100;
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxReportedErrors() {
+        return maxReportedErrors;
+    }
+
+    public void setMaxReportedErrors(int maxReportedErrors) {
+        this.maxReportedErrors = maxReportedErrors;
+    }
+}
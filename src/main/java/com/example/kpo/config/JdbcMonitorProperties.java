@@ -0,0 +1,45 @@
+package com.example.kpo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the JDBC statement monitor. Statements running longer than
+ * {@code slowThreshold} are logged with the application method that issued them;
+ * {@code responseHeader} adds the per-request statement count to HTTP responses
+ * and is meant for development only.
+ */
+@ConfigurationProperties(prefix = "kpo.jdbc.monitor")
+public class JdbcMonitorProperties {
+
+    private boolean enabled = true;
+
+    private Duration slowThreshold = Duration.ofMillis(200);
+
+    private boolean responseHeader = false;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getSlowThreshold() {
+        return slowThreshold;
+    }
+
+    public void setSlowThreshold(Duration slowThreshold) {
+        this.slowThreshold = slowThreshold;
+    }
+
+    public boolean isResponseHeader() {
+        return responseHeader;
+    }
+
+    public void setResponseHeader(boolean responseHeader) {
+        this.responseHeader = responseHeader;
+    }
+}
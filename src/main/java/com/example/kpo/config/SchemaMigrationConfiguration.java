@@ -0,0 +1,28 @@
+package com.example.kpo.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Runs the {@link SchemaMigrator} on the SQLite write pool before the
+ * EntityManagerFactory is built, so Hibernate always starts on a current schema.
+ */
+@Configuration
+@ConditionalOnExpression("'${spring.datasource.url:}'.startsWith('jdbc:sqlite:')")
+public class SchemaMigrationConfiguration {
+
+    @Bean(initMethod = "migrate")
+    public SchemaMigrator schemaMigrator(@Qualifier("sqliteWriteDataSource") DataSource writeDataSource) {
+        return new SchemaMigrator(writeDataSource);
+    }
+
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor schemaMigratorDependency() {
+        return new EntityManagerFactoryDependsOnPostProcessor("schemaMigrator");
+    }
+}
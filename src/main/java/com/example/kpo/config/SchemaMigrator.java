@@ -0,0 +1,142 @@
+package com.example.kpo.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Brings the database schema up to date by running the numbered SQL scripts
+ * {@code V<version>__<description>.sql} from {@code classpath:db/migration}.
+ * Applied versions are recorded in {@code schema_version}; when the database
+ * is already current a single query is all it costs at startup.
+ * Each script runs in its own transaction together with its version row.
+ */
+public class SchemaMigrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigrator.class);
+
+    public static final String DEFAULT_LOCATION = "classpath:db/migration/V*__*.sql";
+
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+
+    private final DataSource dataSource;
+    private final String location;
+
+    public SchemaMigrator(DataSource dataSource) {
+        this(dataSource, DEFAULT_LOCATION);
+    }
+
+    public SchemaMigrator(DataSource dataSource, String location) {
+        this.dataSource = dataSource;
+        this.location = location;
+    }
+
+    public void migrate() {
+        List<Migration> migrations = findMigrations();
+        try (Connection connection = dataSource.getConnection()) {
+            int current = currentVersion(connection);
+            List<Migration> pending = migrations.stream()
+                    .filter(migration -> migration.version() > current)
+                    .toList();
+            if (pending.isEmpty()) {
+                logger.debug("Database schema is up to date at version {}", current);
+                return;
+            }
+            for (Migration migration : pending) {
+                apply(connection, migration);
+            }
+            logger.info("Database schema migrated from version {} to {}",
+                    current, pending.get(pending.size() - 1).version());
+        } catch (SQLException exception) {
+            throw new IllegalStateException("Failed to migrate the database schema", exception);
+        }
+    }
+
+    private int currentVersion(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            boolean tracked;
+            try (ResultSet resultSet = statement.executeQuery(
+                    "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = 'schema_version'")) {
+                tracked = resultSet.next();
+            }
+            if (!tracked) {
+                statement.execute("""
+                        CREATE TABLE schema_version (
+                            version INTEGER PRIMARY KEY,
+                            description VARCHAR(255) NOT NULL,
+                            installed_on VARCHAR(19) NOT NULL DEFAULT (datetime('now'))
+                        )
+                        """);
+                return 0;
+            }
+            try (ResultSet resultSet = statement.executeQuery("SELECT MAX(version) FROM schema_version")) {
+                return resultSet.next() ? resultSet.getInt(1) : 0;
+            }
+        }
+    }
+
+    private void apply(Connection connection, Migration migration) throws SQLException {
+        boolean previousAutoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            ScriptUtils.executeSqlScript(connection, migration.script());
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO schema_version (version, description) VALUES (?, ?)")) {
+                statement.setInt(1, migration.version());
+                statement.setString(2, migration.description());
+                statement.executeUpdate();
+            }
+            connection.commit();
+            logger.info("Applied schema migration V{} {}", migration.version(), migration.description());
+        } catch (SQLException | RuntimeException exception) {
+            connection.rollback();
+            throw exception;
+        } finally {
+            connection.setAutoCommit(previousAutoCommit);
+        }
+    }
+
+    private List<Migration> findMigrations() {
+        ResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        List<Migration> migrations = new ArrayList<>();
+        try {
+            for (Resource resource : resolver.getResources(location)) {
+                Matcher matcher = SCRIPT_NAME.matcher(resource.getFilename() == null ? "" : resource.getFilename());
+                if (!matcher.matches()) {
+                    continue;
+                }
+                migrations.add(new Migration(Integer.parseInt(matcher.group(1)),
+                        matcher.group(2).replace('_', ' '), resource));
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to list schema migrations in " + location, exception);
+        }
+        migrations.sort(Comparator.comparingInt(Migration::version));
+        for (int i = 1; i < migrations.size(); i++) {
+            if (migrations.get(i).version() == migrations.get(i - 1).version()) {
+                throw new IllegalStateException("Duplicate schema migration version " + migrations.get(i).version());
+            }
+        }
+        return migrations;
+    }
+
+    private record Migration(int version, String description, Resource script) {
+    }
+}
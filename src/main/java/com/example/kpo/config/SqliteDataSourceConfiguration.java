@@ -0,0 +1,107 @@
+package com.example.kpo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.sqlite.SQLiteConfig;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Builds the application DataSource when the application runs on SQLite.
+ * SQLite allows a single writer at a time, so writes go through a pool with
+ * exactly one connection: Hikari hands it over to waiting threads in FIFO order
+ * and the connection starts its transactions with BEGIN IMMEDIATE, so writers
+ * queue in the pool instead of spinning on SQLITE_BUSY. Under WAL readers never
+ * wait for the writer, so read-only transactions get their own pool. Its
+ * connections are opened read-only, so a write that lands there by mistake fails
+ * at once instead of competing with the writer for the write lock.
+ * Every connection carries the {@link SqliteProperties} pragma profile.
+ * With admission control the callers queue in front of each pool, bounded by
+ * its size: sqlite-jdbc pins the carrier of a virtual thread for every native
+ * call, so only as many threads as there are connections should be inside.
+ */
+@Configuration
+@ConditionalOnExpression("'${spring.datasource.url:}'.startsWith('jdbc:sqlite:')")
+public class SqliteDataSourceConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource sqliteWriteDataSource(DataSourceProperties dataSourceProperties,
+                                                  SqliteProperties sqliteProperties) {
+        HikariDataSource dataSource = createPool(dataSourceProperties, sqliteProperties);
+        dataSource.setPoolName("sqlite-write");
+        dataSource.setMaximumPoolSize(1);
+        dataSource.setMinimumIdle(1);
+        dataSource.setConnectionTimeout(sqliteProperties.getWriteQueueTimeout().toMillis());
+        dataSource.addDataSourceProperty(SQLiteConfig.Pragma.TRANSACTION_MODE.pragmaName,
+                SQLiteConfig.TransactionMode.IMMEDIATE.name());
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource sqliteReadDataSource(DataSourceProperties dataSourceProperties,
+                                                 SqliteProperties sqliteProperties) {
+        HikariDataSource dataSource = createPool(dataSourceProperties, sqliteProperties);
+        dataSource.setPoolName("sqlite-read");
+        dataSource.setMaximumPoolSize(sqliteProperties.getReadPoolSize());
+        dataSource.setConnectionTimeout(sqliteProperties.getReadQueueTimeout().toMillis());
+        SQLiteConfig readOnly = new SQLiteConfig();
+        readOnly.setReadOnly(true);
+        dataSource.addDataSourceProperty(SQLiteConfig.Pragma.OPEN_MODE.pragmaName,
+                String.valueOf(readOnly.getOpenModeFlags()));
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("sqliteWriteDataSource") HikariDataSource writeDataSource,
+                                 @Qualifier("sqliteReadDataSource") HikariDataSource readDataSource,
+                                 SqliteProperties sqliteProperties,
+                                 MeterRegistry meterRegistry) {
+        DataSource write = writeDataSource;
+        DataSource read = readDataSource;
+        if (sqliteProperties.isAdmissionControl()) {
+            write = new AdmissionControlDataSource(writeDataSource, writeDataSource.getPoolName(),
+                    writeDataSource.getMaximumPoolSize(), sqliteProperties.getWriteQueueTimeout(), meterRegistry);
+            read = new AdmissionControlDataSource(readDataSource, readDataSource.getPoolName(),
+                    readDataSource.getMaximumPoolSize(), sqliteProperties.getReadQueueTimeout(), meterRegistry);
+        }
+        SqliteRoutingDataSource routingDataSource = new SqliteRoutingDataSource();
+        routingDataSource.setTargetDataSources(Map.of(
+                SqliteRoutingDataSource.Route.WRITE, write,
+                SqliteRoutingDataSource.Route.READ, read));
+        routingDataSource.setDefaultTargetDataSource(write);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * Hibernate must give the connection back after every transaction, otherwise an
+     * open-in-view session would keep the first routed connection for the whole request.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sqliteConnectionHandlingCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    private HikariDataSource createPool(DataSourceProperties dataSourceProperties,
+                                        SqliteProperties sqliteProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setDataSourceProperties(sqliteProperties.toDriverProperties());
+        return dataSource;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.kpo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Logs the pragmas actually in effect on the SQLite pools,
+ * so a misconfigured profile is visible right after startup.
+ */
+@Component
+@ConditionalOnExpression("'${spring.datasource.url:}'.startsWith('jdbc:sqlite:')")
+public class SqlitePragmaLogger implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlitePragmaLogger.class);
+
+    private static final List<String> PRAGMAS = List.of(
+            "journal_mode", "synchronous", "cache_size", "mmap_size", "temp_store", "busy_timeout");
+
+    private final HikariDataSource writeDataSource;
+    private final HikariDataSource readDataSource;
+
+    public SqlitePragmaLogger(@Qualifier("sqliteWriteDataSource") HikariDataSource writeDataSource,
+                              @Qualifier("sqliteReadDataSource") HikariDataSource readDataSource) {
+        this.writeDataSource = writeDataSource;
+        this.readDataSource = readDataSource;
+    }
+
+    @Override
+    public void run(String... args) {
+        logPragmas(writeDataSource);
+        logPragmas(readDataSource);
+    }
+
+    private void logPragmas(HikariDataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            Map<String, String> effective = new LinkedHashMap<>();
+            for (String pragma : PRAGMAS) {
+                try (ResultSet resultSet = statement.executeQuery("PRAGMA " + pragma)) {
+                    effective.put(pragma, resultSet.next() ? resultSet.getString(1) : "?");
+                }
+            }
+            logger.info("SQLite pool {} ({} connections): {}",
+                    dataSource.getPoolName(), dataSource.getMaximumPoolSize(), effective);
+        } catch (SQLException exception) {
+            logger.warn("Failed to read effective SQLite pragmas of pool {}", dataSource.getPoolName(), exception);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.kpo.config;
+
+import org.sqlite.SQLiteConfig;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * Connection profile applied to every SQLite connection when it is opened.
+ * The values are handed to the sqlite-jdbc driver as connection properties,
+ * so each pooled connection starts with the same pragmas.
+ */
+@ConfigurationProperties(prefix = "kpo.sqlite")
+public class SqliteProperties {
+
+    private SQLiteConfig.JournalMode journalMode = SQLiteConfig.JournalMode.WAL;
+
+    private SQLiteConfig.SynchronousMode synchronous = SQLiteConfig.SynchronousMode.NORMAL;
+
+    /**
+     * Page cache size. Negative values are KiB, positive values are pages.
+     */
+    private int cacheSize = -20000;
+
+    /**
+     * Memory-mapped I/O size in bytes, 0 disables mmap.
+     */
+    private long mmapSize = 256L * 1024 * 1024;
+
+    private SQLiteConfig.TempStore tempStore = SQLiteConfig.TempStore.MEMORY;
+
+    private Duration busyTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Connections in the read pool used by read-only transactions.
+     */
+    private int readPoolSize = 4;
+
+    /**
+     * How long a writer waits in line for the single write connection.
+     */
+    private Duration writeQueueTimeout = Duration.ofSeconds(30);
+
+    /**
+     * How long a reader waits in line for a read connection.
+     */
+    private Duration readQueueTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Queue callers in front of the pools instead of inside them, see
+     * {@link AdmissionControlDataSource}.
+     */
+    private boolean admissionControl = true;
+
+    public SQLiteConfig.JournalMode getJournalMode() {
+        return journalMode;
+    }
+
+    public void setJournalMode(SQLiteConfig.JournalMode journalMode) {
+        this.journalMode = journalMode;
+    }
+
+    public SQLiteConfig.SynchronousMode getSynchronous() {
+        return synchronous;
+    }
+
+    public void setSynchronous(SQLiteConfig.SynchronousMode synchronous) {
+        this.synchronous = synchronous;
+    }
+
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    public void setCacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    public long getMmapSize() {
+        return mmapSize;
+    }
+
+    public void setMmapSize(long mmapSize) {
+        this.mmapSize = mmapSize;
+    }
+
+    public SQLiteConfig.TempStore getTempStore() {
+        return tempStore;
+    }
+
+    public void setTempStore(SQLiteConfig.TempStore tempStore) {
+        this.tempStore = tempStore;
+    }
+
+    public Duration getBusyTimeout() {
+        return busyTimeout;
+    }
+
+    public void setBusyTimeout(Duration busyTimeout) {
+        this.busyTimeout = busyTimeout;
+    }
+
+    public int getReadPoolSize() {
+        return readPoolSize;
+    }
+
+    public void setReadPoolSize(int readPoolSize) {
+        this.readPoolSize = readPoolSize;
+    }
+
+    public Duration getWriteQueueTimeout() {
+        return writeQueueTimeout;
+    }
+
+    public void setWriteQueueTimeout(Duration writeQueueTimeout) {
+        this.writeQueueTimeout = writeQueueTimeout;
+    }
+
+    public Duration getReadQueueTimeout() {
+        return readQueueTimeout;
+    }
+
+    public void setReadQueueTimeout(Duration readQueueTimeout) {
+        this.readQueueTimeout = readQueueTimeout;
+    }
+
+    public boolean isAdmissionControl() {
+        return admissionControl;
+    }
+
+    public void setAdmissionControl(boolean admissionControl) {
+        this.admissionControl = admissionControl;
+    }
+
+    public Properties toDriverProperties() {
+        SQLiteConfig config = new SQLiteConfig();
+        config.setJournalMode(journalMode);
+        config.setSynchronous(synchronous);
+        config.setCacheSize(cacheSize);
+        config.setPragma(SQLiteConfig.Pragma.MMAP_SIZE, String.valueOf(mmapSize));
+        config.setTempStore(tempStore);
+        config.setBusyTimeout((int) busyTimeout.toMillis());
+        return config.toProperties();
+    }
+}
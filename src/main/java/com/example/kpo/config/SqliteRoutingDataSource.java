@@ -0,0 +1,26 @@
+package com.example.kpo.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read/write transactions to the single-connection write pool and
+ * everything else (read-only transactions and non-transactional reads)
+ * to the read pool. Must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * so the decision is made once the transaction has been set up.
+ */
+public class SqliteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        WRITE,
+        READ
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean writeTransaction = TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        return writeTransaction ? Route.WRITE : Route.READ;
+    }
+}
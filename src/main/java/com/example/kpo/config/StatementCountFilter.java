@@ -0,0 +1,107 @@
+package com.example.kpo.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Counts the JDBC statements of every HTTP request and records them per handler
+ * pattern. With the response header enabled the count (and the time spent in
+ * JDBC) is written when the response body is first opened, so statements issued
+ * while a body is already streaming are not part of the header.
+ */
+public class StatementCountFilter extends OncePerRequestFilter {
+
+    public static final String COUNT_HEADER = "X-Statement-Count";
+    public static final String TIME_HEADER = "X-Statement-Time-Ms";
+
+    private final StatementMonitor monitor;
+    private final boolean responseHeader;
+
+    public StatementCountFilter(StatementMonitor monitor, boolean responseHeader) {
+        this.monitor = monitor;
+        this.responseHeader = responseHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        StatementMonitor.RequestStatements previous = monitor.beginRequest();
+        try {
+            if (responseHeader) {
+                HeaderWritingResponse wrapper = new HeaderWritingResponse(response);
+                filterChain.doFilter(request, wrapper);
+                wrapper.writeHeaders();
+            } else {
+                filterChain.doFilter(request, response);
+            }
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            monitor.endRequest(previous, request.getMethod(), pattern != null ? pattern.toString() : "UNKNOWN");
+        }
+    }
+
+    private final class HeaderWritingResponse extends HttpServletResponseWrapper {
+
+        private boolean written;
+
+        private HeaderWritingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        private void writeHeaders() {
+            StatementMonitor.RequestStatements statements = monitor.currentRequest();
+            if (written || statements == null || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader(COUNT_HEADER, Integer.toString(statements.getCount()));
+            setHeader(TIME_HEADER, Long.toString(statements.getMillis()));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.kpo.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects timings of the JDBC statements executed through
+ * {@link StatementMonitoringDataSource}. Every statement is timed into the
+ * {@code kpo.jdbc.statements} timer; statements slower than the configured
+ * threshold are logged together with the application method that issued them.
+ * Statements executed while a request scope is open on the current thread are
+ * also added to that request's totals.
+ */
+public class StatementMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementMonitor.class);
+
+    private static final String APPLICATION_PACKAGE = "com.example.kpo.";
+    private static final String MONITOR_PACKAGE = StatementMonitor.class.getPackageName() + ".";
+
+    private final long slowThresholdNanos;
+    private final MeterRegistry meterRegistry;
+    private final Timer statementTimer;
+    private final Counter slowStatements;
+    private final ThreadLocal<RequestStatements> currentRequest = new ThreadLocal<>();
+
+    public StatementMonitor(JdbcMonitorProperties properties, MeterRegistry meterRegistry) {
+        this.slowThresholdNanos = properties.getSlowThreshold().toNanos();
+        this.meterRegistry = meterRegistry;
+        this.statementTimer = Timer.builder("kpo.jdbc.statements")
+                .description("Execution time of JDBC statements")
+                .register(meterRegistry);
+        this.slowStatements = Counter.builder("kpo.jdbc.statements.slow")
+                .description("JDBC statements slower than kpo.jdbc.monitor.slow-threshold")
+                .register(meterRegistry);
+    }
+
+    public void record(String sql, long nanos) {
+        statementTimer.record(nanos, TimeUnit.NANOSECONDS);
+        RequestStatements request = currentRequest.get();
+        if (request != null) {
+            request.count++;
+            request.nanos += nanos;
+        }
+        if (nanos >= slowThresholdNanos) {
+            slowStatements.increment();
+            logger.warn("Slow statement ({} ms) from {}: {}", toMillis(nanos), findCaller(), sql);
+        } else if (logger.isDebugEnabled()) {
+            logger.debug("Statement ({} ms): {}", toMillis(nanos), sql);
+        }
+    }
+
+    /**
+     * Starts counting the statements of the current thread; returns the previous
+     * scope, which must be handed back to {@link #endRequest}.
+     */
+    public RequestStatements beginRequest() {
+        RequestStatements previous = currentRequest.get();
+        currentRequest.set(new RequestStatements());
+        return previous;
+    }
+
+    public RequestStatements currentRequest() {
+        return currentRequest.get();
+    }
+
+    public void endRequest(RequestStatements previous, String method, String uri) {
+        RequestStatements request = currentRequest.get();
+        if (previous == null) {
+            currentRequest.remove();
+        } else {
+            currentRequest.set(previous);
+        }
+        if (request != null) {
+            DistributionSummary.builder("kpo.http.request.statements")
+                    .description("JDBC statements executed per HTTP request")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(request.count);
+        }
+    }
+
+    private static String findCaller() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE))
+                .filter(frame -> !frame.getClassName().startsWith(MONITOR_PACKAGE))
+                .filter(frame -> !frame.getClassName().contains("$$"))
+                .findFirst()
+                .map(frame -> frame.getClassName() + "." + frame.getMethodName())
+                .orElse("unknown"));
+    }
+
+    private static String toMillis(long nanos) {
+        return String.format("%.1f", nanos / 1_000_000.0);
+    }
+
+    public static final class RequestStatements {
+        private int count;
+        private long nanos;
+
+        public int getCount() {
+            return count;
+        }
+
+        public long getMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(nanos);
+        }
+    }
+}
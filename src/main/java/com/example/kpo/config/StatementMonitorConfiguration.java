@@ -0,0 +1,52 @@
+package com.example.kpo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts the {@link StatementMonitor} in front of the application DataSource and
+ * counts statements per HTTP request. The filter runs ahead of Spring Security,
+ * so the user lookups of the JWT filter are counted as well.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "kpo.jdbc.monitor", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class StatementMonitorConfiguration {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    public StatementMonitor statementMonitor(JdbcMonitorProperties properties, MeterRegistry meterRegistry) {
+        return new StatementMonitor(properties, meterRegistry);
+    }
+
+    @Bean
+    public static BeanPostProcessor statementMonitoringDataSourcePostProcessor(
+            ObjectProvider<StatementMonitor> statementMonitor) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && DATA_SOURCE_BEAN.equals(beanName)) {
+                    return new StatementMonitoringDataSource(dataSource, statementMonitor.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<StatementCountFilter> statementCountFilter(StatementMonitor statementMonitor,
+                                                                           JdbcMonitorProperties properties) {
+        FilterRegistrationBean<StatementCountFilter> registration = new FilterRegistrationBean<>(
+                new StatementCountFilter(statementMonitor, properties.isResponseHeader()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.kpo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the stock change stream. The last {@code replaySize} changes are
+ * kept for clients that resume with a last event id, each subscriber may fall at
+ * most {@code subscriberBuffer} changes behind before it is told to reload, and
+ * an idle stream gets a comment every {@code heartbeat}.
+ */
+@ConfigurationProperties(prefix = "kpo.stock-stream")
+public class StockStreamProperties {
+
+    private int replaySize = 1024;
+
+    private int subscriberBuffer = 256;
+
+    private Duration heartbeat = Duration.ofSeconds(15);
+
+    private Duration timeout = Duration.ofMinutes(30);
+
+    public int getReplaySize() {
+        return replaySize;
+    }
+
+    public void setReplaySize(int replaySize) {
+        this.replaySize = replaySize;
+    }
+
+    public int getSubscriberBuffer() {
+        return subscriberBuffer;
+    }
+
+    public void setSubscriberBuffer(int subscriberBuffer) {
+        this.subscriberBuffer = subscriberBuffer;
+    }
+
+    public Duration getHeartbeat() {
+        return heartbeat;
+    }
+
+    public void setHeartbeat(Duration heartbeat) {
+        this.heartbeat = heartbeat;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+}
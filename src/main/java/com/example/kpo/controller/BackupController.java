@@ -0,0 +1,41 @@
+package com.example.kpo.controller;
+
+import com.example.kpo.dto.BackupFileResponse;
+import com.example.kpo.dto.BackupStatusResponse;
+import com.example.kpo.service.DatabaseBackupService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin/backups")
+@ConditionalOnExpression("'${spring.datasource.url:}'.startsWith('jdbc:sqlite:')")
+public class BackupController {
+
+    private final DatabaseBackupService databaseBackupService;
+
+    public BackupController(DatabaseBackupService databaseBackupService) {
+        this.databaseBackupService = databaseBackupService;
+    }
+
+    @GetMapping
+    public List<BackupFileResponse> listBackups() {
+        return databaseBackupService.listBackups();
+    }
+
+    @PostMapping
+    public ResponseEntity<BackupStatusResponse> startBackup() {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(databaseBackupService.startBackup());
+    }
+
+    @GetMapping("/status")
+    public BackupStatusResponse getStatus() {
+        return databaseBackupService.getStatus();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.kpo.controller;
+
+import com.example.kpo.dto.ImportResultResponse;
+import com.example.kpo.service.CatalogImportService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Bulk CSV import of the catalogues. The request body is the CSV itself and is
+ * read as a stream; {@code dryRun=true} only reports what the import would do.
+ */
+@RestController
+public class CatalogImportController {
+
+    private static final String TEXT_CSV = "text/csv";
+
+    private final CatalogImportService catalogImportService;
+
+    public CatalogImportController(CatalogImportService catalogImportService) {
+        this.catalogImportService = catalogImportService;
+    }
+
+    @PostMapping(value = "/categories/import", consumes = TEXT_CSV)
+    public ResponseEntity<ImportResultResponse> importCategories(
+            InputStream csv, @RequestParam(value = "dryRun", defaultValue = "false") boolean dryRun) throws IOException {
+        return ResponseEntity.ok(catalogImportService.importCsv(CatalogImportService.Catalog.CATEGORIES, csv, dryRun));
+    }
+
+    @PostMapping(value = "/products/import", consumes = TEXT_CSV)
+    public ResponseEntity<ImportResultResponse> importProducts(
+            InputStream csv, @RequestParam(value = "dryRun", defaultValue = "false") boolean dryRun) throws IOException {
+        return ResponseEntity.ok(catalogImportService.importCsv(CatalogImportService.Catalog.PRODUCTS, csv, dryRun));
+    }
+
+    @PostMapping(value = "/counterparties/import", consumes = TEXT_CSV)
+    public ResponseEntity<ImportResultResponse> importCounterparties(
+            InputStream csv, @RequestParam(value = "dryRun", defaultValue = "false") boolean dryRun) throws IOException {
+        return ResponseEntity.ok(
+                catalogImportService.importCsv(CatalogImportService.Catalog.COUNTERPARTIES, csv, dryRun));
+    }
+
+    @PostMapping(value = "/employees/import", consumes = TEXT_CSV)
+    public ResponseEntity<ImportResultResponse> importEmployees(
+            InputStream csv, @RequestParam(value = "dryRun", defaultValue = "false") boolean dryRun) throws IOException {
+        return ResponseEntity.ok(catalogImportService.importCsv(CatalogImportService.Catalog.EMPLOYEES, csv, dryRun));
+    }
+}
@@ -2,6 +2,7 @@ package com.example.kpo.controller;
 
 import com.example.kpo.entity.Category;
 import com.example.kpo.service.CategoryService;
+import com.example.kpo.service.ReferenceDataVersions;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -13,6 +14,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -21,14 +23,17 @@ import java.util.List;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final ReferenceDataVersions versions;
 
-    public CategoryController(CategoryService categoryService) {
+    public CategoryController(CategoryService categoryService, ReferenceDataVersions versions) {
         this.categoryService = categoryService;
+        this.versions = versions;
     }
 
     @GetMapping
-    public ResponseEntity<List<Category>> getAllCategories() {
-        return ResponseEntity.ok(categoryService.getAllCategories());
+    public ResponseEntity<List<Category>> getAllCategories(WebRequest request) {
+        return ConditionalResponses.withETag(request, versions.eTag(ReferenceDataVersions.Type.CATEGORIES),
+                categoryService::getAllCategories);
     }
 
     @GetMapping("/{id}")
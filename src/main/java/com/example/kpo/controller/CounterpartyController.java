@@ -1,7 +1,9 @@
 package com.example.kpo.controller;
 
+import com.example.kpo.dto.NameMatchResponse;
 import com.example.kpo.entity.Counterparty;
 import com.example.kpo.service.CounterpartyService;
+import com.example.kpo.service.ReferenceDataVersions;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -12,7 +14,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -21,14 +25,23 @@ import java.util.List;
 public class CounterpartyController {
 
     private final CounterpartyService counterpartyService;
+    private final ReferenceDataVersions versions;
 
-    public CounterpartyController(CounterpartyService counterpartyService) {
+    public CounterpartyController(CounterpartyService counterpartyService, ReferenceDataVersions versions) {
         this.counterpartyService = counterpartyService;
+        this.versions = versions;
     }
 
     @GetMapping
-    public ResponseEntity<List<Counterparty>> getAllCounterparties() {
-        return ResponseEntity.ok(counterpartyService.getAll());
+    public ResponseEntity<List<Counterparty>> getAllCounterparties(WebRequest request) {
+        return ConditionalResponses.withETag(request, versions.eTag(ReferenceDataVersions.Type.COUNTERPARTIES),
+                counterpartyService::getAll);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<NameMatchResponse>> search(@RequestParam("q") String query,
+                                                          @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(counterpartyService.search(query, limit));
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,22 @@
+package com.example.kpo.controller;
+
+import com.example.kpo.dto.DashboardKpiResponse;
+import com.example.kpo.service.DashboardService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    public DashboardController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    @GetMapping("/dashboard/kpis")
+    public ResponseEntity<DashboardKpiResponse> getKpis() {
+        return ResponseEntity.ok(dashboardService.getKpis());
+    }
+}
@@ -2,6 +2,7 @@ package com.example.kpo.controller;
 
 import com.example.kpo.entity.Employee;
 import com.example.kpo.service.EmployeeService;
+import com.example.kpo.service.ReferenceDataVersions;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -13,6 +14,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -21,14 +23,17 @@ import java.util.List;
 public class EmployeeController {
 
     private final EmployeeService employeeService;
+    private final ReferenceDataVersions versions;
 
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, ReferenceDataVersions versions) {
         this.employeeService = employeeService;
+        this.versions = versions;
     }
 
     @GetMapping
-    public ResponseEntity<List<Employee>> getAllEmployees() {
-        return ResponseEntity.ok(employeeService.getAll());
+    public ResponseEntity<List<Employee>> getAllEmployees(WebRequest request) {
+        return ConditionalResponses.withETag(request, versions.eTag(ReferenceDataVersions.Type.EMPLOYEES),
+                employeeService::getAll);
     }
 
     @GetMapping("/{id}")
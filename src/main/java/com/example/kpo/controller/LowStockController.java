@@ -0,0 +1,57 @@
+package com.example.kpo.controller;
+
+import com.example.kpo.config.StockStreamProperties;
+import com.example.kpo.dto.LowStockResponse;
+import com.example.kpo.service.LowStockService;
+import com.example.kpo.service.WarehouseService;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+/**
+ * The products below their minimum stock, as a list and as Server-Sent Events.
+ * The stream opens with a {@code ready} event, after which the client loads the
+ * list, then sends a {@code low-stock} event when a product falls below or
+ * changes while below its minimum and a {@code restocked} event when it gets
+ * back; a {@code reset} event means changes were lost and the list has to be
+ * reloaded.
+ */
+@RestController
+public class LowStockController {
+
+    private final LowStockService lowStockService;
+    private final WarehouseService warehouseService;
+    private final StockStreamProperties properties;
+
+    public LowStockController(LowStockService lowStockService,
+                              WarehouseService warehouseService,
+                              StockStreamProperties properties) {
+        this.lowStockService = lowStockService;
+        this.warehouseService = warehouseService;
+        this.properties = properties;
+    }
+
+    @GetMapping("/stock-alerts")
+    public ResponseEntity<List<LowStockResponse>> getLowStock(@RequestParam(required = false) Long warehouseId) {
+        if (warehouseId != null && warehouseService.getWarehouseById(warehouseId).isEmpty()) {
+            throw new EntityNotFoundException("Warehouse " + warehouseId + " not found");
+        }
+        return ResponseEntity.ok(lowStockService.getLowStock(warehouseId));
+    }
+
+    @GetMapping(value = "/stock-alerts/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLowStock() {
+        return SubscriptionStreams.stream("stock-alerts", properties.getTimeout(), properties.getHeartbeat(),
+                lowStockService.subscribe(), SseEmitter.event().name("ready").data(""),
+                change -> SseEmitter.event()
+                        .name(change.low() ? "low-stock" : "restocked")
+                        .data(new LowStockResponse(change.warehouseId(), change.productId(), change.quantity(),
+                                change.minimum()), MediaType.APPLICATION_JSON));
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.kpo.controller;
+
+import com.example.kpo.dto.ArchiveResultResponse;
+import com.example.kpo.dto.OpeningBalanceResponse;
+import com.example.kpo.entity.Movement;
+import com.example.kpo.service.MovementArchiveService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/movements/archive")
+public class MovementArchiveController {
+
+    private final MovementArchiveService movementArchiveService;
+
+    public MovementArchiveController(MovementArchiveService movementArchiveService) {
+        this.movementArchiveService = movementArchiveService;
+    }
+
+    @GetMapping
+    public List<Movement> getArchivedMovements(
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return movementArchiveService.findArchivedMovements(from, to);
+    }
+
+    @PostMapping
+    public ArchiveResultResponse archive(
+            @RequestParam("before") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before) {
+        return movementArchiveService.archive(before);
+    }
+
+    @GetMapping("/opening-balances")
+    public List<OpeningBalanceResponse> getOpeningBalances() {
+        return movementArchiveService.getOpeningBalanceResponses();
+    }
+}
@@ -1,9 +1,13 @@
 package com.example.kpo.controller;
 
+import com.example.kpo.dto.NormalizedMovementsResponse;
 import com.example.kpo.entity.Movement;
 import com.example.kpo.entity.MovementType;
+import com.example.kpo.service.MovementExportService;
 import com.example.kpo.service.MovementService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,6 +20,10 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 @RestController
@@ -23,9 +31,11 @@ import java.util.List;
 public class MovementController {
 
     private final MovementService movementService;
+    private final MovementExportService movementExportService;
 
-    public MovementController(MovementService movementService) {
+    public MovementController(MovementService movementService, MovementExportService movementExportService) {
         this.movementService = movementService;
+        this.movementExportService = movementExportService;
     }
 
     @GetMapping
@@ -36,6 +46,31 @@ public class MovementController {
         return ResponseEntity.ok(movementService.getAllMovements());
     }
 
+    /**
+     * Opt-in compact shape: movements refer to warehouses, employees, counterparties
+     * and products by id, and each of them is sent once in {@code included}.
+     */
+    @GetMapping(params = "view=normalized")
+    public ResponseEntity<NormalizedMovementsResponse> getNormalizedMovements(
+            @RequestParam(value = "type", required = false) MovementType type) {
+        return ResponseEntity.ok(movementService.getNormalizedMovements(type));
+    }
+
+    /**
+     * Streams the whole movement history as NDJSON (default) or as one JSON array,
+     * without building it in memory first.
+     */
+    @GetMapping("/export")
+    public void exportMovements(@RequestParam(value = "format", defaultValue = "NDJSON") MovementExportService.Format format,
+                                HttpServletResponse response) throws IOException {
+        String filename = String.format("movements-%s.%s",
+                DateTimeFormatter.ofPattern("yyyyMMdd-HHmm").format(LocalDateTime.now()), format.getExtension());
+        response.setContentType(format.getMediaType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename);
+        movementExportService.exportMovements(format, response.getOutputStream());
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Movement> getMovementById(@PathVariable Long id) {
         return movementService.getMovementById(id)
@@ -1,7 +1,9 @@
 package com.example.kpo.controller;
 
+import com.example.kpo.dto.NameMatchResponse;
 import com.example.kpo.entity.Product;
 import com.example.kpo.service.ProductService;
+import com.example.kpo.service.ReferenceDataVersions;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -12,7 +14,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -21,14 +25,23 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final ReferenceDataVersions versions;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ReferenceDataVersions versions) {
         this.productService = productService;
+        this.versions = versions;
     }
 
     @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts() {
-        return ResponseEntity.ok(productService.getAllProducts());
+    public ResponseEntity<List<Product>> getAllProducts(WebRequest request) {
+        return ConditionalResponses.withETag(request, versions.eTag(ReferenceDataVersions.Type.PRODUCTS),
+                productService::getAllProducts);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<NameMatchResponse>> search(@RequestParam("q") String query,
+                                                          @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(productService.searchProducts(query, limit));
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,26 @@
+package com.example.kpo.controller;
+
+import com.example.kpo.dto.ReferenceDataResponse;
+import com.example.kpo.service.ReferenceDataService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequestMapping("/reference-data")
+public class ReferenceDataController {
+
+    private final ReferenceDataService referenceDataService;
+
+    public ReferenceDataController(ReferenceDataService referenceDataService) {
+        this.referenceDataService = referenceDataService;
+    }
+
+    @GetMapping
+    public ResponseEntity<ReferenceDataResponse> getReferenceData(WebRequest request) {
+        return ConditionalResponses.withETag(request, referenceDataService.currentETag(),
+                referenceDataService::getReferenceData);
+    }
+}
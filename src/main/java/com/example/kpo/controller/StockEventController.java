@@ -0,0 +1,60 @@
+package com.example.kpo.controller;
+
+import com.example.kpo.config.StockStreamProperties;
+import com.example.kpo.dto.StockDeltaResponse;
+import com.example.kpo.service.StockChangeBus;
+import com.example.kpo.service.StockChangedEvent;
+import com.example.kpo.service.WarehouseService;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Streams the committed stock changes of one warehouse as Server-Sent Events.
+ * The stream opens with a {@code ready} event, then sends a {@code stock} event
+ * per change; a {@code reset} event means changes were lost and the client has
+ * to reload the stock list.
+ */
+@RestController
+public class StockEventController {
+
+    private final WarehouseService warehouseService;
+    private final StockChangeBus stockChangeBus;
+    private final StockStreamProperties properties;
+
+    public StockEventController(WarehouseService warehouseService,
+                                StockChangeBus stockChangeBus,
+                                StockStreamProperties properties) {
+        this.warehouseService = warehouseService;
+        this.stockChangeBus = stockChangeBus;
+        this.properties = properties;
+    }
+
+    @GetMapping(value = "/warehouses/{id}/stock-events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStockChanges(@PathVariable Long id,
+                                         @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        if (warehouseService.getWarehouseById(id).isEmpty()) {
+            throw new EntityNotFoundException("Warehouse " + id + " not found");
+        }
+        StockChangeBus.Subscription subscription = stockChangeBus.subscribe(id, lastEventId);
+        // a fresh stream carries the current position, a resumed one keeps the client's
+        SseEmitter.SseEventBuilder ready = SseEmitter.event().name("ready").data("");
+        if (lastEventId == null) {
+            ready.id(Long.toString(subscription.getStartId()));
+        }
+        return SubscriptionStreams.stream("stock-events-" + id, properties.getTimeout(), properties.getHeartbeat(),
+                subscription, ready, delta -> {
+                    StockChangedEvent change = delta.change();
+                    return SseEmitter.event()
+                            .id(Long.toString(delta.id()))
+                            .name("stock")
+                            .data(new StockDeltaResponse(change.warehouseId(), change.productId(),
+                                    change.productName(), change.delta(), change.quantity()),
+                                    MediaType.APPLICATION_JSON);
+                });
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.kpo.controller;
+
+import com.example.kpo.dto.ProductStockResponse;
+import com.example.kpo.service.StockHistoryService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Stock of a few products per warehouse at the end of a past day, without
+ * building the whole stock report.
+ */
+@RestController
+public class StockHistoryController {
+
+    private final StockHistoryService stockHistoryService;
+
+    public StockHistoryController(StockHistoryService stockHistoryService) {
+        this.stockHistoryService = stockHistoryService;
+    }
+
+    @GetMapping("/products/stock-at")
+    public ResponseEntity<List<ProductStockResponse>> getStockAt(
+            @RequestParam("productIds") List<Long> productIds,
+            @RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(value = "warehouseIds", required = false) List<Long> warehouseIds) {
+        return ResponseEntity.ok(stockHistoryService.getStockAt(productIds, date, warehouseIds));
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.kpo.controller;
+
+import com.example.kpo.dto.StockThresholdRequest;
+import com.example.kpo.dto.StockThresholdResponse;
+import com.example.kpo.service.StockThresholdService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Minimum stock levels of the products of one warehouse.
+ */
+@RestController
+@RequestMapping("/warehouses/{id}/stock-thresholds")
+public class StockThresholdController {
+
+    private final StockThresholdService stockThresholdService;
+
+    public StockThresholdController(StockThresholdService stockThresholdService) {
+        this.stockThresholdService = stockThresholdService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<StockThresholdResponse>> getThresholds(@PathVariable Long id) {
+        return ResponseEntity.ok(stockThresholdService.getWarehouseThresholds(id));
+    }
+
+    @PutMapping("/{productId}")
+    public ResponseEntity<StockThresholdResponse> setThreshold(@PathVariable Long id,
+                                                               @PathVariable Long productId,
+                                                               @Valid @RequestBody StockThresholdRequest request) {
+        return ResponseEntity.ok(stockThresholdService.setThreshold(id, productId, request.getMinimumQuantity()));
+    }
+
+    @DeleteMapping("/{productId}")
+    public ResponseEntity<Void> deleteThreshold(@PathVariable Long id, @PathVariable Long productId) {
+        stockThresholdService.deleteThreshold(id, productId);
+        return ResponseEntity.noContent().build();
+    }
+}
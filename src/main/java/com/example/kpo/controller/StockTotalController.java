@@ -0,0 +1,46 @@
+package com.example.kpo.controller;
+
+import com.example.kpo.dto.StockTotalResponse;
+import com.example.kpo.service.StockTotalService;
+import com.example.kpo.service.WarehouseService;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Units in stock per warehouse, per category and per category of one warehouse,
+ * read from the maintained totals rather than from the stock rows.
+ */
+@RestController
+public class StockTotalController {
+
+    private final StockTotalService stockTotalService;
+    private final WarehouseService warehouseService;
+
+    public StockTotalController(StockTotalService stockTotalService, WarehouseService warehouseService) {
+        this.stockTotalService = stockTotalService;
+        this.warehouseService = warehouseService;
+    }
+
+    @GetMapping("/warehouses/stock-totals")
+    public ResponseEntity<List<StockTotalResponse>> getWarehouseTotals() {
+        return ResponseEntity.ok(stockTotalService.getWarehouseTotals());
+    }
+
+    @GetMapping("/categories/stock-totals")
+    public ResponseEntity<List<StockTotalResponse>> getCategoryTotals() {
+        return ResponseEntity.ok(stockTotalService.getCategoryTotals());
+    }
+
+    @GetMapping("/warehouses/{id}/stock-totals")
+    public ResponseEntity<List<StockTotalResponse>> getWarehouseCategoryTotals(@PathVariable Long id) {
+        if (warehouseService.getWarehouseById(id).isEmpty()) {
+            throw new EntityNotFoundException("Warehouse " + id + " not found");
+        }
+        return ResponseEntity.ok(stockTotalService.getWarehouseCategoryTotals(id));
+    }
+}
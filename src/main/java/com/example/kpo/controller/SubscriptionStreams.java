@@ -0,0 +1,67 @@
+package com.example.kpo.controller;
+
+import com.example.kpo.service.StreamSubscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Pumps a {@link StreamSubscription} into a Server-Sent Events stream on its own
+ * virtual thread. The stream opens with the given {@code ready} event and sends a
+ * keep-alive comment after each heartbeat without events; a {@code reset} event
+ * ends it when events were lost. Closing the emitter closes the subscription.
+ */
+final class SubscriptionStreams {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubscriptionStreams.class);
+
+    private SubscriptionStreams() {
+    }
+
+    static <T> SseEmitter stream(String name, Duration timeout, Duration heartbeat,
+                                 StreamSubscription<T> subscription, SseEmitter.SseEventBuilder ready,
+                                 Function<T, SseEmitter.SseEventBuilder> toEvent) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Thread pump = Thread.ofVirtual()
+                .name(name)
+                .start(() -> pump(name, emitter, heartbeat, subscription, ready, toEvent));
+        Runnable stop = () -> {
+            subscription.close();
+            pump.interrupt();
+        };
+        emitter.onCompletion(stop);
+        emitter.onTimeout(stop);
+        emitter.onError(error -> stop.run());
+        return emitter;
+    }
+
+    private static <T> void pump(String name, SseEmitter emitter, Duration heartbeat,
+                                 StreamSubscription<T> subscription, SseEmitter.SseEventBuilder ready,
+                                 Function<T, SseEmitter.SseEventBuilder> toEvent) {
+        try (subscription) {
+            emitter.send(ready);
+            while (!subscription.isClosed()) {
+                if (subscription.isResetRequired()) {
+                    emitter.send(SseEmitter.event().name("reset").data(""));
+                    break;
+                }
+                T event = subscription.poll(heartbeat);
+                if (event == null) {
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                    continue;
+                }
+                emitter.send(toEvent.apply(event));
+            }
+            emitter.complete();
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException disconnected) {
+            // the client went away or the emitter timed out, the subscription is closed above
+            logger.debug("Event stream {} ended: {}", name, disconnected.getMessage());
+        }
+    }
+}
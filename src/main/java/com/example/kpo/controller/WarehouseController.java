@@ -2,6 +2,7 @@ package com.example.kpo.controller;
 
 import com.example.kpo.dto.WarehouseProductResponse;
 import com.example.kpo.entity.Warehouse;
+import com.example.kpo.service.ReferenceDataVersions;
 import com.example.kpo.service.WarehouseService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
@@ -15,6 +16,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -22,14 +24,17 @@ import java.util.List;
 @RequestMapping(value = "/warehouses", produces = MediaType.APPLICATION_JSON_VALUE)
 public class WarehouseController {
     private final WarehouseService warehouseService;
+    private final ReferenceDataVersions versions;
 
-    public WarehouseController(WarehouseService warehouseService) {
+    public WarehouseController(WarehouseService warehouseService, ReferenceDataVersions versions) {
         this.warehouseService = warehouseService;
+        this.versions = versions;
     }
 
     @GetMapping
-    public ResponseEntity<List<Warehouse>> getAllWarehouses() {
-        return ResponseEntity.ok(warehouseService.getAllWarehouses());
+    public ResponseEntity<List<Warehouse>> getAllWarehouses(WebRequest request) {
+        return ConditionalResponses.withETag(request, versions.eTag(ReferenceDataVersions.Type.WAREHOUSES),
+                warehouseService::getAllWarehouses);
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,33 @@
+package com.example.kpo.dto;
+
+import java.time.LocalDateTime;
+
+public class ArchiveResultResponse {
+
+    private LocalDateTime cutoff;
+    private long archivedMovements;
+
+    public ArchiveResultResponse() {
+    }
+
+    public ArchiveResultResponse(LocalDateTime cutoff, long archivedMovements) {
+        this.cutoff = cutoff;
+        this.archivedMovements = archivedMovements;
+    }
+
+    public LocalDateTime getCutoff() {
+        return cutoff;
+    }
+
+    public void setCutoff(LocalDateTime cutoff) {
+        this.cutoff = cutoff;
+    }
+
+    public long getArchivedMovements() {
+        return archivedMovements;
+    }
+
+    public void setArchivedMovements(long archivedMovements) {
+        this.archivedMovements = archivedMovements;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.kpo.dto;
+
+import java.time.LocalDateTime;
+
+public class BackupFileResponse {
+
+    private String name;
+    private long sizeBytes;
+    private LocalDateTime createdAt;
+
+    public BackupFileResponse() {
+    }
+
+    public BackupFileResponse(String name, long sizeBytes, LocalDateTime createdAt) {
+        this.name = name;
+        this.sizeBytes = sizeBytes;
+        this.createdAt = createdAt;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.kpo.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of the running backup, or the figures of the last finished one.
+ */
+public class BackupStatusResponse {
+
+    private boolean running;
+    private String file;
+    private String archiveFile;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private int pagesCopied;
+    private int pageCount;
+    private int steps;
+    private long elapsedMillis;
+    private double pagesPerSecond;
+    private double bytesPerSecond;
+    private double maxStepMillis;
+    private String error;
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public void setRunning(boolean running) {
+        this.running = running;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public String getArchiveFile() {
+        return archiveFile;
+    }
+
+    public void setArchiveFile(String archiveFile) {
+        this.archiveFile = archiveFile;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public int getPagesCopied() {
+        return pagesCopied;
+    }
+
+    public void setPagesCopied(int pagesCopied) {
+        this.pagesCopied = pagesCopied;
+    }
+
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    public void setPageCount(int pageCount) {
+        this.pageCount = pageCount;
+    }
+
+    public int getSteps() {
+        return steps;
+    }
+
+    public void setSteps(int steps) {
+        this.steps = steps;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public double getPagesPerSecond() {
+        return pagesPerSecond;
+    }
+
+    public void setPagesPerSecond(double pagesPerSecond) {
+        this.pagesPerSecond = pagesPerSecond;
+    }
+
+    public double getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    public void setBytesPerSecond(double bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+    }
+
+    public double getMaxStepMillis() {
+        return maxStepMillis;
+    }
+
+    public void setMaxStepMillis(double maxStepMillis) {
+        this.maxStepMillis = maxStepMillis;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.kpo.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The dashboard figures, by movement date; units received and shipped come from
+ * inbound and outbound movements over the last 7 and 30 days, today included.
+ */
+public class DashboardKpiResponse {
+
+    private LocalDateTime generatedAt;
+    private long movementsToday;
+    private long movementsLastHour;
+    /**
+     * Movements per hour over the last 24 hours, oldest first, the current hour last.
+     */
+    private List<Long> movementsByHour;
+    private long receivedUnits7Days;
+    private long receivedUnits30Days;
+    private long shippedUnits7Days;
+    private long shippedUnits30Days;
+    /**
+     * Products by units moved over the last 30 days.
+     */
+    private List<DashboardRankingResponse> topProducts;
+    /**
+     * Warehouses by movements over the last 30 days, a transfer counting for both.
+     */
+    private List<DashboardRankingResponse> busiestWarehouses;
+    /**
+     * Counterparties by movements over the last 30 days.
+     */
+    private List<DashboardRankingResponse> busiestCounterparties;
+
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public void setGeneratedAt(LocalDateTime generatedAt) {
+        this.generatedAt = generatedAt;
+    }
+
+    public long getMovementsToday() {
+        return movementsToday;
+    }
+
+    public void setMovementsToday(long movementsToday) {
+        this.movementsToday = movementsToday;
+    }
+
+    public long getMovementsLastHour() {
+        return movementsLastHour;
+    }
+
+    public void setMovementsLastHour(long movementsLastHour) {
+        this.movementsLastHour = movementsLastHour;
+    }
+
+    public List<Long> getMovementsByHour() {
+        return movementsByHour;
+    }
+
+    public void setMovementsByHour(List<Long> movementsByHour) {
+        this.movementsByHour = movementsByHour;
+    }
+
+    public long getReceivedUnits7Days() {
+        return receivedUnits7Days;
+    }
+
+    public void setReceivedUnits7Days(long receivedUnits7Days) {
+        this.receivedUnits7Days = receivedUnits7Days;
+    }
+
+    public long getReceivedUnits30Days() {
+        return receivedUnits30Days;
+    }
+
+    public void setReceivedUnits30Days(long receivedUnits30Days) {
+        this.receivedUnits30Days = receivedUnits30Days;
+    }
+
+    public long getShippedUnits7Days() {
+        return shippedUnits7Days;
+    }
+
+    public void setShippedUnits7Days(long shippedUnits7Days) {
+        this.shippedUnits7Days = shippedUnits7Days;
+    }
+
+    public long getShippedUnits30Days() {
+        return shippedUnits30Days;
+    }
+
+    public void setShippedUnits30Days(long shippedUnits30Days) {
+        this.shippedUnits30Days = shippedUnits30Days;
+    }
+
+    public List<DashboardRankingResponse> getTopProducts() {
+        return topProducts;
+    }
+
+    public void setTopProducts(List<DashboardRankingResponse> topProducts) {
+        this.topProducts = topProducts;
+    }
+
+    public List<DashboardRankingResponse> getBusiestWarehouses() {
+        return busiestWarehouses;
+    }
+
+    public void setBusiestWarehouses(List<DashboardRankingResponse> busiestWarehouses) {
+        this.busiestWarehouses = busiestWarehouses;
+    }
+
+    public List<DashboardRankingResponse> getBusiestCounterparties() {
+        return busiestCounterparties;
+    }
+
+    public void setBusiestCounterparties(List<DashboardRankingResponse> busiestCounterparties) {
+        this.busiestCounterparties = busiestCounterparties;
+    }
+}
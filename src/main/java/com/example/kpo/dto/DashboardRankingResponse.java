@@ -0,0 +1,45 @@
+package com.example.kpo.dto;
+
+/**
+ * A place in a dashboard ranking: the id and name of a product, warehouse or
+ * counterparty and the value it is ranked by.
+ */
+public class DashboardRankingResponse {
+
+    private Long id;
+    private String name;
+    private long value;
+
+    public DashboardRankingResponse() {
+    }
+
+    public DashboardRankingResponse(Long id, String name, long value) {
+        this.id = id;
+        this.name = name;
+        this.value = value;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getValue() {
+        return value;
+    }
+
+    public void setValue(long value) {
+        this.value = value;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.kpo.dto;
+
+public class ImportErrorResponse {
+
+    private long line;
+    private String message;
+
+    public ImportErrorResponse() {
+    }
+
+    public ImportErrorResponse(long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public void setLine(long line) {
+        this.line = line;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.kpo.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a CSV import: how many rows were read, created, updated and
+ * rejected, and the first row errors. A dry run reports the same without writing.
+ */
+public class ImportResultResponse {
+
+    private boolean dryRun;
+    private long rows;
+    private long created;
+    private long updated;
+    private long failed;
+    private List<ImportErrorResponse> errors = new ArrayList<>();
+
+    public ImportResultResponse() {
+    }
+
+    public ImportResultResponse(boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    public void setDryRun(boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public void setRows(long rows) {
+        this.rows = rows;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public void setCreated(long created) {
+        this.created = created;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(long updated) {
+        this.updated = updated;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public List<ImportErrorResponse> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<ImportErrorResponse> errors) {
+        this.errors = errors;
+    }
+}
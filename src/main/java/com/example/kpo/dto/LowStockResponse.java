@@ -0,0 +1,55 @@
+package com.example.kpo.dto;
+
+/**
+ * A product below its minimum stock on a warehouse. Names are left to the
+ * reference data the client already holds.
+ */
+public class LowStockResponse {
+
+    private Long warehouseId;
+    private Long productId;
+    private Integer quantity;
+    private Integer minimumQuantity;
+
+    public LowStockResponse() {
+    }
+
+    public LowStockResponse(Long warehouseId, Long productId, Integer quantity, Integer minimumQuantity) {
+        this.warehouseId = warehouseId;
+        this.productId = productId;
+        this.quantity = quantity;
+        this.minimumQuantity = minimumQuantity;
+    }
+
+    public Long getWarehouseId() {
+        return warehouseId;
+    }
+
+    public void setWarehouseId(Long warehouseId) {
+        this.warehouseId = warehouseId;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public Integer getMinimumQuantity() {
+        return minimumQuantity;
+    }
+
+    public void setMinimumQuantity(Integer minimumQuantity) {
+        this.minimumQuantity = minimumQuantity;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.kpo.dto;
+
+/**
+ * A typeahead match: the id and name of a product or counterparty.
+ */
+public class NameMatchResponse {
+
+    private Long id;
+    private String name;
+
+    public NameMatchResponse() {
+    }
+
+    public NameMatchResponse(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.kpo.dto;
+
+import com.example.kpo.entity.MovementType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A movement that refers to its warehouses, employees, counterparty and
+ * products by id; the referenced entities are in the included section.
+ */
+public class NormalizedMovementResponse {
+
+    private Long id;
+    private LocalDateTime date;
+    private MovementType type;
+    private String info;
+    private Long warehouseId;
+    private Long employeeId;
+    private Long counterpartyId;
+    private Long targetWarehouseId;
+    private Long targetEmployeeId;
+    private List<NormalizedMovementItemResponse> items;
+
+    public NormalizedMovementResponse() {
+    }
+
+    public NormalizedMovementResponse(Long id,
+                                      LocalDateTime date,
+                                      MovementType type,
+                                      String info,
+                                      Long warehouseId,
+                                      Long employeeId,
+                                      Long counterpartyId,
+                                      Long targetWarehouseId,
+                                      Long targetEmployeeId,
+                                      List<NormalizedMovementItemResponse> items) {
+        this.id = id;
+        this.date = date;
+        this.type = type;
+        this.info = info;
+        this.warehouseId = warehouseId;
+        this.employeeId = employeeId;
+        this.counterpartyId = counterpartyId;
+        this.targetWarehouseId = targetWarehouseId;
+        this.targetEmployeeId = targetEmployeeId;
+        this.items = items;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDateTime date) {
+        this.date = date;
+    }
+
+    public MovementType getType() {
+        return type;
+    }
+
+    public void setType(MovementType type) {
+        this.type = type;
+    }
+
+    public String getInfo() {
+        return info;
+    }
+
+    public void setInfo(String info) {
+        this.info = info;
+    }
+
+    public Long getWarehouseId() {
+        return warehouseId;
+    }
+
+    public void setWarehouseId(Long warehouseId) {
+        this.warehouseId = warehouseId;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public Long getCounterpartyId() {
+        return counterpartyId;
+    }
+
+    public void setCounterpartyId(Long counterpartyId) {
+        this.counterpartyId = counterpartyId;
+    }
+
+    public Long getTargetWarehouseId() {
+        return targetWarehouseId;
+    }
+
+    public void setTargetWarehouseId(Long targetWarehouseId) {
+        this.targetWarehouseId = targetWarehouseId;
+    }
+
+    public Long getTargetEmployeeId() {
+        return targetEmployeeId;
+    }
+
+    public void setTargetEmployeeId(Long targetEmployeeId) {
+        this.targetEmployeeId = targetEmployeeId;
+    }
+
+    public List<NormalizedMovementItemResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<NormalizedMovementItemResponse> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.kpo.dto;
+
+import java.util.List;
+
+/**
+ * Movements with their references side-loaded: every warehouse, employee,
+ * counterparty, product and category appears once in {@code included}, however
+ * many movements refer to it.
+ */
+public class NormalizedMovementsResponse {
+
+    private List<NormalizedMovementResponse> data;
+    private ReferenceDataResponse included;
+
+    public NormalizedMovementsResponse() {
+    }
+
+    public NormalizedMovementsResponse(List<NormalizedMovementResponse> data,
+                                       ReferenceDataResponse included) {
+        this.data = data;
+        this.included = included;
+    }
+
+    public List<NormalizedMovementResponse> getData() {
+        return data;
+    }
+
+    public void setData(List<NormalizedMovementResponse> data) {
+        this.data = data;
+    }
+
+    public ReferenceDataResponse getIncluded() {
+        return included;
+    }
+
+    public void setIncluded(ReferenceDataResponse included) {
+        this.included = included;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.kpo.dto;
+
+public class OpeningBalanceResponse {
+
+    private Long warehouseId;
+    private String warehouseName;
+    private Long productId;
+    private String productName;
+    private Integer quantity;
+
+    public OpeningBalanceResponse() {
+    }
+
+    public OpeningBalanceResponse(Long warehouseId, String warehouseName,
+                                  Long productId, String productName, Integer quantity) {
+        this.warehouseId = warehouseId;
+        this.warehouseName = warehouseName;
+        this.productId = productId;
+        this.productName = productName;
+        this.quantity = quantity;
+    }
+
+    public Long getWarehouseId() {
+        return warehouseId;
+    }
+
+    public void setWarehouseId(Long warehouseId) {
+        this.warehouseId = warehouseId;
+    }
+
+    public String getWarehouseName() {
+        return warehouseName;
+    }
+
+    public void setWarehouseName(String warehouseName) {
+        this.warehouseName = warehouseName;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+}
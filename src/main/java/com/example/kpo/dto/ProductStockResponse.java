@@ -0,0 +1,44 @@
+package com.example.kpo.dto;
+
+/**
+ * Units of one product on one warehouse at a point in time.
+ */
+public class ProductStockResponse {
+
+    private Long productId;
+    private Long warehouseId;
+    private Long quantity;
+
+    public ProductStockResponse() {
+    }
+
+    public ProductStockResponse(Long productId, Long warehouseId, Long quantity) {
+        this.productId = productId;
+        this.warehouseId = warehouseId;
+        this.quantity = quantity;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Long getWarehouseId() {
+        return warehouseId;
+    }
+
+    public void setWarehouseId(Long warehouseId) {
+        this.warehouseId = warehouseId;
+    }
+
+    public Long getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Long quantity) {
+        this.quantity = quantity;
+    }
+}
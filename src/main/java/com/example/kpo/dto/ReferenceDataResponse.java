@@ -0,0 +1,76 @@
+package com.example.kpo.dto;
+
+import com.example.kpo.entity.Category;
+import com.example.kpo.entity.Counterparty;
+import com.example.kpo.entity.Employee;
+import com.example.kpo.entity.Warehouse;
+
+import java.util.List;
+
+/**
+ * Reference lists returned together: everything a movement form needs in the
+ * bootstrap, or the entities referenced by a normalized movement list.
+ */
+public class ReferenceDataResponse {
+
+    private List<Warehouse> warehouses;
+    private List<Employee> employees;
+    private List<Counterparty> counterparties;
+    private List<Category> categories;
+    private List<ReferenceProductResponse> products;
+
+    public ReferenceDataResponse() {
+    }
+
+    public ReferenceDataResponse(List<Warehouse> warehouses,
+                                 List<Employee> employees,
+                                 List<Counterparty> counterparties,
+                                 List<Category> categories,
+                                 List<ReferenceProductResponse> products) {
+        this.warehouses = warehouses;
+        this.employees = employees;
+        this.counterparties = counterparties;
+        this.categories = categories;
+        this.products = products;
+    }
+
+    public List<Warehouse> getWarehouses() {
+        return warehouses;
+    }
+
+    public void setWarehouses(List<Warehouse> warehouses) {
+        this.warehouses = warehouses;
+    }
+
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+
+    public void setEmployees(List<Employee> employees) {
+        this.employees = employees;
+    }
+
+    public List<Counterparty> getCounterparties() {
+        return counterparties;
+    }
+
+    public void setCounterparties(List<Counterparty> counterparties) {
+        this.counterparties = counterparties;
+    }
+
+    public List<Category> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(List<Category> categories) {
+        this.categories = categories;
+    }
+
+    public List<ReferenceProductResponse> getProducts() {
+        return products;
+    }
+
+    public void setProducts(List<ReferenceProductResponse> products) {
+        this.products = products;
+    }
+}
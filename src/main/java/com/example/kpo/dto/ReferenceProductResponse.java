@@ -0,0 +1,55 @@
+package com.example.kpo.dto;
+
+/**
+ * A product in the reference data bootstrap, pointing at its category by id
+ * instead of embedding it.
+ */
+public class ReferenceProductResponse {
+
+    private Long id;
+    private String name;
+    private String info;
+    private Long categoryId;
+
+    public ReferenceProductResponse() {
+    }
+
+    public ReferenceProductResponse(Long id, String name, String info, Long categoryId) {
+        this.id = id;
+        this.name = name;
+        this.info = info;
+        this.categoryId = categoryId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getInfo() {
+        return info;
+    }
+
+    public void setInfo(String info) {
+        this.info = info;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.kpo.dto;
+
+/**
+ * One committed stock change pushed to an open warehouse screen: the quantity
+ * moved and the resulting stock level of the product.
+ */
+public class StockDeltaResponse {
+
+    private Long warehouseId;
+    private Long productId;
+    private String name;
+    private Integer delta;
+    private Integer quantity;
+
+    public StockDeltaResponse() {
+    }
+
+    public StockDeltaResponse(Long warehouseId, Long productId, String name, Integer delta, Integer quantity) {
+        this.warehouseId = warehouseId;
+        this.productId = productId;
+        this.name = name;
+        this.delta = delta;
+        this.quantity = quantity;
+    }
+
+    public Long getWarehouseId() {
+        return warehouseId;
+    }
+
+    public void setWarehouseId(Long warehouseId) {
+        this.warehouseId = warehouseId;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Integer getDelta() {
+        return delta;
+    }
+
+    public void setDelta(Integer delta) {
+        this.delta = delta;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+}
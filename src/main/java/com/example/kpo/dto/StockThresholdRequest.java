@@ -0,0 +1,19 @@
+package com.example.kpo.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public class StockThresholdRequest {
+
+    @NotNull(message = "Minimum quantity is required")
+    @Min(value = 1, message = "Minimum quantity must be greater than 0")
+    private Integer minimumQuantity;
+
+    public Integer getMinimumQuantity() {
+        return minimumQuantity;
+    }
+
+    public void setMinimumQuantity(Integer minimumQuantity) {
+        this.minimumQuantity = minimumQuantity;
+    }
+}
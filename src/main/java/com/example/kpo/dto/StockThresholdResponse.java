@@ -0,0 +1,41 @@
+package com.example.kpo.dto;
+
+public class StockThresholdResponse {
+
+    private Long warehouseId;
+    private Long productId;
+    private Integer minimumQuantity;
+
+    public StockThresholdResponse() {
+    }
+
+    public StockThresholdResponse(Long warehouseId, Long productId, Integer minimumQuantity) {
+        this.warehouseId = warehouseId;
+        this.productId = productId;
+        this.minimumQuantity = minimumQuantity;
+    }
+
+    public Long getWarehouseId() {
+        return warehouseId;
+    }
+
+    public void setWarehouseId(Long warehouseId) {
+        this.warehouseId = warehouseId;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Integer getMinimumQuantity() {
+        return minimumQuantity;
+    }
+
+    public void setMinimumQuantity(Integer minimumQuantity) {
+        this.minimumQuantity = minimumQuantity;
+    }
+}
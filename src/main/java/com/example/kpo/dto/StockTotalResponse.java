@@ -0,0 +1,45 @@
+package com.example.kpo.dto;
+
+/**
+ * Units in stock for a warehouse, a category or a warehouse and category; the
+ * id that is not part of the grouping is null.
+ */
+public class StockTotalResponse {
+
+    private Long warehouseId;
+    private Long categoryId;
+    private long quantity;
+
+    public StockTotalResponse() {
+    }
+
+    public StockTotalResponse(Long warehouseId, Long categoryId, long quantity) {
+        this.warehouseId = warehouseId;
+        this.categoryId = categoryId;
+        this.quantity = quantity;
+    }
+
+    public Long getWarehouseId() {
+        return warehouseId;
+    }
+
+    public void setWarehouseId(Long warehouseId) {
+        this.warehouseId = warehouseId;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(long quantity) {
+        this.quantity = quantity;
+    }
+}
@@ -8,7 +8,7 @@ import java.util.Collection;
 import java.util.List;
 
 @Entity
-@Table(name= "admin")
+@Table(name= "admin", indexes = @Index(name = "ix_admin_username", columnList = "username"))
 public class Admin {
 
     @Id
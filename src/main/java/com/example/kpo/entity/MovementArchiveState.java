@@ -0,0 +1,102 @@
+package com.example.kpo.entity;
+
+import com.example.kpo.util.LocalDateTimeAttributeConverter;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Single row describing the movement archive: every movement dated before
+ * {@code cutoff} lives in the archive file and is summed up in opening balances.
+ * {@code pendingCutoff} is the target of a run that has not finished yet and
+ * {@code lastBatch} the last archive batch whose deletion from the hot tables has
+ * committed.
+ */
+@Entity
+@Table(name = "movement_archive_state")
+public class MovementArchiveState {
+
+    public static final long SINGLETON_ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Convert(converter = LocalDateTimeAttributeConverter.class)
+    private LocalDateTime cutoff;
+
+    @Column(name = "pending_cutoff")
+    @Convert(converter = LocalDateTimeAttributeConverter.class)
+    private LocalDateTime pendingCutoff;
+
+    @Column(name = "last_batch", nullable = false)
+    private Long lastBatch = 0L;
+
+    @Column(name = "archived_movements", nullable = false)
+    private Long archivedMovements;
+
+    @Column(name = "updated_at", nullable = false)
+    @Convert(converter = LocalDateTimeAttributeConverter.class)
+    private LocalDateTime updatedAt;
+
+    public MovementArchiveState() {
+    }
+
+    public MovementArchiveState(Long id, LocalDateTime cutoff, Long archivedMovements, LocalDateTime updatedAt) {
+        this.id = id;
+        this.cutoff = cutoff;
+        this.archivedMovements = archivedMovements;
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDateTime getCutoff() {
+        return cutoff;
+    }
+
+    public void setCutoff(LocalDateTime cutoff) {
+        this.cutoff = cutoff;
+    }
+
+    public LocalDateTime getPendingCutoff() {
+        return pendingCutoff;
+    }
+
+    public void setPendingCutoff(LocalDateTime pendingCutoff) {
+        this.pendingCutoff = pendingCutoff;
+    }
+
+    public Long getLastBatch() {
+        return lastBatch;
+    }
+
+    public void setLastBatch(Long lastBatch) {
+        this.lastBatch = lastBatch;
+    }
+
+    public Long getArchivedMovements() {
+        return archivedMovements;
+    }
+
+    public void setArchivedMovements(Long archivedMovements) {
+        this.archivedMovements = archivedMovements;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
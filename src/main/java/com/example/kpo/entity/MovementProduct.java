@@ -6,6 +6,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -13,7 +14,10 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
 @Entity
-@Table(name = "products_movement")
+@Table(name = "products_movement", indexes = {
+        @Index(name = "ix_products_movement_movement", columnList = "movement_id"),
+        @Index(name = "ix_products_movement_product_history", columnList = "product_id, movement_id, quantity")
+})
 public class MovementProduct {
 
     @Id
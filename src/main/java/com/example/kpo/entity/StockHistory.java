@@ -0,0 +1,89 @@
+package com.example.kpo.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Units of one product on one warehouse at the end of a day on which they changed,
+ * kept up to date with every movement write. The stock at the end of any day is
+ * the row with the latest day not after it. The day is counted from the epoch, and
+ * the product and warehouse are plain ids, a row is never loaded with them.
+ */
+@Entity
+@Table(name = "stock_history", uniqueConstraints = {
+        @UniqueConstraint(name = "ux_stock_history_product_warehouse_day",
+                columnNames = {"product_id", "warehouse_id", "epoch_day"})
+})
+public class StockHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "warehouse_id", nullable = false)
+    private Long warehouseId;
+
+    @Column(name = "epoch_day", nullable = false)
+    private long epochDay;
+
+    @Column(nullable = false)
+    private long quantity;
+
+    public StockHistory() {
+    }
+
+    public StockHistory(Long productId, Long warehouseId, long epochDay, long quantity) {
+        this.productId = productId;
+        this.warehouseId = warehouseId;
+        this.epochDay = epochDay;
+        this.quantity = quantity;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Long getWarehouseId() {
+        return warehouseId;
+    }
+
+    public void setWarehouseId(Long warehouseId) {
+        this.warehouseId = warehouseId;
+    }
+
+    public long getEpochDay() {
+        return epochDay;
+    }
+
+    public void setEpochDay(long epochDay) {
+        this.epochDay = epochDay;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(long quantity) {
+        this.quantity = quantity;
+    }
+}
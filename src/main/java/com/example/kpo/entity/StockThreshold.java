@@ -0,0 +1,77 @@
+package com.example.kpo.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * The minimum stock of one product on one warehouse; the product is low on stock
+ * while its {@link WarehouseProduct} quantity, zero when there is no row, is
+ * below the minimum. The warehouse and product are plain ids, a threshold is
+ * never loaded with them.
+ */
+@Entity
+@Table(name = "stock_thresholds", uniqueConstraints = {
+        @UniqueConstraint(name = "ux_stock_thresholds_warehouse_product", columnNames = {"warehouse_id", "product_id"})
+}, indexes = @Index(name = "ix_stock_thresholds_product", columnList = "product_id"))
+public class StockThreshold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "warehouse_id", nullable = false)
+    private Long warehouseId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "minimum_quantity", nullable = false)
+    private int minimumQuantity;
+
+    public StockThreshold() {
+    }
+
+    public StockThreshold(Long warehouseId, Long productId, int minimumQuantity) {
+        this.warehouseId = warehouseId;
+        this.productId = productId;
+        this.minimumQuantity = minimumQuantity;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getWarehouseId() {
+        return warehouseId;
+    }
+
+    public void setWarehouseId(Long warehouseId) {
+        this.warehouseId = warehouseId;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public int getMinimumQuantity() {
+        return minimumQuantity;
+    }
+
+    public void setMinimumQuantity(int minimumQuantity) {
+        this.minimumQuantity = minimumQuantity;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.kpo.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Units of one category on one warehouse, i.e. the sum of the matching
+ * {@link WarehouseProduct} rows, kept up to date with every stock change. The
+ * warehouse and category are plain ids, a total is never loaded with them.
+ */
+@Entity
+@Table(name = "stock_totals", uniqueConstraints = {
+        @UniqueConstraint(name = "ux_stock_totals_warehouse_category", columnNames = {"warehouse_id", "category_id"})
+}, indexes = @Index(name = "ix_stock_totals_category", columnList = "category_id"))
+public class StockTotal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "warehouse_id", nullable = false)
+    private Long warehouseId;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(nullable = false)
+    private long quantity;
+
+    public StockTotal() {
+    }
+
+    public StockTotal(Long warehouseId, Long categoryId, long quantity) {
+        this.warehouseId = warehouseId;
+        this.categoryId = categoryId;
+        this.quantity = quantity;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getWarehouseId() {
+        return warehouseId;
+    }
+
+    public void setWarehouseId(Long warehouseId) {
+        this.warehouseId = warehouseId;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(long quantity) {
+        this.quantity = quantity;
+    }
+}
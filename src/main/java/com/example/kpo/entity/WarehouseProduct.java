@@ -5,6 +5,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -14,8 +15,8 @@ import jakarta.validation.constraints.NotNull;
 
 @Entity
 @Table(name = "warehouse_products", uniqueConstraints = {
-        @UniqueConstraint(columnNames = {"warehouse_id", "product_id"})
-})
+        @UniqueConstraint(name = "ux_warehouse_products_warehouse_product", columnNames = {"warehouse_id", "product_id"})
+}, indexes = @Index(name = "ix_warehouse_products_product", columnList = "product_id"))
 public class WarehouseProduct {
 
     @Id
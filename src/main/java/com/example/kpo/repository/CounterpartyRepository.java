@@ -1,9 +1,16 @@
 package com.example.kpo.repository;
 
+import com.example.kpo.dto.NameMatchResponse;
 import com.example.kpo.entity.Counterparty;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface CounterpartyRepository extends JpaRepository<Counterparty, Long> {
+
+    @Query("SELECT new com.example.kpo.dto.NameMatchResponse(c.id, c.name) FROM Counterparty c")
+    List<NameMatchResponse> findAllNames();
 }
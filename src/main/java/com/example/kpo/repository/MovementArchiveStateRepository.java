@@ -0,0 +1,9 @@
+package com.example.kpo.repository;
+
+import com.example.kpo.entity.MovementArchiveState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MovementArchiveStateRepository extends JpaRepository<MovementArchiveState, Long> {
+}
@@ -2,10 +2,36 @@ package com.example.kpo.repository;
 
 import com.example.kpo.entity.MovementProduct;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface MovementProductRepository extends JpaRepository<MovementProduct, Long> {
 
     boolean existsByProductId(Long productId);
+
+    /**
+     * Units moved per product, movement type, warehouse and target warehouse by
+     * the movements of the given products dated up to the moment, read through
+     * the product history index.
+     */
+    @Query("""
+            SELECT i.product.id, m.type, m.warehouse.id, m.targetWarehouse.id, SUM(i.quantity)
+            FROM MovementProduct i
+            JOIN i.movement m
+            WHERE i.product.id IN :productIds AND m.date <= :until
+            GROUP BY i.product.id, m.type, m.warehouse.id, m.targetWarehouse.id
+            """)
+    List<Object[]> sumByProductUntil(@Param("productIds") Collection<Long> productIds,
+                                     @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("DELETE FROM MovementProduct i WHERE i.movement.id IN :movementIds")
+    int deleteByMovementIdIn(@Param("movementIds") Collection<Long> movementIds);
 }
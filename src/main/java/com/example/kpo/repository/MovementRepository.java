@@ -2,18 +2,59 @@ package com.example.kpo.repository;
 
 import com.example.kpo.entity.Movement;
 import com.example.kpo.entity.MovementType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface MovementRepository extends JpaRepository<Movement, Long> {
 
-    List<Movement> findByType(MovementType type);
+    /**
+     * Movements with everything the JSON representation needs, so that listing
+     * them does not load the items and their relations one movement at a time.
+     */
+    @Query("""
+            SELECT DISTINCT m FROM Movement m
+            LEFT JOIN FETCH m.items i
+            LEFT JOIN FETCH i.product p
+            LEFT JOIN FETCH p.category
+            LEFT JOIN FETCH m.employee
+            LEFT JOIN FETCH m.counterparty
+            LEFT JOIN FETCH m.warehouse
+            LEFT JOIN FETCH m.targetEmployee
+            LEFT JOIN FETCH m.targetWarehouse
+            """)
+    List<Movement> findAllWithDetails();
+
+    @Query("""
+            SELECT DISTINCT m FROM Movement m
+            LEFT JOIN FETCH m.items i
+            LEFT JOIN FETCH i.product p
+            LEFT JOIN FETCH p.category
+            LEFT JOIN FETCH m.employee
+            LEFT JOIN FETCH m.counterparty
+            LEFT JOIN FETCH m.warehouse
+            LEFT JOIN FETCH m.targetEmployee
+            LEFT JOIN FETCH m.targetWarehouse
+            WHERE m.type = :type
+            """)
+    List<Movement> findByType(@Param("type") MovementType type);
+
+    /**
+     * Movements up to the given moment, or all movements when it is {@code null}.
+     * Dispatches to two separate queries: a "date IS NULL OR" predicate would
+     * stop SQLite from using the date index.
+     */
+    default List<Movement> findAllForReport(LocalDateTime untilDate) {
+        return untilDate == null ? findAllForReport() : findAllForReportUntil(untilDate);
+    }
 
     @Query("""
             SELECT DISTINCT m FROM Movement m
@@ -22,7 +63,35 @@ public interface MovementRepository extends JpaRepository<Movement, Long> {
             LEFT JOIN FETCH p.category
             LEFT JOIN FETCH m.warehouse
             LEFT JOIN FETCH m.targetWarehouse
-            WHERE (:untilDate IS NULL OR m.date <= :untilDate)
             """)
-    List<Movement> findAllForReport(@Param("untilDate") LocalDateTime untilDate);
+    List<Movement> findAllForReport();
+
+    @Query("""
+            SELECT DISTINCT m FROM Movement m
+            LEFT JOIN FETCH m.items i
+            LEFT JOIN FETCH i.product p
+            LEFT JOIN FETCH p.category
+            LEFT JOIN FETCH m.warehouse
+            LEFT JOIN FETCH m.targetWarehouse
+            WHERE m.date <= :untilDate
+            """)
+    List<Movement> findAllForReportUntil(@Param("untilDate") LocalDateTime untilDate);
+
+    @Query("SELECT m.id FROM Movement m WHERE m.date < :cutoff ORDER BY m.id")
+    List<Long> findIdsBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Query("SELECT m.id FROM Movement m WHERE m.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            SELECT DISTINCT m FROM Movement m
+            LEFT JOIN FETCH m.items i
+            LEFT JOIN FETCH i.product
+            WHERE m.id IN :ids
+            """)
+    List<Movement> findAllWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Movement m WHERE m.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,25 @@
+package com.example.kpo.repository;
+
+import com.example.kpo.entity.OpeningBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OpeningBalanceRepository extends JpaRepository<OpeningBalance, Long> {
+
+    @Query("""
+            SELECT b FROM OpeningBalance b
+            JOIN FETCH b.warehouse
+            JOIN FETCH b.product p
+            LEFT JOIN FETCH p.category
+            """)
+    List<OpeningBalance> findAllWithDetails();
+
+    List<OpeningBalance> findByWarehouseIdInAndProductIdIn(Collection<Long> warehouseIds, Collection<Long> productIds);
+
+    boolean existsByProductId(Long productId);
+}
@@ -1,9 +1,16 @@
 package com.example.kpo.repository;
 
+import com.example.kpo.dto.NameMatchResponse;
 import com.example.kpo.entity.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
+
+    @Query("SELECT new com.example.kpo.dto.NameMatchResponse(p.id, p.name) FROM Product p")
+    List<NameMatchResponse> findAllNames();
 }
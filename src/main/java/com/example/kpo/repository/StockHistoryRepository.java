@@ -0,0 +1,85 @@
+package com.example.kpo.repository;
+
+import com.example.kpo.entity.StockHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StockHistoryRepository extends JpaRepository<StockHistory, Long> {
+
+    /**
+     * Fills the history from the movements on top of the opening balances at the
+     * archive cutoff, as the V9 migration does; also run by the dataset generator
+     * on its own connection.
+     */
+    String INSERT_HISTORY_FROM_MOVEMENTS = """
+            INSERT INTO stock_history (product_id, warehouse_id, epoch_day, quantity)
+            SELECT product_id, warehouse_id, epoch_day,
+                   SUM(delta) OVER (PARTITION BY product_id, warehouse_id ORDER BY epoch_day)
+            FROM (
+                SELECT product_id, warehouse_id, epoch_day, SUM(delta) AS delta
+                FROM (
+                    SELECT i.product_id, m.warehouse_id,
+                           CAST(julianday(substr(m.date, 1, 10)) - 2440587.5 AS INTEGER) AS epoch_day,
+                           CASE m.type WHEN 'INBOUND' THEN i.quantity ELSE -i.quantity END AS delta
+                    FROM products_movement i
+                    JOIN movements m ON m.id = i.movement_id
+                    UNION ALL
+                    SELECT i.product_id, m.target_warehouse_id,
+                           CAST(julianday(substr(m.date, 1, 10)) - 2440587.5 AS INTEGER), i.quantity
+                    FROM products_movement i
+                    JOIN movements m ON m.id = i.movement_id
+                    WHERE m.type = 'TRANSFER'
+                    UNION ALL
+                    SELECT b.product_id, b.warehouse_id,
+                           CAST(julianday(substr(s.cutoff, 1, 10)) - 2440587.5 AS INTEGER), b.quantity
+                    FROM opening_balances b
+                    CROSS JOIN movement_archive_state s
+                )
+                GROUP BY product_id, warehouse_id, epoch_day
+            )
+            """;
+
+    /**
+     * Product id, warehouse id and the stock at the end of the day, or null when
+     * the product had not been on the warehouse yet, for every asked product and
+     * every warehouse. Each pair costs two seeks on the unique index, however long
+     * its history.
+     */
+    @Query("""
+            SELECT p.id, w.id,
+                   (SELECT h.quantity FROM StockHistory h
+                    WHERE h.productId = p.id AND h.warehouseId = w.id
+                      AND h.epochDay = (SELECT MAX(d.epochDay) FROM StockHistory d
+                                        WHERE d.productId = p.id AND d.warehouseId = w.id
+                                          AND d.epochDay <= :epochDay))
+            FROM Product p, Warehouse w
+            WHERE p.id IN :productIds
+            ORDER BY p.id, w.id
+            """)
+    List<Object[]> findStockAt(@Param("productIds") Collection<Long> productIds,
+                               @Param("epochDay") long epochDay);
+
+    /**
+     * {@link #findStockAt} limited to the given warehouses.
+     */
+    @Query("""
+            SELECT p.id, w.id,
+                   (SELECT h.quantity FROM StockHistory h
+                    WHERE h.productId = p.id AND h.warehouseId = w.id
+                      AND h.epochDay = (SELECT MAX(d.epochDay) FROM StockHistory d
+                                        WHERE d.productId = p.id AND d.warehouseId = w.id
+                                          AND d.epochDay <= :epochDay))
+            FROM Product p, Warehouse w
+            WHERE p.id IN :productIds AND w.id IN :warehouseIds
+            ORDER BY p.id, w.id
+            """)
+    List<Object[]> findStockAtWarehouses(@Param("productIds") Collection<Long> productIds,
+                                         @Param("epochDay") long epochDay,
+                                         @Param("warehouseIds") Collection<Long> warehouseIds);
+}
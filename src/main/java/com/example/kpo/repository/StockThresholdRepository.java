@@ -0,0 +1,32 @@
+package com.example.kpo.repository;
+
+import com.example.kpo.entity.StockThreshold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StockThresholdRepository extends JpaRepository<StockThreshold, Long> {
+
+    Optional<StockThreshold> findByWarehouseIdAndProductId(Long warehouseId, Long productId);
+
+    List<StockThreshold> findByWarehouseIdOrderByProductId(Long warehouseId);
+
+    List<StockThreshold> findByWarehouseId(Long warehouseId);
+
+    List<StockThreshold> findByProductId(Long productId);
+
+    /**
+     * Every threshold as warehouse id, product id, minimum and current stock,
+     * zero where the product is not on the warehouse.
+     */
+    @Query("""
+            SELECT t.warehouseId, t.productId, t.minimumQuantity, COALESCE(wp.quantity, 0)
+            FROM StockThreshold t
+            LEFT JOIN WarehouseProduct wp ON wp.warehouse.id = t.warehouseId AND wp.product.id = t.productId
+            """)
+    List<Object[]> findAllWithStock();
+}
@@ -0,0 +1,66 @@
+package com.example.kpo.repository;
+
+import com.example.kpo.dto.StockTotalResponse;
+import com.example.kpo.entity.StockTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StockTotalRepository extends JpaRepository<StockTotal, Long> {
+
+    List<StockTotal> findByWarehouseIdIn(Collection<Long> warehouseIds);
+
+    @Query("""
+            SELECT new com.example.kpo.dto.StockTotalResponse(t.warehouseId, t.categoryId, t.quantity)
+            FROM StockTotal t
+            WHERE t.warehouseId = :warehouseId
+            ORDER BY t.categoryId
+            """)
+    List<StockTotalResponse> findByWarehouse(@Param("warehouseId") Long warehouseId);
+
+    @Query("""
+            SELECT new com.example.kpo.dto.StockTotalResponse(t.warehouseId, CAST(NULL AS Long), SUM(t.quantity))
+            FROM StockTotal t
+            GROUP BY t.warehouseId
+            ORDER BY t.warehouseId
+            """)
+    List<StockTotalResponse> sumByWarehouse();
+
+    @Query("""
+            SELECT new com.example.kpo.dto.StockTotalResponse(CAST(NULL AS Long), t.categoryId, SUM(t.quantity))
+            FROM StockTotal t
+            GROUP BY t.categoryId
+            ORDER BY t.categoryId
+            """)
+    List<StockTotalResponse> sumByCategory();
+
+    @Modifying
+    @Query("DELETE FROM StockTotal t")
+    int deleteAllTotals();
+
+    /**
+     * Fills the totals from the stock rows, as the V7 migration does; also run by
+     * the dataset generator on its own connection.
+     */
+    String INSERT_TOTALS_FROM_STOCK = """
+            INSERT INTO stock_totals (warehouse_id, category_id, quantity)
+            SELECT wp.warehouse_id, p.category_id, SUM(wp.quantity)
+            FROM warehouse_products wp
+            JOIN products p ON p.id = wp.product_id
+            GROUP BY wp.warehouse_id, p.category_id
+            HAVING SUM(wp.quantity) > 0
+            """;
+
+    /**
+     * Recomputes the totals from the stock rows; run after {@link #deleteAllTotals()}.
+     */
+    @Modifying
+    @Query(value = INSERT_TOTALS_FROM_STOCK, nativeQuery = true)
+    int insertTotalsFromStock();
+}
@@ -16,10 +16,29 @@ public interface WarehouseProductRepository extends JpaRepository<WarehouseProdu
 
     Optional<WarehouseProduct> findByWarehouseAndProduct(Warehouse warehouse, Product product);
 
-    List<WarehouseProduct> findByWarehouse(Warehouse warehouse);
+    @Query("""
+            SELECT wp FROM WarehouseProduct wp
+            JOIN FETCH wp.product p
+            LEFT JOIN FETCH p.category
+            WHERE wp.warehouse = :warehouse
+            """)
+    List<WarehouseProduct> findByWarehouse(@Param("warehouse") Warehouse warehouse);
 
     boolean existsByProductId(Long productId);
 
+    @Query("""
+            SELECT wp.quantity FROM WarehouseProduct wp
+            WHERE wp.warehouse.id = :warehouseId AND wp.product.id = :productId
+            """)
+    Optional<Integer> findQuantity(@Param("warehouseId") Long warehouseId, @Param("productId") Long productId);
+
+    @Query("""
+            SELECT wp FROM WarehouseProduct wp
+            JOIN FETCH wp.warehouse
+            WHERE wp.product.id = :productId
+            """)
+    List<WarehouseProduct> findByProductId(@Param("productId") Long productId);
+
     @Query("""
             SELECT wp FROM WarehouseProduct wp
             JOIN FETCH wp.warehouse w
@@ -1,8 +1,12 @@
 package com.example.kpo.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -12,16 +16,23 @@ import java.security.Key;
 import java.util.Arrays;
 import java.util.Date;
 
+/**
+ * Issues and checks the JWT tokens. Every signature check is timed into
+ * {@code kpo.jwt.verifications}, tagged with its outcome.
+ */
 @Service
 public class JwtService {
     private final Key key;
     private final long expirationMs;
+    private final MeterRegistry meterRegistry;
 
     public JwtService(
             @Value("${jwt.secret-key}") String secret,
-            @Value("${jwt.expiration-ms}") long expirationMs) {
+            @Value("${jwt.expiration-ms}") long expirationMs,
+            MeterRegistry meterRegistry) {
         this.key = createKey(secret);
         this.expirationMs = expirationMs;
+        this.meterRegistry = meterRegistry;
     }
 
     private static Key createKey(String secret) {
@@ -42,27 +53,34 @@ public class JwtService {
             .signWith(key, SignatureAlgorithm.HS256)
             .compact();
     }
-    public String extractUsername(String token) {
-        return Jwts.parser()
-            .setSigningKey(key)
-            .build()
-            .parseClaimsJws(token)
-            .getBody()
-            .getSubject();
-    }
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        String username = extractUsername(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
-
 
+    /**
+     * Checks the signature and expiry of the token once; the claims are then
+     * passed along instead of parsing the token again.
+     */
+    public Claims parseClaims(String token) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "invalid";
+        try {
+            Claims claims = Jwts.parser()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+            outcome = "valid";
+            return claims;
+        } catch (ExpiredJwtException expired) {
+            outcome = "expired";
+            throw expired;
+        } finally {
+            sample.stop(Timer.builder("kpo.jwt.verifications")
+                .description("Parsing and signature checks of JWT tokens")
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+        }
     }
 
-    private boolean isTokenExpired(String token) {
-        return Jwts.parser()
-            .setSigningKey(key)
-            .build()
-            .parseClaimsJws(token)
-            .getBody()
-            .getExpiration().before(new Date());
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !claims.getExpiration().before(new Date());
     }
 }
@@ -0,0 +1,325 @@
+package com.example.kpo.service;
+
+import com.example.kpo.config.ImportProperties;
+import com.example.kpo.dto.ImportErrorResponse;
+import com.example.kpo.dto.ImportResultResponse;
+import com.example.kpo.util.CsvReader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports catalogue records from CSV with upsert semantics: a row whose natural key
+ * (the name, or the phone for employees) matches an existing record updates the
+ * oldest such record, any other row creates one. The file is read as a stream and
+ * written in batches, one transaction per batch: a single lookup of the batch keys,
+ * then JDBC batch updates and inserts, so memory use does not depend on the file
+ * size. Product categories are given by name and resolved once per file. Rows that
+ * fail validation are skipped and reported with their line; a dry run reports the
+ * same result without writing anything.
+ */
+@Service
+public class CatalogImportService {
+
+    static final int MAX_RECORD_LENGTH = 64 * 1024;
+    static final int MAX_VALUE_LENGTH = 255;
+
+    private static final Map<Catalog, Layout> LAYOUTS = Map.of(
+            Catalog.CATEGORIES, new Layout("categories",
+                    List.of(new Column("name", "name", true))),
+            Catalog.PRODUCTS, new Layout("products",
+                    List.of(new Column("name", "name", true),
+                            new Column("info", "info", false),
+                            new Column("category", "category_id", true))),
+            Catalog.COUNTERPARTIES, new Layout("counterparties",
+                    List.of(new Column("name", "name", true),
+                            new Column("phone", "phone", true),
+                            new Column("info", "info", false))),
+            Catalog.EMPLOYEES, new Layout("employees",
+                    List.of(new Column("phone", "phone", true),
+                            new Column("name", "name", true),
+                            new Column("info", "info", false))));
+
+    private final ImportProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReferenceDataVersions versions;
+    private final ProductService productService;
+    private final CounterpartyService counterpartyService;
+    private final StockTotalService stockTotalService;
+
+    public CatalogImportService(ImportProperties properties,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                ReferenceDataVersions versions,
+                                ProductService productService,
+                                CounterpartyService counterpartyService,
+                                StockTotalService stockTotalService) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.versions = versions;
+        this.productService = productService;
+        this.counterpartyService = counterpartyService;
+        this.stockTotalService = stockTotalService;
+    }
+
+    /**
+     * Imports the CSV, which starts with a header row naming the columns. A dry run
+     * checks every batch against the database without writing it, so a key repeated
+     * in different batches is counted as created each time.
+     */
+    public ImportResultResponse importCsv(Catalog catalog, InputStream csv, boolean dryRun) throws IOException {
+        Layout layout = LAYOUTS.get(catalog);
+        ImportResultResponse result = new ImportResultResponse(dryRun);
+        try (CsvReader reader = new CsvReader(new InputStreamReader(csv, StandardCharsets.UTF_8), MAX_RECORD_LENGTH)) {
+            List<String> header = reader.readRecord();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV file is empty");
+            }
+            Plan plan = layout.plan(header);
+            Map<String, Long> categories = catalog == Catalog.PRODUCTS ? loadCategories() : Map.of();
+            List<Row> batch = new ArrayList<>(properties.getBatchSize());
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue;
+                }
+                result.setRows(result.getRows() + 1);
+                Row row = toRow(plan, header.size(), record, reader.getRecordLine(), categories, result);
+                if (row == null) {
+                    continue;
+                }
+                batch.add(row);
+                if (batch.size() == properties.getBatchSize()) {
+                    writeBatch(plan, batch, dryRun, result);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(plan, batch, dryRun, result);
+            }
+        } finally {
+            if (!dryRun && result.getCreated() + result.getUpdated() > 0) {
+                catalogChanged(catalog, result);
+            }
+        }
+        return result;
+    }
+
+    private Row toRow(Plan plan, int fieldCount, List<String> record, long line,
+                      Map<String, Long> categories, ImportResultResponse result) {
+        if (record.size() != fieldCount) {
+            return reject(result, line, "Expected " + fieldCount + " fields but found " + record.size());
+        }
+        Object[] values = new Object[plan.columns().size()];
+        for (int index = 0; index < values.length; index++) {
+            Column column = plan.columns().get(index);
+            String value = record.get(plan.positions()[index]).trim();
+            if (value.isEmpty()) {
+                if (column.required()) {
+                    return reject(result, line, "Column " + column.header() + " is required");
+                }
+                continue;
+            }
+            if (value.length() > MAX_VALUE_LENGTH) {
+                return reject(result, line, "Column " + column.header() + " is longer than "
+                        + MAX_VALUE_LENGTH + " characters");
+            }
+            if (column.dbColumn().equals("category_id")) {
+                Long categoryId = categories.get(value);
+                if (categoryId == null) {
+                    return reject(result, line, "Category not found: " + value);
+                }
+                values[index] = categoryId;
+            } else {
+                values[index] = value;
+            }
+        }
+        return new Row((String) values[0], values);
+    }
+
+    private Row reject(ImportResultResponse result, long line, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < properties.getMaxReportedErrors()) {
+            result.getErrors().add(new ImportErrorResponse(line, message));
+        }
+        return null;
+    }
+
+    private void writeBatch(Plan plan, List<Row> rows, boolean dryRun, ImportResultResponse result) {
+        TransactionTemplate transaction = dryRun ? readOnlyTransaction : writeTransaction;
+        transaction.executeWithoutResult(status -> {
+            // a key repeated within the batch is written once, with the values of its last row
+            Map<String, Row> byKey = new LinkedHashMap<>();
+            long repeated = 0;
+            for (Row row : rows) {
+                if (byKey.put(row.key(), row) != null) {
+                    repeated++;
+                }
+            }
+            Map<String, Long> existing = findExisting(plan, byKey.keySet());
+            List<Object[]> inserts = new ArrayList<>();
+            List<Object[]> updates = new ArrayList<>();
+            for (Row row : byKey.values()) {
+                Long id = existing.get(row.key());
+                if (id == null) {
+                    inserts.add(row.values());
+                } else {
+                    Object[] values = Arrays.copyOf(row.values(), row.values().length + 1);
+                    values[row.values().length] = id;
+                    updates.add(values);
+                }
+            }
+            if (!dryRun) {
+                if (!updates.isEmpty()) {
+                    jdbcTemplate.batchUpdate(plan.updateSql(), updates);
+                }
+                if (!inserts.isEmpty()) {
+                    jdbcTemplate.batchUpdate(plan.insertSql(), inserts);
+                }
+            }
+            result.setCreated(result.getCreated() + inserts.size());
+            result.setUpdated(result.getUpdated() + updates.size() + repeated);
+        });
+    }
+
+    /**
+     * Ids of the records with the given keys; with duplicates in the table the
+     * oldest record wins.
+     */
+    private Map<String, Long> findExisting(Plan plan, Set<String> keys) {
+        String key = plan.columns().get(0).dbColumn();
+        String placeholders = String.join(", ", Collections.nCopies(keys.size(), "?"));
+        Map<String, Long> existing = new HashMap<>();
+        jdbcTemplate.query("SELECT id, " + key + " FROM " + plan.table()
+                        + " WHERE " + key + " IN (" + placeholders + ") ORDER BY id DESC",
+                resultSet -> {
+                    existing.put(resultSet.getString(2), resultSet.getLong(1));
+                },
+                keys.toArray());
+        return existing;
+    }
+
+    private Map<String, Long> loadCategories() {
+        Map<String, Long> categories = new HashMap<>();
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(
+                "SELECT id, name FROM categories ORDER BY id DESC",
+                resultSet -> {
+                    categories.put(resultSet.getString(2), resultSet.getLong(1));
+                }));
+        return categories;
+    }
+
+    private void catalogChanged(Catalog catalog, ImportResultResponse result) {
+        switch (catalog) {
+            case CATEGORIES -> versions.changed(ReferenceDataVersions.Type.CATEGORIES,
+                    ReferenceDataVersions.Type.PRODUCTS);
+            case PRODUCTS -> {
+                versions.changed(ReferenceDataVersions.Type.PRODUCTS);
+                productService.reloadSearchIndex();
+                if (result.getUpdated() > 0) {
+                    // updated products may have changed category
+                    stockTotalService.rebuild();
+                }
+            }
+            case COUNTERPARTIES -> {
+                versions.changed(ReferenceDataVersions.Type.COUNTERPARTIES);
+                counterpartyService.reloadSearchIndex();
+            }
+            case EMPLOYEES -> versions.changed(ReferenceDataVersions.Type.EMPLOYEES);
+        }
+    }
+
+    public enum Catalog {
+        CATEGORIES,
+        PRODUCTS,
+        COUNTERPARTIES,
+        EMPLOYEES
+    }
+
+    /**
+     * A CSV column and the table column it is written to.
+     */
+    private record Column(String header, String dbColumn, boolean required) {
+    }
+
+    /**
+     * The table of a catalogue and its importable columns, the natural key first.
+     */
+    private record Layout(String table, List<Column> columns) {
+
+        /**
+         * Matches the header against the columns. A missing required or an unknown
+         * column rejects the whole file; an absent optional column is left as it is
+         * on updated records.
+         */
+        Plan plan(List<String> header) {
+            Map<String, Integer> byName = new HashMap<>();
+            for (int index = 0; index < header.size(); index++) {
+                String name = header.get(index).trim().toLowerCase(Locale.ROOT);
+                if (columns.stream().noneMatch(column -> column.header().equals(name))) {
+                    throw new IllegalArgumentException("Unknown column: " + header.get(index));
+                }
+                if (byName.put(name, index) != null) {
+                    throw new IllegalArgumentException("Duplicate column: " + header.get(index));
+                }
+            }
+            List<Column> present = new ArrayList<>();
+            List<Integer> positions = new ArrayList<>();
+            for (Column column : columns) {
+                Integer position = byName.get(column.header());
+                if (position == null) {
+                    if (column.required()) {
+                        throw new IllegalArgumentException("Missing column: " + column.header());
+                    }
+                    continue;
+                }
+                present.add(column);
+                positions.add(position);
+            }
+            return new Plan(table, present, positions.stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    /**
+     * The columns of one file, in layout order, with their positions in the file.
+     */
+    private record Plan(String table, List<Column> columns, int[] positions) {
+
+        String insertSql() {
+            return "INSERT INTO " + table + " (" + dbColumns(", ") + ") VALUES ("
+                    + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        }
+
+        String updateSql() {
+            return "UPDATE " + table + " SET " + dbColumns(" = ?, ") + " = ? WHERE id = ?";
+        }
+
+        private String dbColumns(String separator) {
+            return columns.stream().map(Column::dbColumn).collect(Collectors.joining(separator));
+        }
+    }
+
+    private record Row(String key, Object[] values) {
+    }
+}
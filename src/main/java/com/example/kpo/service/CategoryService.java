@@ -11,9 +11,11 @@ import java.util.Optional;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final ReferenceDataVersions versions;
 
-    public CategoryService(CategoryRepository categoryRepository) {
+    public CategoryService(CategoryRepository categoryRepository, ReferenceDataVersions versions) {
         this.categoryRepository = categoryRepository;
+        this.versions = versions;
     }
 
     public List<Category> getAllCategories() {
@@ -25,14 +27,20 @@ public class CategoryService {
     }
 
     public Category createCategory(Category category) {
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        versions.changed(ReferenceDataVersions.Type.CATEGORIES);
+        return saved;
     }
 
     public Category updateCategory(Category category) {
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        // products embed their category, so a renamed category changes the product list too
+        versions.changed(ReferenceDataVersions.Type.CATEGORIES, ReferenceDataVersions.Type.PRODUCTS);
+        return saved;
     }
 
     public void deleteCategory(Long id) {
         categoryRepository.deleteById(id);
+        versions.changed(ReferenceDataVersions.Type.CATEGORIES);
     }
 }
@@ -1,5 +1,6 @@
 package com.example.kpo.service;
 
+import com.example.kpo.dto.NameMatchResponse;
 import com.example.kpo.entity.Counterparty;
 import com.example.kpo.repository.CounterpartyRepository;
 import org.springframework.stereotype.Service;
@@ -11,9 +12,13 @@ import java.util.Optional;
 public class CounterpartyService {
 
     private final CounterpartyRepository counterpartyRepository;
+    private final ReferenceDataVersions versions;
+    private final NameSearchIndex searchIndex;
 
-    public CounterpartyService(CounterpartyRepository counterpartyRepository) {
+    public CounterpartyService(CounterpartyRepository counterpartyRepository, ReferenceDataVersions versions) {
         this.counterpartyRepository = counterpartyRepository;
+        this.versions = versions;
+        this.searchIndex = new NameSearchIndex(counterpartyRepository::findAllNames);
     }
 
     public List<Counterparty> getAll() {
@@ -24,8 +29,23 @@ public class CounterpartyService {
         return counterpartyRepository.findById(id);
     }
 
+    public List<NameMatchResponse> search(String query, int limit) {
+        return searchIndex.search(query, limit);
+    }
+
+    /**
+     * Rebuilds the search index on the next search, after records were written
+     * around this service.
+     */
+    void reloadSearchIndex() {
+        searchIndex.invalidate();
+    }
+
     public Counterparty create(Counterparty counterparty) {
-        return counterpartyRepository.save(counterparty);
+        Counterparty saved = counterpartyRepository.save(counterparty);
+        versions.changed(ReferenceDataVersions.Type.COUNTERPARTIES);
+        searchIndex.put(saved.getId(), saved.getName());
+        return saved;
     }
 
     public Optional<Counterparty> update(Long id, Counterparty counterparty) {
@@ -34,11 +54,16 @@ public class CounterpartyService {
                     existing.setName(counterparty.getName());
                     existing.setPhone(counterparty.getPhone());
                     existing.setInfo(counterparty.getInfo());
-                    return counterpartyRepository.save(existing);
+                    Counterparty saved = counterpartyRepository.save(existing);
+                    versions.changed(ReferenceDataVersions.Type.COUNTERPARTIES);
+                    searchIndex.put(saved.getId(), saved.getName());
+                    return saved;
                 });
     }
 
     public void delete(Long id) {
         counterpartyRepository.deleteById(id);
+        versions.changed(ReferenceDataVersions.Type.COUNTERPARTIES);
+        searchIndex.remove(id);
     }
 }
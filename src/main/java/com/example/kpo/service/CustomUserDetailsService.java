@@ -2,24 +2,47 @@ package com.example.kpo.service;
 
 import com.example.kpo.entity.Admin;
 import com.example.kpo.repository.AdminRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads admins for authentication; the lookups are timed into
+ * {@code kpo.auth.lookups}, tagged with whether the admin was found.
+ */
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final AdminRepository adminRepository;
+    private final Timer foundLookups;
+    private final Timer missingLookups;
 
-    public CustomUserDetailsService(AdminRepository adminRepository) {
+    public CustomUserDetailsService(AdminRepository adminRepository, MeterRegistry meterRegistry) {
         this.adminRepository = adminRepository;
+        this.foundLookups = lookupTimer(meterRegistry, "found");
+        this.missingLookups = lookupTimer(meterRegistry, "not_found");
+    }
+
+    private static Timer lookupTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("kpo.auth.lookups")
+                .description("Admin lookups during login and token authentication")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Admin admin = adminRepository.findByUsername(username)
+        long started = System.nanoTime();
+        Optional<Admin> found = adminRepository.findByUsername(username);
+        (found.isPresent() ? foundLookups : missingLookups).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        Admin admin = found
                 .orElseThrow(() -> new UsernameNotFoundException("Admin not found with username: " + username));
         return User.withUsername(admin.getUsername())
                 .password(admin.getPassword())
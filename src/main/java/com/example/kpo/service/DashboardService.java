@@ -0,0 +1,283 @@
+package com.example.kpo.service;
+
+import com.example.kpo.dto.DashboardKpiResponse;
+import com.example.kpo.dto.DashboardRankingResponse;
+import com.example.kpo.entity.MovementType;
+import com.example.kpo.repository.CounterpartyRepository;
+import com.example.kpo.repository.ProductRepository;
+import com.example.kpo.repository.WarehouseRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Dashboard figures kept in memory as rolling counters: movements per minute,
+ * hour and day, units received and shipped per day, and per-day tallies of the
+ * units moved per product and of the movements per warehouse and counterparty.
+ * The counters are loaded from the movements of the last {@value #DAYS} days once
+ * at startup, before the server takes requests, and then follow every committed
+ * {@link MovementChangedEvent}, so reading them never scans the movements.
+ * Everything is counted by movement date; a movement dated in the future, and
+ * taking one back out, is held until its date arrives and then counted.
+ */
+@Service
+public class DashboardService implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardService.class);
+
+    static final int DAYS = 30;
+    static final int TOP_SIZE = 5;
+    private static final int FETCH_SIZE = 500;
+    private static final String LINES_QUERY = """
+            SELECT m.id, m.date, m.type, w.id, tw.id, c.id, p.id, i.quantity
+            FROM Movement m
+            JOIN m.warehouse w
+            LEFT JOIN m.targetWarehouse tw
+            LEFT JOIN m.counterparty c
+            LEFT JOIN m.items i
+            LEFT JOIN i.product p
+            WHERE m.date >= :from
+            ORDER BY m.id, i.id
+            """;
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ProductRepository productRepository;
+    private final WarehouseRepository warehouseRepository;
+    private final CounterpartyRepository counterpartyRepository;
+    private final ReentrantLock lock = new ReentrantLock();
+    private Counters counters = new Counters();
+
+    public DashboardService(EntityManager entityManager,
+                            PlatformTransactionManager transactionManager,
+                            ProductRepository productRepository,
+                            WarehouseRepository warehouseRepository,
+                            CounterpartyRepository counterpartyRepository) {
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.productRepository = productRepository;
+        this.warehouseRepository = warehouseRepository;
+        this.counterpartyRepository = counterpartyRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Reloads the counters from the movements; changes committed while this runs
+     * wait for it and are applied afterwards.
+     */
+    public void rebuild() {
+        long started = System.nanoTime();
+        lock.lock();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Counters rebuilt = new Counters();
+            long movements = readOnlyTransaction.execute(status -> load(rebuilt, now));
+            counters = rebuilt;
+            logger.info("Dashboard counters loaded from {} movements in {} ms",
+                    movements, Duration.ofNanos(System.nanoTime() - started).toMillis());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMovementChanged(MovementChangedEvent event) {
+        lock.lock();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            if (event.before() != null) {
+                counters.apply(event.before(), -1, now);
+            }
+            if (event.after() != null) {
+                counters.apply(event.after(), 1, now);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The current figures; only the names of the ranked entries are looked up.
+     */
+    public DashboardKpiResponse getKpis() {
+        DashboardKpiResponse response = new DashboardKpiResponse();
+        List<Map.Entry<Long, Long>> topProducts;
+        List<Map.Entry<Long, Long>> busiestWarehouses;
+        List<Map.Entry<Long, Long>> busiestCounterparties;
+        lock.lock();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            counters.advance(now);
+            response.setGeneratedAt(now);
+            response.setMovementsToday(counters.movementsByDay.sum(1, now));
+            response.setMovementsLastHour(counters.movementsByMinute.sum(60, now));
+            response.setMovementsByHour(Arrays.stream(counters.movementsByHour.series(now)).boxed().toList());
+            response.setReceivedUnits7Days(counters.receivedByDay.sum(7, now));
+            response.setReceivedUnits30Days(counters.receivedByDay.sum(DAYS, now));
+            response.setShippedUnits7Days(counters.shippedByDay.sum(7, now));
+            response.setShippedUnits30Days(counters.shippedByDay.sum(DAYS, now));
+            topProducts = counters.productUnits.top(TOP_SIZE, now);
+            busiestWarehouses = counters.warehouseMovements.top(TOP_SIZE, now);
+            busiestCounterparties = counters.counterpartyMovements.top(TOP_SIZE, now);
+        } finally {
+            lock.unlock();
+        }
+        response.setTopProducts(rank(topProducts, ids -> {
+            Map<Long, String> names = new HashMap<>();
+            productRepository.findAllById(ids).forEach(product -> names.put(product.getId(), product.getName()));
+            return names;
+        }));
+        response.setBusiestWarehouses(rank(busiestWarehouses, ids -> {
+            Map<Long, String> names = new HashMap<>();
+            warehouseRepository.findAllById(ids).forEach(warehouse -> names.put(warehouse.getId(), warehouse.getName()));
+            return names;
+        }));
+        response.setBusiestCounterparties(rank(busiestCounterparties, ids -> {
+            Map<Long, String> names = new HashMap<>();
+            counterpartyRepository.findAllById(ids)
+                    .forEach(counterparty -> names.put(counterparty.getId(), counterparty.getName()));
+            return names;
+        }));
+        return response;
+    }
+
+    private long load(Counters target, LocalDateTime now) {
+        Session session = entityManager.unwrap(Session.class);
+        LocalDateTime from = now.toLocalDate().minusDays(DAYS - 1L).atStartOfDay();
+        long movements = 0;
+        try (ScrollableResults<Object[]> lines = session.createSelectionQuery(LINES_QUERY, Object[].class)
+                .setParameter("from", from)
+                .setFetchSize(FETCH_SIZE)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            Long movementId = null;
+            Object[] movement = null;
+            List<MovementChangedEvent.Item> items = new ArrayList<>();
+            while (lines.next()) {
+                Object[] line = lines.get();
+                if (!line[0].equals(movementId)) {
+                    if (movement != null) {
+                        target.apply(snapshot(movement, items), 1, now);
+                        movements++;
+                    }
+                    movementId = (Long) line[0];
+                    movement = line;
+                    items = new ArrayList<>();
+                }
+                if (line[6] != null) {
+                    items.add(new MovementChangedEvent.Item((Long) line[6], (Integer) line[7]));
+                }
+            }
+            if (movement != null) {
+                target.apply(snapshot(movement, items), 1, now);
+                movements++;
+            }
+        }
+        return movements;
+    }
+
+    private static MovementChangedEvent.Snapshot snapshot(Object[] line, List<MovementChangedEvent.Item> items) {
+        return new MovementChangedEvent.Snapshot((LocalDateTime) line[1], (MovementType) line[2],
+                (Long) line[3], (Long) line[4], (Long) line[5], items);
+    }
+
+    private static List<DashboardRankingResponse> rank(List<Map.Entry<Long, Long>> entries,
+                                                       Function<List<Long>, Map<Long, String>> names) {
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, String> byId = names.apply(entries.stream().map(Map.Entry::getKey).toList());
+        return entries.stream()
+                .map(entry -> new DashboardRankingResponse(entry.getKey(), byId.get(entry.getKey()), entry.getValue()))
+                .toList();
+    }
+
+    /**
+     * All counters of the dashboard, replaced as a whole on rebuild.
+     */
+    private static final class Counters {
+
+        private final RollingCounter movementsByMinute = new RollingCounter(Duration.ofMinutes(1), 60);
+        private final RollingCounter movementsByHour = new RollingCounter(Duration.ofHours(1), 24);
+        private final RollingCounter movementsByDay = new RollingCounter(Duration.ofDays(1), DAYS);
+        private final RollingCounter receivedByDay = new RollingCounter(Duration.ofDays(1), DAYS);
+        private final RollingCounter shippedByDay = new RollingCounter(Duration.ofDays(1), DAYS);
+        private final RollingTally productUnits = new RollingTally(Duration.ofDays(1), DAYS);
+        private final RollingTally warehouseMovements = new RollingTally(Duration.ofDays(1), DAYS);
+        private final RollingTally counterpartyMovements = new RollingTally(Duration.ofDays(1), DAYS);
+        private final TreeMap<LocalDateTime, List<Deferred>> future = new TreeMap<>();
+
+        /**
+         * Counts the movement in, or with a sign of -1 takes it back out. Either is
+         * held until the date of the movement when that is still ahead, so a
+         * movement is taken out of the same buckets it was counted in.
+         */
+        void apply(MovementChangedEvent.Snapshot movement, int sign, LocalDateTime now) {
+            advance(now);
+            if (movement.date().isAfter(now)) {
+                future.computeIfAbsent(movement.date(), date -> new ArrayList<>()).add(new Deferred(movement, sign));
+                return;
+            }
+            count(movement, sign, now);
+        }
+
+        /**
+         * Counts the held changes whose date has arrived.
+         */
+        void advance(LocalDateTime now) {
+            Map<LocalDateTime, List<Deferred>> due = future.headMap(now, true);
+            due.values().forEach(changes -> changes.forEach(change -> count(change.movement(), change.sign(), now)));
+            due.clear();
+        }
+
+        private void count(MovementChangedEvent.Snapshot movement, int sign, LocalDateTime now) {
+            LocalDateTime date = movement.date();
+            movementsByMinute.add(date, sign, now);
+            movementsByHour.add(date, sign, now);
+            movementsByDay.add(date, sign, now);
+            if (movement.type() == MovementType.INBOUND) {
+                receivedByDay.add(date, sign * movement.units(), now);
+            } else if (movement.type() == MovementType.OUTBOUND) {
+                shippedByDay.add(date, sign * movement.units(), now);
+            }
+            for (MovementChangedEvent.Item item : movement.items()) {
+                productUnits.add(date, item.productId(), (long) sign * item.quantity(), now);
+            }
+            warehouseMovements.add(date, movement.warehouseId(), sign, now);
+            if (movement.targetWarehouseId() != null) {
+                warehouseMovements.add(date, movement.targetWarehouseId(), sign, now);
+            }
+            if (movement.counterpartyId() != null) {
+                counterpartyMovements.add(date, movement.counterpartyId(), sign, now);
+            }
+        }
+
+        private record Deferred(MovementChangedEvent.Snapshot movement, int sign) {
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.example.kpo.service;
+
+import com.example.kpo.config.ArchiveProperties;
+import com.example.kpo.config.BackupProperties;
+import com.example.kpo.dto.BackupFileResponse;
+import com.example.kpo.dto.BackupStatusResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.sqlite.SQLiteConnection;
+import org.sqlite.SQLiteDataSource;
+import org.sqlite.SQLiteErrorCode;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Writes consistent snapshots of the live SQLite database with the online backup API.
+ * The copy runs on a read-pool connection inside one read transaction: under WAL that
+ * pins a snapshot writers never wait for, and the backup does not restart when other
+ * connections commit while it is running. Pages are copied in small steps with a pause
+ * in between, the file appears under its final name only once it is complete.
+ * <p>
+ * The movement archive file is copied the same way right after the database, into a
+ * companion file that shares the timestamp and the retention of the database snapshot.
+ * Its snapshot is taken after the database one, so it holds every batch the database
+ * snapshot counts as archived; later batches in it are dropped by the next archive run.
+ */
+@Service
+@ConditionalOnExpression("'${spring.datasource.url:}'.startsWith('jdbc:sqlite:')")
+public class DatabaseBackupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseBackupService.class);
+
+    private static final String FILE_PREFIX = "kpo-";
+    private static final String FILE_SUFFIX = ".db";
+    private static final String ARCHIVE_SUFFIX = "-archive.db";
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final int BUSY_RETRY_MILLIS = 100;
+    private static final int BUSY_RETRIES = 50;
+
+    private final DataSource readDataSource;
+    private final BackupProperties properties;
+    private final ArchiveProperties archiveProperties;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile BackupRun lastRun;
+
+    public DatabaseBackupService(@Qualifier("sqliteReadDataSource") DataSource readDataSource,
+                                 BackupProperties properties,
+                                 ArchiveProperties archiveProperties) {
+        this.readDataSource = readDataSource;
+        this.properties = properties;
+        this.archiveProperties = archiveProperties;
+    }
+
+    /**
+     * Starts a backup in the background unless one is already running.
+     */
+    public BackupStatusResponse startBackup() {
+        if (running.compareAndSet(false, true)) {
+            BackupRun run = new BackupRun();
+            lastRun = run;
+            Thread.ofPlatform().name("sqlite-backup").start(() -> execute(run));
+        }
+        return getStatus();
+    }
+
+    @Scheduled(cron = "${kpo.backup.schedule:-}")
+    public void scheduledBackup() {
+        if (!running.compareAndSet(false, true)) {
+            logger.info("Scheduled backup skipped, another backup is still running");
+            return;
+        }
+        BackupRun run = new BackupRun();
+        lastRun = run;
+        execute(run);
+    }
+
+    public BackupStatusResponse getStatus() {
+        BackupRun run = lastRun;
+        return run == null ? new BackupStatusResponse() : run.toResponse();
+    }
+
+    public List<BackupFileResponse> listBackups() {
+        List<BackupFileResponse> backups = new ArrayList<>();
+        for (Path file : backupFiles()) {
+            addBackupFile(backups, file);
+            Path archive = archiveCompanion(file);
+            if (Files.exists(archive)) {
+                addBackupFile(backups, archive);
+            }
+        }
+        return backups;
+    }
+
+    private static void addBackupFile(List<BackupFileResponse> backups, Path file) {
+        try {
+            backups.add(new BackupFileResponse(file.getFileName().toString(), Files.size(file),
+                    LocalDateTime.ofInstant(Files.getLastModifiedTime(file).toInstant(), ZoneId.systemDefault())));
+        } catch (IOException exception) {
+            logger.warn("Failed to read backup file {}", file, exception);
+        }
+    }
+
+    private void execute(BackupRun run) {
+        try {
+            Path directory = properties.getDirectory();
+            Files.createDirectories(directory);
+            String name = FILE_PREFIX + FILE_TIMESTAMP.format(run.startedAt) + FILE_SUFFIX;
+            Path target = directory.resolve(name);
+            Path partial = directory.resolve(name + ".part");
+            Path archiveTarget = archiveCompanion(target);
+            Path archivePartial = directory.resolve(archiveTarget.getFileName() + ".part");
+            run.file = name;
+            try {
+                try (Connection connection = readDataSource.getConnection()) {
+                    copyDatabase(connection, partial, run);
+                }
+                // the database file marks a complete run, the archive copy is moved in first
+                if (Files.exists(archiveProperties.getPath())) {
+                    try (Connection connection = openArchive()) {
+                        copyDatabase(connection, archivePartial, run);
+                    }
+                    Files.move(archivePartial, archiveTarget, StandardCopyOption.ATOMIC_MOVE);
+                    run.archiveFile = archiveTarget.getFileName().toString();
+                }
+                Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(partial);
+                Files.deleteIfExists(archivePartial);
+            }
+            run.finish(null);
+            logger.info("Backup {} written: {} pages in {} ms ({} pages/s, longest step {} ms)",
+                    name, run.pagesCopied, run.elapsedMillis(), Math.round(run.pagesPerSecond()),
+                    String.format("%.1f", run.maxStepNanos / 1_000_000.0));
+            applyRetention();
+        } catch (IOException | SQLException | RuntimeException exception) {
+            run.finish(exception.getMessage());
+            logger.error("Backup {} failed", run.file, exception);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void copyDatabase(Connection connection, Path partial, BackupRun run) throws SQLException {
+        SQLiteConnection sqliteConnection = connection.unwrap(SQLiteConnection.class);
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            try (ResultSet resultSet = statement.executeQuery("PRAGMA page_size")) {
+                run.pageSize = resultSet.next() ? resultSet.getInt(1) : 0;
+            }
+            try (ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM sqlite_master")) {
+                resultSet.next();
+            }
+            run.lastStepAt = System.nanoTime();
+            int result = sqliteConnection.getDatabase().backup("main", partial.toString(),
+                    (remaining, pageCount) -> onStep(run, remaining, pageCount),
+                    BUSY_RETRY_MILLIS, BUSY_RETRIES, properties.getPagesPerStep());
+            if (result != SQLiteErrorCode.SQLITE_OK.code) {
+                throw new SQLException("SQLite backup finished with code " + result);
+            }
+            run.pagesBefore = run.pagesCopied;
+        } finally {
+            connection.rollback();
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private Connection openArchive() throws SQLException {
+        SQLiteDataSource dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:" + archiveProperties.getPath().toAbsolutePath());
+        return dataSource.getConnection();
+    }
+
+    private static Path archiveCompanion(Path backup) {
+        String name = backup.getFileName().toString();
+        return backup.resolveSibling(name.substring(0, name.length() - FILE_SUFFIX.length()) + ARCHIVE_SUFFIX);
+    }
+
+    private void onStep(BackupRun run, int remaining, int pageCount) {
+        long now = System.nanoTime();
+        run.maxStepNanos = Math.max(run.maxStepNanos, now - run.lastStepAt);
+        run.steps++;
+        run.pageCount = run.pagesBefore + pageCount;
+        run.pagesCopied = run.pagesBefore + pageCount - remaining;
+        if (remaining > 0 && !properties.getStepPause().isZero()) {
+            try {
+                Thread.sleep(properties.getStepPause());
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        run.lastStepAt = System.nanoTime();
+    }
+
+    private void applyRetention() throws IOException {
+        List<Path> files = backupFiles();
+        for (Path stale : files.subList(Math.min(properties.getRetention(), files.size()), files.size())) {
+            Files.deleteIfExists(stale);
+            Files.deleteIfExists(archiveCompanion(stale));
+            logger.info("Backup {} removed by retention", stale.getFileName());
+        }
+    }
+
+    /**
+     * Database backup files newest first, without their archive companions; the
+     * timestamp in the name sorts chronologically.
+     */
+    private List<Path> backupFiles() {
+        Path directory = properties.getDirectory();
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            stream.forEach(file -> {
+                if (!file.getFileName().toString().endsWith(ARCHIVE_SUFFIX)) {
+                    files.add(file);
+                }
+            });
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to list backups in " + directory, exception);
+        }
+        files.sort(Comparator.comparing((Path file) -> file.getFileName().toString()).reversed());
+        return files;
+    }
+
+    private static final class BackupRun {
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startedNanos = System.nanoTime();
+        private volatile String file;
+        private volatile String archiveFile;
+        private volatile int pageSize;
+        private volatile int pageCount;
+        private volatile int pagesCopied;
+        private volatile int pagesBefore;
+        private volatile int steps;
+        private volatile long lastStepAt;
+        private volatile long maxStepNanos;
+        private volatile long finishedNanos;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        private void finish(String failure) {
+            error = failure;
+            finishedNanos = System.nanoTime();
+            finishedAt = LocalDateTime.now();
+        }
+
+        private long elapsedMillis() {
+            long end = finishedAt != null ? finishedNanos : System.nanoTime();
+            return (end - startedNanos) / 1_000_000;
+        }
+
+        private double pagesPerSecond() {
+            long elapsed = elapsedMillis();
+            return elapsed > 0 ? pagesCopied * 1000.0 / elapsed : pagesCopied;
+        }
+
+        private BackupStatusResponse toResponse() {
+            BackupStatusResponse response = new BackupStatusResponse();
+            response.setRunning(finishedAt == null);
+            response.setFile(file);
+            response.setArchiveFile(archiveFile);
+            response.setStartedAt(startedAt);
+            response.setFinishedAt(finishedAt);
+            response.setPagesCopied(pagesCopied);
+            response.setPageCount(pageCount);
+            response.setSteps(steps);
+            response.setElapsedMillis(elapsedMillis());
+            response.setPagesPerSecond(pagesPerSecond());
+            response.setBytesPerSecond(pagesPerSecond() * pageSize);
+            response.setMaxStepMillis(maxStepNanos / 1_000_000.0);
+            response.setError(error);
+            return response;
+        }
+    }
+}
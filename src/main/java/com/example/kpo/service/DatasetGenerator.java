@@ -0,0 +1,372 @@
+package com.example.kpo.service;
+
+import com.example.kpo.config.GeneratorProperties;
+import com.example.kpo.entity.MovementType;
+import com.example.kpo.repository.StockHistoryRepository;
+import com.example.kpo.repository.StockTotalRepository;
+import com.example.kpo.util.LocalDateTimeAttributeConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Fills an empty database with a synthetic but consistent dataset: reference data,
+ * a chronological history of movements and the warehouse stock and stock history
+ * that history leads to. Stock is tracked in memory while generating, so outbound
+ * and transfer lines never take more than the source warehouse holds at that
+ * moment. Products are picked with Zipf-distributed popularity. Rows go in through JDBC batches, one
+ * transaction per {@code batchSize} movements, so a failed run leaves a partial
+ * dataset behind and should be repeated on a fresh file.
+ */
+@Service
+@Profile("generate")
+public class DatasetGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    private static final LocalDateTimeAttributeConverter DATE_CONVERTER = new LocalDateTimeAttributeConverter();
+    private static final List<String> GENERATED_TABLES = List.of(
+            "categories", "products", "warehouse", "employees", "counterparties", "movements", "warehouse_products",
+            "stock_totals", "stock_history");
+    private static final int RESAMPLE_ATTEMPTS = 8;
+
+    private final DataSource dataSource;
+    private final GeneratorProperties properties;
+
+    public DatasetGenerator(@Qualifier("sqliteWriteDataSource") DataSource dataSource,
+                            GeneratorProperties properties) {
+        this.dataSource = dataSource;
+        this.properties = properties;
+    }
+
+    public Summary generate() {
+        validate();
+        long started = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            ensureEmpty(connection);
+            connection.setAutoCommit(false);
+            try {
+                SplittableRandom random = new SplittableRandom(properties.getSeed());
+                insertReferenceData(connection, random);
+                connection.commit();
+                Summary summary = insertMovements(connection, random);
+                connection.commit();
+                logger.info("Generated {} movements with {} lines and {} stock rows in {} s",
+                        summary.movements(), summary.lines(), summary.stockRows(),
+                        Duration.ofNanos(System.nanoTime() - started).toSeconds());
+                return summary;
+            } catch (SQLException | RuntimeException exception) {
+                connection.rollback();
+                throw exception;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException exception) {
+            throw new IllegalStateException("Failed to generate the dataset", exception);
+        }
+    }
+
+    private void validate() {
+        if (properties.getCategories() < 1 || properties.getProducts() < 1 || properties.getWarehouses() < 2
+                || properties.getEmployees() < 1 || properties.getCounterparties() < 1) {
+            throw new IllegalArgumentException(
+                    "At least one category, product, employee, counterparty and two warehouses are required");
+        }
+        if ((long) properties.getWarehouses() * properties.getProducts() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("warehouses * products is too large to track stock in memory");
+        }
+        if (properties.getInboundShare() <= 0 || properties.getInboundShare() + properties.getTransferShare() > 1) {
+            throw new IllegalArgumentException("inboundShare must be positive and inboundShare + transferShare <= 1");
+        }
+        if (properties.getMaxItemsPerMovement() < 1 || properties.getBatchSize() < 1 || properties.getYears() < 1) {
+            throw new IllegalArgumentException("maxItemsPerMovement, batchSize and years must be positive");
+        }
+    }
+
+    private void ensureEmpty(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String table : GENERATED_TABLES) {
+                try (ResultSet resultSet = statement.executeQuery("SELECT EXISTS (SELECT 1 FROM " + table + ")")) {
+                    if (resultSet.next() && resultSet.getBoolean(1)) {
+                        throw new IllegalStateException("Table " + table
+                                + " is not empty, the generator only fills an empty database");
+                    }
+                }
+            }
+        }
+    }
+
+    private void insertReferenceData(Connection connection, SplittableRandom random) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO categories (id, name) VALUES (?, ?)")) {
+            for (int id = 1; id <= properties.getCategories(); id++) {
+                statement.setLong(1, id);
+                statement.setString(2, "Категория " + id);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO products (id, name, info, category_id) VALUES (?, ?, ?, ?)")) {
+            for (int id = 1; id <= properties.getProducts(); id++) {
+                statement.setLong(1, id);
+                statement.setString(2, "Товар " + id);
+                statement.setString(3, "Артикул " + (100_000 + id));
+                statement.setLong(4, 1 + random.nextInt(properties.getCategories()));
+                statement.addBatch();
+                if (id % properties.getBatchSize() == 0) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO warehouse (id, name, info) VALUES (?, ?, ?)")) {
+            for (int id = 1; id <= properties.getWarehouses(); id++) {
+                statement.setLong(1, id);
+                statement.setString(2, "Склад " + id);
+                statement.setString(3, "Адрес склада " + id);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        insertContacts(connection, "employees", "Сотрудник ", properties.getEmployees(), "оператор");
+        insertContacts(connection, "counterparties", "Контрагент ", properties.getCounterparties(), "договор");
+    }
+
+    private void insertContacts(Connection connection, String table, String namePrefix, int count, String info)
+            throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO " + table + " (id, name, phone, info) VALUES (?, ?, ?, ?)")) {
+            for (int id = 1; id <= count; id++) {
+                statement.setLong(1, id);
+                statement.setString(2, namePrefix + id);
+                statement.setString(3, String.format("+7900%07d", id));
+                statement.setString(4, info);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private Summary insertMovements(Connection connection, SplittableRandom random) throws SQLException {
+        int warehouses = properties.getWarehouses();
+        int products = properties.getProducts();
+        int[] stock = new int[warehouses * products];
+        ZipfSampler popularity = new ZipfSampler(products, properties.getZipfExponent(), random);
+
+        int movements = properties.getMovements();
+        LocalDateTime end = LocalDateTime.now().withNano(0);
+        LocalDateTime start = end.minusYears(properties.getYears());
+        long stepSeconds = Math.max(1, Duration.between(start, end).toSeconds() / Math.max(1, movements));
+
+        long lineId = 0;
+        long started = System.nanoTime();
+        try (PreparedStatement movementStatement = connection.prepareStatement("""
+                     INSERT INTO movements (id, date, info, type, counterparty_id, employee_id,
+                         target_employee_id, target_warehouse_id, warehouse_id)
+                     VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                     """);
+             PreparedStatement lineStatement = connection.prepareStatement(
+                     "INSERT INTO products_movement (id, quantity, movement_id, product_id) VALUES (?, ?, ?, ?)")) {
+            int[] lineProducts = new int[properties.getMaxItemsPerMovement()];
+            int[] lineQuantities = new int[properties.getMaxItemsPerMovement()];
+            for (int movementId = 1; movementId <= movements; movementId++) {
+                MovementType type = pickType(random);
+                int warehouse = random.nextInt(warehouses);
+                int targetWarehouse = -1;
+                if (type == MovementType.TRANSFER) {
+                    targetWarehouse = (warehouse + 1 + random.nextInt(warehouses - 1)) % warehouses;
+                }
+                int wanted = 1 + random.nextInt(properties.getMaxItemsPerMovement());
+                int lines = type == MovementType.INBOUND
+                        ? 0
+                        : pickStockedLines(stock, warehouse, wanted, popularity, random, lineProducts, lineQuantities);
+                if (lines == 0) {
+                    type = MovementType.INBOUND;
+                    targetWarehouse = -1;
+                    for (; lines < wanted; lines++) {
+                        lineProducts[lines] = popularity.next();
+                        lineQuantities[lines] = 10 + random.nextInt(191);
+                    }
+                }
+                for (int line = 0; line < lines; line++) {
+                    int product = lineProducts[line];
+                    int quantity = lineQuantities[line];
+                    if (type == MovementType.INBOUND) {
+                        stock[warehouse * products + product] += quantity;
+                    } else {
+                        stock[warehouse * products + product] -= quantity;
+                        if (type == MovementType.TRANSFER) {
+                            stock[targetWarehouse * products + product] += quantity;
+                        }
+                    }
+                    lineStatement.setLong(1, ++lineId);
+                    lineStatement.setInt(2, quantity);
+                    lineStatement.setLong(3, movementId);
+                    lineStatement.setLong(4, product + 1L);
+                    lineStatement.addBatch();
+                }
+
+                LocalDateTime date = start.plusSeconds((movementId - 1) * stepSeconds + random.nextLong(stepSeconds));
+                movementStatement.setLong(1, movementId);
+                movementStatement.setString(2, DATE_CONVERTER.convertToDatabaseColumn(date));
+                movementStatement.setString(3, "Сгенерировано");
+                movementStatement.setString(4, type.name());
+                if (type == MovementType.TRANSFER) {
+                    movementStatement.setNull(5, Types.BIGINT);
+                    movementStatement.setLong(7, 1 + random.nextInt(properties.getEmployees()));
+                    movementStatement.setLong(8, targetWarehouse + 1L);
+                } else {
+                    movementStatement.setLong(5, 1 + random.nextInt(properties.getCounterparties()));
+                    movementStatement.setNull(7, Types.BIGINT);
+                    movementStatement.setNull(8, Types.BIGINT);
+                }
+                movementStatement.setLong(6, 1 + random.nextInt(properties.getEmployees()));
+                movementStatement.setLong(9, warehouse + 1L);
+                movementStatement.addBatch();
+
+                if (movementId % properties.getBatchSize() == 0) {
+                    movementStatement.executeBatch();
+                    lineStatement.executeBatch();
+                    connection.commit();
+                    double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+                    logger.info("{} / {} movements written ({} movements/s)",
+                            movementId, movements, Math.round(movementId / seconds));
+                }
+            }
+            movementStatement.executeBatch();
+            lineStatement.executeBatch();
+        }
+        int stockRows = insertStock(connection, stock);
+        return new Summary(movements, lineId, stockRows);
+    }
+
+    private MovementType pickType(SplittableRandom random) {
+        double roll = random.nextDouble();
+        if (roll < properties.getInboundShare()) {
+            return MovementType.INBOUND;
+        }
+        if (roll < properties.getInboundShare() + properties.getTransferShare()) {
+            return MovementType.TRANSFER;
+        }
+        return MovementType.OUTBOUND;
+    }
+
+    /**
+     * Picks up to {@code wanted} popular products the warehouse has in stock and
+     * quantities it can cover, reserving them so a product is never over-drawn
+     * when it comes up twice in one movement.
+     */
+    private int pickStockedLines(int[] stock, int warehouse, int wanted, ZipfSampler popularity,
+                                 SplittableRandom random, int[] lineProducts, int[] lineQuantities) {
+        int products = properties.getProducts();
+        int lines = 0;
+        for (int line = 0; line < wanted; line++) {
+            for (int attempt = 0; attempt < RESAMPLE_ATTEMPTS; attempt++) {
+                int product = popularity.next();
+                int available = stock[warehouse * products + product];
+                if (available > 0) {
+                    int quantity = Math.min(available, 1 + random.nextInt(30));
+                    stock[warehouse * products + product] -= quantity;
+                    lineProducts[lines] = product;
+                    lineQuantities[lines] = quantity;
+                    lines++;
+                    break;
+                }
+            }
+        }
+        for (int line = 0; line < lines; line++) {
+            stock[warehouse * products + lineProducts[line]] += lineQuantities[line];
+        }
+        return lines;
+    }
+
+    private int insertStock(Connection connection, int[] stock) throws SQLException {
+        int products = properties.getProducts();
+        int rows = 0;
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO warehouse_products (id, quantity, product_id, warehouse_id) VALUES (?, ?, ?, ?)")) {
+            for (int index = 0; index < stock.length; index++) {
+                if (stock[index] <= 0) {
+                    continue;
+                }
+                statement.setLong(1, ++rows);
+                statement.setInt(2, stock[index]);
+                statement.setLong(3, index % products + 1L);
+                statement.setLong(4, index / products + 1L);
+                statement.addBatch();
+                if (rows % properties.getBatchSize() == 0) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(StockTotalRepository.INSERT_TOTALS_FROM_STOCK);
+            statement.executeUpdate(StockHistoryRepository.INSERT_HISTORY_FROM_MOVEMENTS);
+        }
+        return rows;
+    }
+
+    public record Summary(int movements, long lines, int stockRows) {
+    }
+
+    /**
+     * Draws product indexes so that the k-th most popular product comes up with
+     * probability proportional to 1 / k^s. Popularity ranks are shuffled over the
+     * products, so popular products are not simply the ones with low ids.
+     */
+    static final class ZipfSampler {
+
+        private final double[] cumulative;
+        private final int[] productByRank;
+        private final SplittableRandom random;
+
+        ZipfSampler(int products, double exponent, SplittableRandom random) {
+            this.random = random;
+            this.cumulative = new double[products];
+            double total = 0;
+            for (int rank = 0; rank < products; rank++) {
+                total += 1.0 / Math.pow(rank + 1, exponent);
+                cumulative[rank] = total;
+            }
+            for (int rank = 0; rank < products; rank++) {
+                cumulative[rank] /= total;
+            }
+            this.productByRank = new int[products];
+            for (int index = 0; index < products; index++) {
+                productByRank[index] = index;
+            }
+            for (int index = products - 1; index > 0; index--) {
+                int other = random.nextInt(index + 1);
+                int swap = productByRank[index];
+                productByRank[index] = productByRank[other];
+                productByRank[other] = swap;
+            }
+        }
+
+        int next() {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+            if (rank < 0) {
+                rank = -rank - 1;
+            }
+            return productByRank[Math.min(rank, productByRank.length - 1)];
+        }
+    }
+}
@@ -11,9 +11,11 @@ import java.util.Optional;
 public class EmployeeService {
 
     private final EmployeeRepository employeeRepository;
+    private final ReferenceDataVersions versions;
 
-    public EmployeeService(EmployeeRepository employeeRepository) {
+    public EmployeeService(EmployeeRepository employeeRepository, ReferenceDataVersions versions) {
         this.employeeRepository = employeeRepository;
+        this.versions = versions;
     }
 
     public List<Employee> getAll() {
@@ -25,7 +27,9 @@ public class EmployeeService {
     }
 
     public Employee create(Employee employee) {
-        return employeeRepository.save(employee);
+        Employee saved = employeeRepository.save(employee);
+        versions.changed(ReferenceDataVersions.Type.EMPLOYEES);
+        return saved;
     }
 
     public Optional<Employee> update(Long id, Employee employee) {
@@ -34,11 +38,14 @@ public class EmployeeService {
                     existing.setName(employee.getName());
                     existing.setPhone(employee.getPhone());
                     existing.setInfo(employee.getInfo());
-                    return employeeRepository.save(existing);
+                    Employee saved = employeeRepository.save(existing);
+                    versions.changed(ReferenceDataVersions.Type.EMPLOYEES);
+                    return saved;
                 });
     }
 
     public void delete(Long id) {
         employeeRepository.deleteById(id);
+        versions.changed(ReferenceDataVersions.Type.EMPLOYEES);
     }
 }
@@ -0,0 +1,188 @@
+package com.example.kpo.service;
+
+import com.example.kpo.config.StockStreamProperties;
+import com.example.kpo.dto.LowStockResponse;
+import com.example.kpo.repository.StockThresholdRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The live set of products below their minimum stock. The thresholds and the
+ * stock of their rows are loaded once at startup; after that each committed
+ * {@link StockChangedEvent} is checked against the threshold of its own row only,
+ * so a movement costs a map lookup per stock row it touches and reading the set
+ * never touches the database. Every change to the set is offered to the open
+ * alert streams.
+ */
+@Service
+public class LowStockService implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(LowStockService.class);
+
+    private static final Comparator<LowStockResponse> ORDER = Comparator
+            .comparing(LowStockResponse::getWarehouseId)
+            .thenComparing(LowStockResponse::getProductId);
+
+    private final StockThresholdRepository stockThresholdRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final StockStreamProperties properties;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Set<StreamSubscription<LowStockChange>> subscriptions = ConcurrentHashMap.newKeySet();
+    private Map<Key, Integer> minimums = new HashMap<>();
+    private Map<Key, LowStock> lowStock = new HashMap<>();
+
+    public LowStockService(StockThresholdRepository stockThresholdRepository,
+                           PlatformTransactionManager transactionManager,
+                           StockStreamProperties properties) {
+        this.stockThresholdRepository = stockThresholdRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = properties;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Reloads the thresholds and their stock; open streams are told to reload.
+     */
+    public void rebuild() {
+        long started = System.nanoTime();
+        lock.lock();
+        try {
+            Map<Key, Integer> loadedMinimums = new HashMap<>();
+            Map<Key, LowStock> loadedLowStock = new HashMap<>();
+            List<Object[]> rows = readOnlyTransaction.execute(status -> stockThresholdRepository.findAllWithStock());
+            for (Object[] row : rows) {
+                Key key = new Key((Long) row[0], (Long) row[1]);
+                int minimum = ((Number) row[2]).intValue();
+                int quantity = ((Number) row[3]).intValue();
+                loadedMinimums.put(key, minimum);
+                if (quantity < minimum) {
+                    loadedLowStock.put(key, new LowStock(quantity, minimum));
+                }
+            }
+            minimums = loadedMinimums;
+            lowStock = loadedLowStock;
+            subscriptions.forEach(StreamSubscription::requireReset);
+            logger.info("Low stock loaded from {} thresholds in {} ms, {} below minimum", loadedMinimums.size(),
+                    Duration.ofNanos(System.nanoTime() - started).toMillis(), loadedLowStock.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onStockChanged(StockChangedEvent event) {
+        lock.lock();
+        try {
+            Key key = new Key(event.warehouseId(), event.productId());
+            Integer minimum = minimums.get(key);
+            if (minimum != null) {
+                evaluate(key, minimum, event.quantity());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onThresholdChanged(StockThresholdChangedEvent event) {
+        lock.lock();
+        try {
+            Key key = new Key(event.warehouseId(), event.productId());
+            if (event.minimumQuantity() == null) {
+                minimums.remove(key);
+                LowStock removed = lowStock.remove(key);
+                if (removed != null) {
+                    publish(new LowStockChange(key, removed.quantity(), removed.minimum(), false));
+                }
+            } else {
+                minimums.put(key, event.minimumQuantity());
+                evaluate(key, event.minimumQuantity(), event.quantity());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The products below their minimum, optionally of one warehouse, ordered by
+     * warehouse and product.
+     */
+    public List<LowStockResponse> getLowStock(Long warehouseId) {
+        lock.lock();
+        try {
+            return lowStock.entrySet().stream()
+                    .filter(entry -> warehouseId == null || warehouseId.equals(entry.getKey().warehouseId()))
+                    .map(entry -> new LowStockResponse(entry.getKey().warehouseId(), entry.getKey().productId(),
+                            entry.getValue().quantity(), entry.getValue().minimum()))
+                    .sorted(ORDER)
+                    .toList();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Subscribes to the changes of the set from now on; the subscriber loads the
+     * current set itself.
+     */
+    public StreamSubscription<LowStockChange> subscribe() {
+        StreamSubscription<LowStockChange> subscription =
+                new StreamSubscription<>(properties.getSubscriberBuffer(), subscriptions::remove);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    private void evaluate(Key key, int minimum, int quantity) {
+        if (quantity < minimum) {
+            LowStock current = new LowStock(quantity, minimum);
+            if (!current.equals(lowStock.put(key, current))) {
+                publish(new LowStockChange(key, quantity, minimum, true));
+            }
+        } else if (lowStock.remove(key) != null) {
+            publish(new LowStockChange(key, quantity, minimum, false));
+        }
+    }
+
+    private void publish(LowStockChange change) {
+        for (StreamSubscription<LowStockChange> subscription : subscriptions) {
+            subscription.offer(change);
+        }
+    }
+
+    private record Key(Long warehouseId, Long productId) {
+    }
+
+    private record LowStock(int quantity, int minimum) {
+    }
+
+    /**
+     * A product that fell below, or is still below with a new quantity or minimum
+     * ({@code low}), or got back to its minimum.
+     */
+    public record LowStockChange(Long warehouseId, Long productId, int quantity, int minimum, boolean low) {
+
+        private LowStockChange(Key key, int quantity, int minimum, boolean low) {
+            this(key.warehouseId(), key.productId(), quantity, minimum, low);
+        }
+    }
+}
@@ -0,0 +1,677 @@
+package com.example.kpo.service;
+
+import com.example.kpo.config.ArchiveProperties;
+import com.example.kpo.dto.ArchiveResultResponse;
+import com.example.kpo.dto.OpeningBalanceResponse;
+import com.example.kpo.entity.Counterparty;
+import com.example.kpo.entity.Employee;
+import com.example.kpo.entity.Movement;
+import com.example.kpo.entity.MovementArchiveState;
+import com.example.kpo.entity.MovementProduct;
+import com.example.kpo.entity.MovementType;
+import com.example.kpo.entity.OpeningBalance;
+import com.example.kpo.entity.Product;
+import com.example.kpo.entity.Warehouse;
+import com.example.kpo.repository.CounterpartyRepository;
+import com.example.kpo.repository.EmployeeRepository;
+import com.example.kpo.repository.MovementArchiveStateRepository;
+import com.example.kpo.repository.MovementProductRepository;
+import com.example.kpo.repository.MovementRepository;
+import com.example.kpo.repository.OpeningBalanceRepository;
+import com.example.kpo.repository.ProductRepository;
+import com.example.kpo.repository.WarehouseRepository;
+import com.example.kpo.util.LocalDateTimeAttributeConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteDataSource;
+
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Moves movements older than a cutoff into a separate SQLite archive file and folds
+ * their effect into {@link OpeningBalance} rows, so the hot tables stay small while
+ * stock reports still see the full history. Each batch gets the next batch number and
+ * is copied to the archive first; then, in one main-database transaction, it is added
+ * to the opening balances, deleted from the hot tables and its number is recorded as
+ * the last committed batch.
+ * <p>
+ * Archived rows are keyed by batch number and their id in the hot tables: SQLite hands
+ * out the ids of deleted rows again, so the id alone is not unique in the archive.
+ * Readers take the last committed batch in the same transaction as the hot rows and
+ * skip archived rows of later batches, whose movements are still hot in that snapshot;
+ * the next run drops those rows before archiving them again.
+ * <p>
+ * The target of a run is recorded as the pending cutoff before the first batch and
+ * becomes the cutoff once all batches have committed. Reports dated before the later
+ * of the two read the archive plus hot rows, later reports read opening balances plus
+ * hot rows, so both stay correct while a run is in progress or after it failed.
+ */
+@Service
+public class MovementArchiveService implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(MovementArchiveService.class);
+
+    private static final LocalDateTimeAttributeConverter DATE_CONVERTER = new LocalDateTimeAttributeConverter();
+
+    private final ArchiveProperties properties;
+    private final MovementRepository movementRepository;
+    private final MovementProductRepository movementProductRepository;
+    private final OpeningBalanceRepository openingBalanceRepository;
+    private final MovementArchiveStateRepository archiveStateRepository;
+    private final WarehouseRepository warehouseRepository;
+    private final ProductRepository productRepository;
+    private final EmployeeRepository employeeRepository;
+    private final CounterpartyRepository counterpartyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean archiveSchemaReady;
+
+    public MovementArchiveService(ArchiveProperties properties,
+                                  MovementRepository movementRepository,
+                                  MovementProductRepository movementProductRepository,
+                                  OpeningBalanceRepository openingBalanceRepository,
+                                  MovementArchiveStateRepository archiveStateRepository,
+                                  WarehouseRepository warehouseRepository,
+                                  ProductRepository productRepository,
+                                  EmployeeRepository employeeRepository,
+                                  CounterpartyRepository counterpartyRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.movementRepository = movementRepository;
+        this.movementProductRepository = movementProductRepository;
+        this.openingBalanceRepository = openingBalanceRepository;
+        this.archiveStateRepository = archiveStateRepository;
+        this.warehouseRepository = warehouseRepository;
+        this.productRepository = productRepository;
+        this.employeeRepository = employeeRepository;
+        this.counterpartyRepository = counterpartyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${kpo.archive.schedule:-}")
+    public void scheduledArchive() {
+        try {
+            archive(LocalDateTime.now().minus(properties.getRetain()));
+        } catch (RuntimeException exception) {
+            logger.error("Scheduled movement archival failed", exception);
+        }
+    }
+
+    public ArchiveResultResponse archive(LocalDateTime cutoff) {
+        if (cutoff == null) {
+            throw new IllegalArgumentException("Archive cutoff is required");
+        }
+        if (cutoff.isAfter(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Archive cutoff must not be in the future");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Movement archival is already running");
+        }
+        try {
+            ensureArchiveSchema();
+            LocalDateTime target = transactionTemplate.execute(status -> startRun(cutoff));
+            dropUncommittedBatches(transactionTemplate.execute(status -> getPosition().committedBatch()));
+            long archived = 0;
+            int batch;
+            do {
+                batch = transactionTemplate.execute(status -> archiveBatch(target));
+                archived += batch;
+            } while (batch > 0);
+            long total = archived;
+            MovementArchiveState state = transactionTemplate.execute(status -> finishRun(total));
+            logger.info("Archived {} movements dated before {}", archived, target);
+            return new ArchiveResultResponse(state.getCutoff(), archived);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Finishes a run that was interrupted before its cutoff was recorded.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        LocalDateTime pendingCutoff = transactionTemplate.execute(status ->
+                archiveStateRepository.findById(MovementArchiveState.SINGLETON_ID)
+                        .map(MovementArchiveState::getPendingCutoff)
+                        .orElse(null));
+        if (pendingCutoff == null) {
+            return;
+        }
+        logger.info("Resuming the movement archival to {} that did not finish", pendingCutoff);
+        try {
+            archive(pendingCutoff);
+        } catch (RuntimeException exception) {
+            logger.error("Resumed movement archival failed", exception);
+        }
+    }
+
+    /**
+     * What a reader needs to combine the archive with the hot rows it reads in the
+     * same transaction: the date before which reports read the archive instead of the
+     * opening balances, which is the cutoff or the target of a run that has not
+     * finished yet when that is later, {@code null} when nothing has been archived
+     * yet; and the last batch whose deletion from the hot tables has committed.
+     */
+    @Transactional(readOnly = true)
+    public ArchivePosition getPosition() {
+        return archiveStateRepository.findById(MovementArchiveState.SINGLETON_ID)
+                .map(state -> new ArchivePosition(latest(state.getCutoff(), state.getPendingCutoff()),
+                        state.getLastBatch()))
+                .orElse(new ArchivePosition(null, 0L));
+    }
+
+    @Transactional(readOnly = true)
+    public List<OpeningBalance> getOpeningBalances() {
+        return openingBalanceRepository.findAllWithDetails();
+    }
+
+    @Transactional(readOnly = true)
+    public List<OpeningBalanceResponse> getOpeningBalanceResponses() {
+        return openingBalanceRepository.findAllWithDetails().stream()
+                .map(balance -> new OpeningBalanceResponse(
+                        balance.getWarehouse().getId(), balance.getWarehouse().getName(),
+                        balance.getProduct().getId(), balance.getProduct().getName(),
+                        balance.getQuantity()))
+                .sorted(Comparator.comparing(OpeningBalanceResponse::getWarehouseId)
+                        .thenComparing(OpeningBalanceResponse::getProductId))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<Movement> findArchivedMovements(LocalDateTime from, LocalDateTime until) {
+        return findArchivedMovements(from, until, getPosition().committedBatch());
+    }
+
+    /**
+     * Archived movements of the committed batches dated within the optional bounds,
+     * rebuilt as detached {@link Movement} objects referencing the current warehouses,
+     * products, employees and counterparties. References to deleted rows are left empty.
+     */
+    @Transactional(readOnly = true)
+    public List<Movement> findArchivedMovements(LocalDateTime from, LocalDateTime until, long committedBatch) {
+        if (!Files.exists(properties.getPath())) {
+            return List.of();
+        }
+        ensureArchiveSchema();
+        return toMovements(readArchive(from, until, committedBatch));
+    }
+
+    /**
+     * Units moved per product, movement type and warehouses by the archived
+     * movements of the committed batches for the given products dated up to
+     * {@code until}, read through the product index of the archive.
+     */
+    public List<MovementLineTotal> sumArchivedByProduct(Collection<Long> productIds, LocalDateTime until,
+                                                        long committedBatch) {
+        if (productIds.isEmpty() || !Files.exists(properties.getPath())) {
+            return List.of();
+        }
+        ensureArchiveSchema();
+        String placeholders = String.join(", ", Collections.nCopies(productIds.size(), "?"));
+        List<MovementLineTotal> totals = new ArrayList<>();
+        try (Connection connection = openArchive();
+             PreparedStatement statement = connection.prepareStatement("""
+                     SELECT i.product_id, m.type, m.warehouse_id, m.target_warehouse_id, SUM(i.quantity)
+                     FROM products_movement i
+                     JOIN movements m ON m.batch = i.batch AND m.id = i.movement_id
+                     WHERE i.product_id IN (%s) AND i.batch <= ? AND m.date <= ?
+                     GROUP BY i.product_id, m.type, m.warehouse_id, m.target_warehouse_id
+                     """.formatted(placeholders))) {
+            int index = 1;
+            for (Long productId : productIds) {
+                statement.setLong(index++, productId);
+            }
+            statement.setLong(index++, committedBatch);
+            statement.setString(index, DATE_CONVERTER.convertToDatabaseColumn(until));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    totals.add(new MovementLineTotal(resultSet.getLong(1), MovementType.valueOf(resultSet.getString(2)),
+                            getId(resultSet, "warehouse_id"), getId(resultSet, "target_warehouse_id"),
+                            resultSet.getLong(5)));
+                }
+            }
+        } catch (SQLException exception) {
+            throw new IllegalStateException("Failed to read the movement archive " + properties.getPath(), exception);
+        }
+        return totals;
+    }
+
+    /**
+     * Records the target of the run as the pending cutoff. A pending cutoff left by
+     * an interrupted run that is later than the requested one is kept, so that run
+     * is finished too.
+     */
+    private LocalDateTime startRun(LocalDateTime cutoff) {
+        MovementArchiveState state = archiveStateRepository.findById(MovementArchiveState.SINGLETON_ID)
+                .orElseGet(() -> new MovementArchiveState(MovementArchiveState.SINGLETON_ID, null, 0L, null));
+        LocalDateTime target = latest(cutoff, state.getPendingCutoff());
+        state.setPendingCutoff(target);
+        state.setUpdatedAt(LocalDateTime.now());
+        archiveStateRepository.save(state);
+        return target;
+    }
+
+    private MovementArchiveState finishRun(long archived) {
+        MovementArchiveState state = archiveStateRepository.findById(MovementArchiveState.SINGLETON_ID).orElseThrow();
+        state.setCutoff(latest(state.getCutoff(), state.getPendingCutoff()));
+        state.setPendingCutoff(null);
+        state.setArchivedMovements(state.getArchivedMovements() + archived);
+        state.setUpdatedAt(LocalDateTime.now());
+        return archiveStateRepository.save(state);
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<Long> ids = movementRepository.findIdsBefore(cutoff, PageRequest.of(0, properties.getBatchSize()));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        MovementArchiveState state = archiveStateRepository.findById(MovementArchiveState.SINGLETON_ID).orElseThrow();
+        long batch = state.getLastBatch() + 1;
+        List<Movement> movements = movementRepository.findAllWithItemsByIdIn(ids);
+        writeToArchive(batch, movements);
+        addToOpeningBalances(movements);
+        movementProductRepository.deleteByMovementIdIn(ids);
+        movementRepository.deleteAllByIdIn(ids);
+        state.setLastBatch(batch);
+        archiveStateRepository.save(state);
+        return ids.size();
+    }
+
+    private void addToOpeningBalances(List<Movement> movements) {
+        Set<Long> warehouseIds = new HashSet<>();
+        Set<Long> productIds = new HashSet<>();
+        for (Movement movement : movements) {
+            addIfPresent(warehouseIds, movement.getWarehouse() != null ? movement.getWarehouse().getId() : null);
+            addIfPresent(warehouseIds, movement.getTargetWarehouse() != null ? movement.getTargetWarehouse().getId() : null);
+            movement.getItems().forEach(item -> addIfPresent(productIds,
+                    item.getProduct() != null ? item.getProduct().getId() : null));
+        }
+        Map<BalanceKey, OpeningBalance> balances = new HashMap<>();
+        if (!warehouseIds.isEmpty() && !productIds.isEmpty()) {
+            for (OpeningBalance balance : openingBalanceRepository.findByWarehouseIdInAndProductIdIn(warehouseIds, productIds)) {
+                balances.put(new BalanceKey(balance.getWarehouse().getId(), balance.getProduct().getId()), balance);
+            }
+        }
+        Set<OpeningBalance> changed = new HashSet<>();
+        for (Movement movement : movements) {
+            for (MovementProduct item : movement.getItems()) {
+                int quantity = item.getQuantity() != null ? item.getQuantity() : 0;
+                MovementType type = movement.getType();
+                if (type == MovementType.INBOUND) {
+                    adjust(balances, changed, movement.getWarehouse(), item.getProduct(), quantity);
+                } else if (type == MovementType.OUTBOUND) {
+                    adjust(balances, changed, movement.getWarehouse(), item.getProduct(), -quantity);
+                } else if (type == MovementType.TRANSFER) {
+                    adjust(balances, changed, movement.getWarehouse(), item.getProduct(), -quantity);
+                    adjust(balances, changed, movement.getTargetWarehouse(), item.getProduct(), quantity);
+                }
+            }
+        }
+        openingBalanceRepository.saveAll(changed);
+    }
+
+    private void adjust(Map<BalanceKey, OpeningBalance> balances, Set<OpeningBalance> changed,
+                        Warehouse warehouse, Product product, int delta) {
+        if (warehouse == null || product == null) {
+            return;
+        }
+        OpeningBalance balance = balances.computeIfAbsent(new BalanceKey(warehouse.getId(), product.getId()),
+                key -> new OpeningBalance(warehouse, product, 0));
+        balance.setQuantity(balance.getQuantity() + delta);
+        changed.add(balance);
+    }
+
+    private void writeToArchive(long batch, List<Movement> movements) {
+        String archivedAt = DATE_CONVERTER.convertToDatabaseColumn(LocalDateTime.now());
+        try (Connection connection = openArchive()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement movementStatement = connection.prepareStatement("""
+                         INSERT INTO movements (batch, id, date, type, info, employee_id, counterparty_id,
+                             warehouse_id, target_employee_id, target_warehouse_id, archived_at)
+                         VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                         """);
+                 PreparedStatement itemStatement = connection.prepareStatement(
+                         "INSERT INTO products_movement (batch, id, movement_id, product_id, quantity) VALUES (?, ?, ?, ?, ?)")) {
+                for (Movement movement : movements) {
+                    movementStatement.setLong(1, batch);
+                    movementStatement.setLong(2, movement.getId());
+                    movementStatement.setString(3, DATE_CONVERTER.convertToDatabaseColumn(movement.getDate()));
+                    movementStatement.setString(4, movement.getType().name());
+                    movementStatement.setString(5, movement.getInfo());
+                    setId(movementStatement, 6, movement.getEmployee() != null ? movement.getEmployee().getId() : null);
+                    setId(movementStatement, 7, movement.getCounterparty() != null ? movement.getCounterparty().getId() : null);
+                    setId(movementStatement, 8, movement.getWarehouse() != null ? movement.getWarehouse().getId() : null);
+                    setId(movementStatement, 9, movement.getTargetEmployee() != null ? movement.getTargetEmployee().getId() : null);
+                    setId(movementStatement, 10, movement.getTargetWarehouse() != null ? movement.getTargetWarehouse().getId() : null);
+                    movementStatement.setString(11, archivedAt);
+                    movementStatement.addBatch();
+                    for (MovementProduct item : movement.getItems()) {
+                        itemStatement.setLong(1, batch);
+                        itemStatement.setLong(2, item.getId());
+                        itemStatement.setLong(3, movement.getId());
+                        itemStatement.setLong(4, item.getProduct().getId());
+                        itemStatement.setInt(5, item.getQuantity());
+                        itemStatement.addBatch();
+                    }
+                }
+                movementStatement.executeBatch();
+                itemStatement.executeBatch();
+                connection.commit();
+            } catch (SQLException exception) {
+                connection.rollback();
+                throw exception;
+            }
+        } catch (SQLException exception) {
+            throw new IllegalStateException("Failed to write movements to the archive " + properties.getPath(), exception);
+        }
+    }
+
+    /**
+     * Drops archived rows of batches whose deletion from the hot tables never
+     * committed; their movements are still hot and are archived again.
+     */
+    private void dropUncommittedBatches(long committedBatch) {
+        int dropped;
+        try (Connection connection = openArchive()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement items = connection.prepareStatement("DELETE FROM products_movement WHERE batch > ?");
+                 PreparedStatement movements = connection.prepareStatement("DELETE FROM movements WHERE batch > ?")) {
+                items.setLong(1, committedBatch);
+                items.executeUpdate();
+                movements.setLong(1, committedBatch);
+                dropped = movements.executeUpdate();
+                connection.commit();
+            } catch (SQLException exception) {
+                connection.rollback();
+                throw exception;
+            }
+        } catch (SQLException exception) {
+            throw new IllegalStateException("Failed to clean up the movement archive " + properties.getPath(), exception);
+        }
+        if (dropped > 0) {
+            logger.info("Dropped {} archived movements of batches that did not commit", dropped);
+        }
+    }
+
+    private List<ArchivedMovement> readArchive(LocalDateTime from, LocalDateTime until, long committedBatch) {
+        String filter = " WHERE batch <= ? AND (? IS NULL OR date >= ?) AND (? IS NULL OR date <= ?)";
+        String fromValue = DATE_CONVERTER.convertToDatabaseColumn(from);
+        String untilValue = DATE_CONVERTER.convertToDatabaseColumn(until);
+        Map<ArchiveKey, ArchivedMovement> movements = new LinkedHashMap<>();
+        try (Connection connection = openArchive()) {
+            try (PreparedStatement statement = connection.prepareStatement("""
+                    SELECT batch, id, date, type, info, employee_id, counterparty_id, warehouse_id,
+                           target_employee_id, target_warehouse_id
+                    FROM movements""" + filter + " ORDER BY date, batch, id")) {
+                bindRange(statement, committedBatch, fromValue, untilValue);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        ArchivedMovement movement = new ArchivedMovement(resultSet.getLong("id"),
+                                DATE_CONVERTER.convertToEntityAttribute(resultSet.getString("date")),
+                                MovementType.valueOf(resultSet.getString("type")),
+                                resultSet.getString("info"),
+                                getId(resultSet, "employee_id"), getId(resultSet, "counterparty_id"),
+                                getId(resultSet, "warehouse_id"), getId(resultSet, "target_employee_id"),
+                                getId(resultSet, "target_warehouse_id"), new ArrayList<>());
+                        movements.put(new ArchiveKey(resultSet.getLong("batch"), movement.id()), movement);
+                    }
+                }
+            }
+            try (PreparedStatement statement = connection.prepareStatement("""
+                    SELECT batch, id, movement_id, product_id, quantity FROM products_movement
+                    WHERE (batch, movement_id) IN (SELECT batch, id FROM movements""" + filter + ") ORDER BY batch, id")) {
+                bindRange(statement, committedBatch, fromValue, untilValue);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        ArchivedMovement movement = movements.get(
+                                new ArchiveKey(resultSet.getLong("batch"), resultSet.getLong("movement_id")));
+                        if (movement != null) {
+                            movement.items().add(new ArchivedItem(resultSet.getLong("id"),
+                                    resultSet.getLong("product_id"), resultSet.getInt("quantity")));
+                        }
+                    }
+                }
+            }
+        } catch (SQLException exception) {
+            throw new IllegalStateException("Failed to read the movement archive " + properties.getPath(), exception);
+        }
+        return new ArrayList<>(movements.values());
+    }
+
+    private List<Movement> toMovements(List<ArchivedMovement> rows) {
+        Set<Long> warehouseIds = new HashSet<>();
+        Set<Long> employeeIds = new HashSet<>();
+        Set<Long> counterpartyIds = new HashSet<>();
+        Set<Long> productIds = new HashSet<>();
+        for (ArchivedMovement row : rows) {
+            addIfPresent(warehouseIds, row.warehouseId());
+            addIfPresent(warehouseIds, row.targetWarehouseId());
+            addIfPresent(employeeIds, row.employeeId());
+            addIfPresent(employeeIds, row.targetEmployeeId());
+            addIfPresent(counterpartyIds, row.counterpartyId());
+            row.items().forEach(item -> productIds.add(item.productId()));
+        }
+        Map<Long, Warehouse> warehouses = byId(warehouseRepository.findAllById(warehouseIds), Warehouse::getId);
+        Map<Long, Employee> employees = byId(employeeRepository.findAllById(employeeIds), Employee::getId);
+        Map<Long, Counterparty> counterparties = byId(counterpartyRepository.findAllById(counterpartyIds), Counterparty::getId);
+        Map<Long, Product> products = byId(productRepository.findAllById(productIds), Product::getId);
+
+        List<Movement> movements = new ArrayList<>(rows.size());
+        for (ArchivedMovement row : rows) {
+            Movement movement = new Movement(row.id(), row.date(), row.type(), row.info(),
+                    employees.get(row.employeeId()), counterparties.get(row.counterpartyId()),
+                    warehouses.get(row.warehouseId()), employees.get(row.targetEmployeeId()),
+                    warehouses.get(row.targetWarehouseId()), new ArrayList<>());
+            for (ArchivedItem row1 : row.items()) {
+                MovementProduct item = new MovementProduct();
+                item.setId(row1.id());
+                item.setMovement(movement);
+                item.setProduct(products.get(row1.productId()));
+                item.setQuantity(row1.quantity());
+                movement.getItems().add(item);
+            }
+            movements.add(movement);
+        }
+        return movements;
+    }
+
+    private void ensureArchiveSchema() {
+        if (archiveSchemaReady) {
+            return;
+        }
+        try (Connection connection = openArchive()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                boolean keyedById = hasColumn(statement, "movements", "id") && !hasColumn(statement, "movements", "batch");
+                if (keyedById) {
+                    statement.execute("ALTER TABLE movements RENAME TO movements_by_id");
+                    statement.execute("ALTER TABLE products_movement RENAME TO products_movement_by_id");
+                }
+                statement.execute("""
+                        CREATE TABLE IF NOT EXISTS movements (
+                            batch BIGINT NOT NULL,
+                            id BIGINT NOT NULL,
+                            date VARCHAR(19) NOT NULL,
+                            type VARCHAR(16) NOT NULL,
+                            info VARCHAR(255),
+                            employee_id BIGINT,
+                            counterparty_id BIGINT,
+                            warehouse_id BIGINT,
+                            target_employee_id BIGINT,
+                            target_warehouse_id BIGINT,
+                            archived_at VARCHAR(19) NOT NULL,
+                            PRIMARY KEY (batch, id)
+                        )
+                        """);
+                statement.execute("""
+                        CREATE TABLE IF NOT EXISTS products_movement (
+                            batch BIGINT NOT NULL,
+                            id BIGINT NOT NULL,
+                            movement_id BIGINT NOT NULL,
+                            product_id BIGINT NOT NULL,
+                            quantity INTEGER NOT NULL,
+                            PRIMARY KEY (batch, id)
+                        )
+                        """);
+                if (keyedById) {
+                    upgradeKeyedById(statement);
+                }
+                statement.execute("CREATE INDEX IF NOT EXISTS ix_movements_date ON movements (date)");
+                statement.execute("CREATE INDEX IF NOT EXISTS ix_products_movement_movement"
+                        + " ON products_movement (batch, movement_id)");
+                statement.execute("CREATE INDEX IF NOT EXISTS ix_products_movement_product_history"
+                        + " ON products_movement (product_id, batch, movement_id, quantity)");
+                connection.commit();
+                archiveSchemaReady = true;
+            } catch (SQLException exception) {
+                connection.rollback();
+                throw exception;
+            }
+        } catch (SQLException exception) {
+            throw new IllegalStateException("Failed to prepare the movement archive " + properties.getPath(), exception);
+        }
+    }
+
+    /**
+     * Moves the rows of an archive keyed by the hot id alone into batch 0, which
+     * counts as committed. Rows still marked as pending whose movement is still hot
+     * never left the hot tables and are dropped.
+     */
+    private void upgradeKeyedById(Statement statement) throws SQLException {
+        List<Long> pending = new ArrayList<>();
+        if (hasColumn(statement, "pending_movements", "movement_id")) {
+            try (ResultSet resultSet = statement.executeQuery("SELECT movement_id FROM pending_movements")) {
+                while (resultSet.next()) {
+                    pending.add(resultSet.getLong(1));
+                }
+            }
+        }
+        statement.execute("CREATE TEMP TABLE still_hot (id INTEGER PRIMARY KEY)");
+        if (!pending.isEmpty()) {
+            List<Long> stillHot = movementRepository.findExistingIds(pending);
+            for (Long id : stillHot) {
+                statement.execute("INSERT INTO temp.still_hot (id) VALUES (" + id + ")");
+            }
+        }
+        statement.execute("""
+                INSERT INTO movements (batch, id, date, type, info, employee_id, counterparty_id,
+                    warehouse_id, target_employee_id, target_warehouse_id, archived_at)
+                SELECT 0, id, date, type, info, employee_id, counterparty_id,
+                    warehouse_id, target_employee_id, target_warehouse_id, archived_at
+                FROM movements_by_id WHERE id NOT IN (SELECT id FROM temp.still_hot)
+                """);
+        statement.execute("""
+                INSERT INTO products_movement (batch, id, movement_id, product_id, quantity)
+                SELECT 0, id, movement_id, product_id, quantity
+                FROM products_movement_by_id WHERE movement_id NOT IN (SELECT id FROM temp.still_hot)
+                """);
+        statement.execute("DROP TABLE movements_by_id");
+        statement.execute("DROP TABLE products_movement_by_id");
+        statement.execute("DROP TABLE IF EXISTS pending_movements");
+        statement.execute("DROP TABLE temp.still_hot");
+        logger.info("Movement archive {} upgraded to batch keys", properties.getPath());
+    }
+
+    private static boolean hasColumn(Statement statement, String table, String column) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(
+                "SELECT COUNT(*) FROM pragma_table_info('" + table + "') WHERE name = '" + column + "'")) {
+            return resultSet.next() && resultSet.getInt(1) > 0;
+        }
+    }
+
+    private Connection openArchive() throws SQLException {
+        SQLiteDataSource dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:" + properties.getPath().toAbsolutePath());
+        // a backup copying the archive does not hold off archive writes under WAL
+        dataSource.setJournalMode(SQLiteConfig.JournalMode.WAL.getValue());
+        return dataSource.getConnection();
+    }
+
+    private static void bindRange(PreparedStatement statement, long committedBatch, String from, String until)
+            throws SQLException {
+        statement.setLong(1, committedBatch);
+        statement.setString(2, from);
+        statement.setString(3, from);
+        statement.setString(4, until);
+        statement.setString(5, until);
+    }
+
+    private static void setId(PreparedStatement statement, int index, Long id) throws SQLException {
+        if (id == null) {
+            statement.setNull(index, Types.BIGINT);
+        } else {
+            statement.setLong(index, id);
+        }
+    }
+
+    private static Long getId(ResultSet resultSet, String column) throws SQLException {
+        long value = resultSet.getLong(column);
+        return resultSet.wasNull() ? null : value;
+    }
+
+    private static LocalDateTime latest(LocalDateTime first, LocalDateTime second) {
+        if (first == null || second != null && second.isAfter(first)) {
+            return second;
+        }
+        return first;
+    }
+
+    private static void addIfPresent(Set<Long> ids, Long id) {
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+
+    private static <T> Map<Long, T> byId(List<T> entities, Function<T, Long> id) {
+        return entities.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+
+    /**
+     * Where a reader stands against the archive, see {@link #getPosition()}.
+     */
+    public record ArchivePosition(LocalDateTime cutoff, long committedBatch) {
+    }
+
+    private record BalanceKey(Long warehouseId, Long productId) {
+    }
+
+    private record ArchiveKey(long batch, long id) {
+    }
+
+    private record ArchivedMovement(Long id, LocalDateTime date, MovementType type, String info,
+                                    Long employeeId, Long counterpartyId, Long warehouseId,
+                                    Long targetEmployeeId, Long targetWarehouseId, List<ArchivedItem> items) {
+    }
+
+    private record ArchivedItem(Long id, Long productId, int quantity) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.kpo.service;
+
+import com.example.kpo.entity.Movement;
+import com.example.kpo.entity.MovementProduct;
+import com.example.kpo.entity.MovementType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Published by {@link MovementService} for every movement it creates, updates or
+ * deletes, with the movement as it was before and after the write: {@code before}
+ * is null for a new movement, {@code after} for a deleted one. Listeners that act
+ * on it should wait for the commit, because the write can still be rolled back.
+ */
+public record MovementChangedEvent(Snapshot before, Snapshot after) {
+
+    /**
+     * The date, type, relation ids and product quantities of a movement, detached
+     * from the persistence context.
+     */
+    public record Snapshot(LocalDateTime date,
+                           MovementType type,
+                           Long warehouseId,
+                           Long targetWarehouseId,
+                           Long counterpartyId,
+                           List<Item> items) {
+
+        static Snapshot of(Movement movement) {
+            List<Item> items = new ArrayList<>();
+            for (MovementProduct item : movement.getItems()) {
+                items.add(new Item(item.getProduct().getId(), item.getQuantity()));
+            }
+            return new Snapshot(movement.getDate(),
+                    movement.getType(),
+                    movement.getWarehouse().getId(),
+                    movement.getTargetWarehouse() != null ? movement.getTargetWarehouse().getId() : null,
+                    movement.getCounterparty() != null ? movement.getCounterparty().getId() : null,
+                    List.copyOf(items));
+        }
+
+        /**
+         * Units over all items.
+         */
+        public long units() {
+            long units = 0;
+            for (Item item : items) {
+                units += item.quantity();
+            }
+            return units;
+        }
+    }
+
+    public record Item(Long productId, int quantity) {
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.kpo.service;
+
+import com.example.kpo.config.ExportProperties;
+import com.example.kpo.entity.Movement;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes the whole movement history, in the JSON shape of {@code GET /movements},
+ * straight from a forward-only cursor to an output stream. Movements are read in
+ * id order with their items and relations, written one at a time, and the
+ * persistence context is cleared regularly, so memory use does not depend on the
+ * size of the history.
+ */
+@Service
+public class MovementExportService {
+
+    private static final String EXPORT_QUERY = """
+            SELECT m FROM Movement m
+            LEFT JOIN FETCH m.items i
+            LEFT JOIN FETCH i.product p
+            LEFT JOIN FETCH p.category
+            LEFT JOIN FETCH m.employee
+            LEFT JOIN FETCH m.counterparty
+            LEFT JOIN FETCH m.warehouse
+            LEFT JOIN FETCH m.targetEmployee
+            LEFT JOIN FETCH m.targetWarehouse
+            ORDER BY m.id, i.id
+            """;
+
+    private final ExportProperties properties;
+    private final EntityManager entityManager;
+    private final ObjectWriter movementWriter;
+
+    public MovementExportService(ExportProperties properties,
+                                 EntityManager entityManager,
+                                 ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.entityManager = entityManager;
+        this.movementWriter = objectMapper.writerFor(Movement.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n");
+    }
+
+    /**
+     * Writes all movements to {@code out} and returns how many were written. The
+     * stream is flushed but not closed.
+     */
+    @Transactional(readOnly = true)
+    public long exportMovements(Format format, OutputStream out) throws IOException {
+        Session session = entityManager.unwrap(Session.class);
+        long written = 0;
+        try (JsonGenerator generator = movementWriter.createGenerator(out, JsonEncoding.UTF8);
+             ScrollableResults<Movement> movements = session.createSelectionQuery(EXPORT_QUERY, Movement.class)
+                     .setFetchSize(properties.getFetchSize())
+                     .setReadOnly(true)
+                     .scroll(ScrollMode.FORWARD_ONLY)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (format == Format.JSON) {
+                generator.writeStartArray();
+            }
+            while (movements.next()) {
+                movementWriter.writeValue(generator, movements.get());
+                written++;
+                if (written % properties.getClearInterval() == 0) {
+                    session.clear();
+                }
+            }
+            if (format == Format.JSON) {
+                generator.writeEndArray();
+            } else if (written > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+        out.flush();
+        return written;
+    }
+
+    public enum Format {
+        /**
+         * One movement per line.
+         */
+        NDJSON("application/x-ndjson", "ndjson"),
+        /**
+         * A single JSON array.
+         */
+        JSON("application/json", "json");
+
+        private final String mediaType;
+        private final String extension;
+
+        Format(String mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public String getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.kpo.service;
+
+import com.example.kpo.entity.MovementType;
+
+/**
+ * Units of one product moved by movements of one type between the same
+ * warehouses, summed over a stretch of the movement history.
+ */
+public record MovementLineTotal(Long productId, MovementType type, Long warehouseId, Long targetWarehouseId,
+                                long quantity) {
+}
@@ -0,0 +1,88 @@
+package com.example.kpo.service;
+
+import com.example.kpo.dto.NormalizedMovementItemResponse;
+import com.example.kpo.dto.NormalizedMovementResponse;
+import com.example.kpo.dto.NormalizedMovementsResponse;
+import com.example.kpo.dto.ReferenceDataResponse;
+import com.example.kpo.dto.ReferenceProductResponse;
+import com.example.kpo.entity.Category;
+import com.example.kpo.entity.Counterparty;
+import com.example.kpo.entity.Employee;
+import com.example.kpo.entity.Movement;
+import com.example.kpo.entity.MovementProduct;
+import com.example.kpo.entity.Product;
+import com.example.kpo.entity.Warehouse;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Turns movements into the normalized shape: references become ids and each
+ * referenced entity is collected once, in the order it is first met.
+ */
+final class MovementNormalizer {
+
+    private final Map<Long, Warehouse> warehouses = new LinkedHashMap<>();
+    private final Map<Long, Employee> employees = new LinkedHashMap<>();
+    private final Map<Long, Counterparty> counterparties = new LinkedHashMap<>();
+    private final Map<Long, ReferenceProductResponse> products = new LinkedHashMap<>();
+    private final Map<Long, Category> categories = new LinkedHashMap<>();
+
+    private MovementNormalizer() {
+    }
+
+    static NormalizedMovementsResponse normalize(List<Movement> movements) {
+        MovementNormalizer normalizer = new MovementNormalizer();
+        List<NormalizedMovementResponse> data = new ArrayList<>(movements.size());
+        for (Movement movement : movements) {
+            data.add(normalizer.toNormalized(movement));
+        }
+        return new NormalizedMovementsResponse(data, new ReferenceDataResponse(
+                new ArrayList<>(normalizer.warehouses.values()),
+                new ArrayList<>(normalizer.employees.values()),
+                new ArrayList<>(normalizer.counterparties.values()),
+                new ArrayList<>(normalizer.categories.values()),
+                new ArrayList<>(normalizer.products.values())));
+    }
+
+    private NormalizedMovementResponse toNormalized(Movement movement) {
+        List<NormalizedMovementItemResponse> items = new ArrayList<>(movement.getItems().size());
+        for (MovementProduct item : movement.getItems()) {
+            items.add(new NormalizedMovementItemResponse(item.getId(), product(item.getProduct()), item.getQuantity()));
+        }
+        return new NormalizedMovementResponse(
+                movement.getId(),
+                movement.getDate(),
+                movement.getType(),
+                movement.getInfo(),
+                reference(warehouses, movement.getWarehouse(), Warehouse::getId),
+                reference(employees, movement.getEmployee(), Employee::getId),
+                reference(counterparties, movement.getCounterparty(), Counterparty::getId),
+                reference(warehouses, movement.getTargetWarehouse(), Warehouse::getId),
+                reference(employees, movement.getTargetEmployee(), Employee::getId),
+                items);
+    }
+
+    private Long product(Product product) {
+        if (product == null) {
+            return null;
+        }
+        if (!products.containsKey(product.getId())) {
+            products.put(product.getId(), ReferenceDataService.toReference(product));
+            reference(categories, product.getCategory(), Category::getId);
+        }
+        return product.getId();
+    }
+
+    private static <T> Long reference(Map<Long, T> included, T entity, Function<T, Long> id) {
+        if (entity == null) {
+            return null;
+        }
+        Long key = id.apply(entity);
+        included.putIfAbsent(key, entity);
+        return key;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.kpo.service;
 
+import com.example.kpo.dto.NormalizedMovementsResponse;
 import com.example.kpo.entity.Counterparty;
 import com.example.kpo.entity.Employee;
 import com.example.kpo.entity.Movement;
@@ -14,9 +15,15 @@ import com.example.kpo.repository.MovementRepository;
 import com.example.kpo.repository.ProductRepository;
 import com.example.kpo.repository.WarehouseProductRepository;
 import com.example.kpo.repository.WarehouseRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -26,7 +33,19 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Creates, changes and deletes movements together with the stock they move.
+ * Every operation is timed into {@code kpo.movements.operations}, tagged with the
+ * operation, the movement type and the outcome; each stock change is timed into
+ * {@code kpo.stock.adjustments} and its quantity counted in
+ * {@code kpo.stock.adjusted.quantity} once the change commits. Every stock change is also added to the
+ * {@link StockTotalService} totals and published as a {@link StockChangedEvent},
+ * and every written movement as a {@link MovementChangedEvent}.
+ */
 @Service
 public class MovementService {
 
@@ -36,46 +55,84 @@ public class MovementService {
     private final CounterpartyRepository counterpartyRepository;
     private final WarehouseRepository warehouseRepository;
     private final WarehouseProductRepository warehouseProductRepository;
+    private final MovementWriteQueue movementWriteQueue;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockTotalService stockTotalService;
+    private final Timer stockIncreaseTimer;
+    private final Timer stockDecreaseTimer;
+    private final Counter increasedQuantity;
+    private final Counter decreasedQuantity;
 
     public MovementService(MovementRepository movementRepository,
                            ProductRepository productRepository,
                            EmployeeRepository employeeRepository,
                            CounterpartyRepository counterpartyRepository,
                            WarehouseRepository warehouseRepository,
-                           WarehouseProductRepository warehouseProductRepository) {
+                           WarehouseProductRepository warehouseProductRepository,
+                           MovementWriteQueue movementWriteQueue,
+                           MeterRegistry meterRegistry,
+                           ApplicationEventPublisher eventPublisher,
+                           StockTotalService stockTotalService) {
         this.movementRepository = movementRepository;
         this.productRepository = productRepository;
         this.employeeRepository = employeeRepository;
         this.counterpartyRepository = counterpartyRepository;
         this.warehouseRepository = warehouseRepository;
         this.warehouseProductRepository = warehouseProductRepository;
+        this.movementWriteQueue = movementWriteQueue;
+        this.meterRegistry = meterRegistry;
+        this.eventPublisher = eventPublisher;
+        this.stockTotalService = stockTotalService;
+        this.stockIncreaseTimer = stockAdjustmentTimer("increase");
+        this.stockDecreaseTimer = stockAdjustmentTimer("decrease");
+        this.increasedQuantity = adjustedQuantityCounter("increase");
+        this.decreasedQuantity = adjustedQuantityCounter("decrease");
     }
 
+    @Transactional(readOnly = true)
     public List<Movement> getAllMovements() {
-        return movementRepository.findAll();
+        return movementRepository.findAllWithDetails();
     }
 
+    @Transactional(readOnly = true)
     public List<Movement> getMovementsByType(MovementType type) {
         return movementRepository.findByType(type);
     }
 
+    /**
+     * Movements in the normalized shape, with every referenced entity listed once
+     * in {@code included}; the type filter is optional.
+     */
+    @Transactional(readOnly = true)
+    public NormalizedMovementsResponse getNormalizedMovements(MovementType type) {
+        List<Movement> movements = type != null
+                ? movementRepository.findByType(type)
+                : movementRepository.findAllWithDetails();
+        return MovementNormalizer.normalize(movements);
+    }
+
+    @Transactional(readOnly = true)
     public Optional<Movement> getMovementById(Long id) {
         return movementRepository.findById(id);
     }
 
-    @Transactional
     public Movement createMovement(Movement movement) {
-        Movement prepared = new Movement();
-        copyAndResolveRelations(movement, prepared);
-        validateRelations(prepared);
-        applyMovement(prepared);
-        return movementRepository.save(prepared);
+        return timed("create", movement.getType(), () -> movementWriteQueue.execute(() -> {
+            Movement prepared = new Movement();
+            copyAndResolveRelations(movement, prepared);
+            validateRelations(prepared);
+            applyMovement(prepared);
+            Movement saved = movementRepository.save(prepared);
+            eventPublisher.publishEvent(new MovementChangedEvent(null, MovementChangedEvent.Snapshot.of(saved)));
+            return saved;
+        }));
     }
 
-    @Transactional
     public Optional<Movement> updateMovement(Long id, Movement movement) {
-        return movementRepository.findById(id)
-                .map(existing -> {
+        return timed("update", movement.getType(), () -> movementWriteQueue.execute(() ->
+                movementRepository.findById(id).map(existing -> {
+                    MovementChangedEvent.Snapshot before = MovementChangedEvent.Snapshot.of(existing);
                     Movement previousState = cloneMovement(existing);
                     copyAndResolveRelations(movement, existing);
                     validateRelations(existing);
@@ -83,16 +140,67 @@ public class MovementService {
                         revertMovement(previousState);
                         applyMovement(existing);
                     }
-                    return movementRepository.save(existing);
-                });
+                    Movement saved = movementRepository.save(existing);
+                    eventPublisher.publishEvent(new MovementChangedEvent(before,
+                            MovementChangedEvent.Snapshot.of(saved)));
+                    return saved;
+                })));
     }
 
-    @Transactional
     public void deleteMovement(Long id) {
-        movementRepository.findById(id).ifPresent(movement -> {
-            revertMovement(movement);
-            movementRepository.delete(movement);
-        });
+        AtomicReference<MovementType> deletedType = new AtomicReference<>();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            movementWriteQueue.execute(() -> {
+                movementRepository.findById(id).ifPresent(movement -> {
+                    deletedType.set(movement.getType());
+                    MovementChangedEvent.Snapshot before = MovementChangedEvent.Snapshot.of(movement);
+                    revertMovement(movement);
+                    movementRepository.delete(movement);
+                    eventPublisher.publishEvent(new MovementChangedEvent(before, null));
+                });
+                return null;
+            });
+            outcome = deletedType.get() != null ? "success" : "not_found";
+        } finally {
+            sample.stop(operationTimer("delete", deletedType.get(), outcome));
+        }
+    }
+
+    private <T> T timed(String operation, MovementType type, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            T result = action.get();
+            outcome = result instanceof Optional<?> optional && optional.isEmpty() ? "not_found" : "success";
+            return result;
+        } finally {
+            sample.stop(operationTimer(operation, type, outcome));
+        }
+    }
+
+    private Timer operationTimer(String operation, MovementType type, String outcome) {
+        return Timer.builder("kpo.movements.operations")
+                .description("Movement create, update and delete operations, including the wait for the writer")
+                .tag("operation", operation)
+                .tag("type", type != null ? type.name() : "unknown")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private Timer stockAdjustmentTimer(String direction) {
+        return Timer.builder("kpo.stock.adjustments")
+                .description("Changes of a warehouse stock row")
+                .tag("direction", direction)
+                .register(meterRegistry);
+    }
+
+    private Counter adjustedQuantityCounter(String direction) {
+        return Counter.builder("kpo.stock.adjusted.quantity")
+                .description("Units added to or removed from warehouse stock")
+                .tag("direction", direction)
+                .register(meterRegistry);
     }
 
     private void copyAndResolveRelations(Movement source, Movement target) {
@@ -107,14 +215,12 @@ public class MovementService {
         target.getItems().clear();
         List<MovementProduct> incomingItems = source.getItems();
         if (incomingItems != null && !incomingItems.isEmpty()) {
+            Map<Long, Product> products = resolveProducts(incomingItems);
             List<MovementProduct> resolvedItems = new ArrayList<>();
             for (MovementProduct item : incomingItems) {
-                if (item.getQuantity() == null || item.getQuantity() <= 0) {
-                    throw new IllegalArgumentException("Movement item quantity must be greater than 0");
-                }
                 MovementProduct resolved = new MovementProduct();
                 resolved.setMovement(target);
-                resolved.setProduct(resolveProduct(item.getProduct()));
+                resolved.setProduct(products.get(item.getProduct().getId()));
                 resolved.setQuantity(item.getQuantity());
                 resolvedItems.add(resolved);
             }
@@ -122,12 +228,26 @@ public class MovementService {
         }
     }
 
-    private Product resolveProduct(Product product) {
-        if (product == null || product.getId() == null) {
-            throw new IllegalArgumentException("Product id is required");
+    /**
+     * Validates the items and loads all their products with one query.
+     */
+    private Map<Long, Product> resolveProducts(List<MovementProduct> items) {
+        Set<Long> productIds = new HashSet<>();
+        for (MovementProduct item : items) {
+            if (item.getQuantity() == null || item.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Movement item quantity must be greater than 0");
+            }
+            if (item.getProduct() == null || item.getProduct().getId() == null) {
+                throw new IllegalArgumentException("Product id is required");
+            }
+            productIds.add(item.getProduct().getId());
         }
-        return productRepository.findById(product.getId())
-                .orElseThrow(() -> new EntityNotFoundException("Product not found"));
+        Map<Long, Product> products = new HashMap<>();
+        productRepository.findAllById(productIds).forEach(product -> products.put(product.getId(), product));
+        if (products.size() != productIds.size()) {
+            throw new EntityNotFoundException("Product not found");
+        }
+        return products;
     }
 
     private Employee resolveRequiredEmployee(Employee employee, String field) {
@@ -256,13 +376,18 @@ public class MovementService {
     }
 
     private void increaseStock(Warehouse warehouse, Product product, int quantity) {
+        long started = System.nanoTime();
         WarehouseProduct stock = warehouseProductRepository.findByWarehouseAndProduct(warehouse, product)
                 .orElseGet(() -> new WarehouseProduct(warehouse, product, 0));
         stock.setQuantity(stock.getQuantity() + quantity);
         warehouseProductRepository.save(stock);
+        stockTotalService.add(warehouse.getId(), product.getCategory().getId(), quantity);
+        publishStockChange(warehouse, product, quantity, stock.getQuantity());
+        recordAdjustment(stockIncreaseTimer, increasedQuantity, System.nanoTime() - started, quantity);
     }
 
     private void decreaseStock(Warehouse warehouse, Product product, int quantity) {
+        long started = System.nanoTime();
         WarehouseProduct stock = warehouseProductRepository.findByWarehouseAndProduct(warehouse, product)
                 .orElseThrow(() -> new IllegalArgumentException(
                         "Product " + product.getId() + " is not available on warehouse " + warehouse.getId()));
@@ -277,6 +402,33 @@ public class MovementService {
             stock.setQuantity(nextQuantity);
             warehouseProductRepository.save(stock);
         }
+        stockTotalService.add(warehouse.getId(), product.getCategory().getId(), -quantity);
+        publishStockChange(warehouse, product, -quantity, Math.max(nextQuantity, 0));
+        recordAdjustment(stockDecreaseTimer, decreasedQuantity, System.nanoTime() - started, quantity);
+    }
+
+    /**
+     * Times and counts a stock change once its transaction commits: a group commit
+     * replays the commands of a rolled-back batch, and must not count them twice.
+     */
+    private static void recordAdjustment(Timer timer, Counter quantityCounter, long nanos, int quantity) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+            quantityCounter.increment(quantity);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                timer.record(nanos, TimeUnit.NANOSECONDS);
+                quantityCounter.increment(quantity);
+            }
+        });
+    }
+
+    private void publishStockChange(Warehouse warehouse, Product product, int delta, int quantity) {
+        eventPublisher.publishEvent(new StockChangedEvent(warehouse.getId(), product.getId(), product.getName(),
+                delta, quantity));
     }
 
     private Movement cloneMovement(Movement source) {
@@ -301,7 +453,7 @@ public class MovementService {
         return clone;
     }
 
-    private boolean applyMovementDelta(Movement previous, Movement current) {
+    boolean applyMovementDelta(Movement previous, Movement current) {
         if (previous.getType() != current.getType()) {
             return false;
         }
@@ -400,7 +552,7 @@ public class MovementService {
         return true;
     }
 
-    private Map<Long, ProductQuantity> aggregateItems(List<MovementProduct> items) {
+    Map<Long, ProductQuantity> aggregateItems(List<MovementProduct> items) {
         Map<Long, ProductQuantity> result = new HashMap<>();
         if (items == null) {
             return result;
@@ -430,7 +582,7 @@ public class MovementService {
         return Objects.equals(left.getId(), right.getId());
     }
 
-    private static class ProductQuantity {
+    static class ProductQuantity {
         private final Product product;
         private int quantity;
 
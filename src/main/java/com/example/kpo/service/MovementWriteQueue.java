@@ -0,0 +1,196 @@
+package com.example.kpo.service;
+
+import com.example.kpo.config.GroupCommitProperties;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Runs movement write commands in a transaction. With group commit enabled the
+ * commands are handed to a single writer thread that commits whatever arrived
+ * within a short window in one transaction, so concurrent callers share one
+ * fsync. A command that fails is reported to its own caller only: the batch is
+ * rolled back and replayed without it. The other commands of the batch then run
+ * again, so a command must not have effects outside the transaction: anything
+ * else, such as metrics or notifications, belongs in an after-commit callback.
+ * A caller that already runs in a transaction has its command run inline, in
+ * that transaction.
+ */
+@Component
+public class MovementWriteQueue implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(MovementWriteQueue.class);
+
+    private final GroupCommitProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final BlockingQueue<PendingWrite<?>> queue = new LinkedBlockingQueue<>();
+    private final AtomicReference<Thread> writer = new AtomicReference<>();
+    private volatile boolean running = true;
+
+    public MovementWriteQueue(GroupCommitProperties properties,
+                              PlatformTransactionManager transactionManager,
+                              EntityManager entityManager) {
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+    }
+
+    public <T> T execute(Supplier<T> command) {
+        if (!properties.isEnabled() || TransactionSynchronizationManager.isActualTransactionActive()) {
+            // joins the caller's transaction: the writer thread would commit apart from it
+            // and wait for the single write connection the caller holds
+            return transactionTemplate.execute(status -> command.get());
+        }
+        if (!running) {
+            throw new IllegalStateException("Movement writer is stopped");
+        }
+        ensureWriterStarted();
+        PendingWrite<T> write = new PendingWrite<>(command);
+        queue.add(write);
+        try {
+            return write.result.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        Thread thread = writer.get();
+        if (thread != null) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        PendingWrite<?> abandoned;
+        while ((abandoned = queue.poll()) != null) {
+            abandoned.fail(new IllegalStateException("Movement writer is stopped"));
+        }
+    }
+
+    private void ensureWriterStarted() {
+        if (writer.get() != null) {
+            return;
+        }
+        Thread thread = Thread.ofPlatform()
+                .name("movement-writer")
+                .unstarted(this::runWriter);
+        if (writer.compareAndSet(null, thread)) {
+            thread.start();
+        }
+    }
+
+    private void runWriter() {
+        List<PendingWrite<?>> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite<?> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + properties.getMaxWait().toNanos();
+                while (batch.size() < properties.getMaxBatchSize()) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingWrite<?> next = remaining > 0
+                            ? queue.poll(remaining, TimeUnit.NANOSECONDS)
+                            : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                commit(batch);
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+                batch.forEach(write -> write.fail(new IllegalStateException("Movement writer was interrupted")));
+                return;
+            } catch (RuntimeException unexpected) {
+                logger.error("Movement writer failed to commit a batch of {} commands", batch.size(), unexpected);
+                batch.forEach(write -> write.fail(unexpected));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingWrite<?>> batch) {
+        List<PendingWrite<?>> pending = new ArrayList<>(batch);
+        while (!pending.isEmpty()) {
+            BatchOutcome outcome = new BatchOutcome();
+            try {
+                transactionTemplate.executeWithoutResult(status -> runBatch(pending, outcome, status));
+            } catch (RuntimeException commitFailure) {
+                pending.forEach(write -> write.fail(commitFailure));
+                return;
+            }
+            if (outcome.failed == null) {
+                logger.debug("Committed {} movement writes in one transaction", pending.size());
+                pending.forEach(PendingWrite::complete);
+                return;
+            }
+            outcome.failed.fail(outcome.failure);
+            pending.remove(outcome.failed);
+        }
+    }
+
+    private void runBatch(List<PendingWrite<?>> pending, BatchOutcome outcome, TransactionStatus status) {
+        for (PendingWrite<?> write : pending) {
+            try {
+                write.run();
+                entityManager.flush();
+            } catch (RuntimeException exception) {
+                outcome.failed = write;
+                outcome.failure = exception;
+                status.setRollbackOnly();
+                return;
+            }
+        }
+    }
+
+    private static final class BatchOutcome {
+        private PendingWrite<?> failed;
+        private RuntimeException failure;
+    }
+
+    private static final class PendingWrite<T> {
+        private final Supplier<T> command;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private T value;
+
+        private PendingWrite(Supplier<T> command) {
+            this.command = command;
+        }
+
+        private void run() {
+            value = command.get();
+        }
+
+        private void complete() {
+            result.complete(value);
+        }
+
+        private void fail(Throwable failure) {
+            result.completeExceptionally(failure);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.kpo.service;
+
+import com.example.kpo.dto.NameMatchResponse;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Case-insensitive typeahead index over names. Every word of a name is a key in
+ * a sorted map, so a prefix query is a range scan that stops as soon as enough
+ * matches are found; with several query words each one has to be the prefix of
+ * some word of the name. The index is loaded on the first search and kept up to
+ * date by the owning service after each committed write.
+ */
+class NameSearchIndex {
+
+    static final int MAX_LIMIT = 50;
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Comparator<Entry> ORDER = Comparator.comparing(Entry::sortKey)
+            .thenComparingLong(Entry::id);
+
+    private final Supplier<List<NameMatchResponse>> loader;
+    private final ConcurrentSkipListMap<String, NavigableSet<Entry>> words = new ConcurrentSkipListMap<>();
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile boolean loaded;
+
+    NameSearchIndex(Supplier<List<NameMatchResponse>> loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Returns up to {@code limit} names matching the query, ordered by the matched
+     * word and then by name.
+     */
+    List<NameMatchResponse> search(String query, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Search limit must be between 1 and " + MAX_LIMIT);
+        }
+        List<String> terms = words(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        ensureLoaded();
+        // scanning by the longest term visits the fewest candidates
+        String scanned = terms.stream().max(Comparator.comparingInt(String::length)).orElseThrow();
+        Set<Entry> found = new LinkedHashSet<>();
+        Map<String, NavigableSet<Entry>> range = words.subMap(scanned, true, scanned + Character.MAX_VALUE, true);
+        for (NavigableSet<Entry> candidates : range.values()) {
+            for (Entry candidate : candidates) {
+                if (candidate.matches(terms)) {
+                    found.add(candidate);
+                    if (found.size() == limit) {
+                        return toResponses(found);
+                    }
+                }
+            }
+        }
+        return toResponses(found);
+    }
+
+    void put(Long id, String name) {
+        afterCommit(() -> apply(() -> putUnderLock(id, name)));
+    }
+
+    void remove(Long id) {
+        afterCommit(() -> apply(() -> removeUnderLock(id)));
+    }
+
+    /**
+     * Drops the index after a bulk change; the next search loads it again.
+     */
+    void invalidate() {
+        writeLock.lock();
+        try {
+            loaded = false;
+            words.clear();
+            entries.clear();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            if (!loaded) {
+                for (NameMatchResponse match : loader.get()) {
+                    putUnderLock(match.getId(), match.getName());
+                }
+                loaded = true;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Writes before the first search are skipped, the initial load reads them
+     * from the database anyway.
+     */
+    private void apply(Runnable change) {
+        writeLock.lock();
+        try {
+            if (loaded) {
+                change.run();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void putUnderLock(Long id, String name) {
+        removeUnderLock(id);
+        List<String> nameWords = words(name);
+        Entry entry = new Entry(id, name, String.join(" ", nameWords), nameWords);
+        entries.put(id, entry);
+        for (String word : nameWords) {
+            words.computeIfAbsent(word, key -> new ConcurrentSkipListSet<>(ORDER)).add(entry);
+        }
+    }
+
+    private void removeUnderLock(Long id) {
+        Entry previous = entries.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String word : previous.words()) {
+            NavigableSet<Entry> indexed = words.get(word);
+            if (indexed != null) {
+                indexed.remove(previous);
+                if (indexed.isEmpty()) {
+                    words.remove(word);
+                }
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    static List<String> words(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String normalized = text.toLowerCase(Locale.ROOT).replace('ё', 'е');
+        return Arrays.stream(WORD_SEPARATOR.split(normalized))
+                .filter(word -> !word.isEmpty())
+                .toList();
+    }
+
+    private static List<NameMatchResponse> toResponses(Set<Entry> found) {
+        List<NameMatchResponse> responses = new ArrayList<>(found.size());
+        for (Entry entry : found) {
+            responses.add(new NameMatchResponse(entry.id(), entry.name()));
+        }
+        return responses;
+    }
+
+    private record Entry(long id, String name, String sortKey, List<String> words) {
+
+        boolean matches(List<String> terms) {
+            for (String term : terms) {
+                if (words.stream().noneMatch(word -> word.startsWith(term))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
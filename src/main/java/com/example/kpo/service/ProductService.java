@@ -1,13 +1,17 @@
 package com.example.kpo.service;
 
+import com.example.kpo.dto.NameMatchResponse;
 import com.example.kpo.entity.Category;
 import com.example.kpo.entity.Product;
+import com.example.kpo.entity.WarehouseProduct;
 import com.example.kpo.repository.CategoryRepository;
 import com.example.kpo.repository.MovementProductRepository;
+import com.example.kpo.repository.OpeningBalanceRepository;
 import com.example.kpo.repository.ProductRepository;
 import com.example.kpo.repository.WarehouseProductRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -19,15 +23,29 @@ public class ProductService {
     private final CategoryRepository categoryRepository;
     private final MovementProductRepository movementProductRepository;
     private final WarehouseProductRepository warehouseProductRepository;
+    private final OpeningBalanceRepository openingBalanceRepository;
+    private final ReferenceDataVersions versions;
+    private final StockTotalService stockTotalService;
+    private final StockThresholdService stockThresholdService;
+    private final NameSearchIndex searchIndex;
 
     public ProductService(ProductRepository productRepository,
                           CategoryRepository categoryRepository,
                           MovementProductRepository movementProductRepository,
-                          WarehouseProductRepository warehouseProductRepository) {
+                          WarehouseProductRepository warehouseProductRepository,
+                          OpeningBalanceRepository openingBalanceRepository,
+                          ReferenceDataVersions versions,
+                          StockTotalService stockTotalService,
+                          StockThresholdService stockThresholdService) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
         this.movementProductRepository = movementProductRepository;
         this.warehouseProductRepository = warehouseProductRepository;
+        this.openingBalanceRepository = openingBalanceRepository;
+        this.versions = versions;
+        this.stockTotalService = stockTotalService;
+        this.stockThresholdService = stockThresholdService;
+        this.searchIndex = new NameSearchIndex(productRepository::findAllNames);
     }
 
     public List<Product> getAllProducts() {
@@ -38,27 +56,67 @@ public class ProductService {
         return productRepository.findById(id);
     }
 
+    public List<NameMatchResponse> searchProducts(String query, int limit) {
+        return searchIndex.search(query, limit);
+    }
+
+    /**
+     * Rebuilds the search index on the next search, after records were written
+     * around this service.
+     */
+    void reloadSearchIndex() {
+        searchIndex.invalidate();
+    }
+
     public Product createProduct(Product product) {
         product.setCategory(resolveCategory(product.getCategory()));
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        versions.changed(ReferenceDataVersions.Type.PRODUCTS);
+        searchIndex.put(saved.getId(), saved.getName());
+        return saved;
     }
 
+    /**
+     * Updates the product; moving it to another category moves its stock between
+     * the category totals in the same transaction.
+     */
+    @Transactional
     public Optional<Product> updateProduct(Long id, Product product) {
         return productRepository.findById(id)
                 .map(existing -> {
+                    Category category = resolveCategory(product.getCategory());
+                    if (!category.getId().equals(existing.getCategory().getId())) {
+                        moveStockTotals(existing, existing.getCategory(), category);
+                    }
                     existing.setName(product.getName());
                     existing.setInfo(product.getInfo());
-                    existing.setCategory(resolveCategory(product.getCategory()));
-                    return productRepository.save(existing);
+                    existing.setCategory(category);
+                    Product saved = productRepository.save(existing);
+                    versions.changed(ReferenceDataVersions.Type.PRODUCTS);
+                    searchIndex.put(saved.getId(), saved.getName());
+                    return saved;
                 });
     }
 
+    @Transactional
     public void deleteProduct(Long id) {
         if (movementProductRepository.existsByProductId(id)
-                || warehouseProductRepository.existsByProductId(id)) {
+                || warehouseProductRepository.existsByProductId(id)
+                || openingBalanceRepository.existsByProductId(id)) {
             throw new IllegalArgumentException("Product is used in movements or stock and cannot be deleted");
         }
+        stockThresholdService.deleteProductThresholds(id);
         productRepository.deleteById(id);
+        versions.changed(ReferenceDataVersions.Type.PRODUCTS);
+        searchIndex.remove(id);
+    }
+
+    private void moveStockTotals(Product product, Category from, Category to) {
+        for (WarehouseProduct stock : warehouseProductRepository.findByProductId(product.getId())) {
+            Long warehouseId = stock.getWarehouse().getId();
+            stockTotalService.add(warehouseId, from.getId(), -stock.getQuantity());
+            stockTotalService.add(warehouseId, to.getId(), stock.getQuantity());
+        }
     }
 
     private Category resolveCategory(Category category) {
@@ -0,0 +1,105 @@
+package com.example.kpo.service;
+
+import com.example.kpo.dto.ReferenceDataResponse;
+import com.example.kpo.dto.ReferenceProductResponse;
+import com.example.kpo.entity.Category;
+import com.example.kpo.entity.Product;
+import com.example.kpo.repository.CategoryRepository;
+import com.example.kpo.repository.CounterpartyRepository;
+import com.example.kpo.repository.EmployeeRepository;
+import com.example.kpo.repository.ProductRepository;
+import com.example.kpo.repository.WarehouseRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serves all reference lists from one in-memory snapshot. The snapshot is keyed
+ * by the combined ETag of the lists and rebuilt by the first request after any
+ * of them changed, so repeated bootstraps cost no queries at all.
+ */
+@Service
+public class ReferenceDataService {
+
+    private static final ReferenceDataVersions.Type[] TYPES = ReferenceDataVersions.Type.values();
+
+    private final WarehouseRepository warehouseRepository;
+    private final EmployeeRepository employeeRepository;
+    private final CounterpartyRepository counterpartyRepository;
+    private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
+    private final ReferenceDataVersions versions;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    public ReferenceDataService(WarehouseRepository warehouseRepository,
+                                EmployeeRepository employeeRepository,
+                                CounterpartyRepository counterpartyRepository,
+                                CategoryRepository categoryRepository,
+                                ProductRepository productRepository,
+                                ReferenceDataVersions versions,
+                                PlatformTransactionManager transactionManager) {
+        this.warehouseRepository = warehouseRepository;
+        this.employeeRepository = employeeRepository;
+        this.counterpartyRepository = counterpartyRepository;
+        this.categoryRepository = categoryRepository;
+        this.productRepository = productRepository;
+        this.versions = versions;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public String currentETag() {
+        return versions.eTag("reference", TYPES);
+    }
+
+    /**
+     * Returns data at least as fresh as the tag {@link #currentETag()} returned
+     * before the call.
+     */
+    public ReferenceDataResponse getReferenceData() {
+        Snapshot current = snapshot;
+        if (current != null && current.eTag().equals(currentETag())) {
+            return current.data();
+        }
+        rebuildLock.lock();
+        try {
+            current = snapshot;
+            // the tag is read before loading, a write that lands meanwhile only forces another rebuild
+            String eTag = currentETag();
+            if (current == null || !current.eTag().equals(eTag)) {
+                current = new Snapshot(eTag, transactionTemplate.execute(status -> load()));
+                snapshot = current;
+            }
+            return current.data();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private ReferenceDataResponse load() {
+        // categories go first, so the products find theirs in the persistence context
+        List<Category> categories = categoryRepository.findAll();
+        List<ReferenceProductResponse> products = productRepository.findAll().stream()
+                .map(ReferenceDataService::toReference)
+                .toList();
+        return new ReferenceDataResponse(
+                warehouseRepository.findAll(),
+                employeeRepository.findAll(),
+                counterpartyRepository.findAll(),
+                categories,
+                products);
+    }
+
+    static ReferenceProductResponse toReference(Product product) {
+        Long categoryId = product.getCategory() != null ? product.getCategory().getId() : null;
+        return new ReferenceProductResponse(product.getId(), product.getName(), product.getInfo(), categoryId);
+    }
+
+    private record Snapshot(String eTag, ReferenceDataResponse data) {
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.kpo.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps an in-memory version counter per reference list. The CRUD services bump
+ * a counter after every write, and the list endpoints turn it into a strong
+ * ETag, so a client revalidating an unchanged list gets a 304 without a query.
+ * The ETag also carries the start time of the application, so counters that
+ * restart from zero never repeat a tag handed out by a previous run.
+ */
+@Component
+public class ReferenceDataVersions {
+
+    public enum Type {
+        WAREHOUSES,
+        CATEGORIES,
+        PRODUCTS,
+        EMPLOYEES,
+        COUNTERPARTIES
+    }
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Type, AtomicLong> versions = new EnumMap<>(Type.class);
+
+    public ReferenceDataVersions() {
+        for (Type type : Type.values()) {
+            versions.put(type, new AtomicLong());
+        }
+    }
+
+    public long version(Type type) {
+        return versions.get(type).get();
+    }
+
+    public String eTag(Type type) {
+        return eTag(type.name().toLowerCase(Locale.ROOT), type);
+    }
+
+    /**
+     * Builds a tag over several lists that changes whenever any of them does.
+     */
+    public String eTag(String name, Type... types) {
+        StringJoiner joiner = new StringJoiner(".", "\"" + name + "-" + epoch + "-", "\"");
+        for (Type type : types) {
+            joiner.add(Long.toString(version(type)));
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Marks the lists as changed. Inside a transaction the counters move only once
+     * it has completed, so a concurrent reader never caches the old rows under
+     * the new tag.
+     */
+    public void changed(Type... types) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump(types);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                bump(types);
+            }
+        });
+    }
+
+    private void bump(Type... types) {
+        for (Type type : types) {
+            versions.get(type).incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.kpo.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * A number summed per time bucket over a rolling window; see {@link TimeRing}.
+ */
+final class RollingCounter extends TimeRing {
+
+    private final long[] sums;
+
+    RollingCounter(Duration bucketWidth, int size) {
+        super(bucketWidth, size);
+        this.sums = new long[size];
+    }
+
+    /**
+     * Adds to the bucket of {@code time}; a negative amount takes back an earlier
+     * addition. Times outside the window are ignored.
+     */
+    void add(LocalDateTime time, long amount, LocalDateTime now) {
+        int slot = claim(time, now);
+        if (slot >= 0) {
+            sums[slot] += amount;
+        }
+    }
+
+    /**
+     * The sum over the last {@code buckets} buckets, the current one included.
+     */
+    long sum(int buckets, LocalDateTime now) {
+        long sum = 0;
+        for (int age = 0; age < Math.min(buckets, size()); age++) {
+            int slot = slotAt(age, now);
+            if (slot >= 0) {
+                sum += sums[slot];
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * The sum of every bucket in the window, oldest first and the current one last.
+     */
+    long[] series(LocalDateTime now) {
+        long[] series = new long[size()];
+        for (int age = 0; age < size(); age++) {
+            int slot = slotAt(age, now);
+            series[size() - 1 - age] = slot >= 0 ? sums[slot] : 0;
+        }
+        return series;
+    }
+
+    @Override
+    void clear(int slot) {
+        sums[slot] = 0;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.kpo.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Numbers summed per id over a rolling window, for rankings such as the most
+ * moved products; see {@link TimeRing}. Each bucket only holds the ids that
+ * occurred in it, and the sums over the whole window are kept alongside and
+ * reduced as buckets expire, so a ranking does not merge the buckets.
+ */
+final class RollingTally extends TimeRing {
+
+    private static final Comparator<Map.Entry<Long, Long>> RANKING =
+            Map.Entry.<Long, Long>comparingByValue(Comparator.reverseOrder())
+                    .thenComparing(Map.Entry.comparingByKey());
+
+    private final List<Map<Long, Long>> sums;
+    private final Map<Long, Long> windowSums = new HashMap<>();
+
+    RollingTally(Duration bucketWidth, int size) {
+        super(bucketWidth, size);
+        this.sums = new ArrayList<>(size);
+        for (int slot = 0; slot < size; slot++) {
+            sums.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Adds to the sum of the id in the bucket of {@code time}; a negative amount
+     * takes back an earlier addition. Times outside the window are ignored.
+     */
+    void add(LocalDateTime time, Long id, long amount, LocalDateTime now) {
+        int slot = claim(time, now);
+        if (slot >= 0) {
+            addTo(sums.get(slot), id, amount);
+            addTo(windowSums, id, amount);
+        }
+    }
+
+    /**
+     * The ids with the largest positive sums over the window, largest first, ties
+     * by id.
+     */
+    List<Map.Entry<Long, Long>> top(int limit, LocalDateTime now) {
+        expire(now);
+        PriorityQueue<Map.Entry<Long, Long>> top = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        for (Map.Entry<Long, Long> entry : windowSums.entrySet()) {
+            if (entry.getValue() <= 0) {
+                continue;
+            }
+            top.add(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        return top.stream()
+                .sorted(RANKING)
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    @Override
+    void clear(int slot) {
+        Map<Long, Long> bucket = sums.get(slot);
+        bucket.forEach((id, amount) -> addTo(windowSums, id, -amount));
+        bucket.clear();
+    }
+
+    private static void addTo(Map<Long, Long> target, Long id, long amount) {
+        if (target.merge(id, amount, Long::sum) == 0) {
+            target.remove(id);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.kpo.service;
+
+import com.example.kpo.config.StockStreamProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process fan-out of committed stock changes to per-warehouse subscribers.
+ * Every change gets a sequence number that serves as the event id; the last few
+ * changes are kept so a subscriber can resume after a reconnect. Each subscriber
+ * has a bounded {@link StreamSubscription}, and one that falls too far behind, or
+ * asks to resume from a change that is no longer kept, is marked for a reset and
+ * has to reload the stock list instead.
+ */
+@Component
+public class StockChangeBus implements DisposableBean {
+
+    private final StockStreamProperties properties;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<StockDelta> history = new ArrayDeque<>();
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    /**
+     * Ids start from the clock, so that they keep growing across restarts and an
+     * id from a previous run is recognised as one that cannot be replayed.
+     */
+    private long lastId = System.currentTimeMillis() * 1000;
+
+    public StockChangeBus(StockStreamProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        Gauge.builder("kpo.stock.stream.subscribers", subscriptions, Set::size)
+                .description("Open stock change streams")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onStockChanged(StockChangedEvent event) {
+        publish(event);
+    }
+
+    void publish(StockChangedEvent event) {
+        lock.lock();
+        try {
+            StockDelta delta = new StockDelta(++lastId, event);
+            history.addLast(delta);
+            if (history.size() > properties.getReplaySize()) {
+                history.removeFirst();
+            }
+            for (Subscription subscription : subscriptions) {
+                subscription.offer(delta);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Subscribes to the changes of one warehouse. With a last event id the kept
+     * changes after it are queued first; registration and replay happen under the
+     * same lock as publishing, so no change falls between them.
+     */
+    public Subscription subscribe(Long warehouseId, Long lastEventId) {
+        lock.lock();
+        try {
+            Subscription subscription = new Subscription(warehouseId, properties.getSubscriberBuffer(), lastId);
+            if (lastEventId != null) {
+                long oldestKept = history.isEmpty() ? lastId + 1 : history.peekFirst().id();
+                if (lastEventId + 1 < oldestKept || lastEventId > lastId) {
+                    subscription.requireReset();
+                } else {
+                    for (StockDelta delta : history) {
+                        if (delta.id() > lastEventId) {
+                            subscription.offer(delta);
+                        }
+                    }
+                }
+            }
+            subscriptions.add(subscription);
+            return subscription;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        subscriptions.forEach(Subscription::close);
+    }
+
+    /**
+     * A committed stock change and its event id.
+     */
+    public record StockDelta(long id, StockChangedEvent change) {
+    }
+
+    /**
+     * A subscription to the changes of one warehouse.
+     */
+    public final class Subscription extends StreamSubscription<StockDelta> {
+
+        private final Long warehouseId;
+        private final long startId;
+
+        private Subscription(Long warehouseId, int capacity, long startId) {
+            super(capacity, subscriptions::remove);
+            this.warehouseId = warehouseId;
+            this.startId = startId;
+        }
+
+        /**
+         * The id of the last change published before the subscription started.
+         */
+        public long getStartId() {
+            return startId;
+        }
+
+        @Override
+        void offer(StockDelta delta) {
+            if (warehouseId.equals(delta.change().warehouseId())) {
+                super.offer(delta);
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.kpo.service;
+
+/**
+ * Published by {@link MovementService} for every stock row a movement write
+ * changes. The quantity is the new stock level, zero once the row is gone.
+ * Listeners that act on it should wait for the commit, because the write can
+ * still be rolled back.
+ */
+public record StockChangedEvent(Long warehouseId, Long productId, String productName, int delta, int quantity) {
+}
@@ -0,0 +1,219 @@
+package com.example.kpo.service;
+
+import com.example.kpo.dto.ProductStockResponse;
+import com.example.kpo.entity.MovementType;
+import com.example.kpo.repository.MovementProductRepository;
+import com.example.kpo.repository.StockHistoryRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Stock of a few products at the end of a past day. Every movement write updates
+ * the stock history: a row per product, warehouse and day on which the stock
+ * changed, holding the stock at the end of that day. A question for a day after
+ * the archive cutoff reads, per product and warehouse, the latest row not after
+ * the day, so its cost follows the number of warehouses rather than the history
+ * of the products. Days before the cutoff are rebuilt from the archived items of
+ * the asked products, summed in SQL through the product history index.
+ */
+@Service
+public class StockHistoryService {
+
+    static final int MAX_PRODUCTS = 50;
+
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::productId)
+            .thenComparing(Key::warehouseId)
+            .thenComparingLong(Key::epochDay);
+    private static final String SHIFT_SQL = """
+            UPDATE stock_history SET quantity = quantity + ?
+            WHERE product_id = ? AND warehouse_id = ? AND epoch_day >= ?
+            """;
+    private static final String INSERT_SQL = """
+            INSERT INTO stock_history (product_id, warehouse_id, epoch_day, quantity)
+            SELECT ?, ?, ?, ? + COALESCE((
+                SELECT h.quantity FROM stock_history h
+                WHERE h.product_id = ? AND h.warehouse_id = ? AND h.epoch_day = (
+                    SELECT MAX(d.epoch_day) FROM stock_history d
+                    WHERE d.product_id = ? AND d.warehouse_id = ? AND d.epoch_day < ?)), 0)
+            WHERE NOT EXISTS (
+                SELECT 1 FROM stock_history e
+                WHERE e.product_id = ? AND e.warehouse_id = ? AND e.epoch_day = ?)
+            """;
+
+    private final StockHistoryRepository stockHistoryRepository;
+    private final MovementProductRepository movementProductRepository;
+    private final MovementArchiveService movementArchiveService;
+    private final JdbcTemplate jdbcTemplate;
+
+    public StockHistoryService(StockHistoryRepository stockHistoryRepository,
+                               MovementProductRepository movementProductRepository,
+                               MovementArchiveService movementArchiveService,
+                               JdbcTemplate jdbcTemplate) {
+        this.stockHistoryRepository = stockHistoryRepository;
+        this.movementProductRepository = movementProductRepository;
+        this.movementArchiveService = movementArchiveService;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Takes the movement out of the history as it was and puts it back as it is;
+     * the rows are written when the write transaction commits.
+     */
+    @EventListener
+    public void onMovementChanged(MovementChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Stock history can only change inside a transaction");
+        }
+        @SuppressWarnings("unchecked")
+        Map<Key, Long> pending = (Map<Key, Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Map<Key, Long> changes = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    write(changes);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(StockHistoryService.this);
+                }
+            });
+            pending = changes;
+        }
+        if (event.before() != null) {
+            record(pending, event.before(), -1);
+        }
+        if (event.after() != null) {
+            record(pending, event.after(), 1);
+        }
+    }
+
+    /**
+     * Positive stock of the products at the end of the day, by product and
+     * warehouse, optionally only on the given warehouses.
+     */
+    @Transactional(readOnly = true)
+    public List<ProductStockResponse> getStockAt(Collection<Long> productIds, LocalDate date,
+                                                 Collection<Long> warehouseIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one product is required");
+        }
+        Set<Long> products = new TreeSet<>(productIds);
+        if (products.size() > MAX_PRODUCTS) {
+            throw new IllegalArgumentException("At most " + MAX_PRODUCTS + " products can be queried at once");
+        }
+        if (date == null) {
+            throw new IllegalArgumentException("Date is required");
+        }
+        boolean warehouseFilter = warehouseIds != null && !warehouseIds.isEmpty();
+        LocalDateTime moment = date.atTime(LocalTime.MAX);
+        MovementArchiveService.ArchivePosition archive = movementArchiveService.getPosition();
+        if (archive.cutoff() == null || !moment.isBefore(archive.cutoff())) {
+            List<Object[]> rows = warehouseFilter
+                    ? stockHistoryRepository.findStockAtWarehouses(products, date.toEpochDay(), warehouseIds)
+                    : stockHistoryRepository.findStockAt(products, date.toEpochDay());
+            return rows.stream()
+                    .filter(row -> row[2] != null && ((Number) row[2]).longValue() > 0)
+                    .map(row -> new ProductStockResponse((Long) row[0], (Long) row[1], ((Number) row[2]).longValue()))
+                    .toList();
+        }
+
+        // archived movements are not in the history, and the opening balances already
+        // include movements after the date. Archived batches that had not committed
+        // when the position was read are still hot in this transaction and are skipped
+        Map<Key, Long> totals = new HashMap<>();
+        for (Object[] row : movementProductRepository.sumByProductUntil(products, moment)) {
+            apply(totals, new MovementLineTotal((Long) row[0], (MovementType) row[1], (Long) row[2], (Long) row[3],
+                    ((Number) row[4]).longValue()));
+        }
+        movementArchiveService.sumArchivedByProduct(products, moment, archive.committedBatch())
+                .forEach(line -> apply(totals, line));
+        return totals.entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .filter(entry -> !warehouseFilter || warehouseIds.contains(entry.getKey().warehouseId()))
+                .map(entry -> new ProductStockResponse(entry.getKey().productId(), entry.getKey().warehouseId(),
+                        entry.getValue()))
+                .sorted(Comparator.comparing(ProductStockResponse::getProductId)
+                        .thenComparing(ProductStockResponse::getWarehouseId))
+                .toList();
+    }
+
+    /**
+     * Shifts the rows from each changed day on, then adds the missing rows of
+     * those days on top of the row before them. The rows of one product and
+     * warehouse are added oldest first, so each one already sees the earlier ones.
+     */
+    private void write(Map<Key, Long> changes) {
+        changes.values().removeIf(delta -> delta == 0);
+        if (changes.isEmpty()) {
+            return;
+        }
+        Map<Key, Long> ordered = new TreeMap<>(KEY_ORDER);
+        ordered.putAll(changes);
+        List<Object[]> shifts = new ArrayList<>(ordered.size());
+        List<Object[]> inserts = new ArrayList<>(ordered.size());
+        ordered.forEach((key, delta) -> {
+            shifts.add(new Object[]{delta, key.productId(), key.warehouseId(), key.epochDay()});
+            inserts.add(new Object[]{key.productId(), key.warehouseId(), key.epochDay(), delta,
+                    key.productId(), key.warehouseId(), key.productId(), key.warehouseId(), key.epochDay(),
+                    key.productId(), key.warehouseId(), key.epochDay()});
+        });
+        jdbcTemplate.batchUpdate(SHIFT_SQL, shifts);
+        jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+        changes.clear();
+    }
+
+    private static void record(Map<Key, Long> pending, MovementChangedEvent.Snapshot movement, int sign) {
+        long epochDay = movement.date().toLocalDate().toEpochDay();
+        for (MovementChangedEvent.Item item : movement.items()) {
+            long quantity = (long) sign * item.quantity();
+            switch (movement.type()) {
+                case INBOUND -> add(pending, item.productId(), movement.warehouseId(), epochDay, quantity);
+                case OUTBOUND -> add(pending, item.productId(), movement.warehouseId(), epochDay, -quantity);
+                case TRANSFER -> {
+                    add(pending, item.productId(), movement.warehouseId(), epochDay, -quantity);
+                    add(pending, item.productId(), movement.targetWarehouseId(), epochDay, quantity);
+                }
+            }
+        }
+    }
+
+    private static void add(Map<Key, Long> pending, Long productId, Long warehouseId, long epochDay, long quantity) {
+        if (warehouseId != null) {
+            pending.merge(new Key(productId, warehouseId, epochDay), quantity, Long::sum);
+        }
+    }
+
+    private static void apply(Map<Key, Long> totals, MovementLineTotal line) {
+        switch (line.type()) {
+            case INBOUND -> add(totals, line.productId(), line.warehouseId(), 0, line.quantity());
+            case OUTBOUND -> add(totals, line.productId(), line.warehouseId(), 0, -line.quantity());
+            case TRANSFER -> {
+                add(totals, line.productId(), line.warehouseId(), 0, -line.quantity());
+                add(totals, line.productId(), line.targetWarehouseId(), 0, line.quantity());
+            }
+        }
+    }
+
+    private record Key(Long productId, Long warehouseId, long epochDay) {
+    }
+}
@@ -21,7 +21,11 @@ import com.lowagie.text.pdf.PdfPCell;
 import com.lowagie.text.pdf.PdfPTable;
 import com.lowagie.text.pdf.PdfWriter;
 import com.lowagie.text.pdf.BaseFont;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.CollectionUtils;
 
 import java.io.ByteArrayOutputStream;
@@ -39,14 +43,27 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
+/**
+ * Builds the PDF stock report. The phases of a report are timed into
+ * {@code kpo.reports.phases}: {@code load} reads the movements and opening
+ * balances, {@code aggregate} turns them into stock rows and {@code render}
+ * writes the PDF.
+ */
 @Service
 public class StockReportService {
 
     private final MovementRepository movementRepository;
     private final WarehouseRepository warehouseRepository;
     private final CategoryRepository categoryRepository;
+    private final MovementArchiveService movementArchiveService;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Timer loadTimer;
+    private final Timer aggregateTimer;
+    private final Timer renderTimer;
 
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy");
     private volatile Font titleFont;
@@ -54,18 +71,54 @@ public class StockReportService {
     private volatile Font tableHeaderFont;
     private volatile Font tableBodyFont;
     private volatile Font sectionTitleFont;
+    private final ReentrantLock fontLock = new ReentrantLock();
 
     public StockReportService(MovementRepository movementRepository,
                               WarehouseRepository warehouseRepository,
-                              CategoryRepository categoryRepository) {
+                              CategoryRepository categoryRepository,
+                              MovementArchiveService movementArchiveService,
+                              MeterRegistry meterRegistry,
+                              PlatformTransactionManager transactionManager) {
         this.movementRepository = movementRepository;
         this.warehouseRepository = warehouseRepository;
         this.categoryRepository = categoryRepository;
+        this.movementArchiveService = movementArchiveService;
+        this.meterRegistry = meterRegistry;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.loadTimer = phaseTimer("load");
+        this.aggregateTimer = phaseTimer("aggregate");
+        this.renderTimer = phaseTimer("render");
     }
 
+    private Timer phaseTimer(String phase) {
+        return Timer.builder("kpo.reports.phases")
+                .description("Time spent in each phase of building a stock report")
+                .tag("phase", phase)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reads everything the report shows in one read-only transaction and renders
+     * the PDF after it has ended, so the read connection is not held while rendering.
+     */
     public byte[] generateStockReport(StockReportRequest request) {
+        LoadedReport report = readOnlyTransaction.execute(status ->
+                new LoadedReport(buildFiltersSummary(request), loadStockData(request)));
+        return renderReport(report.filtersSummary(), report.stockRows());
+    }
+
+    byte[] renderReport(String filtersSummary, List<StockRow> stockRows) {
+        Timer.Sample render = Timer.start(meterRegistry);
+        try {
+            return writePdf(filtersSummary, stockRows);
+        } finally {
+            render.stop(renderTimer);
+        }
+    }
+
+    private byte[] writePdf(String filtersSummary, List<StockRow> stockRows) {
         ensureFontsLoaded();
-        List<StockRow> stockRows = loadStockData(request);
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         try {
             Document document = new Document(PageSize.A4, 36, 36, 48, 36);
@@ -73,7 +126,7 @@ public class StockReportService {
             document.open();
 
             document.add(new Paragraph("Отчёт по остаткам на складах", titleFont));
-            document.add(new Paragraph(buildFiltersSummary(request), subtitleFont));
+            document.add(new Paragraph(filtersSummary, subtitleFont));
             document.add(new Paragraph(" "));
 
             PdfPTable detailsTable = buildDetailsTable();
@@ -96,7 +149,7 @@ public class StockReportService {
         return baos.toByteArray();
     }
 
-    private String buildFiltersSummary(StockReportRequest request) {
+    String buildFiltersSummary(StockReportRequest request) {
         List<String> parts = new ArrayList<>();
         if (request.getReportDate() != null) {
             parts.add(String.format("Дата отчёта: %s", DATE_FORMAT.format(request.getReportDate())));
@@ -131,7 +184,8 @@ public class StockReportService {
         return String.join(" • ", parts);
     }
 
-    private List<StockRow> loadStockData(StockReportRequest request) {
+    List<StockRow> loadStockData(StockReportRequest request) {
+        Timer.Sample load = Timer.start(meterRegistry);
         LocalDate reportDate = request.getReportDate();
         LocalDateTime reportMoment = reportDate != null
                 ? reportDate.atTime(LocalTime.MAX)
@@ -153,10 +207,25 @@ public class StockReportService {
             categoryFilter.retainAll(existingCategoryIds);
         }
 
+        MovementArchiveService.ArchivePosition archive = movementArchiveService.getPosition();
         List<Movement> movements = new ArrayList<>(movementRepository.findAllForReport(reportMoment));
+        Map<StockKey, Integer> totals = new LinkedHashMap<>();
+        if (archive.cutoff() != null) {
+            if (reportMoment != null && reportMoment.isBefore(archive.cutoff())) {
+                // the opening balances already include movements after the report date; batches
+                // that had not committed when the position was read are still hot here
+                movements.addAll(movementArchiveService.findArchivedMovements(null, reportMoment,
+                        archive.committedBatch()));
+            } else {
+                movementArchiveService.getOpeningBalances().forEach(balance ->
+                        adjustTotal(totals, balance.getWarehouse(), balance.getProduct(), balance.getQuantity()));
+            }
+        }
+        load.stop(loadTimer);
+
+        Timer.Sample aggregate = Timer.start(meterRegistry);
         movements.sort(Comparator.comparing(Movement::getDate));
 
-        Map<StockKey, Integer> totals = new LinkedHashMap<>();
         for (Movement movement : movements) {
             if (movement.getItems() == null) {
                 continue;
@@ -193,6 +262,7 @@ public class StockReportService {
                         .thenComparing(StockRow::categoryName, String.CASE_INSENSITIVE_ORDER)
                         .thenComparing(StockRow::productName, String.CASE_INSENSITIVE_ORDER))
                 .toList();
+        aggregate.stop(aggregateTimer);
         return stockRows;
     }
 
@@ -256,24 +326,31 @@ public class StockReportService {
         }
     }
 
+    /**
+     * Loads the fonts once. A lock rather than {@code synchronized}: reading the
+     * font file under a monitor would pin the carrier of a virtual thread.
+     * {@code titleFont} is assigned last because it is the field checked.
+     */
     private void ensureFontsLoaded() {
         if (titleFont != null) {
             return;
         }
-        synchronized (this) {
+        fontLock.lock();
+        try {
             if (titleFont != null) {
                 return;
             }
             BaseFont reportBaseFont = loadBaseFont();
-            this.titleFont = new Font(reportBaseFont, 16f, Font.BOLD);
             this.subtitleFont = new Font(reportBaseFont, 11f, Font.NORMAL);
             this.tableHeaderFont = new Font(reportBaseFont, 10f, Font.BOLD);
             this.tableBodyFont = new Font(reportBaseFont, 10f, Font.NORMAL);
             this.sectionTitleFont = new Font(reportBaseFont, 12f, Font.BOLD);
+            this.titleFont = new Font(reportBaseFont, 16f, Font.BOLD);
+        } finally {
+            fontLock.unlock();
         }
     }
 
-
     private void addHeaderCell(PdfPTable table, String text) {
         PdfPCell cell = new PdfPCell(new Phrase(text, tableHeaderFont));
         cell.setGrayFill(0.9f);
@@ -457,7 +534,10 @@ public class StockReportService {
         }
     }
 
-    private record StockRow(Warehouse warehouse, Product product, int quantity) {
+    private record LoadedReport(String filtersSummary, List<StockRow> stockRows) {
+    }
+
+    record StockRow(Warehouse warehouse, Product product, int quantity) {
         String warehouseName() {
             return warehouse != null ? nonEmptyOrDash(warehouse.getName()) : "—";
         }
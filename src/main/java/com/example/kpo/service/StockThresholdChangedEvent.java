@@ -0,0 +1,9 @@
+package com.example.kpo.service;
+
+/**
+ * Published by {@link StockThresholdService} when a minimum is set or removed,
+ * with the stock level read in the same transaction. A null minimum means the
+ * threshold is gone.
+ */
+public record StockThresholdChangedEvent(Long warehouseId, Long productId, Integer minimumQuantity, int quantity) {
+}
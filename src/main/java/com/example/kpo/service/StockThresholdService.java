@@ -0,0 +1,114 @@
+package com.example.kpo.service;
+
+import com.example.kpo.dto.StockThresholdResponse;
+import com.example.kpo.entity.StockThreshold;
+import com.example.kpo.repository.ProductRepository;
+import com.example.kpo.repository.StockThresholdRepository;
+import com.example.kpo.repository.WarehouseProductRepository;
+import com.example.kpo.repository.WarehouseRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Minimum stock levels per warehouse and product. Every change is published as a
+ * {@link StockThresholdChangedEvent} so that {@link LowStockService} can
+ * re-evaluate the one row it concerns once the change commits.
+ */
+@Service
+public class StockThresholdService {
+
+    private final StockThresholdRepository stockThresholdRepository;
+    private final WarehouseRepository warehouseRepository;
+    private final ProductRepository productRepository;
+    private final WarehouseProductRepository warehouseProductRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public StockThresholdService(StockThresholdRepository stockThresholdRepository,
+                                 WarehouseRepository warehouseRepository,
+                                 ProductRepository productRepository,
+                                 WarehouseProductRepository warehouseProductRepository,
+                                 ApplicationEventPublisher eventPublisher) {
+        this.stockThresholdRepository = stockThresholdRepository;
+        this.warehouseRepository = warehouseRepository;
+        this.productRepository = productRepository;
+        this.warehouseProductRepository = warehouseProductRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional(readOnly = true)
+    public List<StockThresholdResponse> getWarehouseThresholds(Long warehouseId) {
+        requireWarehouse(warehouseId);
+        return stockThresholdRepository.findByWarehouseIdOrderByProductId(warehouseId).stream()
+                .map(StockThresholdService::mapToResponse)
+                .toList();
+    }
+
+    @Transactional
+    public StockThresholdResponse setThreshold(Long warehouseId, Long productId, int minimumQuantity) {
+        if (minimumQuantity < 1) {
+            throw new IllegalArgumentException("Minimum quantity must be greater than 0");
+        }
+        requireWarehouse(warehouseId);
+        if (!productRepository.existsById(productId)) {
+            throw new EntityNotFoundException("Product " + productId + " not found");
+        }
+        StockThreshold threshold = stockThresholdRepository.findByWarehouseIdAndProductId(warehouseId, productId)
+                .orElseGet(() -> new StockThreshold(warehouseId, productId, minimumQuantity));
+        threshold.setMinimumQuantity(minimumQuantity);
+        StockThreshold saved = stockThresholdRepository.save(threshold);
+        publish(saved, minimumQuantity);
+        return mapToResponse(saved);
+    }
+
+    @Transactional
+    public void deleteThreshold(Long warehouseId, Long productId) {
+        StockThreshold threshold = stockThresholdRepository.findByWarehouseIdAndProductId(warehouseId, productId)
+                .orElseThrow(() -> new EntityNotFoundException(
+                        "No minimum stock for product " + productId + " on warehouse " + warehouseId));
+        delete(List.of(threshold));
+    }
+
+    /**
+     * Drops the thresholds of a warehouse that is being deleted.
+     */
+    @Transactional
+    public void deleteWarehouseThresholds(Long warehouseId) {
+        delete(stockThresholdRepository.findByWarehouseId(warehouseId));
+    }
+
+    /**
+     * Drops the thresholds of a product that is being deleted.
+     */
+    @Transactional
+    public void deleteProductThresholds(Long productId) {
+        delete(stockThresholdRepository.findByProductId(productId));
+    }
+
+    private void delete(List<StockThreshold> thresholds) {
+        stockThresholdRepository.deleteAll(thresholds);
+        thresholds.forEach(threshold -> publish(threshold, null));
+    }
+
+    private void publish(StockThreshold threshold, Integer minimumQuantity) {
+        int quantity = minimumQuantity == null ? 0 : warehouseProductRepository
+                .findQuantity(threshold.getWarehouseId(), threshold.getProductId())
+                .orElse(0);
+        eventPublisher.publishEvent(new StockThresholdChangedEvent(threshold.getWarehouseId(),
+                threshold.getProductId(), minimumQuantity, quantity));
+    }
+
+    private void requireWarehouse(Long warehouseId) {
+        if (!warehouseRepository.existsById(warehouseId)) {
+            throw new EntityNotFoundException("Warehouse " + warehouseId + " not found");
+        }
+    }
+
+    private static StockThresholdResponse mapToResponse(StockThreshold threshold) {
+        return new StockThresholdResponse(threshold.getWarehouseId(), threshold.getProductId(),
+                threshold.getMinimumQuantity());
+    }
+}
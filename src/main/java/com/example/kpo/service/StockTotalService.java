@@ -0,0 +1,119 @@
+package com.example.kpo.service;
+
+import com.example.kpo.dto.StockTotalResponse;
+import com.example.kpo.entity.StockTotal;
+import com.example.kpo.repository.StockTotalRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Units in stock per warehouse and category, maintained in the same transaction as
+ * the stock rows. Changes are summed per warehouse and category while a transaction
+ * runs and written just before it commits, with one query for the touched
+ * warehouses, so a movement with many lines of a few categories costs a couple of
+ * statements. Reads never touch the stock rows: the totals table has one row per
+ * warehouse and category that is in stock.
+ */
+@Service
+public class StockTotalService {
+
+    private final StockTotalRepository stockTotalRepository;
+
+    public StockTotalService(StockTotalRepository stockTotalRepository) {
+        this.stockTotalRepository = stockTotalRepository;
+    }
+
+    /**
+     * Records a stock change; it is written when the current transaction commits
+     * and dropped if it rolls back.
+     */
+    public void add(Long warehouseId, Long categoryId, long delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Stock totals can only change inside a transaction");
+        }
+        @SuppressWarnings("unchecked")
+        Map<Key, Long> pending = (Map<Key, Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Map<Key, Long> changes = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    write(changes);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(StockTotalService.this);
+                }
+            });
+            pending = changes;
+        }
+        pending.merge(new Key(warehouseId, categoryId), delta, Long::sum);
+    }
+
+    @Transactional(readOnly = true)
+    public List<StockTotalResponse> getWarehouseTotals() {
+        return stockTotalRepository.sumByWarehouse();
+    }
+
+    @Transactional(readOnly = true)
+    public List<StockTotalResponse> getCategoryTotals() {
+        return stockTotalRepository.sumByCategory();
+    }
+
+    @Transactional(readOnly = true)
+    public List<StockTotalResponse> getWarehouseCategoryTotals(Long warehouseId) {
+        return stockTotalRepository.findByWarehouse(warehouseId);
+    }
+
+    /**
+     * Recomputes all totals from the stock rows, for changes made around
+     * {@link #add}, such as a bulk update of product categories.
+     */
+    @Transactional
+    public void rebuild() {
+        stockTotalRepository.deleteAllTotals();
+        stockTotalRepository.insertTotalsFromStock();
+    }
+
+    private void write(Map<Key, Long> changes) {
+        changes.values().removeIf(delta -> delta == 0);
+        if (changes.isEmpty()) {
+            return;
+        }
+        Set<Long> warehouseIds = new HashSet<>();
+        changes.keySet().forEach(key -> warehouseIds.add(key.warehouseId()));
+        Map<Key, StockTotal> totals = new HashMap<>();
+        for (StockTotal total : stockTotalRepository.findByWarehouseIdIn(warehouseIds)) {
+            totals.put(new Key(total.getWarehouseId(), total.getCategoryId()), total);
+        }
+        List<StockTotal> changed = new ArrayList<>();
+        List<StockTotal> emptied = new ArrayList<>();
+        changes.forEach((key, delta) -> {
+            StockTotal total = totals.computeIfAbsent(key,
+                    missing -> new StockTotal(missing.warehouseId(), missing.categoryId(), 0));
+            total.setQuantity(total.getQuantity() + delta);
+            if (total.getQuantity() > 0) {
+                changed.add(total);
+            } else if (total.getId() != null) {
+                emptied.add(total);
+            }
+        });
+        stockTotalRepository.saveAll(changed);
+        stockTotalRepository.deleteAll(emptied);
+        changes.clear();
+    }
+
+    private record Key(Long warehouseId, Long categoryId) {
+    }
+}
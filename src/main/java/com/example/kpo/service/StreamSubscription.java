@@ -0,0 +1,59 @@
+package com.example.kpo.service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * One subscriber of an in-process event stream, with a bounded buffer. A
+ * subscriber that falls so far behind that its buffer overflows is marked for a
+ * reset and has to reload the full state instead of the lost events.
+ */
+public class StreamSubscription<T> implements AutoCloseable {
+
+    private final BlockingQueue<T> buffer;
+    private final Consumer<StreamSubscription<T>> onClose;
+    private volatile boolean resetRequired;
+    private volatile boolean closed;
+
+    StreamSubscription(int capacity, Consumer<StreamSubscription<T>> onClose) {
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.onClose = onClose;
+    }
+
+    /**
+     * Set when events were lost; the subscriber has to reload the full state.
+     */
+    public boolean isResetRequired() {
+        return resetRequired;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Waits up to the timeout for the next event, returns null if none came.
+     */
+    public T poll(Duration timeout) throws InterruptedException {
+        return buffer.poll(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        onClose.accept(this);
+    }
+
+    void offer(T event) {
+        if (!closed && !buffer.offer(event)) {
+            resetRequired = true;
+        }
+    }
+
+    void requireReset() {
+        resetRequired = true;
+    }
+}
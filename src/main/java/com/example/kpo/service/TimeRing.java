@@ -0,0 +1,84 @@
+package com.example.kpo.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * The last {@code size} time buckets of a fixed width, kept in a ring of slots:
+ * a slot is reused once its bucket falls out of the window, so memory does not
+ * grow with time. Buckets are counted on the local time line, so a day bucket
+ * runs from midnight to midnight. Subclasses keep the bucket contents; none of
+ * them is thread-safe.
+ */
+abstract class TimeRing {
+
+    private final long bucketSeconds;
+    private final long[] bucketIds;
+
+    TimeRing(Duration bucketWidth, int size) {
+        if (bucketWidth.toSeconds() < 1 || size < 1) {
+            throw new IllegalArgumentException("Bucket width and ring size must be positive");
+        }
+        this.bucketSeconds = bucketWidth.toSeconds();
+        this.bucketIds = new long[size];
+        Arrays.fill(bucketIds, Long.MIN_VALUE);
+    }
+
+    final int size() {
+        return bucketIds.length;
+    }
+
+    /**
+     * The slot for an addition at {@code time}, cleared first if it still holds
+     * an expired bucket, or -1 when the time is in the future or already out of
+     * the window.
+     */
+    final int claim(LocalDateTime time, LocalDateTime now) {
+        long bucket = bucket(time);
+        long current = bucket(now);
+        if (bucket > current || bucket <= current - bucketIds.length) {
+            return -1;
+        }
+        int slot = slot(bucket);
+        if (bucketIds[slot] != bucket) {
+            bucketIds[slot] = bucket;
+            clear(slot);
+        }
+        return slot;
+    }
+
+    /**
+     * The slot holding the bucket {@code age} buckets before the one of
+     * {@code now}, or -1 if nothing was added to that bucket.
+     */
+    final int slotAt(int age, LocalDateTime now) {
+        long bucket = bucket(now) - age;
+        int slot = slot(bucket);
+        return bucketIds[slot] == bucket ? slot : -1;
+    }
+
+    /**
+     * Clears the slots whose buckets have fallen out of the window at {@code now}.
+     */
+    final void expire(LocalDateTime now) {
+        long oldest = bucket(now) - bucketIds.length;
+        for (int slot = 0; slot < bucketIds.length; slot++) {
+            if (bucketIds[slot] != Long.MIN_VALUE && bucketIds[slot] <= oldest) {
+                bucketIds[slot] = Long.MIN_VALUE;
+                clear(slot);
+            }
+        }
+    }
+
+    abstract void clear(int slot);
+
+    private long bucket(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), bucketSeconds);
+    }
+
+    private int slot(long bucket) {
+        return (int) Math.floorMod(bucket, (long) bucketIds.length);
+    }
+}
@@ -7,6 +7,7 @@ import com.example.kpo.entity.WarehouseProduct;
 import com.example.kpo.repository.WarehouseProductRepository;
 import com.example.kpo.repository.WarehouseRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -18,11 +19,17 @@ public class WarehouseService {
 
     private final WarehouseRepository warehouseRepository;
     private final WarehouseProductRepository warehouseProductRepository;
+    private final ReferenceDataVersions versions;
+    private final StockThresholdService stockThresholdService;
 
     public WarehouseService(WarehouseRepository warehouseRepository,
-                            WarehouseProductRepository warehouseProductRepository) {
+                            WarehouseProductRepository warehouseProductRepository,
+                            ReferenceDataVersions versions,
+                            StockThresholdService stockThresholdService) {
         this.warehouseRepository = warehouseRepository;
         this.warehouseProductRepository = warehouseProductRepository;
+        this.versions = versions;
+        this.stockThresholdService = stockThresholdService;
     }
 
     public List<Warehouse> getAllWarehouses() {
@@ -34,15 +41,22 @@ public class WarehouseService {
     }
 
     public Warehouse saveWarehouse(Warehouse warehouse) {
-        return warehouseRepository.save(warehouse);
+        Warehouse saved = warehouseRepository.save(warehouse);
+        versions.changed(ReferenceDataVersions.Type.WAREHOUSES);
+        return saved;
     }
 
+    @Transactional
     public void deleteWarehouseById(long id) {
+        stockThresholdService.deleteWarehouseThresholds(id);
         warehouseRepository.deleteById(id);
+        versions.changed(ReferenceDataVersions.Type.WAREHOUSES);
     }
 
     public Warehouse updateWarehouse(Warehouse warehouse) {
-        return warehouseRepository.save(warehouse);
+        Warehouse saved = warehouseRepository.save(warehouse);
+        versions.changed(ReferenceDataVersions.Type.WAREHOUSES);
+        return saved;
     }
 
     public List<WarehouseProductResponse> getWarehouseProducts(Warehouse warehouse) {
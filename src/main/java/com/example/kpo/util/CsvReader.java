@@ -0,0 +1,112 @@
+package com.example.kpo.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 CSV one record at a time: comma-separated fields, optionally in
+ * double quotes, where a quoted field may contain commas, line breaks and doubled
+ * quotes. A byte order mark at the start is skipped. A record longer than the
+ * given number of characters is rejected, so that a missing closing quote cannot
+ * make the reader buffer the rest of the input.
+ */
+public class CsvReader implements Closeable {
+
+    private static final int NONE = -2;
+
+    private final Reader reader;
+    private final int maxRecordLength;
+    private int pushedBack = NONE;
+    private long line = 1;
+    private long recordLine;
+
+    public CsvReader(Reader reader, int maxRecordLength) {
+        this.reader = new BufferedReader(reader);
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * Returns the fields of the next record, or null at the end of the input.
+     * An empty line is a record with one empty field.
+     */
+    public List<String> readRecord() throws IOException {
+        int current = next();
+        if (recordLine == 0 && current == '\uFEFF') {
+            current = next();
+        }
+        if (current == -1) {
+            return null;
+        }
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int length = 0;
+        while (true) {
+            if (++length > maxRecordLength) {
+                throw new IllegalArgumentException("Line " + recordLine + " is longer than "
+                        + maxRecordLength + " characters");
+            }
+            if (quoted) {
+                if (current == -1) {
+                    throw new IllegalArgumentException("Line " + recordLine + " has an unterminated quoted field");
+                }
+                if (current == '"') {
+                    int following = next();
+                    if (following != '"') {
+                        quoted = false;
+                        current = following;
+                        continue;
+                    }
+                }
+                field.append((char) current);
+            } else if (current == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (current == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (current == '\n' || current == '\r' || current == -1) {
+                if (current == '\r') {
+                    int following = next();
+                    if (following != '\n') {
+                        pushedBack = following;
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) current);
+            }
+            current = next();
+        }
+    }
+
+    /**
+     * The line the last record returned by {@link #readRecord()} starts on, counting from 1.
+     */
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private int next() throws IOException {
+        if (pushedBack != NONE) {
+            int current = pushedBack;
+            pushedBack = NONE;
+            return current;
+        }
+        int current = reader.read();
+        if (current == '\n') {
+            line++;
+        }
+        return current;
+    }
+}
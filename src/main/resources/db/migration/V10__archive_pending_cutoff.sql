@@ -0,0 +1,12 @@
+-- The cutoff now only advances once every batch of a run has committed, so a
+-- first run has none yet. The target of the run in progress is kept in
+-- pending_cutoff until then; SQLite cannot drop NOT NULL, the table is rebuilt.
+ALTER TABLE movement_archive_state RENAME TO movement_archive_state_old;
+
+CREATE TABLE movement_archive_state (id integer, cutoff varchar(19), pending_cutoff varchar(19),
+    archived_movements bigint not null, updated_at varchar(19) not null, primary key (id));
+
+INSERT INTO movement_archive_state (id, cutoff, archived_movements, updated_at)
+SELECT id, cutoff, archived_movements, updated_at FROM movement_archive_state_old;
+
+DROP TABLE movement_archive_state_old;
@@ -0,0 +1,4 @@
+-- Archived rows are keyed by batch number as well as their hot id, which SQLite
+-- hands out again once the row with the highest id is archived. last_batch is
+-- the last batch whose deletion from the hot tables has committed.
+ALTER TABLE movement_archive_state ADD COLUMN last_batch bigint not null default 0;
@@ -0,0 +1,32 @@
+-- Schema as it was last produced by hibernate.ddl-auto=update.
+-- IF NOT EXISTS keeps existing databases untouched.
+CREATE TABLE IF NOT EXISTS admin (id integer, password varchar(255), username varchar(255), primary key (id));
+
+CREATE TABLE IF NOT EXISTS warehouse (id integer, info varchar(255), name varchar(255), primary key (id));
+
+CREATE TABLE IF NOT EXISTS categories (id integer, name varchar(255) not null, primary key (id));
+
+CREATE TABLE IF NOT EXISTS counterparties (id integer, info varchar(255), name varchar(255) not null,
+    phone varchar(255) not null, primary key (id));
+
+CREATE TABLE IF NOT EXISTS employees (id integer, info varchar(255), name varchar(255) not null,
+    phone varchar(255) not null, primary key (id));
+
+CREATE TABLE IF NOT EXISTS products (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    name VARCHAR(255) NOT NULL,
+    info VARCHAR(255),
+    category_id BIGINT NOT NULL,
+    CONSTRAINT fk_products_category FOREIGN KEY (category_id) REFERENCES categories(id)
+);
+
+CREATE TABLE IF NOT EXISTS movements (id integer, date date not null, info varchar(255),
+    type varchar(255) not null check (type in ('INBOUND','OUTBOUND','TRANSFER')),
+    counterparty_id bigint, employee_id bigint not null, target_employee_id bigint,
+    target_warehouse_id bigint, warehouse_id bigint not null, primary key (id));
+
+CREATE TABLE IF NOT EXISTS products_movement (id integer, quantity integer not null check (quantity>=1),
+    movement_id bigint not null, product_id bigint not null, primary key (id));
+
+CREATE TABLE IF NOT EXISTS warehouse_products (id integer, quantity integer not null check (quantity>=0),
+    product_id bigint not null, warehouse_id bigint not null, primary key (id));
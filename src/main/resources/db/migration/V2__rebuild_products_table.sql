@@ -0,0 +1,24 @@
+-- Old database files still carry the legacy products columns count and
+-- warehouse_id with NOT NULL constraints, which makes inserts fail.
+-- The table is rebuilt with the columns of the Product entity; on an
+-- already aligned table this only copies the rows over.
+ALTER TABLE products RENAME TO products_old;
+
+CREATE TABLE products (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    name VARCHAR(255) NOT NULL,
+    info VARCHAR(255),
+    category_id BIGINT NOT NULL,
+    CONSTRAINT fk_products_category FOREIGN KEY (category_id) REFERENCES categories(id)
+);
+
+INSERT INTO products (id, name, info, category_id)
+SELECT id, name, info, category_id FROM products_old;
+
+-- Keep the AUTOINCREMENT counter so ids of deleted products are not reused.
+UPDATE sqlite_sequence
+SET seq = (SELECT old.seq FROM sqlite_sequence old WHERE old.name = 'products_old')
+WHERE name = 'products'
+  AND seq < (SELECT old.seq FROM sqlite_sequence old WHERE old.name = 'products_old');
+
+DROP TABLE products_old;
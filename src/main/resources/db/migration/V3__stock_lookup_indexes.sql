@@ -0,0 +1,17 @@
+-- WarehouseProduct declares (warehouse_id, product_id) unique, but ddl-auto=update
+-- never created the constraint on SQLite. Duplicate stock rows are merged first.
+UPDATE warehouse_products
+SET quantity = (SELECT SUM(d.quantity) FROM warehouse_products d
+                WHERE d.warehouse_id = warehouse_products.warehouse_id
+                  AND d.product_id = warehouse_products.product_id)
+WHERE id IN (SELECT MIN(id) FROM warehouse_products
+             GROUP BY warehouse_id, product_id HAVING COUNT(*) > 1);
+
+DELETE FROM warehouse_products
+WHERE id NOT IN (SELECT MIN(id) FROM warehouse_products GROUP BY warehouse_id, product_id);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_warehouse_products_warehouse_product
+    ON warehouse_products (warehouse_id, product_id);
+
+-- Items of a movement are loaded for every movement read and report.
+CREATE INDEX IF NOT EXISTS ix_products_movement_movement ON products_movement (movement_id);
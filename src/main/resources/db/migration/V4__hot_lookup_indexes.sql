@@ -0,0 +1,18 @@
+-- Access paths of the hot repository queries. Each one is checked by
+-- RepositoryQueryPlanIntegrationTest with EXPLAIN QUERY PLAN.
+
+-- MovementProductRepository.existsByProductId (product delete guard)
+CREATE INDEX IF NOT EXISTS ix_products_movement_product ON products_movement (product_id);
+
+-- WarehouseProductRepository.existsByProductId; findByWarehouse and
+-- findByWarehouseAndProduct use ux_warehouse_products_warehouse_product
+CREATE INDEX IF NOT EXISTS ix_warehouse_products_product ON warehouse_products (product_id);
+
+-- MovementRepository.findByType
+CREATE INDEX IF NOT EXISTS ix_movements_type ON movements (type);
+
+-- MovementRepository.findAllForReportUntil (report date range)
+CREATE INDEX IF NOT EXISTS ix_movements_date ON movements (date);
+
+-- AdminRepository.findByUsername (every login and authenticated request)
+CREATE INDEX IF NOT EXISTS ix_admin_username ON admin (username);
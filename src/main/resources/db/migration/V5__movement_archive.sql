@@ -0,0 +1,12 @@
+-- Stock at the archive cutoff, one row per warehouse and product that appeared
+-- in archived movements. The archived movements themselves live in kpo.archive.path.
+CREATE TABLE IF NOT EXISTS opening_balances (id integer, quantity integer not null,
+    product_id bigint not null, warehouse_id bigint not null, primary key (id));
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_opening_balances_warehouse_product
+    ON opening_balances (warehouse_id, product_id);
+
+CREATE INDEX IF NOT EXISTS ix_opening_balances_product ON opening_balances (product_id);
+
+CREATE TABLE IF NOT EXISTS movement_archive_state (id integer, cutoff varchar(19) not null,
+    archived_movements bigint not null, updated_at varchar(19) not null, primary key (id));
@@ -0,0 +1,11 @@
+-- Natural keys the CSV import looks existing records up by, one IN query per
+-- batch. Checked by RepositoryQueryPlanIntegrationTest with EXPLAIN QUERY PLAN.
+
+-- categories by name, also the category column of a product import
+CREATE INDEX IF NOT EXISTS ix_categories_name ON categories (name);
+
+CREATE INDEX IF NOT EXISTS ix_products_name ON products (name);
+
+CREATE INDEX IF NOT EXISTS ix_counterparties_name ON counterparties (name);
+
+CREATE INDEX IF NOT EXISTS ix_employees_phone ON employees (phone);
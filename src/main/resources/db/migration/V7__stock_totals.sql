@@ -0,0 +1,15 @@
+-- Units in stock per warehouse and category, kept up to date by StockTotalService
+-- with every stock change and filled here from the current stock.
+CREATE TABLE IF NOT EXISTS stock_totals (id integer, category_id bigint not null, quantity bigint not null,
+    warehouse_id bigint not null, primary key (id));
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_stock_totals_warehouse_category ON stock_totals (warehouse_id, category_id);
+
+CREATE INDEX IF NOT EXISTS ix_stock_totals_category ON stock_totals (category_id);
+
+INSERT INTO stock_totals (warehouse_id, category_id, quantity)
+SELECT wp.warehouse_id, p.category_id, SUM(wp.quantity)
+FROM warehouse_products wp
+JOIN products p ON p.id = wp.product_id
+GROUP BY wp.warehouse_id, p.category_id
+HAVING SUM(wp.quantity) > 0;
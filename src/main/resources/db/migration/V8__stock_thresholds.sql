@@ -0,0 +1,8 @@
+-- Minimum stock per warehouse and product, evaluated by LowStockService with
+-- every stock change.
+CREATE TABLE IF NOT EXISTS stock_thresholds (id integer, minimum_quantity integer not null,
+    product_id bigint not null, warehouse_id bigint not null, primary key (id));
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_stock_thresholds_warehouse_product ON stock_thresholds (warehouse_id, product_id);
+
+CREATE INDEX IF NOT EXISTS ix_stock_thresholds_product ON stock_thresholds (product_id);
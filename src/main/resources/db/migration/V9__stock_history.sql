@@ -0,0 +1,42 @@
+-- Stock per product and warehouse at the end of every day on which it changed,
+-- kept up to date by StockHistoryService with every movement write and filled
+-- here from the movements, on top of the opening balances at the archive cutoff.
+CREATE TABLE IF NOT EXISTS stock_history (id integer, epoch_day bigint not null, product_id bigint not null,
+    quantity bigint not null, warehouse_id bigint not null, primary key (id));
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_stock_history_product_warehouse_day
+    ON stock_history (product_id, warehouse_id, epoch_day);
+
+INSERT INTO stock_history (product_id, warehouse_id, epoch_day, quantity)
+SELECT product_id, warehouse_id, epoch_day,
+       SUM(delta) OVER (PARTITION BY product_id, warehouse_id ORDER BY epoch_day)
+FROM (
+    SELECT product_id, warehouse_id, epoch_day, SUM(delta) AS delta
+    FROM (
+        SELECT i.product_id, m.warehouse_id,
+               CAST(julianday(substr(m.date, 1, 10)) - 2440587.5 AS INTEGER) AS epoch_day,
+               CASE m.type WHEN 'INBOUND' THEN i.quantity ELSE -i.quantity END AS delta
+        FROM products_movement i
+        JOIN movements m ON m.id = i.movement_id
+        UNION ALL
+        SELECT i.product_id, m.target_warehouse_id,
+               CAST(julianday(substr(m.date, 1, 10)) - 2440587.5 AS INTEGER), i.quantity
+        FROM products_movement i
+        JOIN movements m ON m.id = i.movement_id
+        WHERE m.type = 'TRANSFER'
+        UNION ALL
+        SELECT b.product_id, b.warehouse_id,
+               CAST(julianday(substr(s.cutoff, 1, 10)) - 2440587.5 AS INTEGER), b.quantity
+        FROM opening_balances b
+        CROSS JOIN movement_archive_state s
+    )
+    GROUP BY product_id, warehouse_id, epoch_day
+);
+
+-- Dates before the archive cutoff are answered from the items of the asked
+-- products, read from this index alone. The product_id index is a prefix of it
+-- and its lookups go through the new one.
+CREATE INDEX IF NOT EXISTS ix_products_movement_product_history
+    ON products_movement (product_id, movement_id, quantity);
+
+DROP INDEX IF EXISTS ix_products_movement_product;
@@ -1,5 +1,7 @@
 (function () {
     const bootstrapRef = window.bootstrap;
+    const STOCK_STREAM_RETRY_MS = 3000;
+    const DASHBOARD_REFRESH_MS = 60000;
     let toastContainerRef = null;
 
     const ensureToastContainer = () => {
@@ -37,6 +39,7 @@
 
     const bootstrapApp = () => {
         initLoginPage();
+        initDashboardPage();
         initWarehouseListPage();
         initWarehouseDetailsPage();
         initCategoriesPage();
@@ -191,6 +194,50 @@
         });
     }
 
+    function initDashboardPage() {
+        const root = document.getElementById('dashboardKpis');
+        if (!root || !getToken()) {
+            return;
+        }
+        const numberFormat = new Intl.NumberFormat('ru-RU');
+
+        const renderRanking = (list, entries) => {
+            const unit = list.dataset.kpiUnit || '';
+            list.innerHTML = entries && entries.length
+                ? entries.map((entry) => `<li><span>${escapeHtml(entry.name || `#${entry.id}`)}</span>`
+                    + `<span class="text-muted text-nowrap">${numberFormat.format(entry.value)} ${unit}</span></li>`).join('')
+                : '<li class="text-muted">Нет данных</li>';
+        };
+
+        const renderBars = (container, values) => {
+            const max = Math.max(1, ...(values || []));
+            container.innerHTML = (values || [])
+                .map((value) => `<span style="height: ${Math.round(value / max * 100)}%" title="${value}"></span>`)
+                .join('');
+        };
+
+        const load = async () => {
+            try {
+                const kpis = await apiRequest('/dashboard/kpis');
+                root.querySelectorAll('[data-kpi]').forEach((element) => {
+                    element.textContent = numberFormat.format(kpis[element.dataset.kpi] || 0);
+                });
+                root.querySelectorAll('[data-kpi-bars]').forEach((element) => {
+                    renderBars(element, kpis[element.dataset.kpiBars]);
+                });
+                root.querySelectorAll('[data-kpi-ranking]').forEach((element) => {
+                    renderRanking(element, kpis[element.dataset.kpiRanking]);
+                });
+                root.classList.remove('d-none');
+            } catch (error) {
+                root.classList.add('d-none');
+            }
+        };
+
+        load();
+        setInterval(load, DASHBOARD_REFRESH_MS);
+    }
+
     function initWarehouseListPage() {
         const pageRoot = document.getElementById('warehousesPage');
         if (!pageRoot) {
@@ -384,6 +431,8 @@
         const feedbackModal = createFeedbackModal('warehouseAlertModal');
         const warehouseId = extractWarehouseIdFromLocation();
         let currentWarehouse = null;
+        let stockRows = [];
+        let pendingStockChanges = null;
 
         if (!warehouseId) {
             if (summaryLoader) {
@@ -505,11 +554,33 @@
             productsTableBody.appendChild(fragment);
         };
 
+        const applyStockChange = (change) => {
+            const rows = stockRows.filter((row) => row.productId !== change.productId);
+            if (change.quantity > 0) {
+                rows.push({productId: change.productId, name: change.name, quantity: change.quantity});
+                rows.sort((left, right) => left.productId - right.productId);
+            }
+            stockRows = rows;
+        };
+
+        const handleStockChange = (change) => {
+            if (pendingStockChanges) {
+                pendingStockChanges.push(change);
+                return;
+            }
+            applyStockChange(change);
+            renderProducts(stockRows);
+        };
+
         const loadProducts = async () => {
             beginProductsLoading();
+            // changes that arrive while the list loads are applied on top of it, in order
+            pendingStockChanges = [];
             try {
                 const data = await apiRequest(`/warehouses/${warehouseId}/products`);
-                renderProducts(Array.isArray(data) ? data : []);
+                stockRows = Array.isArray(data) ? data : [];
+                pendingStockChanges.forEach(applyStockChange);
+                renderProducts(stockRows);
             } catch (error) {
                 if (!handleAuthError(error, feedbackModal)) {
                     feedbackModal.show({
@@ -518,6 +589,7 @@
                     });
                 }
             } finally {
+                pendingStockChanges = null;
                 endProductsLoading();
             }
         };
@@ -671,11 +743,90 @@
 
         fetchWarehouse().then((loaded) => {
             if (loaded) {
+                openStockStream(`/warehouses/${warehouseId}/stock-events`, {
+                    onChange: handleStockChange,
+                    onReset: loadProducts
+                });
                 loadProducts();
             }
         });
     }
 
+    /**
+     * Follows a Server-Sent Events stream of stock changes. fetch is used instead
+     * of EventSource because the stream needs the Authorization header; the last
+     * event id is sent back on reconnect so no change is missed.
+     */
+    function openStockStream(url, handlers) {
+        let lastEventId = null;
+        const connect = async () => {
+            const headers = {Accept: 'text/event-stream'};
+            const token = getToken();
+            if (token) {
+                headers.Authorization = `Bearer ${token}`;
+            }
+            if (lastEventId) {
+                headers['Last-Event-ID'] = lastEventId;
+            }
+            try {
+                const response = await fetch(url, {headers});
+                if (!response.ok || !response.body) {
+                    if (response.status >= 500) {
+                        window.setTimeout(connect, STOCK_STREAM_RETRY_MS);
+                    }
+                    return;
+                }
+                const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+                let buffer = '';
+                for (;;) {
+                    const {value, done} = await reader.read();
+                    if (done) {
+                        break;
+                    }
+                    buffer += value;
+                    let boundary;
+                    while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+                        const frame = parseStreamFrame(buffer.slice(0, boundary));
+                        buffer = buffer.slice(boundary + 2);
+                        if (frame.id) {
+                            lastEventId = frame.id;
+                        }
+                        if (frame.event === 'stock' && frame.data) {
+                            handlers.onChange(JSON.parse(frame.data));
+                        } else if (frame.event === 'reset') {
+                            lastEventId = null;
+                            handlers.onReset();
+                        }
+                    }
+                }
+            } catch (error) {
+                // the connection dropped, reconnect below
+            }
+            window.setTimeout(connect, STOCK_STREAM_RETRY_MS);
+        };
+        connect();
+    }
+
+    function parseStreamFrame(text) {
+        const frame = {event: 'message', data: '', id: null};
+        text.split('\n').forEach((line) => {
+            const separator = line.indexOf(':');
+            if (separator <= 0) {
+                return;
+            }
+            const field = line.slice(0, separator);
+            const value = line.slice(separator + 1).replace(/^ /, '');
+            if (field === 'data') {
+                frame.data += value;
+            } else if (field === 'event') {
+                frame.event = value;
+            } else if (field === 'id') {
+                frame.id = value;
+            }
+        });
+        return frame;
+    }
+
     function initCategoriesPage() {
         const root = document.getElementById('categoriesPage');
         if (!root) {
@@ -6,6 +6,9 @@
         }
     };
 
+    const PRODUCT_SUGGESTION_LIMIT = 20;
+    const PRODUCT_SEARCH_DELAY_MS = 150;
+
     const MOVEMENT_CONFIG = {
         INBOUND: {
             basePath: '/deliveries',
@@ -99,8 +102,7 @@
 
     const referenceCache = {
         data: null,
-        promise: null,
-        categoriesPromise: null
+        promise: null
     };
 
     document.addEventListener('DOMContentLoaded', () => {
@@ -454,13 +456,18 @@
         let currentMovement = null;
         let itemMode = 'add';
         let editingItemId = null;
+        let productMatches = [];
+        let productSearchTimer = null;
 
         setupDateInput(editForm?.date);
         setupProductSearch();
 
         function setupProductSearch() {
             if (productSearchInput) {
-                productSearchInput.addEventListener('input', handleProductInputChange);
+                productSearchInput.addEventListener('input', () => {
+                    handleProductInputChange();
+                    updateProductSuggestions();
+                });
                 productSearchInput.addEventListener('blur', handleProductInputChange);
             }
             newProductToggle?.addEventListener('click', () => toggleNewProductForm(true));
@@ -472,12 +479,25 @@
             if (!productSuggestions) {
                 return;
             }
-            const products = referenceCache.data?.products || [];
-            const options = products
-                .slice()
-                .sort((a, b) => (a.name || '').localeCompare(b.name || ''))
-                .map((product) => `<option value="${escapeHtml(product.name || '')}"></option>`);
-            productSuggestions.innerHTML = options.join('');
+            window.clearTimeout(productSearchTimer);
+            const query = (productSearchInput?.value || '').trim();
+            if (!query) {
+                productMatches = [];
+                productSuggestions.innerHTML = '';
+                return;
+            }
+            productSearchTimer = window.setTimeout(() => {
+                apiRequest(`/products/search?q=${encodeURIComponent(query)}&limit=${PRODUCT_SUGGESTION_LIMIT}`)
+                    .then((matches) => {
+                        productMatches = matches || [];
+                        productSuggestions.innerHTML = productMatches
+                            .map((product) => `<option value="${escapeHtml(product.name || '')}"></option>`)
+                            .join('');
+                    })
+                    .catch(() => {
+                        // suggestions are a convenience, the typed name is still checked on submit
+                    });
+            }, PRODUCT_SEARCH_DELAY_MS);
         }
 
         async function populateNewProductCategories() {
@@ -509,7 +529,8 @@
                 return null;
             }
             const normalized = name.trim().toLowerCase();
-            return (referenceCache.data?.products || []).find((product) => (product.name || '').trim().toLowerCase() === normalized) || null;
+            const sameName = (product) => (product.name || '').trim().toLowerCase() === normalized;
+            return (referenceCache.data?.products || []).find(sameName) || productMatches.find(sameName) || null;
         }
 
         function selectProduct(product) {
@@ -697,7 +718,8 @@
                 const quantity = Number(itemForm.quantity.value);
                 let nextItems = [...(currentMovement.items || [])];
                 if (itemMode === 'add') {
-                    const product = (referenceCache.data?.products || []).find((p) => p.id === productId);
+                    const product = (referenceCache.data?.products || []).find((p) => p.id === productId)
+                        || productMatches.find((p) => p.id === productId);
                     if (!product) {
                         return;
                     }
@@ -1026,17 +1048,13 @@
         if (referenceCache.promise) {
             return referenceCache.promise;
         }
-        referenceCache.promise = Promise.all([
-            apiRequest('/warehouses'),
-            apiRequest('/employees'),
-            apiRequest('/counterparties'),
-            apiRequest('/products')
-        ]).then(([warehouses, employees, counterparties, products]) => {
+        referenceCache.promise = apiRequest('/reference-data').then((references) => {
             referenceCache.data = {
-                warehouses: warehouses || [],
-                employees: employees || [],
-                counterparties: counterparties || [],
-                products: products || []
+                warehouses: references?.warehouses || [],
+                employees: references?.employees || [],
+                counterparties: references?.counterparties || [],
+                products: references?.products || [],
+                categories: references?.categories || []
             };
             return referenceCache.data;
         }).finally(() => {
@@ -1046,22 +1064,8 @@
     }
 
     async function ensureCategories() {
-        if (referenceCache.data?.categories) {
-            return referenceCache.data.categories;
-        }
-        if (referenceCache.categoriesPromise) {
-            return referenceCache.categoriesPromise;
-        }
-        referenceCache.categoriesPromise = apiRequest('/categories')
-            .then((categories) => {
-                referenceCache.data = referenceCache.data || {};
-                referenceCache.data.categories = categories || [];
-                return referenceCache.data.categories;
-            })
-            .finally(() => {
-                referenceCache.categoriesPromise = null;
-            });
-        return referenceCache.categoriesPromise;
+        const references = await ensureReferences();
+        return references.categories || [];
     }
 
     function populateSelect(select, items, placeholder) {
@@ -0,0 +1,191 @@
+package com.example.kpo;
+
+import com.example.kpo.dto.LoginRequest;
+import com.example.kpo.entity.Admin;
+import com.example.kpo.entity.Category;
+import com.example.kpo.entity.Employee;
+import com.example.kpo.entity.Product;
+import com.example.kpo.repository.AdminRepository;
+import com.example.kpo.repository.CategoryRepository;
+import com.example.kpo.repository.CounterpartyRepository;
+import com.example.kpo.repository.EmployeeRepository;
+import com.example.kpo.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Batches of two rows, so that upserts across batch boundaries are exercised on
+ * small files.
+ */
+@SpringBootTest(properties = "kpo.import.batch-size=2")
+@AutoConfigureMockMvc
+class CatalogImportIntegrationTest {
+
+    private static final String USERNAME = "IMPORT_TEST";
+    private static final String PASSWORD = "password";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CounterpartyRepository counterpartyRepository;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        if (adminRepository.findByUsername(USERNAME).isEmpty()) {
+            adminRepository.save(new Admin(null, USERNAME, passwordEncoder.encode(PASSWORD)));
+        }
+        token = obtainToken();
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        employeeRepository.deleteAll();
+        counterpartyRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Импорт товаров создаёт новые, обновляет совпавшие по имени и сообщает об ошибочных строках")
+    void importsProductsWithUpsertAndRowErrors() throws Exception {
+        Category tea = categoryRepository.save(new Category(null, "Чай"));
+        categoryRepository.save(new Category(null, "Кофе"));
+        Product existing = new Product(null, "Улун", "старое описание");
+        existing.setCategory(tea);
+        productRepository.save(existing);
+        mockMvc.perform(get("/products/search").param("q", "пуэр").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        importCsv("/products/import", false, """
+                name,category,info
+                Улун,Кофе,новое описание
+                Пуэр,Чай,
+                Без категории,,
+                Капучино,Напитки,
+                "Эспрессо, двойной",Кофе,"крепкий"
+                Пуэр,Чай,повтор
+                """)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows", is(6)))
+                .andExpect(jsonPath("$.created", is(2)))
+                .andExpect(jsonPath("$.updated", is(2)))
+                .andExpect(jsonPath("$.failed", is(2)))
+                .andExpect(jsonPath("$.errors[0].line", is(4)))
+                .andExpect(jsonPath("$.errors[0].message", is("Column category is required")))
+                .andExpect(jsonPath("$.errors[1].line", is(5)))
+                .andExpect(jsonPath("$.errors[1].message", is("Category not found: Напитки")));
+
+        List<Product> products = productRepository.findAll().stream()
+                .sorted(Comparator.comparing(Product::getId))
+                .toList();
+        assertThat(products).extracting(Product::getName).containsExactly("Улун", "Пуэр", "Эспрессо, двойной");
+        assertThat(products.get(0).getId()).isEqualTo(existing.getId());
+        assertThat(products.get(0).getInfo()).isEqualTo("новое описание");
+        assertThat(products.get(0).getCategory().getName()).isEqualTo("Кофе");
+        assertThat(products.get(1).getInfo()).isEqualTo("повтор");
+        mockMvc.perform(get("/products/search").param("q", "пуэр").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    @DisplayName("Пробный импорт сотрудников ничего не записывает, а без обязательной колонки файл отклоняется")
+    void dryRunWritesNothing() throws Exception {
+        employeeRepository.save(new Employee(null, "Иван", "+79000000001", "кладовщик"));
+        String csv = """
+                phone,name
+                +79000000001,Иван Петров
+                +79000000002,Пётр
+                +79000000003,Анна
+                """;
+
+        importCsv("/employees/import", true, csv)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.dryRun", is(true)))
+                .andExpect(jsonPath("$.created", is(2)))
+                .andExpect(jsonPath("$.updated", is(1)));
+        assertThat(employeeRepository.findAll()).extracting(Employee::getName).containsExactly("Иван");
+
+        importCsv("/employees/import", false, csv)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(2)));
+        assertThat(employeeRepository.findAll()).hasSize(3);
+        Employee updated = employeeRepository.findAll().stream()
+                .filter(employee -> employee.getPhone().equals("+79000000001"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(updated.getName()).isEqualTo("Иван Петров");
+        assertThat(updated.getInfo()).isEqualTo("кладовщик");
+
+        importCsv("/counterparties/import", false, "name,info\nООО Ромашка,поставщик\n")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("Missing column: phone")));
+    }
+
+    private ResultActions importCsv(String path, boolean dryRun, String csv) throws Exception {
+        return mockMvc.perform(post(path)
+                .param("dryRun", Boolean.toString(dryRun))
+                .header("Authorization", "Bearer " + token)
+                .contentType("text/csv")
+                .content(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private String obtainToken() throws Exception {
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername(USERNAME);
+        loginRequest.setPassword(PASSWORD);
+
+        MvcResult response = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        return objectMapper.readTree(response.getResponse().getContentAsString()).get("token").asText();
+    }
+}
@@ -114,6 +114,33 @@ class CounterpartyControllerIntegrationTest {
         assertThat(counterpartyRepository.findAll()).hasSize(1);
     }
 
+    @Test
+    @DisplayName("GET /counterparties/search находит созданного контрагента и забывает удалённого")
+    void searchFollowsCreateAndDelete() throws Exception {
+        String token = obtainToken();
+        String created = mockMvc.perform(post("/counterparties")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new Counterparty(null, "ООО Лесная поляна", "+79001112233", null))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(created).get("id").asLong();
+
+        mockMvc.perform(get("/counterparties/search").param("q", "лесн")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name", is("ООО Лесная поляна")));
+
+        mockMvc.perform(delete("/counterparties/{id}", id)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/counterparties/search").param("q", "лесн")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
     @Test
     @DisplayName("POST /counterparties валидирует обязательные поля")
     void createCounterpartyValidationError() throws Exception {
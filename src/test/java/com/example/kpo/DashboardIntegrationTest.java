@@ -0,0 +1,297 @@
+package com.example.kpo;
+
+import com.example.kpo.dto.LoginRequest;
+import com.example.kpo.entity.Admin;
+import com.example.kpo.entity.Category;
+import com.example.kpo.entity.Counterparty;
+import com.example.kpo.entity.Employee;
+import com.example.kpo.entity.Movement;
+import com.example.kpo.entity.MovementProduct;
+import com.example.kpo.entity.MovementType;
+import com.example.kpo.entity.Product;
+import com.example.kpo.entity.Warehouse;
+import com.example.kpo.repository.AdminRepository;
+import com.example.kpo.repository.CategoryRepository;
+import com.example.kpo.repository.CounterpartyRepository;
+import com.example.kpo.repository.EmployeeRepository;
+import com.example.kpo.repository.MovementRepository;
+import com.example.kpo.repository.ProductRepository;
+import com.example.kpo.repository.StockTotalRepository;
+import com.example.kpo.repository.WarehouseProductRepository;
+import com.example.kpo.repository.WarehouseRepository;
+import com.example.kpo.service.DashboardService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class DashboardIntegrationTest {
+
+    private static final String USERNAME = "DASHBOARD_TEST";
+    private static final String PASSWORD = "password";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MovementRepository movementRepository;
+
+    @Autowired
+    private WarehouseProductRepository warehouseProductRepository;
+
+    @Autowired
+    private StockTotalRepository stockTotalRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CounterpartyRepository counterpartyRepository;
+
+    private Warehouse first;
+    private Warehouse second;
+    private Employee employee;
+    private Counterparty supplier;
+    private Counterparty customer;
+    private Product kettle;
+    private Product teapot;
+    private String token;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        if (adminRepository.findByUsername(USERNAME).isEmpty()) {
+            adminRepository.save(new Admin(null, USERNAME, passwordEncoder.encode(PASSWORD)));
+        }
+        first = warehouseRepository.save(new Warehouse(null, "Склад 1", "адрес"));
+        second = warehouseRepository.save(new Warehouse(null, "Склад 2", "адрес"));
+        employee = employeeRepository.save(new Employee(null, "Иван", "+79000000001", "кладовщик"));
+        supplier = counterpartyRepository.save(new Counterparty(null, "ООО Поставщик", "+79001234567", "поставщик"));
+        customer = counterpartyRepository.save(new Counterparty(null, "ООО Покупатель", "+79007654321", "покупатель"));
+        Category category = categoryRepository.save(new Category(null, "Посуда"));
+        kettle = saveProduct("Чайник", category);
+        teapot = saveProduct("Заварник", category);
+        token = obtainToken();
+        // other tests remove their movements behind the service's back
+        dashboardService.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        movementRepository.deleteAll();
+        warehouseProductRepository.deleteAll();
+        stockTotalRepository.deleteAll();
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        employeeRepository.deleteAll();
+        counterpartyRepository.deleteAll();
+        warehouseRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Показатели следуют за созданием, изменением и удалением операций и совпадают после пересборки")
+    void kpisFollowMovementWrites() throws Exception {
+        JsonNode before = kpis();
+        LocalDateTime now = LocalDateTime.now();
+
+        createMovement(movement(MovementType.INBOUND, first, null, supplier, now.minusDays(10),
+                Map.of(kettle, 1000, teapot, 500)));
+        Long inbound = createMovement(movement(MovementType.INBOUND, first, null, supplier, now,
+                Map.of(kettle, 300)));
+        createMovement(movement(MovementType.TRANSFER, first, second, null, now.minusDays(2), Map.of(teapot, 200)));
+        Long outbound = createMovement(movement(MovementType.OUTBOUND, first, null, customer, now.minusDays(3),
+                Map.of(kettle, 400)));
+        createMovement(movement(MovementType.INBOUND, second, null, supplier, now.minusDays(40),
+                Map.of(teapot, 900)));
+
+        JsonNode after = kpis();
+        assertThat(delta(before, after, "movementsToday")).isEqualTo(1);
+        assertThat(delta(before, after, "receivedUnits7Days")).isEqualTo(300);
+        assertThat(delta(before, after, "receivedUnits30Days")).isEqualTo(1800);
+        assertThat(delta(before, after, "shippedUnits7Days")).isEqualTo(400);
+        assertThat(delta(before, after, "shippedUnits30Days")).isEqualTo(400);
+        assertThat(after.get("movementsByHour")).hasSize(24);
+        assertThat(after.get("topProducts").get(0).get("name").asText()).isEqualTo("Чайник");
+        assertThat(ranking(after, "topProducts")).containsEntry(kettle.getId(), 1700L)
+                .containsEntry(teapot.getId(), 700L);
+        assertThat(ranking(after, "busiestWarehouses")).containsEntry(first.getId(), 4L)
+                .containsEntry(second.getId(), 1L);
+        assertThat(ranking(after, "busiestCounterparties"))
+                .containsEntry(supplier.getId(), 2L).containsEntry(customer.getId(), 1L);
+
+        mockMvc.perform(put("/movements/{id}", inbound)
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(movement(MovementType.INBOUND, first, null, supplier,
+                                now.minusDays(5), Map.of(kettle, 350)))))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/movements/{id}", outbound)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        JsonNode changed = kpis();
+        assertThat(delta(before, changed, "movementsToday")).isZero();
+        assertThat(delta(before, changed, "receivedUnits7Days")).isEqualTo(350);
+        assertThat(delta(before, changed, "receivedUnits30Days")).isEqualTo(1850);
+        assertThat(delta(before, changed, "shippedUnits30Days")).isZero();
+        assertThat(ranking(changed, "topProducts")).containsEntry(kettle.getId(), 1350L);
+        assertThat(ranking(changed, "busiestCounterparties")).doesNotContainKey(customer.getId());
+
+        dashboardService.rebuild();
+        JsonNode rebuilt = kpis();
+        for (String field : new String[]{"movementsToday", "receivedUnits7Days", "receivedUnits30Days",
+                "shippedUnits7Days", "shippedUnits30Days", "topProducts", "busiestWarehouses",
+                "busiestCounterparties"}) {
+            assertThat(rebuilt.get(field)).as(field).isEqualTo(changed.get(field));
+        }
+    }
+
+    @Test
+    @DisplayName("Операция будущей датой учитывается с наступлением даты и корректно удаляется")
+    void futureMovementIsCountedWhenItsDateArrives() throws Exception {
+        JsonNode before = kpis();
+        LocalDateTime date = LocalDateTime.now().plusSeconds(2);
+        Long future = createMovement(movement(MovementType.INBOUND, first, null, supplier, date,
+                Map.of(kettle, 50)));
+        assertThat(delta(before, kpis(), "receivedUnits7Days")).isZero();
+
+        while (!LocalDateTime.now().isAfter(date)) {
+            Thread.sleep(100);
+        }
+        JsonNode arrived = kpis();
+        assertThat(delta(before, arrived, "receivedUnits7Days")).isEqualTo(50);
+        assertThat(ranking(arrived, "busiestCounterparties")).containsEntry(supplier.getId(), 1L);
+
+        mockMvc.perform(delete("/movements/{id}", future)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+        JsonNode deleted = kpis();
+        assertThat(delta(before, deleted, "movementsToday")).isZero();
+        assertThat(delta(before, deleted, "receivedUnits7Days")).isZero();
+        assertThat(ranking(deleted, "busiestCounterparties")).doesNotContainKey(supplier.getId());
+    }
+
+    private JsonNode kpis() throws Exception {
+        MvcResult result = mockMvc.perform(get("/dashboard/kpis")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsByteArray());
+    }
+
+    private static long delta(JsonNode before, JsonNode after, String field) {
+        return after.get(field).asLong() - before.get(field).asLong();
+    }
+
+    private static Map<Long, Long> ranking(JsonNode kpis, String field) {
+        Map<Long, Long> ranking = new HashMap<>();
+        kpis.get(field).forEach(entry -> ranking.put(entry.get("id").asLong(), entry.get("value").asLong()));
+        return ranking;
+    }
+
+    private Product saveProduct(String name, Category category) {
+        Product product = new Product(null, name, "описание");
+        product.setCategory(category);
+        return productRepository.save(product);
+    }
+
+    private Movement movement(MovementType type, Warehouse warehouse, Warehouse targetWarehouse,
+                              Counterparty counterparty, LocalDateTime date, Map<Product, Integer> quantities) {
+        Movement movement = new Movement();
+        movement.setDate(date);
+        movement.setType(type);
+        movement.setWarehouse(reference(warehouse));
+        Employee employeeReference = new Employee();
+        employeeReference.setId(employee.getId());
+        movement.setEmployee(employeeReference);
+        if (targetWarehouse != null) {
+            movement.setTargetWarehouse(reference(targetWarehouse));
+            movement.setTargetEmployee(employeeReference);
+        }
+        if (counterparty != null) {
+            Counterparty counterpartyReference = new Counterparty();
+            counterpartyReference.setId(counterparty.getId());
+            movement.setCounterparty(counterpartyReference);
+        }
+        quantities.forEach((product, quantity) -> {
+            Product productReference = new Product();
+            productReference.setId(product.getId());
+            MovementProduct item = new MovementProduct();
+            item.setProduct(productReference);
+            item.setQuantity(quantity);
+            movement.getItems().add(item);
+        });
+        return movement;
+    }
+
+    private static Warehouse reference(Warehouse warehouse) {
+        Warehouse reference = new Warehouse();
+        reference.setId(warehouse.getId());
+        return reference;
+    }
+
+    private Long createMovement(Movement payload) throws Exception {
+        MvcResult result = mockMvc.perform(post("/movements")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(payload)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    private String obtainToken() throws Exception {
+        LoginRequest request = new LoginRequest();
+        request.setUsername(USERNAME);
+        request.setPassword(PASSWORD);
+
+        MvcResult result = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("token").asText();
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.kpo;
+
+import com.example.kpo.dto.LoginRequest;
+import com.example.kpo.entity.Admin;
+import com.example.kpo.entity.Warehouse;
+import com.example.kpo.repository.AdminRepository;
+import com.example.kpo.repository.WarehouseRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class DatabaseBackupIntegrationTest {
+
+    private static final String USERNAME = "BACKUP_TEST";
+    private static final String PASSWORD = "password";
+
+    private static Path backupDirectory;
+    private static Path archiveFile;
+
+    @DynamicPropertySource
+    static void sqliteDatabase(DynamicPropertyRegistry registry) throws IOException {
+        Path root = Files.createTempDirectory("kpo-backup");
+        backupDirectory = root.resolve("backups");
+        archiveFile = root.resolve("kpo-archive.db");
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + root.resolve("kpo.db").toAbsolutePath());
+        registry.add("spring.datasource.driver-class-name", () -> "org.sqlite.JDBC");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.community.dialect.SQLiteDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("kpo.backup.directory", () -> backupDirectory.toString());
+        registry.add("kpo.backup.retention", () -> "2");
+        registry.add("kpo.backup.pages-per-step", () -> "4");
+        registry.add("kpo.backup.step-pause", () -> "0ms");
+        registry.add("kpo.archive.path", () -> archiveFile.toString());
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    @Qualifier("sqliteReadDataSource")
+    private DataSource readDataSource;
+
+    @BeforeEach
+    void setUp() {
+        if (adminRepository.findByUsername(USERNAME).isEmpty()) {
+            adminRepository.save(new Admin(null, USERNAME, passwordEncoder.encode(PASSWORD)));
+        }
+        for (int i = 0; i < 200; i++) {
+            warehouseRepository.save(new Warehouse(null, "Склад " + i, "x".repeat(200)));
+        }
+    }
+
+    @Test
+    @DisplayName("Резервная копия базы и архива создаётся по запросу, старые копии удаляются")
+    void backupIsWrittenAndRetentionApplied() throws Exception {
+        String token = obtainToken();
+        long warehouses = warehouseRepository.count();
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + archiveFile.toAbsolutePath());
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS movements (id BIGINT PRIMARY KEY, info VARCHAR(255))");
+            statement.execute("DELETE FROM movements");
+            for (int i = 0; i < 50; i++) {
+                statement.execute("INSERT INTO movements (id, info) VALUES (" + i + ", '" + "x".repeat(200) + "')");
+            }
+        }
+
+        JsonNode status = null;
+        for (int backup = 0; backup < 3; backup++) {
+            mockMvc.perform(post("/admin/backups").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isAccepted());
+            status = awaitFinished(token);
+            assertThat(status.get("error").isNull()).isTrue();
+            Thread.sleep(5);
+        }
+
+        assertThat(status.get("pagesCopied").asInt()).isEqualTo(status.get("pageCount").asInt()).isPositive();
+        assertThat(status.get("steps").asInt()).isGreaterThan(1);
+        assertThat(status.get("pagesPerSecond").asDouble()).isPositive();
+
+        MvcResult list = mockMvc.perform(get("/admin/backups").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn();
+        JsonNode backups = objectMapper.readTree(list.getResponse().getContentAsString());
+        assertThat(backups).hasSize(4);
+        assertThat(backups.get(0).get("name").asText()).isEqualTo(status.get("file").asText());
+        assertThat(backups.get(1).get("name").asText()).isEqualTo(status.get("archiveFile").asText());
+        try (Stream<Path> files = Files.list(backupDirectory)) {
+            assertThat(files).hasSize(4);
+        }
+
+        Path latest = backupDirectory.resolve(backups.get(0).get("name").asText());
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + latest.toAbsolutePath());
+             Statement statement = connection.createStatement()) {
+            try (ResultSet resultSet = statement.executeQuery("PRAGMA integrity_check")) {
+                resultSet.next();
+                assertThat(resultSet.getString(1)).isEqualTo("ok");
+            }
+            try (ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM warehouse")) {
+                resultSet.next();
+                assertThat(resultSet.getLong(1)).isEqualTo(warehouses);
+            }
+        }
+        Path latestArchive = backupDirectory.resolve(backups.get(1).get("name").asText());
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + latestArchive.toAbsolutePath());
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM movements")) {
+            resultSet.next();
+            assertThat(resultSet.getLong(1)).isEqualTo(50);
+        }
+    }
+
+    @Test
+    @DisplayName("Пул чтения открывает базу только на чтение")
+    void readPoolRejectsWrites() throws Exception {
+        try (Connection connection = readDataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            assertThatThrownBy(() -> statement.executeUpdate("DELETE FROM warehouse"))
+                    .isInstanceOf(SQLException.class)
+                    .hasMessageContaining("SQLITE_READONLY");
+        }
+        assertThat(warehouseRepository.count()).isPositive();
+    }
+
+    private JsonNode awaitFinished(String token) throws Exception {
+        for (int attempt = 0; attempt < 200; attempt++) {
+            MvcResult result = mockMvc.perform(get("/admin/backups/status").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            JsonNode status = objectMapper.readTree(result.getResponse().getContentAsString());
+            if (!status.get("running").asBoolean()) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Backup did not finish in time");
+    }
+
+    private String obtainToken() throws Exception {
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername(USERNAME);
+        loginRequest.setPassword(PASSWORD);
+
+        MvcResult response = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        return objectMapper.readTree(response.getResponse().getContentAsString()).get("token").asText();
+    }
+}
@@ -0,0 +1,261 @@
+package com.example.kpo;
+
+import com.example.kpo.dto.LoginRequest;
+import com.example.kpo.entity.Admin;
+import com.example.kpo.entity.Category;
+import com.example.kpo.entity.Counterparty;
+import com.example.kpo.entity.Employee;
+import com.example.kpo.entity.Product;
+import com.example.kpo.entity.Warehouse;
+import com.example.kpo.repository.AdminRepository;
+import com.example.kpo.repository.CategoryRepository;
+import com.example.kpo.repository.CounterpartyRepository;
+import com.example.kpo.repository.EmployeeRepository;
+import com.example.kpo.repository.MovementRepository;
+import com.example.kpo.repository.ProductRepository;
+import com.example.kpo.repository.StockThresholdRepository;
+import com.example.kpo.repository.StockTotalRepository;
+import com.example.kpo.repository.WarehouseProductRepository;
+import com.example.kpo.repository.WarehouseRepository;
+import com.example.kpo.service.LowStockService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class LowStockIntegrationTest {
+
+    private static final String USERNAME = "LOW_STOCK_TEST";
+    private static final String PASSWORD = "password";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LowStockService lowStockService;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MovementRepository movementRepository;
+
+    @Autowired
+    private WarehouseProductRepository warehouseProductRepository;
+
+    @Autowired
+    private StockTotalRepository stockTotalRepository;
+
+    @Autowired
+    private StockThresholdRepository stockThresholdRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CounterpartyRepository counterpartyRepository;
+
+    private Warehouse warehouse;
+    private Employee employee;
+    private Counterparty counterparty;
+    private Product product;
+    private Product other;
+    private String token;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        if (adminRepository.findByUsername(USERNAME).isEmpty()) {
+            adminRepository.save(new Admin(null, USERNAME, passwordEncoder.encode(PASSWORD)));
+        }
+        warehouse = warehouseRepository.save(new Warehouse(null, "Склад с минимумом", "адрес"));
+        employee = employeeRepository.save(new Employee(null, "Иван", "+79000000001", "кладовщик"));
+        counterparty = counterpartyRepository.save(new Counterparty(null, "ООО Поставщик", "+79001234567", "поставщик"));
+        Category category = categoryRepository.save(new Category(null, "Минимум"));
+        product = saveProduct("Чайник", category);
+        other = saveProduct("Заварник", category);
+        token = obtainToken();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stockThresholdRepository.deleteAll();
+        movementRepository.deleteAll();
+        warehouseProductRepository.deleteAll();
+        stockTotalRepository.deleteAll();
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        employeeRepository.deleteAll();
+        counterpartyRepository.deleteAll();
+        warehouseRepository.deleteAll();
+        lowStockService.rebuild();
+    }
+
+    @Test
+    @DisplayName("Список нехватки следует за движениями и порогами, поток присылает изменения")
+    void lowStockFollowsMovementsAndThresholds() throws Exception {
+        MvcResult stream = mockMvc.perform(get("/stock-alerts/events")
+                        .header("Authorization", "Bearer " + token)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        try {
+            await().atMost(Duration.ofSeconds(5)).until(() -> content(stream).contains("event:ready"));
+
+            setThreshold(product, 10).andExpect(status().isOk())
+                    .andExpect(jsonPath("$.minimumQuantity").value(10));
+            assertThat(lowStock()).containsExactly(List.of(product.getId(), 0L, 10L));
+
+            move("INBOUND", product, 4);
+            move("INBOUND", other, 1);
+            assertThat(lowStock()).containsExactly(List.of(product.getId(), 4L, 10L));
+
+            move("INBOUND", product, 8);
+            assertThat(lowStock()).isEmpty();
+            await().atMost(Duration.ofSeconds(5)).until(() -> content(stream).contains("event:restocked"));
+
+            move("OUTBOUND", product, 5);
+            assertThat(lowStock()).containsExactly(List.of(product.getId(), 7L, 10L));
+            setThreshold(product, 6).andExpect(status().isOk());
+            assertThat(lowStock()).isEmpty();
+            setThreshold(product, 8).andExpect(status().isOk());
+
+            await().atMost(Duration.ofSeconds(5)).until(() -> content(stream).contains("\"minimumQuantity\":8"));
+            assertThat(content(stream))
+                    .contains("\"productId\":" + product.getId())
+                    .contains("\"quantity\":4")
+                    .doesNotContain("\"productId\":" + other.getId());
+        } finally {
+            stream.getRequest().getAsyncContext().complete();
+        }
+
+        lowStockService.rebuild();
+        assertThat(lowStock()).containsExactly(List.of(product.getId(), 7L, 8L));
+
+        mockMvc.perform(delete("/warehouses/{id}/stock-thresholds/{productId}", warehouse.getId(), product.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+        assertThat(lowStock()).isEmpty();
+        mockMvc.perform(get("/warehouses/{id}/stock-thresholds", warehouse.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    @DisplayName("Порог проверяется: неположительный минимум — 400, неизвестный товар — 404")
+    void thresholdIsValidated() throws Exception {
+        setThreshold(product, 0).andExpect(status().isBadRequest());
+        mockMvc.perform(put("/warehouses/{id}/stock-thresholds/{productId}", warehouse.getId(), Long.MAX_VALUE)
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"minimumQuantity\":5}"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/warehouses/{id}/stock-thresholds/{productId}", warehouse.getId(), product.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotFound());
+    }
+
+    private ResultActions setThreshold(Product target, int minimum)
+            throws Exception {
+        return mockMvc.perform(put("/warehouses/{id}/stock-thresholds/{productId}", warehouse.getId(), target.getId())
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"minimumQuantity\":" + minimum + "}"));
+    }
+
+    private List<List<Long>> lowStock() throws Exception {
+        MvcResult result = mockMvc.perform(get("/stock-alerts")
+                        .param("warehouseId", warehouse.getId().toString())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn();
+        JsonNode entries = objectMapper.readTree(result.getResponse().getContentAsByteArray());
+        return StreamSupport.stream(entries.spliterator(), false)
+                .map(entry -> List.of(entry.get("productId").asLong(), entry.get("quantity").asLong(),
+                        entry.get("minimumQuantity").asLong()))
+                .toList();
+    }
+
+    private void move(String type, Product target, int quantity) throws Exception {
+        Map<String, Object> movement = Map.of(
+                "date", LocalDateTime.now().withNano(0).toString(),
+                "type", type,
+                "warehouse", Map.of("id", warehouse.getId()),
+                "employee", Map.of("id", employee.getId()),
+                "counterparty", Map.of("id", counterparty.getId()),
+                "items", List.of(Map.of("product", Map.of("id", target.getId()), "quantity", quantity)));
+        mockMvc.perform(post("/movements")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(movement)))
+                .andExpect(status().isCreated());
+    }
+
+    private Product saveProduct(String name, Category category) {
+        Product saved = new Product(null, name, "описание");
+        saved.setCategory(category);
+        return productRepository.save(saved);
+    }
+
+    private static String content(MvcResult result) throws Exception {
+        return result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    private String obtainToken() throws Exception {
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername(USERNAME);
+        loginRequest.setPassword(PASSWORD);
+
+        MvcResult response = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        return objectMapper.readTree(response.getResponse().getContentAsString()).get("token").asText();
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.kpo;
+
+import com.example.kpo.dto.LoginRequest;
+import com.example.kpo.dto.StockReportRequest;
+import com.example.kpo.entity.Admin;
+import com.example.kpo.entity.Category;
+import com.example.kpo.entity.Counterparty;
+import com.example.kpo.entity.Employee;
+import com.example.kpo.entity.Product;
+import com.example.kpo.entity.Warehouse;
+import com.example.kpo.repository.AdminRepository;
+import com.example.kpo.repository.CategoryRepository;
+import com.example.kpo.repository.CounterpartyRepository;
+import com.example.kpo.repository.EmployeeRepository;
+import com.example.kpo.repository.MovementRepository;
+import com.example.kpo.repository.ProductRepository;
+import com.example.kpo.repository.WarehouseProductRepository;
+import com.example.kpo.repository.WarehouseRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "management.endpoints.web.exposure.include=prometheus",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricsIntegrationTest {
+
+    private static final String USERNAME = "METRICS_TEST";
+    private static final String PASSWORD = "password";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MovementRepository movementRepository;
+
+    @Autowired
+    private WarehouseProductRepository warehouseProductRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CounterpartyRepository counterpartyRepository;
+
+    private Warehouse warehouse;
+    private Employee employee;
+    private Counterparty counterparty;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        if (adminRepository.findByUsername(USERNAME).isEmpty()) {
+            adminRepository.save(new Admin(null, USERNAME, passwordEncoder.encode(PASSWORD)));
+        }
+        warehouse = warehouseRepository.save(new Warehouse(null, "Склад метрик", "адрес"));
+        employee = employeeRepository.save(new Employee(null, "Иван", "+79000000001", "кладовщик"));
+        counterparty = counterpartyRepository.save(new Counterparty(null, "ООО Поставщик", "+79001234567", "поставщик"));
+        Category category = categoryRepository.save(new Category(null, "Метрики"));
+        product = new Product(null, "Товар", "описание");
+        product.setCategory(category);
+        product = productRepository.save(product);
+    }
+
+    @AfterEach
+    void tearDown() {
+        movementRepository.deleteAll();
+        warehouseProductRepository.deleteAll();
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        employeeRepository.deleteAll();
+        counterpartyRepository.deleteAll();
+        warehouseRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Операции с движениями, отчёты и аутентификация попадают в метрики Prometheus")
+    void businessOperationsAreExposedToPrometheus() throws Exception {
+        String token = obtainToken();
+        long verified = validJwtVerifications();
+        Map<String, Object> movement = Map.of(
+                "date", LocalDateTime.now().withNano(0).toString(),
+                "type", "INBOUND",
+                "warehouse", Map.of("id", warehouse.getId()),
+                "employee", Map.of("id", employee.getId()),
+                "counterparty", Map.of("id", counterparty.getId()),
+                "items", List.of(Map.of("product", Map.of("id", product.getId()), "quantity", 7)));
+        mockMvc.perform(post("/movements")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(movement)))
+                .andExpect(status().isCreated());
+        StockReportRequest report = new StockReportRequest();
+        report.setReportDate(LocalDate.now());
+        mockMvc.perform(post("/reports/stock")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(report)))
+                .andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("kpo.movements.operations")
+                .tag("operation", "create").tag("type", "INBOUND").tag("outcome", "success")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("kpo.stock.adjusted.quantity").tag("direction", "increase")
+                .counter().count()).isGreaterThanOrEqualTo(7);
+        for (String phase : List.of("load", "aggregate", "render")) {
+            assertThat(meterRegistry.get("kpo.reports.phases").tag("phase", phase).timer().count()).isPositive();
+        }
+        // one signature check per authenticated request
+        assertThat(validJwtVerifications() - verified).isEqualTo(2);
+        assertThat(meterRegistry.get("kpo.auth.lookups").tag("outcome", "found").timer().count()).isPositive();
+
+        MvcResult scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(scrape.getResponse().getContentAsString())
+                .contains("kpo_movements_operations_seconds_count")
+                .contains("kpo_stock_adjustments_seconds_count")
+                .contains("kpo_reports_phases_seconds_count")
+                .contains("hikaricp_connections_active")
+                .contains("hibernate_statements_total");
+    }
+
+    @Test
+    @DisplayName("Эндпоинт Prometheus без токена доступен только с локального адреса")
+    void prometheusIsClosedForRemoteClientsWithoutToken() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").with(request -> {
+                    request.setRemoteAddr("10.0.0.5");
+                    return request;
+                }))
+                .andExpect(status().isForbidden());
+    }
+
+    private String obtainToken() throws Exception {
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername(USERNAME);
+        loginRequest.setPassword(PASSWORD);
+
+        MvcResult response = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        return objectMapper.readTree(response.getResponse().getContentAsString()).get("token").asText();
+    }
+
+    private long validJwtVerifications() {
+        Timer timer = meterRegistry.find("kpo.jwt.verifications").tag("outcome", "valid").timer();
+        return timer != null ? timer.count() : 0;
+    }
+}
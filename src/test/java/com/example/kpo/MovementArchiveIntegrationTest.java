@@ -0,0 +1,507 @@
+package com.example.kpo;
+
+import com.example.kpo.config.ArchiveProperties;
+import com.example.kpo.dto.LoginRequest;
+import com.example.kpo.dto.StockReportRequest;
+import com.example.kpo.entity.Admin;
+import com.example.kpo.entity.Category;
+import com.example.kpo.entity.Counterparty;
+import com.example.kpo.entity.Employee;
+import com.example.kpo.entity.Movement;
+import com.example.kpo.entity.MovementArchiveState;
+import com.example.kpo.entity.MovementProduct;
+import com.example.kpo.entity.MovementType;
+import com.example.kpo.entity.Product;
+import com.example.kpo.entity.Warehouse;
+import com.example.kpo.repository.AdminRepository;
+import com.example.kpo.repository.CategoryRepository;
+import com.example.kpo.repository.CounterpartyRepository;
+import com.example.kpo.repository.EmployeeRepository;
+import com.example.kpo.repository.MovementArchiveStateRepository;
+import com.example.kpo.repository.MovementRepository;
+import com.example.kpo.repository.OpeningBalanceRepository;
+import com.example.kpo.repository.ProductRepository;
+import com.example.kpo.repository.StockHistoryRepository;
+import com.example.kpo.repository.StockTotalRepository;
+import com.example.kpo.repository.WarehouseProductRepository;
+import com.example.kpo.repository.WarehouseRepository;
+import com.example.kpo.service.MovementService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lowagie.text.pdf.PdfReader;
+import com.lowagie.text.pdf.parser.PdfTextExtractor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class MovementArchiveIntegrationTest {
+
+    private static final String USERNAME = "ARCHIVE_TEST";
+    private static final String PASSWORD = "password";
+
+    @DynamicPropertySource
+    static void sqliteDatabase(DynamicPropertyRegistry registry) throws IOException {
+        // SQLite hands out the ids of deleted rows again, which the archive has to cope with
+        Path root = Files.createTempDirectory("kpo-archive");
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + root.resolve("kpo.db").toAbsolutePath());
+        registry.add("spring.datasource.driver-class-name", () -> "org.sqlite.JDBC");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.community.dialect.SQLiteDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("kpo.archive.path", () -> root.resolve("kpo-archive.db").toString());
+        registry.add("kpo.archive.batch-size", () -> "2");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MovementService movementService;
+
+    @Autowired
+    private MovementRepository movementRepository;
+
+    @Autowired
+    private OpeningBalanceRepository openingBalanceRepository;
+
+    @Autowired
+    private MovementArchiveStateRepository archiveStateRepository;
+
+    @Autowired
+    private ArchiveProperties archiveProperties;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private WarehouseProductRepository warehouseProductRepository;
+
+    @Autowired
+    private StockTotalRepository stockTotalRepository;
+
+    @Autowired
+    private StockHistoryRepository stockHistoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CounterpartyRepository counterpartyRepository;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private Warehouse mainWarehouse;
+    private Warehouse reserveWarehouse;
+    private Product product;
+    private Employee employee;
+    private Counterparty counterparty;
+
+    @BeforeEach
+    void setUp() {
+        if (adminRepository.findByUsername(USERNAME).isEmpty()) {
+            adminRepository.save(new Admin(null, USERNAME, passwordEncoder.encode(PASSWORD)));
+        }
+        Category category = categoryRepository.save(new Category(null, "Архивная категория"));
+        product = new Product(null, "Архивный товар", "описание");
+        product.setCategory(category);
+        product = productRepository.save(product);
+        mainWarehouse = warehouseRepository.save(new Warehouse(null, "Архив «Основной»", "адрес"));
+        reserveWarehouse = warehouseRepository.save(new Warehouse(null, "Архив «Резервный»", "адрес"));
+        employee = employeeRepository.save(new Employee(null, "Архивариус", "+79000000001", "оператор"));
+        counterparty = counterpartyRepository.save(new Counterparty(null, "ООО «Архив»", "+79000000002", "договор"));
+
+        saveMovement(MovementType.INBOUND, mainWarehouse, null, 30, LocalDateTime.of(2024, 1, 10, 9, 0));
+        saveMovement(MovementType.TRANSFER, mainWarehouse, reserveWarehouse, 12, LocalDateTime.of(2024, 2, 10, 9, 0));
+        saveMovement(MovementType.OUTBOUND, mainWarehouse, null, 5, LocalDateTime.of(2024, 3, 10, 9, 0));
+        saveMovement(MovementType.INBOUND, mainWarehouse, null, 7, LocalDateTime.of(2025, 1, 10, 9, 0));
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        if (Files.exists(archiveProperties.getPath())) {
+            try (Connection connection = openArchive();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("DELETE FROM products_movement");
+                statement.execute("DELETE FROM movements");
+            }
+        }
+        openingBalanceRepository.deleteAll();
+        archiveStateRepository.deleteAll();
+        movementRepository.deleteAll();
+        warehouseProductRepository.deleteAll();
+        stockTotalRepository.deleteAll();
+        stockHistoryRepository.deleteAll();
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        warehouseRepository.deleteAll();
+        employeeRepository.deleteAll();
+        counterpartyRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Старые движения переносятся в архив и сворачиваются во входящие остатки")
+    void archiveMovesOldMovementsAndKeepsReportsIntact() throws Exception {
+        String token = obtainToken();
+        assertThat(stockAt(token, LocalDate.of(2024, 2, 15))).containsExactlyInAnyOrderEntriesOf(Map.of(
+                mainWarehouse.getId(), 18L,
+                reserveWarehouse.getId(), 12L));
+
+        MvcResult archived = mockMvc.perform(post("/movements/archive")
+                        .header("Authorization", "Bearer " + token)
+                        .param("before", "2024-06-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andReturn();
+        JsonNode result = objectMapper.readTree(archived.getResponse().getContentAsString());
+        assertThat(result.get("archivedMovements").asLong()).isEqualTo(3);
+
+        assertThat(movementRepository.findAll())
+                .extracting(Movement::getDate)
+                .containsExactly(LocalDateTime.of(2025, 1, 10, 9, 0));
+
+        MvcResult balances = mockMvc.perform(get("/movements/archive/opening-balances")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn();
+        Map<Long, Integer> quantities = new HashMap<>();
+        objectMapper.readTree(balances.getResponse().getContentAsString())
+                .forEach(balance -> quantities.put(balance.get("warehouseId").asLong(), balance.get("quantity").asInt()));
+        assertThat(quantities).containsExactlyInAnyOrderEntriesOf(Map.of(
+                mainWarehouse.getId(), 13,
+                reserveWarehouse.getId(), 12));
+
+        MvcResult all = mockMvc.perform(get("/movements/archive")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn();
+        JsonNode movements = objectMapper.readTree(all.getResponse().getContentAsString());
+        assertThat(movements).hasSize(3);
+        assertThat(movements.get(1).get("type").asText()).isEqualTo("TRANSFER");
+        assertThat(movements.get(1).get("targetWarehouse").get("id").asLong()).isEqualTo(reserveWarehouse.getId());
+        assertThat(movements.get(1).get("items").get(0).get("quantity").asInt()).isEqualTo(12);
+
+        MvcResult filtered = mockMvc.perform(get("/movements/archive")
+                        .header("Authorization", "Bearer " + token)
+                        .param("from", "2024-02-01T00:00:00")
+                        .param("to", "2024-02-28T23:59:59"))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(objectMapper.readTree(filtered.getResponse().getContentAsString())).hasSize(1);
+
+        assertThat(stockReport(token, LocalDate.of(2024, 2, 15)))
+                .contains("Архивный товар18").contains("Архивный товар12");
+        assertThat(stockReport(token, LocalDate.of(2025, 2, 1)))
+                .contains("Архивный товар20").contains("Архивный товар12");
+        assertThat(stockAt(token, LocalDate.of(2024, 2, 15))).containsExactlyInAnyOrderEntriesOf(Map.of(
+                mainWarehouse.getId(), 18L,
+                reserveWarehouse.getId(), 12L));
+        assertThat(stockAt(token, LocalDate.of(2024, 1, 31))).containsExactlyEntriesOf(Map.of(
+                mainWarehouse.getId(), 30L));
+        assertThat(stockAt(token, LocalDate.of(2025, 2, 1))).containsExactlyInAnyOrderEntriesOf(Map.of(
+                mainWarehouse.getId(), 20L,
+                reserveWarehouse.getId(), 12L));
+
+        mockMvc.perform(delete("/products/" + product.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Партия, не удалённая из горячих таблиц, не учитывается дважды и архивируется повторно")
+    void uncommittedBatchIsNotCountedTwice() throws Exception {
+        String token = obtainToken();
+        mockMvc.perform(post("/movements/archive")
+                        .header("Authorization", "Bearer " + token)
+                        .param("before", "2023-01-01T00:00:00"))
+                .andExpect(status().isOk());
+
+        // a run to 2024-06-01 copied the transfer to the archive, then failed to delete it
+        Movement transfer = movementRepository.findAllWithItemsByIdIn(movementRepository.findAll().stream()
+                        .map(Movement::getId)
+                        .toList()).stream()
+                .filter(movement -> movement.getType() == MovementType.TRANSFER)
+                .findFirst()
+                .orElseThrow();
+        MovementArchiveState state = archiveStateRepository.findById(MovementArchiveState.SINGLETON_ID).orElseThrow();
+        long batch = state.getLastBatch() + 1;
+        try (Connection connection = openArchive();
+             Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO movements (batch, id, date, type, warehouse_id, target_warehouse_id,"
+                    + " archived_at) VALUES (" + batch + ", " + transfer.getId() + ", '2024-02-10 09:00:00', 'TRANSFER', "
+                    + mainWarehouse.getId() + ", " + reserveWarehouse.getId() + ", '2024-06-01 00:00:00')");
+            statement.execute("INSERT INTO products_movement (batch, id, movement_id, product_id, quantity) VALUES ("
+                    + batch + ", " + transfer.getItems().get(0).getId() + ", " + transfer.getId() + ", "
+                    + product.getId() + ", 12)");
+        }
+        state.setPendingCutoff(LocalDateTime.of(2024, 6, 1, 0, 0));
+        archiveStateRepository.save(state);
+
+        assertThat(stockAt(token, LocalDate.of(2024, 2, 15))).containsExactlyInAnyOrderEntriesOf(Map.of(
+                mainWarehouse.getId(), 18L,
+                reserveWarehouse.getId(), 12L));
+        assertThat(stockReport(token, LocalDate.of(2024, 2, 15)))
+                .contains("Архивный товар18").contains("Архивный товар12");
+        MvcResult listed = mockMvc.perform(get("/movements/archive")
+                        .header("Authorization", "Bearer " + token)
+                        .param("from", "2024-02-01T00:00:00")
+                        .param("to", "2024-02-28T23:59:59"))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(objectMapper.readTree(listed.getResponse().getContentAsString()))
+                .extracting(movement -> movement.get("id").asLong())
+                .doesNotContain(transfer.getId());
+
+        MvcResult archived = mockMvc.perform(post("/movements/archive")
+                        .header("Authorization", "Bearer " + token)
+                        .param("before", "2023-01-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andReturn();
+        JsonNode result = objectMapper.readTree(archived.getResponse().getContentAsString());
+        assertThat(result.get("archivedMovements").asLong()).isEqualTo(3);
+        assertThat(LocalDateTime.parse(result.get("cutoff").asText())).isEqualTo(LocalDateTime.of(2024, 6, 1, 0, 0));
+        assertThat(archiveStateRepository.findById(MovementArchiveState.SINGLETON_ID).orElseThrow().getPendingCutoff())
+                .isNull();
+
+        assertThat(stockAt(token, LocalDate.of(2024, 2, 15))).containsExactlyInAnyOrderEntriesOf(Map.of(
+                mainWarehouse.getId(), 18L,
+                reserveWarehouse.getId(), 12L));
+        assertThat(stockReport(token, LocalDate.of(2025, 2, 1)))
+                .contains("Архивный товар20").contains("Архивный товар12");
+    }
+
+    @Test
+    @DisplayName("Новое движение с id архивного не затирает архив и учитывается вместе с ним")
+    void reusedIdKeepsArchivedMovement() throws Exception {
+        String token = obtainToken();
+        MvcResult archived = mockMvc.perform(post("/movements/archive")
+                        .header("Authorization", "Bearer " + token)
+                        .param("before", "2025-06-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(objectMapper.readTree(archived.getResponse().getContentAsString())
+                .get("archivedMovements").asLong()).isEqualTo(4);
+        assertThat(movementRepository.count()).isZero();
+
+        Movement late = saveMovement(MovementType.INBOUND, reserveWarehouse, null, 4, LocalDateTime.of(2024, 1, 20, 9, 0));
+        assertThat(archivedIds(token)).hasSize(4).contains(late.getId());
+        assertThat(stockAt(token, LocalDate.of(2024, 2, 15))).containsExactlyInAnyOrderEntriesOf(Map.of(
+                mainWarehouse.getId(), 18L,
+                reserveWarehouse.getId(), 16L));
+        assertThat(stockReport(token, LocalDate.of(2024, 2, 15)))
+                .contains("Архивный товар18").contains("Архивный товар16");
+
+        archived = mockMvc.perform(post("/movements/archive")
+                        .header("Authorization", "Bearer " + token)
+                        .param("before", "2025-06-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(objectMapper.readTree(archived.getResponse().getContentAsString())
+                .get("archivedMovements").asLong()).isEqualTo(1);
+        assertThat(archivedIds(token)).hasSize(5);
+        assertThat(stockAt(token, LocalDate.of(2025, 2, 1))).containsExactlyInAnyOrderEntriesOf(Map.of(
+                mainWarehouse.getId(), 20L,
+                reserveWarehouse.getId(), 16L));
+        assertThat(stockReport(token, LocalDate.of(2025, 2, 1)))
+                .contains("Архивный товар20").contains("Архивный товар16");
+    }
+
+    @Test
+    @DisplayName("Дата архивации в будущем отклоняется")
+    void archiveRejectsFutureCutoff() throws Exception {
+        mockMvc.perform(post("/movements/archive")
+                        .header("Authorization", "Bearer " + obtainToken())
+                        .param("before", LocalDateTime.now().plusDays(1).withNano(0).toString()))
+                .andExpect(status().isBadRequest());
+        assertThat(movementRepository.count()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Остатки на дату требуют дату и не больше 50 товаров")
+    void stockAtValidatesRequest() throws Exception {
+        String token = obtainToken();
+        mockMvc.perform(get("/products/stock-at")
+                        .header("Authorization", "Bearer " + token)
+                        .param("productIds", product.getId().toString()))
+                .andExpect(status().isBadRequest());
+        String tooMany = LongStream.rangeClosed(1, 51)
+                .mapToObj(Long::toString)
+                .collect(Collectors.joining(","));
+        mockMvc.perform(get("/products/stock-at")
+                        .header("Authorization", "Bearer " + token)
+                        .param("productIds", tooMany)
+                        .param("date", "2024-02-15"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Остатки на дату следуют за созданием, изменением и удалением операций задним числом")
+    void stockAtFollowsMovementWrites() throws Exception {
+        String token = obtainToken();
+        Movement late = saveMovement(MovementType.INBOUND, reserveWarehouse, null, 4, LocalDateTime.of(2024, 1, 20, 9, 0));
+        assertThat(stockAt(token, LocalDate.of(2024, 2, 15))).containsExactlyInAnyOrderEntriesOf(Map.of(
+                mainWarehouse.getId(), 18L,
+                reserveWarehouse.getId(), 16L));
+
+        Movement transfer = movementRepository.findAll().stream()
+                .filter(movement -> movement.getType() == MovementType.TRANSFER)
+                .findFirst()
+                .orElseThrow();
+        movementService.updateMovement(transfer.getId(), movement(MovementType.TRANSFER, mainWarehouse,
+                reserveWarehouse, 10, LocalDateTime.of(2024, 2, 20, 9, 0)));
+        assertThat(stockAt(token, LocalDate.of(2024, 2, 15))).containsExactlyInAnyOrderEntriesOf(Map.of(
+                mainWarehouse.getId(), 30L,
+                reserveWarehouse.getId(), 4L));
+        assertThat(stockAt(token, LocalDate.of(2024, 2, 20))).containsExactlyInAnyOrderEntriesOf(Map.of(
+                mainWarehouse.getId(), 20L,
+                reserveWarehouse.getId(), 14L));
+        assertThat(stockAt(token, LocalDate.of(2024, 2, 20), reserveWarehouse.getId())).containsExactlyEntriesOf(Map.of(
+                reserveWarehouse.getId(), 14L));
+
+        Movement outbound = movementRepository.findAll().stream()
+                .filter(movement -> movement.getType() == MovementType.OUTBOUND)
+                .findFirst()
+                .orElseThrow();
+        movementService.deleteMovement(outbound.getId());
+        movementService.deleteMovement(late.getId());
+        assertThat(stockAt(token, LocalDate.of(2024, 2, 15))).containsExactlyEntriesOf(Map.of(
+                mainWarehouse.getId(), 30L));
+        assertThat(stockAt(token, LocalDate.of(2025, 2, 1))).containsExactlyInAnyOrderEntriesOf(Map.of(
+                mainWarehouse.getId(), 27L,
+                reserveWarehouse.getId(), 10L));
+    }
+
+    private Movement saveMovement(MovementType type, Warehouse warehouse, Warehouse targetWarehouse,
+                                  int quantity, LocalDateTime date) {
+        return movementService.createMovement(movement(type, warehouse, targetWarehouse, quantity, date));
+    }
+
+    private Movement movement(MovementType type, Warehouse warehouse, Warehouse targetWarehouse,
+                              int quantity, LocalDateTime date) {
+        Movement movement = new Movement();
+        movement.setDate(date);
+        movement.setType(type);
+        movement.setWarehouse(warehouse);
+        movement.setTargetWarehouse(targetWarehouse);
+        movement.setEmployee(employee);
+        if (type != MovementType.TRANSFER) {
+            movement.setCounterparty(counterparty);
+        } else {
+            movement.setTargetEmployee(employee);
+        }
+        movement.setItems(new ArrayList<>());
+        movement.getItems().add(new MovementProduct(movement, product, quantity));
+        return movement;
+    }
+
+    private List<Long> archivedIds(String token) throws Exception {
+        MvcResult result = mockMvc.perform(get("/movements/archive")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn();
+        List<Long> ids = new ArrayList<>();
+        objectMapper.readTree(result.getResponse().getContentAsString())
+                .forEach(movement -> ids.add(movement.get("id").asLong()));
+        return ids;
+    }
+
+    private Connection openArchive() throws SQLException {
+        return DriverManager.getConnection("jdbc:sqlite:" + archiveProperties.getPath().toAbsolutePath());
+    }
+
+    private Map<Long, Long> stockAt(String token, LocalDate date, Long... warehouseIds) throws Exception {
+        MockHttpServletRequestBuilder request = get("/products/stock-at")
+                .header("Authorization", "Bearer " + token)
+                .param("productIds", product.getId().toString())
+                .param("date", date.toString());
+        for (Long warehouseId : warehouseIds) {
+            request.param("warehouseIds", warehouseId.toString());
+        }
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn();
+        Map<Long, Long> quantities = new HashMap<>();
+        objectMapper.readTree(result.getResponse().getContentAsString())
+                .forEach(stock -> quantities.put(stock.get("warehouseId").asLong(), stock.get("quantity").asLong()));
+        return quantities;
+    }
+
+    private String stockReport(String token, LocalDate date) throws Exception {
+        StockReportRequest request = new StockReportRequest();
+        request.setReportDate(date);
+        MvcResult result = mockMvc.perform(post("/reports/stock")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request)))
+                .andExpect(status().isOk())
+                .andReturn();
+        try (PdfReader reader = new PdfReader(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            PdfTextExtractor extractor = new PdfTextExtractor(reader);
+            StringBuilder builder = new StringBuilder();
+            for (int page = 1; page <= reader.getNumberOfPages(); page++) {
+                builder.append(extractor.getTextFromPage(page));
+            }
+            return builder.toString().lines().map(String::strip).collect(Collectors.joining("\n"));
+        }
+    }
+
+    private String obtainToken() throws Exception {
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername(USERNAME);
+        loginRequest.setPassword(PASSWORD);
+
+        MvcResult response = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        return objectMapper.readTree(response.getResponse().getContentAsString()).get("token").asText();
+    }
+}
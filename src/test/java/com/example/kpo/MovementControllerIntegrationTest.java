@@ -138,6 +138,42 @@ class MovementControllerIntegrationTest {
                 )));
     }
 
+    @Test
+    @DisplayName("GET /movements?view=normalized ссылается на справочники по id и перечисляет каждый один раз")
+    void getNormalizedMovementsSideLoadsReferences() throws Exception {
+        Movement inbound = createMovementEntity(MovementType.INBOUND, "приход",
+                sourceWarehouse, null, employee, null, counterparty, product, 5);
+        createMovementEntity(MovementType.TRANSFER, "перемещение",
+                sourceWarehouse, targetWarehouse, employee, targetEmployee, null, product, 2);
+
+        mockMvc.perform(get("/movements")
+                        .param("view", "normalized")
+                        .header("Authorization", "Bearer " + obtainToken()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(2)))
+                .andExpect(jsonPath("$.data[*].warehouseId", containsInAnyOrder(
+                        sourceWarehouse.getId().intValue(), sourceWarehouse.getId().intValue())))
+                .andExpect(jsonPath("$.data[*].items[0].productId", containsInAnyOrder(
+                        product.getId().intValue(), product.getId().intValue())))
+                .andExpect(jsonPath("$.included.warehouses", hasSize(2)))
+                .andExpect(jsonPath("$.included.employees", hasSize(2)))
+                .andExpect(jsonPath("$.included.counterparties", hasSize(1)))
+                .andExpect(jsonPath("$.included.products", hasSize(1)))
+                .andExpect(jsonPath("$.included.products[0].categoryId", is(productCategory.getId().intValue())))
+                .andExpect(jsonPath("$.included.categories[0].name", is("Перемещение")));
+
+        mockMvc.perform(get("/movements")
+                        .param("view", "normalized")
+                        .param("type", "INBOUND")
+                        .header("Authorization", "Bearer " + obtainToken()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(1)))
+                .andExpect(jsonPath("$.data[0].id", is(inbound.getId().intValue())))
+                .andExpect(jsonPath("$.data[0].targetWarehouseId").doesNotExist())
+                .andExpect(jsonPath("$.included.warehouses", hasSize(1)))
+                .andExpect(jsonPath("$.included.employees", hasSize(1)));
+    }
+
     @Test
     @DisplayName("GET /movements/{id} возвращает операцию по идентификатору")
     void getMovementByIdReturnsEntity() throws Exception {
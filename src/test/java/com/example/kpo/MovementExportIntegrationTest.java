@@ -0,0 +1,217 @@
+package com.example.kpo;
+
+import com.example.kpo.dto.LoginRequest;
+import com.example.kpo.entity.Admin;
+import com.example.kpo.entity.Category;
+import com.example.kpo.entity.Counterparty;
+import com.example.kpo.entity.Employee;
+import com.example.kpo.entity.Movement;
+import com.example.kpo.entity.MovementProduct;
+import com.example.kpo.entity.MovementType;
+import com.example.kpo.entity.Product;
+import com.example.kpo.entity.Warehouse;
+import com.example.kpo.repository.AdminRepository;
+import com.example.kpo.repository.CategoryRepository;
+import com.example.kpo.repository.CounterpartyRepository;
+import com.example.kpo.repository.EmployeeRepository;
+import com.example.kpo.repository.MovementRepository;
+import com.example.kpo.repository.ProductRepository;
+import com.example.kpo.repository.WarehouseProductRepository;
+import com.example.kpo.repository.WarehouseRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The export is read with a tiny fetch size and clears the persistence context
+ * every few movements, so that both paths are exercised on a small history.
+ */
+@SpringBootTest(properties = {
+        "kpo.export.fetch-size=2",
+        "kpo.export.clear-interval=3"
+})
+@AutoConfigureMockMvc
+class MovementExportIntegrationTest {
+
+    private static final String USERNAME = "EXPORT_TEST";
+    private static final String PASSWORD = "password";
+    private static final int MOVEMENTS = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MovementRepository movementRepository;
+
+    @Autowired
+    private WarehouseProductRepository warehouseProductRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CounterpartyRepository counterpartyRepository;
+
+    private final List<Long> movementIds = new ArrayList<>();
+    private String token;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        if (adminRepository.findByUsername(USERNAME).isEmpty()) {
+            adminRepository.save(new Admin(null, USERNAME, passwordEncoder.encode(PASSWORD)));
+        }
+        Warehouse warehouse = warehouseRepository.save(new Warehouse(null, "Склад", "адрес"));
+        Employee employee = employeeRepository.save(new Employee(null, "Иван", "+79000000001", "кладовщик"));
+        Counterparty counterparty = counterpartyRepository.save(
+                new Counterparty(null, "ООО Поставщик", "+79001234567", "поставщик"));
+        Category category = categoryRepository.save(new Category(null, "Категория"));
+        List<Product> products = new ArrayList<>();
+        for (int index = 1; index <= 3; index++) {
+            Product product = new Product(null, "Товар " + index, "описание");
+            product.setCategory(category);
+            products.add(productRepository.save(product));
+        }
+        for (int index = 0; index < MOVEMENTS; index++) {
+            Movement movement = new Movement();
+            movement.setDate(LocalDateTime.now().minusDays(1));
+            movement.setType(MovementType.INBOUND);
+            movement.setInfo("приход " + index);
+            movement.setWarehouse(warehouse);
+            movement.setEmployee(employee);
+            movement.setCounterparty(counterparty);
+            for (Product product : products) {
+                MovementProduct item = new MovementProduct();
+                item.setMovement(movement);
+                item.setProduct(product);
+                item.setQuantity(index + 1);
+                movement.getItems().add(item);
+            }
+            movementIds.add(movementRepository.save(movement).getId());
+        }
+        token = obtainToken();
+    }
+
+    @AfterEach
+    void tearDown() {
+        movementRepository.deleteAll();
+        warehouseProductRepository.deleteAll();
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        employeeRepository.deleteAll();
+        counterpartyRepository.deleteAll();
+        warehouseRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("GET /movements/export отдаёт по одной операции с позициями на строку в порядке id")
+    void exportsMovementsAsNdjson() throws Exception {
+        MvcResult result = mockMvc.perform(get("/movements/export")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        endsWith(".ndjson")))
+                .andReturn();
+
+        String body = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertThat(body).endsWith("\n");
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(MOVEMENTS);
+        List<Long> exportedIds = new ArrayList<>();
+        for (int index = 0; index < lines.length; index++) {
+            JsonNode movement = objectMapper.readTree(lines[index]);
+            exportedIds.add(movement.get("id").asLong());
+            assertThat(movement.get("info").asText()).isEqualTo("приход " + index);
+            assertThat(movement.get("items")).hasSize(3);
+            assertThat(movement.get("items").get(0).get("quantity").asInt()).isEqualTo(index + 1);
+            assertThat(movement.get("items").get(0).get("product").get("category").get("name").asText())
+                    .isEqualTo("Категория");
+            assertThat(movement.get("warehouse").get("name").asText()).isEqualTo("Склад");
+        }
+        assertThat(exportedIds).containsExactlyElementsOf(movementIds);
+    }
+
+    @Test
+    @DisplayName("GET /movements/export?format=JSON отдаёт массив в формате GET /movements")
+    void exportsMovementsAsJsonArray() throws Exception {
+        MvcResult exported = mockMvc.perform(get("/movements/export")
+                        .param("format", "JSON")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn();
+        MvcResult listed = mockMvc.perform(get("/movements")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode exportedMovements = objectMapper.readTree(exported.getResponse().getContentAsByteArray());
+        JsonNode listedMovements = objectMapper.readTree(listed.getResponse().getContentAsByteArray());
+        assertThat(exportedMovements).hasSize(MOVEMENTS);
+        for (JsonNode movement : exportedMovements) {
+            JsonNode same = null;
+            for (JsonNode candidate : listedMovements) {
+                if (candidate.get("id").equals(movement.get("id"))) {
+                    same = candidate;
+                }
+            }
+            assertThat(movement).isEqualTo(same);
+        }
+    }
+
+    private String obtainToken() throws Exception {
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername(USERNAME);
+        loginRequest.setPassword(PASSWORD);
+
+        MvcResult response = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        return objectMapper.readTree(response.getResponse().getContentAsString()).get("token").asText();
+    }
+}
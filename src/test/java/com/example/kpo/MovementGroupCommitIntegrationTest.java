@@ -0,0 +1,249 @@
+package com.example.kpo;
+
+import com.example.kpo.entity.Category;
+import com.example.kpo.entity.Counterparty;
+import com.example.kpo.entity.Employee;
+import com.example.kpo.entity.Movement;
+import com.example.kpo.entity.MovementProduct;
+import com.example.kpo.entity.MovementType;
+import com.example.kpo.entity.Product;
+import com.example.kpo.entity.Warehouse;
+import com.example.kpo.entity.WarehouseProduct;
+import com.example.kpo.repository.CategoryRepository;
+import com.example.kpo.repository.CounterpartyRepository;
+import com.example.kpo.repository.EmployeeRepository;
+import com.example.kpo.repository.MovementRepository;
+import com.example.kpo.repository.ProductRepository;
+import com.example.kpo.repository.WarehouseProductRepository;
+import com.example.kpo.repository.WarehouseRepository;
+import com.example.kpo.service.MovementService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "kpo.movements.group-commit.enabled=true",
+        "kpo.movements.group-commit.max-wait=50ms"
+})
+class MovementGroupCommitIntegrationTest {
+
+    private static final int CALLERS = 20;
+
+    @Autowired
+    private MovementService movementService;
+
+    @Autowired
+    private MovementRepository movementRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CounterpartyRepository counterpartyRepository;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private WarehouseProductRepository warehouseProductRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Product product;
+    private Employee employee;
+    private Counterparty counterparty;
+    private Warehouse warehouse;
+
+    @BeforeEach
+    void setUp() {
+        movementRepository.deleteAll();
+        warehouseProductRepository.deleteAll();
+        productRepository.deleteAll();
+        employeeRepository.deleteAll();
+        counterpartyRepository.deleteAll();
+        warehouseRepository.deleteAll();
+        categoryRepository.deleteAll();
+
+        warehouse = warehouseRepository.save(new Warehouse(null, "Склад", "основной"));
+        employee = employeeRepository.save(new Employee(null, "Иван", "+79000000001", null));
+        counterparty = counterpartyRepository.save(new Counterparty(null, "ООО Поставщик", "+79001234567", null));
+        Category category = categoryRepository.save(new Category(null, "Категория"));
+        product = new Product(null, "Товар", null);
+        product.setCategory(category);
+        product = productRepository.save(product);
+    }
+
+    @AfterEach
+    void tearDown() {
+        movementRepository.deleteAll();
+        warehouseProductRepository.deleteAll();
+        productRepository.deleteAll();
+        employeeRepository.deleteAll();
+        counterpartyRepository.deleteAll();
+        warehouseRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Параллельные поступления фиксируются и каждый вызывающий получает свою операцию")
+    void concurrentInboundMovementsAreCommitted() throws Exception {
+        List<Movement> created = runConcurrently(caller -> movementService.createMovement(
+                movement(MovementType.INBOUND, caller + 1)));
+
+        assertThat(created).hasSize(CALLERS);
+        assertThat(created).allSatisfy(movement -> assertThat(movement.getId()).isNotNull());
+        assertThat(created).extracting(movement -> movement.getItems().get(0).getQuantity())
+                .containsExactlyInAnyOrderElementsOf(expectedQuantities());
+        assertThat(movementRepository.count()).isEqualTo(CALLERS);
+        assertThat(stockQuantity()).isEqualTo(CALLERS * (CALLERS + 1) / 2);
+    }
+
+    @Test
+    @DisplayName("Ошибка одной операции в пакете не откатывает остальные")
+    void failingCommandIsReportedOnlyToItsCaller() throws Exception {
+        movementService.createMovement(movement(MovementType.INBOUND, 100));
+        double decreasedBefore = decreasedQuantity();
+
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Movement>> results = new ArrayList<>();
+        try {
+            for (int caller = 0; caller < CALLERS; caller++) {
+                int quantity = caller % 2 == 0 ? 1 : 1000;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return movementService.createMovement(movement(MovementType.OUTBOUND, quantity));
+                }));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            for (Future<Movement> result : results) {
+                try {
+                    result.get();
+                    succeeded++;
+                } catch (ExecutionException failure) {
+                    assertThat(failure.getCause())
+                            .isInstanceOf(IllegalArgumentException.class)
+                            .hasMessageContaining("Not enough product");
+                }
+            }
+            assertThat(succeeded).isEqualTo(CALLERS / 2);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(movementRepository.count()).isEqualTo(1 + CALLERS / 2);
+        assertThat(stockQuantity()).isEqualTo(100 - CALLERS / 2);
+        // replayed commands are only counted once they commit
+        assertThat(decreasedQuantity() - decreasedBefore).isEqualTo(CALLERS / 2);
+    }
+
+    private double decreasedQuantity() {
+        return meterRegistry.get("kpo.stock.adjusted.quantity").tag("direction", "decrease").counter().count();
+    }
+
+    @Test
+    @DisplayName("Операция внутри транзакции вызывающего выполняется в ней и откатывается вместе с ней")
+    void commandJoinsCallerTransaction() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            movementService.createMovement(movement(MovementType.INBOUND, 5));
+            status.setRollbackOnly();
+        });
+
+        assertThat(movementRepository.count()).isZero();
+        assertThat(warehouseProductRepository.findAll()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Ошибка валидации возвращается вызывающему в исходном виде")
+    void validationErrorIsRethrownToCaller() {
+        assertThatThrownBy(() -> movementService.createMovement(movement(MovementType.INBOUND, 0)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("quantity must be greater than 0");
+    }
+
+    private List<Movement> runConcurrently(CallerTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Movement>> futures = new ArrayList<>();
+            for (int caller = 0; caller < CALLERS; caller++) {
+                int index = caller;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.run(index);
+                }));
+            }
+            start.countDown();
+            List<Movement> results = new ArrayList<>();
+            for (Future<Movement> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<Integer> expectedQuantities() {
+        List<Integer> quantities = new ArrayList<>();
+        for (int quantity = 1; quantity <= CALLERS; quantity++) {
+            quantities.add(quantity);
+        }
+        return quantities;
+    }
+
+    private int stockQuantity() {
+        return warehouseProductRepository.findByWarehouseAndProduct(warehouse, product)
+                .map(WarehouseProduct::getQuantity)
+                .orElse(0);
+    }
+
+    private Movement movement(MovementType type, int quantity) {
+        Movement movement = new Movement();
+        movement.setDate(LocalDateTime.of(2025, 1, 1, 10, 0));
+        movement.setType(type);
+        movement.setEmployee(new Employee(employee.getId(), null, null, null));
+        movement.setCounterparty(new Counterparty(counterparty.getId(), null, null, null));
+        movement.setWarehouse(new Warehouse(warehouse.getId(), null, null));
+        MovementProduct item = new MovementProduct();
+        item.setProduct(new Product(product.getId(), null, null));
+        item.setQuantity(quantity);
+        movement.setItems(new ArrayList<>(List.of(item)));
+        return movement;
+    }
+
+    @FunctionalInterface
+    private interface CallerTask {
+        Movement run(int caller) throws Exception;
+    }
+}
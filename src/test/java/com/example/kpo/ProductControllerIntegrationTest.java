@@ -267,6 +267,44 @@ class ProductControllerIntegrationTest {
                 .andExpect(jsonPath("$.error", is("Product is used in movements or stock and cannot be deleted")));
     }
 
+    @Test
+    @DisplayName("GET /products/search находит товар по началу слова после создания и переименования")
+    void searchFindsCreatedAndRenamedProducts() throws Exception {
+        String token = obtainToken();
+        Product payload = new Product(null, "Термокружка дорожная", null);
+        payload.setCategory(refCategory(defaultCategory));
+        String created = mockMvc.perform(post("/products")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(payload)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(created).get("id").asLong();
+
+        mockMvc.perform(get("/products/search").param("q", "ДОРОЖ")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is((int) id)))
+                .andExpect(jsonPath("$[0].name", is("Термокружка дорожная")));
+
+        payload.setName("Термос походный");
+        mockMvc.perform(put("/products/{id}", id)
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(payload)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/products/search").param("q", "дорож")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(get("/products/search").param("q", "термос пох").param("limit", "5")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(jsonPath("$[*].name", containsInAnyOrder("Термос походный")));
+        mockMvc.perform(get("/products/search").param("q", "термос").param("limit", "0")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
     private Category refCategory(Category category) {
         Category ref = new Category();
         ref.setId(category.getId());
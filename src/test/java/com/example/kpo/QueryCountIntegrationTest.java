@@ -0,0 +1,350 @@
+package com.example.kpo;
+
+import com.example.kpo.dto.LoginRequest;
+import com.example.kpo.dto.StockReportRequest;
+import com.example.kpo.entity.Admin;
+import com.example.kpo.entity.Category;
+import com.example.kpo.entity.Counterparty;
+import com.example.kpo.entity.Employee;
+import com.example.kpo.entity.Movement;
+import com.example.kpo.entity.MovementProduct;
+import com.example.kpo.entity.MovementType;
+import com.example.kpo.entity.Product;
+import com.example.kpo.entity.Warehouse;
+import com.example.kpo.entity.WarehouseProduct;
+import com.example.kpo.repository.AdminRepository;
+import com.example.kpo.repository.CategoryRepository;
+import com.example.kpo.repository.CounterpartyRepository;
+import com.example.kpo.repository.EmployeeRepository;
+import com.example.kpo.repository.MovementRepository;
+import com.example.kpo.repository.ProductRepository;
+import com.example.kpo.repository.WarehouseProductRepository;
+import com.example.kpo.repository.WarehouseRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Upper bounds on the SQL statements of the key endpoints, so that an N+1 query
+ * introduced by a mapping or serialization change fails the build.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class QueryCountIntegrationTest {
+
+    private static final String USERNAME = "QUERY_COUNT_TEST";
+    private static final String PASSWORD = "password";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MovementRepository movementRepository;
+
+    @Autowired
+    private WarehouseProductRepository warehouseProductRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CounterpartyRepository counterpartyRepository;
+
+    private Warehouse warehouse;
+    private Employee employee;
+    private Counterparty counterparty;
+    private Category category;
+    private String token;
+    private StatementCounter statements;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        statements = new StatementCounter(meterRegistry);
+        if (adminRepository.findByUsername(USERNAME).isEmpty()) {
+            adminRepository.save(new Admin(null, USERNAME, passwordEncoder.encode(PASSWORD)));
+        }
+        warehouse = warehouseRepository.save(new Warehouse(null, "Склад", "адрес"));
+        employee = employeeRepository.save(new Employee(null, "Иван", "+79000000001", "кладовщик"));
+        counterparty = counterpartyRepository.save(new Counterparty(null, "ООО Поставщик", "+79001234567", "поставщик"));
+        category = categoryRepository.save(new Category(null, "Категория"));
+        token = obtainToken();
+    }
+
+    @AfterEach
+    void tearDown() {
+        movementRepository.deleteAll();
+        warehouseProductRepository.deleteAll();
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        employeeRepository.deleteAll();
+        counterpartyRepository.deleteAll();
+        warehouseRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Создание и изменение операции на 100 позиций укладывается в лимит запросов")
+    void createAndUpdateMovementWithHundredItems() throws Exception {
+        List<Product> products = createProducts(100);
+        long[] movementId = new long[1];
+
+        int createStatements = statements.count("POST", "/movements", () -> {
+            MvcResult created = mockMvc.perform(post("/movements")
+                            .header("Authorization", "Bearer " + token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsBytes(movementPayload(products, 5))))
+                    .andExpect(status().isCreated())
+                    .andReturn();
+            movementId[0] = objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asLong();
+            return created;
+        });
+        int updateStatements = statements.count("PUT", "/movements/{id}", () ->
+                mockMvc.perform(put("/movements/{id}", movementId[0])
+                                .header("Authorization", "Bearer " + token)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsBytes(movementPayload(products, 8))))
+                        .andExpect(status().isOk()));
+
+        // per item: stock row lookup, stock row write and item insert, plus two stock history batches
+        assertThat(createStatements).isLessThanOrEqualTo(3 * products.size() + 12);
+        // per item: the old item is deleted, the new one inserted and the stock row read and written
+        assertThat(updateStatements).isLessThanOrEqualTo(4 * products.size() + 10);
+    }
+
+    @Test
+    @DisplayName("Список из 50 операций загружается без запроса на каждую строку")
+    void listFiftyMovements() throws Exception {
+        List<Product> products = createProducts(3);
+        for (int index = 0; index < 50; index++) {
+            saveInbound(products, 2);
+        }
+
+        int listStatements = statements.count("GET", "/movements", () ->
+                mockMvc.perform(get("/movements").header("Authorization", "Bearer " + token))
+                        .andExpect(status().isOk()));
+
+        // the admin lookup of the JWT filter and a single query for movements with their relations
+        assertThat(listStatements).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Нормализованный список операций загружается тем же одним запросом")
+    void listFiftyMovementsNormalized() throws Exception {
+        List<Product> products = createProducts(3);
+        for (int index = 0; index < 50; index++) {
+            saveInbound(products, 2);
+        }
+
+        int listStatements = statements.count("GET", "/movements", () ->
+                mockMvc.perform(get("/movements").param("view", "normalized")
+                                .header("Authorization", "Bearer " + token))
+                        .andExpect(status().isOk()));
+
+        assertThat(listStatements).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Выгрузка истории операций читается одним курсором")
+    void exportFiftyMovements() throws Exception {
+        List<Product> products = createProducts(3);
+        for (int index = 0; index < 50; index++) {
+            saveInbound(products, 2);
+        }
+
+        int exportStatements = statements.count("GET", "/movements/export", () ->
+                mockMvc.perform(get("/movements/export").header("Authorization", "Bearer " + token))
+                        .andExpect(status().isOk()));
+
+        assertThat(exportStatements).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Остатки склада загружаются без запроса на каждый товар")
+    void listWarehouseStock() throws Exception {
+        List<Product> products = createProducts(100);
+        products.forEach(product -> warehouseProductRepository.save(new WarehouseProduct(warehouse, product, 3)));
+
+        int stockStatements = statements.count("GET", "/warehouses/{id}/products", () ->
+                mockMvc.perform(get("/warehouses/{id}/products", warehouse.getId())
+                                .header("Authorization", "Bearer " + token))
+                        .andExpect(status().isOk()));
+
+        // admin, warehouse and the stock rows with their products
+        assertThat(stockStatements).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Итоги остатков по категориям склада читаются без обхода остатков")
+    void warehouseStockTotals() throws Exception {
+        mockMvc.perform(post("/movements")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(movementPayload(createProducts(100), 3))))
+                .andExpect(status().isCreated());
+
+        int totalStatements = statements.count("GET", "/warehouses/{id}/stock-totals", () ->
+                mockMvc.perform(get("/warehouses/{id}/stock-totals", warehouse.getId())
+                                .header("Authorization", "Bearer " + token))
+                        .andExpect(status().isOk()));
+
+        // admin, warehouse and the totals
+        assertThat(totalStatements).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Показатели панели читаются из памяти, запросы только за именами")
+    void dashboardKpis() throws Exception {
+        for (int index = 0; index < 20; index++) {
+            mockMvc.perform(post("/movements")
+                            .header("Authorization", "Bearer " + token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsBytes(movementPayload(createProducts(10), 2))))
+                    .andExpect(status().isCreated());
+        }
+
+        int kpiStatements = statements.count("GET", "/dashboard/kpis", () ->
+                mockMvc.perform(get("/dashboard/kpis")
+                                .header("Authorization", "Bearer " + token))
+                        .andExpect(status().isOk()));
+
+        // admin and the names of the ranked products, warehouses and counterparties
+        assertThat(kpiStatements).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Остатки товаров на дату читаются одним запросом по истории товаров")
+    void productStockAtDate() throws Exception {
+        List<Product> products = createProducts(10);
+        for (int index = 0; index < 20; index++) {
+            saveInbound(products, 2);
+        }
+
+        int stockStatements = statements.count("GET", "/products/stock-at", () ->
+                mockMvc.perform(get("/products/stock-at")
+                                .header("Authorization", "Bearer " + token)
+                                .param("productIds", products.get(0).getId() + "," + products.get(1).getId())
+                                .param("date", LocalDate.now().toString()))
+                        .andExpect(status().isOk()));
+
+        // admin, archive state and the stock history rows
+        assertThat(stockStatements).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Отчёт на 1000 строк строится за постоянное число запросов")
+    void stockReportWithThousandRows() throws Exception {
+        List<Product> products = createProducts(1000);
+        for (int from = 0; from < products.size(); from += 100) {
+            saveInbound(products.subList(from, from + 100), 4);
+        }
+        StockReportRequest request = new StockReportRequest();
+        request.setReportDate(LocalDate.now());
+
+        int reportStatements = statements.count("POST", "/reports/stock", () ->
+                mockMvc.perform(post("/reports/stock")
+                                .header("Authorization", "Bearer " + token)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsBytes(request)))
+                        .andExpect(status().isOk()));
+
+        // a fixed number of queries: admin, archive state and the movements with their items
+        assertThat(reportStatements).isLessThanOrEqualTo(6);
+    }
+
+    private List<Product> createProducts(int count) {
+        List<Product> products = new ArrayList<>();
+        for (int index = 0; index < count; index++) {
+            Product product = new Product(null, "Товар " + index, "описание");
+            product.setCategory(category);
+            products.add(product);
+        }
+        return productRepository.saveAll(products);
+    }
+
+    private void saveInbound(List<Product> products, int quantity) {
+        Movement movement = new Movement();
+        movement.setDate(LocalDateTime.now().minusDays(1));
+        movement.setType(MovementType.INBOUND);
+        movement.setWarehouse(warehouse);
+        movement.setEmployee(employee);
+        movement.setCounterparty(counterparty);
+        for (Product product : products) {
+            MovementProduct item = new MovementProduct();
+            item.setMovement(movement);
+            item.setProduct(product);
+            item.setQuantity(quantity);
+            movement.getItems().add(item);
+        }
+        movementRepository.save(movement);
+    }
+
+    private Map<String, Object> movementPayload(List<Product> products, int quantity) {
+        return Map.of(
+                "date", LocalDateTime.now().withNano(0).toString(),
+                "type", "INBOUND",
+                "warehouse", Map.of("id", warehouse.getId()),
+                "employee", Map.of("id", employee.getId()),
+                "counterparty", Map.of("id", counterparty.getId()),
+                "items", products.stream()
+                        .map(product -> Map.of("product", Map.of("id", product.getId()), "quantity", quantity))
+                        .toList());
+    }
+
+    private String obtainToken() throws Exception {
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername(USERNAME);
+        loginRequest.setPassword(PASSWORD);
+
+        MvcResult response = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        return objectMapper.readTree(response.getResponse().getContentAsString()).get("token").asText();
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.kpo;
+
+import com.example.kpo.dto.LoginRequest;
+import com.example.kpo.entity.Admin;
+import com.example.kpo.entity.Category;
+import com.example.kpo.entity.Product;
+import com.example.kpo.entity.Warehouse;
+import com.example.kpo.repository.AdminRepository;
+import com.example.kpo.repository.CategoryRepository;
+import com.example.kpo.repository.CounterpartyRepository;
+import com.example.kpo.repository.EmployeeRepository;
+import com.example.kpo.repository.ProductRepository;
+import com.example.kpo.repository.WarehouseRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class ReferenceDataControllerIntegrationTest {
+
+    private static final String USERNAME = "REFERENCE_DATA_TEST";
+    private static final String PASSWORD = "password";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CounterpartyRepository counterpartyRepository;
+
+    private String token;
+    private Category category;
+    private Product product;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        if (adminRepository.findByUsername(USERNAME).isEmpty()) {
+            adminRepository.save(new Admin(null, USERNAME, passwordEncoder.encode(PASSWORD)));
+        }
+        warehouseRepository.save(new Warehouse(null, "Основной склад", "адрес"));
+        category = categoryRepository.save(new Category(null, "Справочная"));
+        product = new Product(null, "Товар", "описание");
+        product.setCategory(category);
+        product = productRepository.save(product);
+        token = obtainToken();
+        // the rows above bypass the services, so a write through the API refreshes the snapshot
+        mockMvc.perform(post("/employees")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(Map.of(
+                                "name", "Иван", "phone", "+79000000001", "info", "кладовщик"))))
+                .andExpect(status().isCreated());
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        warehouseRepository.deleteAll();
+        employeeRepository.deleteAll();
+        counterpartyRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("GET /reference-data возвращает все справочники одним ответом")
+    void returnsAllReferenceListsAtOnce() throws Exception {
+        mockMvc.perform(get("/reference-data").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.warehouses[*].name", hasItem("Основной склад")))
+                .andExpect(jsonPath("$.employees[*].name", hasItem("Иван")))
+                .andExpect(jsonPath("$.counterparties").isArray())
+                .andExpect(jsonPath("$.categories[*].name", hasItem("Справочная")))
+                .andExpect(jsonPath("$.products[0].id").value(product.getId()))
+                .andExpect(jsonPath("$.products[0].categoryId").value(category.getId()))
+                .andExpect(jsonPath("$.products[0].category").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Повторная загрузка справочников обслуживается из снимка, а If-None-Match даёт 304")
+    void repeatedBootstrapIsServedFromSnapshot() throws Exception {
+        StatementCounter counter = new StatementCounter(meterRegistry);
+        String eTag = mockMvc.perform(get("/reference-data").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // only the administrator lookup of the JWT filter remains
+        int statements = counter.count("GET", "/reference-data", () -> mockMvc.perform(get("/reference-data")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk()));
+        assertThat(statements).isLessThanOrEqualTo(1);
+        mockMvc.perform(get("/reference-data")
+                        .header("Authorization", "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(post("/warehouses")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(Map.of("name", "Новый склад", "info", "адрес"))))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/reference-data")
+                        .header("Authorization", "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.warehouses[*].name", hasItem("Новый склад")));
+    }
+
+    private String obtainToken() throws Exception {
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername(USERNAME);
+        loginRequest.setPassword(PASSWORD);
+
+        MvcResult response = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        return objectMapper.readTree(response.getResponse().getContentAsString()).get("token").asText();
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.kpo;
+
+import com.example.kpo.entity.Category;
+import com.example.kpo.entity.MovementType;
+import com.example.kpo.entity.Product;
+import com.example.kpo.entity.Warehouse;
+import com.example.kpo.repository.AdminRepository;
+import com.example.kpo.repository.CategoryRepository;
+import com.example.kpo.repository.MovementProductRepository;
+import com.example.kpo.repository.MovementRepository;
+import com.example.kpo.repository.ProductRepository;
+import com.example.kpo.repository.StockHistoryRepository;
+import com.example.kpo.repository.WarehouseProductRepository;
+import com.example.kpo.repository.WarehouseRepository;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the hot repository queries against a migrated SQLite file, captures the SQL
+ * Hibernate sends and checks with EXPLAIN QUERY PLAN that no table or index is scanned in full.
+ * Queries that read a whole table by design (findAll, the undated report) are not listed.
+ */
+@SpringBootTest
+class RepositoryQueryPlanIntegrationTest {
+
+    private static final Pattern FULL_SCAN = Pattern.compile("^SCAN (?!CONSTANT ROW).*");
+
+    private static final List<String> capturedSql = new CopyOnWriteArrayList<>();
+
+    @DynamicPropertySource
+    static void sqliteDatabase(DynamicPropertyRegistry registry) throws IOException {
+        Path file = Files.createTempDirectory("kpo-query-plan").resolve("kpo.db");
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + file.toAbsolutePath());
+        registry.add("spring.datasource.driver-class-name", () -> "org.sqlite.JDBC");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.community.dialect.SQLiteDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MovementRepository movementRepository;
+
+    @Autowired
+    private MovementProductRepository movementProductRepository;
+
+    @Autowired
+    private StockHistoryRepository stockHistoryRepository;
+
+    @Autowired
+    private WarehouseProductRepository warehouseProductRepository;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    private Warehouse warehouse;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        warehouse = warehouseRepository.save(new Warehouse(null, "Склад", null));
+        Category category = categoryRepository.save(new Category(null, "Категория"));
+        product = new Product(null, "Товар", null);
+        product.setCategory(category);
+        product = productRepository.save(product);
+    }
+
+    @Test
+    @DisplayName("Поиск остатка по складу и товару использует индекс")
+    void findByWarehouseAndProductUsesIndex() throws SQLException {
+        assertNoFullScan(() -> warehouseProductRepository.findByWarehouseAndProduct(warehouse, product));
+    }
+
+    @Test
+    @DisplayName("Остатки склада читаются по индексу")
+    void findByWarehouseUsesIndex() throws SQLException {
+        assertNoFullScan(() -> warehouseProductRepository.findByWarehouse(warehouse));
+    }
+
+    @Test
+    @DisplayName("Проверка наличия остатков товара использует индекс")
+    void stockExistsByProductIdUsesIndex() throws SQLException {
+        assertNoFullScan(() -> warehouseProductRepository.existsByProductId(product.getId()));
+    }
+
+    @Test
+    @DisplayName("Проверка использования товара в движениях использует индекс")
+    void movementItemExistsByProductIdUsesIndex() throws SQLException {
+        assertNoFullScan(() -> movementProductRepository.existsByProductId(product.getId()));
+    }
+
+    @Test
+    @DisplayName("Остатки товара на дату читаются по индексу истории товара")
+    void productHistoryUsesIndex() throws SQLException {
+        assertNoFullScan(() -> movementProductRepository.sumByProductUntil(List.of(product.getId()),
+                LocalDateTime.of(2025, 3, 15, 23, 59)));
+        assertNoFullScan(() -> stockHistoryRepository.findStockAtWarehouses(List.of(product.getId()),
+                LocalDate.of(2025, 3, 15).toEpochDay(), List.of(warehouse.getId())));
+    }
+
+    @Test
+    @DisplayName("Фильтр движений по типу использует индекс")
+    void findByTypeUsesIndex() throws SQLException {
+        assertNoFullScan(() -> movementRepository.findByType(MovementType.INBOUND));
+    }
+
+    @Test
+    @DisplayName("Отчёт на дату читает движения по индексу даты")
+    void reportUntilDateUsesIndex() throws SQLException {
+        assertNoFullScan(() -> movementRepository.findAllForReport(LocalDateTime.of(2025, 3, 15, 23, 59)));
+    }
+
+    @Test
+    @DisplayName("Поиск администратора по логину использует индекс")
+    void findByUsernameUsesIndex() throws SQLException {
+        assertNoFullScan(() -> adminRepository.findByUsername("ADMIN"));
+    }
+
+    @Test
+    @DisplayName("Импорт CSV ищет существующие записи по индексу естественного ключа")
+    void importLookupsUseIndexes() throws SQLException {
+        // the per-batch lookups of CatalogImportService, which go through JDBC rather than Hibernate
+        for (String lookup : List.of(
+                "SELECT id, name FROM categories WHERE name IN (?, ?) ORDER BY id DESC",
+                "SELECT id, name FROM products WHERE name IN (?, ?) ORDER BY id DESC",
+                "SELECT id, name FROM counterparties WHERE name IN (?, ?) ORDER BY id DESC",
+                "SELECT id, phone FROM employees WHERE phone IN (?, ?) ORDER BY id DESC")) {
+            assertThat(explain(lookup))
+                    .as("query plan of %s", lookup)
+                    .noneMatch(step -> FULL_SCAN.matcher(step).matches());
+        }
+    }
+
+    private void assertNoFullScan(Runnable query) throws SQLException {
+        capturedSql.clear();
+        query.run();
+        List<String> statements = capturedSql.stream()
+                .filter(sql -> sql.regionMatches(true, 0, "select", 0, 6))
+                .toList();
+        assertThat(statements).isNotEmpty();
+        for (String sql : statements) {
+            List<String> plan = explain(sql);
+            assertThat(plan)
+                    .as("query plan of %s", sql)
+                    .noneMatch(step -> FULL_SCAN.matcher(step).matches());
+        }
+    }
+
+    private List<String> explain(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN QUERY PLAN " + sql)) {
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int index = 1; index <= parameters; index++) {
+                statement.setObject(index, 1);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                List<String> plan = new ArrayList<>();
+                while (resultSet.next()) {
+                    plan.add(resultSet.getString("detail"));
+                }
+                return plan;
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class SqlCaptureConfiguration {
+
+        @Bean
+        HibernatePropertiesCustomizer sqlCaptureCustomizer() {
+            StatementInspector inspector = sql -> {
+                capturedSql.add(sql);
+                return sql;
+            };
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.kpo;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Counts the JDBC statements of a MockMvc request from the
+ * {@code kpo.http.request.statements} summary that the statement monitor records
+ * when a request ends. Unlike the response header, the count includes the
+ * statements issued while the body is written, where lazy loading during JSON
+ * serialization would show up. The context needs
+ * {@code @AutoConfigureObservability} so that meters are recorded.
+ */
+final class StatementCounter {
+
+    private static final String SUMMARY = "kpo.http.request.statements";
+
+    private final MeterRegistry meterRegistry;
+
+    StatementCounter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs the request and returns the statements recorded for its handler
+     * pattern, e.g. {@code /movements/{id}}, while it ran.
+     */
+    int count(String method, String uriPattern, Callable<?> request) throws Exception {
+        double before = total(method, uriPattern);
+        request.call();
+        return (int) (total(method, uriPattern) - before);
+    }
+
+    private double total(String method, String uriPattern) {
+        DistributionSummary summary = meterRegistry.find(SUMMARY)
+                .tag("method", method)
+                .tag("uri", uriPattern)
+                .summary();
+        return summary != null ? summary.totalAmount() : 0;
+    }
+}
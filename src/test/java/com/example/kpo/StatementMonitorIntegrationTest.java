@@ -0,0 +1,100 @@
+package com.example.kpo;
+
+import com.example.kpo.config.StatementCountFilter;
+import com.example.kpo.dto.LoginRequest;
+import com.example.kpo.entity.Admin;
+import com.example.kpo.repository.AdminRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "kpo.jdbc.monitor.response-header=true",
+        "kpo.jdbc.monitor.slow-threshold=0ms",
+        "management.endpoints.web.exposure.include=metrics"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class StatementMonitorIntegrationTest {
+
+    private static final String USERNAME = "MONITOR_TEST";
+    private static final String PASSWORD = "password";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        if (adminRepository.findByUsername(USERNAME).isEmpty()) {
+            adminRepository.save(new Admin(null, USERNAME, passwordEncoder.encode(PASSWORD)));
+        }
+    }
+
+    @Test
+    @DisplayName("Количество SQL-запросов попадает в заголовок ответа и в метрики")
+    void statementsAreCountedPerRequest() throws Exception {
+        String token = obtainToken();
+
+        MvcResult result = mockMvc.perform(get("/warehouses").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // the JWT filter loads the admin, the controller lists the warehouses
+        assertThat(Integer.parseInt(result.getResponse().getHeader(StatementCountFilter.COUNT_HEADER)))
+                .isGreaterThanOrEqualTo(2);
+        assertThat(result.getResponse().getHeader(StatementCountFilter.TIME_HEADER)).isNotNull();
+        assertThat(meterRegistry.get("kpo.http.request.statements")
+                .tag("method", "GET").tag("uri", "/warehouses")
+                .summary().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("kpo.jdbc.statements.slow").counter().count()).isPositive();
+
+        MvcResult metrics = mockMvc.perform(get("/actuator/metrics/kpo.jdbc.statements")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn();
+        JsonNode measurements = objectMapper.readTree(metrics.getResponse().getContentAsString()).get("measurements");
+        assertThat(measurements.get(0).get("value").asDouble()).isPositive();
+    }
+
+    private String obtainToken() throws Exception {
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername(USERNAME);
+        loginRequest.setPassword(PASSWORD);
+
+        MvcResult response = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        return objectMapper.readTree(response.getResponse().getContentAsString()).get("token").asText();
+    }
+}
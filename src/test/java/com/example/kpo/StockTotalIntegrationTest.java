@@ -0,0 +1,314 @@
+package com.example.kpo;
+
+import com.example.kpo.dto.LoginRequest;
+import com.example.kpo.entity.Admin;
+import com.example.kpo.entity.Category;
+import com.example.kpo.entity.Counterparty;
+import com.example.kpo.entity.Employee;
+import com.example.kpo.entity.Movement;
+import com.example.kpo.entity.MovementProduct;
+import com.example.kpo.entity.MovementType;
+import com.example.kpo.entity.Product;
+import com.example.kpo.entity.Warehouse;
+import com.example.kpo.repository.AdminRepository;
+import com.example.kpo.repository.CategoryRepository;
+import com.example.kpo.repository.CounterpartyRepository;
+import com.example.kpo.repository.EmployeeRepository;
+import com.example.kpo.repository.MovementRepository;
+import com.example.kpo.repository.ProductRepository;
+import com.example.kpo.repository.StockTotalRepository;
+import com.example.kpo.repository.WarehouseProductRepository;
+import com.example.kpo.repository.WarehouseRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class StockTotalIntegrationTest {
+
+    private static final String USERNAME = "STOCK_TOTAL_TEST";
+    private static final String PASSWORD = "password";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MovementRepository movementRepository;
+
+    @Autowired
+    private WarehouseProductRepository warehouseProductRepository;
+
+    @Autowired
+    private StockTotalRepository stockTotalRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CounterpartyRepository counterpartyRepository;
+
+    private Warehouse first;
+    private Warehouse second;
+    private Employee employee;
+    private Counterparty counterparty;
+    private Category tools;
+    private Category paint;
+    private Product hammer;
+    private Product saw;
+    private Product enamel;
+    private String token;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        if (adminRepository.findByUsername(USERNAME).isEmpty()) {
+            adminRepository.save(new Admin(null, USERNAME, passwordEncoder.encode(PASSWORD)));
+        }
+        first = warehouseRepository.save(new Warehouse(null, "Склад 1", "адрес"));
+        second = warehouseRepository.save(new Warehouse(null, "Склад 2", "адрес"));
+        employee = employeeRepository.save(new Employee(null, "Иван", "+79000000001", "кладовщик"));
+        counterparty = counterpartyRepository.save(new Counterparty(null, "ООО Поставщик", "+79001234567", "поставщик"));
+        tools = categoryRepository.save(new Category(null, "Инструменты"));
+        paint = categoryRepository.save(new Category(null, "Краски"));
+        hammer = saveProduct("Молоток", tools);
+        saw = saveProduct("Пила", tools);
+        enamel = saveProduct("Эмаль", paint);
+        token = obtainToken();
+    }
+
+    @AfterEach
+    void tearDown() {
+        movementRepository.deleteAll();
+        warehouseProductRepository.deleteAll();
+        stockTotalRepository.deleteAll();
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        employeeRepository.deleteAll();
+        counterpartyRepository.deleteAll();
+        warehouseRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Итоги по складам и категориям совпадают с суммой остатков после любых операций")
+    void totalsFollowEveryStockChange() throws Exception {
+        Long inbound = createMovement(movement(MovementType.INBOUND, first, null,
+                Map.of(hammer, 5, saw, 3, enamel, 4)));
+        assertTotalsMatchStock();
+        assertThat(warehouseCategoryTotals(first)).containsExactlyInAnyOrderEntriesOf(Map.of(
+                tools.getId(), 8L, paint.getId(), 4L));
+
+        createMovement(movement(MovementType.TRANSFER, first, second, Map.of(hammer, 2)));
+        assertTotalsMatchStock();
+
+        Long outbound = createMovement(movement(MovementType.OUTBOUND, first, null, Map.of(enamel, 4)));
+        assertTotalsMatchStock();
+        assertThat(warehouseCategoryTotals(first)).containsExactlyEntriesOf(Map.of(tools.getId(), 6L));
+
+        mockMvc.perform(delete("/movements/{id}", outbound)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+        assertTotalsMatchStock();
+
+        mockMvc.perform(put("/movements/{id}", inbound)
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(movement(MovementType.INBOUND, first, null,
+                                Map.of(hammer, 7, saw, 1, enamel, 6)))))
+                .andExpect(status().isOk());
+        assertTotalsMatchStock();
+        assertThat(warehouseCategoryTotals(first)).containsExactlyInAnyOrderEntriesOf(Map.of(
+                tools.getId(), 6L, paint.getId(), 6L));
+    }
+
+    @Test
+    @DisplayName("Смена категории товара переносит его остатки между итогами категорий")
+    void categoryChangeMovesStockBetweenTotals() throws Exception {
+        createMovement(movement(MovementType.INBOUND, first, null, Map.of(hammer, 5, enamel, 2)));
+        createMovement(movement(MovementType.INBOUND, second, null, Map.of(hammer, 1)));
+        Product payload = new Product(null, hammer.getName(), hammer.getInfo());
+        Category reference = new Category();
+        reference.setId(paint.getId());
+        payload.setCategory(reference);
+
+        mockMvc.perform(put("/products/{id}", hammer.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(payload)))
+                .andExpect(status().isOk());
+
+        assertTotalsMatchStock();
+        assertThat(warehouseCategoryTotals(first)).containsExactlyEntriesOf(Map.of(paint.getId(), 7L));
+        assertThat(totals("/categories/stock-totals", "categoryId")).containsEntry(paint.getId(), 8L)
+                .doesNotContainKey(tools.getId());
+    }
+
+    @Test
+    @DisplayName("GET /warehouses/{id}/stock-totals возвращает 404 для неизвестного склада")
+    void unknownWarehouseIsNotFound() throws Exception {
+        mockMvc.perform(get("/warehouses/{id}/stock-totals", 987654)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Compares every endpoint with the same grouping computed from the stock rows.
+     */
+    private void assertTotalsMatchStock() throws Exception {
+        Map<Long, Map<Long, Long>> byWarehouseAndCategory = new HashMap<>();
+        Map<Long, Long> byWarehouse = new HashMap<>();
+        Map<Long, Long> byCategory = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT wp.warehouse_id, p.category_id, SUM(wp.quantity)
+                FROM warehouse_products wp
+                JOIN products p ON p.id = wp.product_id
+                WHERE wp.quantity > 0 AND wp.warehouse_id IN (?, ?)
+                GROUP BY wp.warehouse_id, p.category_id
+                """, resultSet -> {
+            long warehouseId = resultSet.getLong(1);
+            long categoryId = resultSet.getLong(2);
+            long quantity = resultSet.getLong(3);
+            byWarehouseAndCategory.computeIfAbsent(warehouseId, id -> new HashMap<>()).put(categoryId, quantity);
+            byWarehouse.merge(warehouseId, quantity, Long::sum);
+            byCategory.merge(categoryId, quantity, Long::sum);
+        }, first.getId(), second.getId());
+
+        for (Warehouse warehouse : List.of(first, second)) {
+            assertThat(warehouseCategoryTotals(warehouse))
+                    .isEqualTo(byWarehouseAndCategory.getOrDefault(warehouse.getId(), Map.of()));
+        }
+        // other tests share the database, so only this test's warehouses and categories are compared
+        Map<Long, Long> warehouseTotals = totals("/warehouses/stock-totals", "warehouseId");
+        warehouseTotals.keySet().retainAll(List.of(first.getId(), second.getId()));
+        assertThat(warehouseTotals).isEqualTo(byWarehouse);
+        Map<Long, Long> categoryTotals = totals("/categories/stock-totals", "categoryId");
+        categoryTotals.keySet().retainAll(List.of(tools.getId(), paint.getId()));
+        assertThat(categoryTotals).isEqualTo(byCategory);
+    }
+
+    private Map<Long, Long> warehouseCategoryTotals(Warehouse warehouse) throws Exception {
+        return totals("/warehouses/" + warehouse.getId() + "/stock-totals", "categoryId");
+    }
+
+    private Map<Long, Long> totals(String path, String keyField) throws Exception {
+        MvcResult result = mockMvc.perform(get(path)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn();
+        Map<Long, Long> totals = new HashMap<>();
+        for (JsonNode total : objectMapper.readTree(result.getResponse().getContentAsByteArray())) {
+            totals.put(total.get(keyField).asLong(), total.get("quantity").asLong());
+        }
+        return totals;
+    }
+
+    private Product saveProduct(String name, Category category) {
+        Product product = new Product(null, name, "описание");
+        product.setCategory(category);
+        return productRepository.save(product);
+    }
+
+    private Movement movement(MovementType type, Warehouse warehouse, Warehouse targetWarehouse,
+                              Map<Product, Integer> quantities) {
+        Movement movement = new Movement();
+        movement.setDate(LocalDateTime.now());
+        movement.setType(type);
+        movement.setWarehouse(reference(warehouse));
+        movement.setEmployee(reference(employee));
+        if (targetWarehouse != null) {
+            movement.setTargetWarehouse(reference(targetWarehouse));
+            movement.setTargetEmployee(reference(employee));
+        } else {
+            Counterparty reference = new Counterparty();
+            reference.setId(counterparty.getId());
+            movement.setCounterparty(reference);
+        }
+        quantities.forEach((product, quantity) -> {
+            Product reference = new Product();
+            reference.setId(product.getId());
+            MovementProduct item = new MovementProduct();
+            item.setProduct(reference);
+            item.setQuantity(quantity);
+            movement.getItems().add(item);
+        });
+        return movement;
+    }
+
+    private static Warehouse reference(Warehouse warehouse) {
+        Warehouse reference = new Warehouse();
+        reference.setId(warehouse.getId());
+        return reference;
+    }
+
+    private static Employee reference(Employee employee) {
+        Employee reference = new Employee();
+        reference.setId(employee.getId());
+        return reference;
+    }
+
+    private Long createMovement(Movement payload) throws Exception {
+        MvcResult result = mockMvc.perform(post("/movements")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(payload)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    private String obtainToken() throws Exception {
+        LoginRequest request = new LoginRequest();
+        request.setUsername(USERNAME);
+        request.setPassword(PASSWORD);
+
+        MvcResult result = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("token").asText();
+    }
+}
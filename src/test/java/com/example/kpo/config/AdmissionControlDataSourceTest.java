@@ -0,0 +1,97 @@
+package com.example.kpo.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AdmissionControlDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Тысяча виртуальных потоков получают соединения не больше разрешённого числа одновременно")
+    void boundsConcurrentConnections() throws Exception {
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger maxInside = new AtomicInteger();
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> {
+            maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+            Connection connection = mock(Connection.class);
+            doAnswer(close -> inside.decrementAndGet()).when(connection).close();
+            return connection;
+        });
+        AdmissionControlDataSource dataSource = admissionControl(target, 2, Duration.ofSeconds(30));
+
+        List<Future<?>> tasks = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int task = 0; task < 1000; task++) {
+                tasks.add(executor.submit(() -> {
+                    try (Connection connection = dataSource.getConnection()) {
+                        Thread.sleep(1);
+                    }
+                    return null;
+                }));
+            }
+        }
+        for (Future<?> task : tasks) {
+            task.get();
+        }
+
+        assertThat(maxInside.get()).isLessThanOrEqualTo(2);
+        assertThat(meterRegistry.get("kpo.db.admission.wait").tag("pool", "test").timer().count()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("Повторное закрытие соединения не освобождает лишнее разрешение")
+    void releasesPermitOncePerConnection() throws SQLException {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        AdmissionControlDataSource dataSource = admissionControl(target, 1, Duration.ofMillis(50));
+
+        Connection first = dataSource.getConnection();
+        first.close();
+        first.close();
+        Connection second = dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("no connection admitted");
+        second.close();
+        dataSource.getConnection().close();
+    }
+
+    @Test
+    @DisplayName("Ошибка пула возвращает разрешение")
+    void releasesPermitWhenPoolFails() throws SQLException {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection())
+                .thenThrow(new SQLTransientConnectionException("pool timeout"))
+                .thenAnswer(invocation -> mock(Connection.class));
+        AdmissionControlDataSource dataSource = admissionControl(target, 1, Duration.ofMillis(50));
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool timeout");
+        dataSource.getConnection().close();
+    }
+
+    private AdmissionControlDataSource admissionControl(DataSource target, int permits, Duration timeout) {
+        return new AdmissionControlDataSource(target, "test", permits, timeout, meterRegistry);
+    }
+}
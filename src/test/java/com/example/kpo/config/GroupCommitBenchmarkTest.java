@@ -0,0 +1,128 @@
+package com.example.kpo.config;
+
+import com.example.kpo.entity.Category;
+import com.example.kpo.entity.Counterparty;
+import com.example.kpo.entity.Employee;
+import com.example.kpo.entity.Movement;
+import com.example.kpo.entity.MovementProduct;
+import com.example.kpo.entity.MovementType;
+import com.example.kpo.entity.Product;
+import com.example.kpo.entity.Warehouse;
+import com.example.kpo.repository.CategoryRepository;
+import com.example.kpo.repository.CounterpartyRepository;
+import com.example.kpo.repository.EmployeeRepository;
+import com.example.kpo.repository.ProductRepository;
+import com.example.kpo.repository.WarehouseRepository;
+import com.example.kpo.service.MovementService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures sustained createMovement throughput on a SQLite file with and without
+ * the group-commit writer. Run with {@code ./mvnw -Pbenchmark test}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:sqlite:target/group-commit-benchmark.db",
+        "spring.datasource.driver-class-name=org.sqlite.JDBC",
+        "spring.jpa.database-platform=org.hibernate.community.dialect.SQLiteDialect",
+        "spring.jpa.hibernate.ddl-auto=none"
+})
+class GroupCommitBenchmarkTest {
+
+    private static final int CALLERS = 64;
+    private static final int MOVEMENTS_PER_CALLER = 30;
+
+    @Autowired
+    private MovementService movementService;
+
+    @Autowired
+    private GroupCommitProperties groupCommitProperties;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CounterpartyRepository counterpartyRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    @DisplayName("Групповая фиксация увеличивает пропускную способность записи движений")
+    void compareSingleTransactionsWithGroupCommit() throws Exception {
+        Warehouse warehouse = warehouseRepository.save(new Warehouse(null, "Склад", null));
+        Employee employee = employeeRepository.save(new Employee(null, "Иван", "+79000000001", null));
+        Counterparty counterparty = counterpartyRepository.save(new Counterparty(null, "Поставщик", "+7900", null));
+        Category category = categoryRepository.save(new Category(null, "Категория"));
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Product product = new Product(null, "Товар " + i, null);
+            product.setCategory(category);
+            products.add(productRepository.save(product));
+        }
+
+        groupCommitProperties.setEnabled(false);
+        double single = measure(warehouse, employee, counterparty, products);
+        groupCommitProperties.setEnabled(true);
+        double grouped = measure(warehouse, employee, counterparty, products);
+
+        System.out.printf("transaction per movement : %8.1f movements/s%n", single);
+        System.out.printf("group commit             : %8.1f movements/s%n", grouped);
+        System.out.printf("speed-up                 : %.2fx%n", grouped / single);
+        assertThat(grouped).isPositive();
+    }
+
+    private double measure(Warehouse warehouse, Employee employee, Counterparty counterparty,
+                           List<Product> products) throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long startedAt = System.nanoTime();
+            List<Future<?>> callers = new ArrayList<>();
+            for (int caller = 0; caller < CALLERS; caller++) {
+                Product product = products.get(caller % products.size());
+                callers.add(executor.submit(() -> {
+                    for (int i = 0; i < MOVEMENTS_PER_CALLER; i++) {
+                        movementService.createMovement(inbound(warehouse, employee, counterparty, product));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> caller : callers) {
+                caller.get();
+            }
+            return CALLERS * MOVEMENTS_PER_CALLER / ((System.nanoTime() - startedAt) / 1_000_000_000.0);
+        }
+    }
+
+    private Movement inbound(Warehouse warehouse, Employee employee, Counterparty counterparty, Product product) {
+        Movement movement = new Movement();
+        movement.setDate(LocalDateTime.of(2025, 1, 1, 10, 0));
+        movement.setType(MovementType.INBOUND);
+        movement.setEmployee(employee);
+        movement.setCounterparty(counterparty);
+        movement.setWarehouse(warehouse);
+        MovementProduct item = new MovementProduct();
+        item.setProduct(product);
+        item.setQuantity(1);
+        movement.setItems(new ArrayList<>(List.of(item)));
+        return movement;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.kpo.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sqlite.SQLiteDataSource;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SchemaMigratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private SQLiteDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:" + tempDir.resolve("kpo.db").toAbsolutePath());
+    }
+
+    @Test
+    @DisplayName("Пустая база получает полную схему и все версии миграций")
+    void migratesEmptyDatabase() throws SQLException {
+        new SchemaMigrator(dataSource).migrate();
+
+        assertThat(tables()).contains("admin", "warehouse", "categories", "counterparties", "employees",
+                "products", "movements", "products_movement", "warehouse_products", "schema_version");
+        assertThat(queryInts("SELECT version FROM schema_version ORDER BY version")).startsWith(1, 2, 3);
+        assertThat(indexes()).contains("ux_warehouse_products_warehouse_product", "ix_products_movement_movement");
+    }
+
+    @Test
+    @DisplayName("Устаревшая таблица products перестраивается без потери данных")
+    void rebuildsLegacyProductsTable() throws SQLException {
+        execute("CREATE TABLE categories (id integer, name varchar(255) not null, primary key (id))");
+        execute("""
+                CREATE TABLE products (id INTEGER PRIMARY KEY AUTOINCREMENT, name VARCHAR(255) NOT NULL,
+                    info VARCHAR(255), count INTEGER NOT NULL, warehouse_id BIGINT NOT NULL, category_id BIGINT)
+                """);
+        execute("INSERT INTO categories (id, name) VALUES (1, 'Категория')");
+        execute("INSERT INTO products (id, name, info, count, warehouse_id, category_id) VALUES (7, 'Товар', NULL, 3, 1, 1)");
+        execute("DELETE FROM products WHERE id = 7");
+        execute("INSERT INTO products (id, name, info, count, warehouse_id, category_id) VALUES (5, 'Товар', NULL, 3, 1, 1)");
+
+        new SchemaMigrator(dataSource).migrate();
+
+        assertThat(columns("products")).containsExactly("id", "name", "info", "category_id");
+        assertThat(queryInts("SELECT id FROM products")).containsExactly(5);
+        execute("INSERT INTO products (name, category_id) VALUES ('Новый', 1)");
+        assertThat(queryInts("SELECT MAX(id) FROM products")).containsExactly(8);
+    }
+
+    @Test
+    @DisplayName("Дубли остатков объединяются перед созданием уникального индекса")
+    void mergesDuplicateStockRows() throws SQLException {
+        execute("""
+                CREATE TABLE warehouse_products (id integer, quantity integer not null check (quantity>=0),
+                    product_id bigint not null, warehouse_id bigint not null, primary key (id))
+                """);
+        execute("INSERT INTO warehouse_products (id, quantity, product_id, warehouse_id) VALUES (1, 2, 10, 1)");
+        execute("INSERT INTO warehouse_products (id, quantity, product_id, warehouse_id) VALUES (2, 5, 10, 1)");
+        execute("INSERT INTO warehouse_products (id, quantity, product_id, warehouse_id) VALUES (3, 4, 11, 1)");
+
+        new SchemaMigrator(dataSource).migrate();
+
+        assertThat(queryInts("SELECT quantity FROM warehouse_products ORDER BY id")).containsExactly(7, 4);
+        assertThatThrownBy(() -> execute(
+                "INSERT INTO warehouse_products (quantity, product_id, warehouse_id) VALUES (1, 10, 1)"))
+                .isInstanceOf(SQLException.class);
+    }
+
+    @Test
+    @DisplayName("Повторный запуск на актуальной базе ничего не меняет")
+    void skipsCurrentDatabase() throws SQLException {
+        new SchemaMigrator(dataSource).migrate();
+        List<Integer> applied = queryInts("SELECT version FROM schema_version ORDER BY version");
+        execute("INSERT INTO categories (id, name) VALUES (1, 'Категория')");
+        execute("INSERT INTO products (name, category_id) VALUES ('Товар', 1)");
+
+        new SchemaMigrator(dataSource).migrate();
+
+        assertThat(queryInts("SELECT version FROM schema_version ORDER BY version")).isEqualTo(applied);
+        assertThat(queryInts("SELECT COUNT(*) FROM products")).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("Ошибка чтения версии схемы не принимается за пустую базу")
+    void failsOnUnreadableVersionTable() throws SQLException {
+        execute("CREATE TABLE schema_version (id integer primary key)");
+
+        assertThatThrownBy(() -> new SchemaMigrator(dataSource).migrate())
+                .isInstanceOf(IllegalStateException.class)
+                .hasRootCauseInstanceOf(SQLException.class);
+        assertThat(tables()).containsExactly("schema_version");
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private List<Integer> queryInts(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            List<Integer> values = new ArrayList<>();
+            while (resultSet.next()) {
+                values.add(resultSet.getInt(1));
+            }
+            return values;
+        }
+    }
+
+    private List<String> tables() throws SQLException {
+        return queryStrings("SELECT name FROM sqlite_master WHERE type = 'table'");
+    }
+
+    private List<String> indexes() throws SQLException {
+        return queryStrings("SELECT name FROM sqlite_master WHERE type = 'index'");
+    }
+
+    private List<String> columns(String table) throws SQLException {
+        return queryStrings("SELECT name FROM pragma_table_info('" + table + "') ORDER BY cid");
+    }
+
+    private List<String> queryStrings(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            List<String> values = new ArrayList<>();
+            while (resultSet.next()) {
+                values.add(resultSet.getString(1));
+            }
+            return values;
+        }
+    }
+}
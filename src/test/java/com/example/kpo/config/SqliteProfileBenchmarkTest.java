@@ -0,0 +1,183 @@
+package com.example.kpo.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares movement-shaped write throughput on a SQLite file opened with the driver
+ * defaults against the same workload opened with the {@link SqliteProperties} profile.
+ * Run with {@code ./mvnw -Pbenchmark test}.
+ */
+@Tag("benchmark")
+class SqliteProfileBenchmarkTest {
+
+    private static final int WRITERS = 4;
+    private static final int MOVEMENTS_PER_WRITER = 250;
+    private static final int ITEMS_PER_MOVEMENT = 5;
+    private static final int PRODUCTS = 200;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Профиль kpo.sqlite увеличивает пропускную способность записи движений")
+    void compareDriverDefaultsWithProfile() throws Exception {
+        Result defaults = run(tempDir.resolve("defaults.db"), new Properties());
+        Result tuned = run(tempDir.resolve("tuned.db"), new SqliteProperties().toDriverProperties());
+
+        System.out.printf("driver defaults : %8.1f movements/s, %8.1f reads/s, %d busy retries%n",
+                defaults.writesPerSecond(), defaults.readsPerSecond(), defaults.busyRetries());
+        System.out.printf("kpo.sqlite      : %8.1f movements/s, %8.1f reads/s, %d busy retries%n",
+                tuned.writesPerSecond(), tuned.readsPerSecond(), tuned.busyRetries());
+        System.out.printf("write speed-up  : %.2fx%n", tuned.writesPerSecond() / defaults.writesPerSecond());
+
+        assertThat(tuned.writesPerSecond()).isPositive();
+        assertThat(tuned.busyRetries()).isZero();
+    }
+
+    private Result run(Path file, Properties properties) throws Exception {
+        String url = "jdbc:sqlite:" + file.toAbsolutePath();
+        try (Connection connection = DriverManager.getConnection(url, properties);
+             Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    CREATE TABLE movements (id INTEGER PRIMARY KEY, date VARCHAR(19) NOT NULL,
+                        type VARCHAR(16) NOT NULL, warehouse_id BIGINT NOT NULL, employee_id BIGINT NOT NULL)
+                    """);
+            statement.execute("""
+                    CREATE TABLE products_movement (id INTEGER PRIMARY KEY, quantity INTEGER NOT NULL,
+                        movement_id BIGINT NOT NULL, product_id BIGINT NOT NULL)
+                    """);
+            statement.execute("""
+                    CREATE TABLE warehouse_products (id INTEGER PRIMARY KEY, quantity INTEGER NOT NULL,
+                        product_id BIGINT NOT NULL, warehouse_id BIGINT NOT NULL, UNIQUE (warehouse_id, product_id))
+                    """);
+        }
+
+        AtomicLong busyRetries = new AtomicLong();
+        AtomicLong reads = new AtomicLong();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS + 1);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int writer = 0; writer < WRITERS; writer++) {
+                long warehouseId = writer + 1L;
+                writers.add(executor.submit(() -> {
+                    try (Connection connection = DriverManager.getConnection(url, properties)) {
+                        start.await();
+                        for (int i = 0; i < MOVEMENTS_PER_WRITER; i++) {
+                            writeMovementWithRetry(connection, warehouseId, busyRetries);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            Future<?> reader = executor.submit(() -> {
+                try (Connection connection = DriverManager.getConnection(url, properties);
+                     PreparedStatement query = connection.prepareStatement(
+                             "SELECT SUM(quantity) FROM warehouse_products WHERE warehouse_id = ?")) {
+                    start.await();
+                    while (writing.get()) {
+                        query.setLong(1, ThreadLocalRandom.current().nextLong(1, WRITERS + 1));
+                        try (ResultSet resultSet = query.executeQuery()) {
+                            resultSet.next();
+                            reads.incrementAndGet();
+                        } catch (SQLException busy) {
+                            busyRetries.incrementAndGet();
+                        }
+                    }
+                }
+                return null;
+            });
+
+            long startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+            double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+            writing.set(false);
+            reader.get();
+            return new Result(WRITERS * MOVEMENTS_PER_WRITER / seconds, reads.get() / seconds, busyRetries.get());
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private void writeMovementWithRetry(Connection connection, long warehouseId, AtomicLong busyRetries)
+            throws SQLException {
+        while (true) {
+            try {
+                writeMovement(connection, warehouseId);
+                return;
+            } catch (SQLException exception) {
+                connection.rollback();
+                if (exception.getMessage() == null || !exception.getMessage().contains("SQLITE_BUSY")) {
+                    throw exception;
+                }
+                busyRetries.incrementAndGet();
+            }
+        }
+    }
+
+    private void writeMovement(Connection connection, long warehouseId) throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement movement = connection.prepareStatement(
+                "INSERT INTO movements (date, type, warehouse_id, employee_id) VALUES ('2025-01-01 10:00:00', 'INBOUND', ?, 1)",
+                Statement.RETURN_GENERATED_KEYS);
+             PreparedStatement item = connection.prepareStatement(
+                     "INSERT INTO products_movement (quantity, movement_id, product_id) VALUES (?, ?, ?)");
+             PreparedStatement stock = connection.prepareStatement("""
+                     INSERT INTO warehouse_products (quantity, product_id, warehouse_id) VALUES (?, ?, ?)
+                     ON CONFLICT (warehouse_id, product_id) DO UPDATE SET quantity = quantity + excluded.quantity
+                     """)) {
+            movement.setLong(1, warehouseId);
+            movement.executeUpdate();
+            long movementId;
+            try (ResultSet keys = movement.getGeneratedKeys()) {
+                keys.next();
+                movementId = keys.getLong(1);
+            }
+            for (int i = 0; i < ITEMS_PER_MOVEMENT; i++) {
+                long productId = ThreadLocalRandom.current().nextLong(1, PRODUCTS + 1);
+                int quantity = ThreadLocalRandom.current().nextInt(1, 20);
+                item.setInt(1, quantity);
+                item.setLong(2, movementId);
+                item.setLong(3, productId);
+                item.executeUpdate();
+                stock.setInt(1, quantity);
+                stock.setLong(2, productId);
+                stock.setLong(3, warehouseId);
+                stock.executeUpdate();
+            }
+            connection.commit();
+        }
+    }
+
+    private record Result(double writesPerSecond, double readsPerSecond, long busyRetries) {
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.kpo.service;
+
+import com.example.kpo.config.GeneratorProperties;
+import com.example.kpo.config.SchemaMigrator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sqlite.SQLiteDataSource;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DatasetGeneratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private SQLiteDataSource dataSource;
+    private GeneratorProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:" + tempDir.resolve("generated.db").toAbsolutePath());
+        new SchemaMigrator(dataSource).migrate();
+
+        properties = new GeneratorProperties();
+        properties.setCategories(3);
+        properties.setProducts(300);
+        properties.setWarehouses(5);
+        properties.setEmployees(3);
+        properties.setCounterparties(4);
+        properties.setMovements(3_000);
+        properties.setBatchSize(700);
+    }
+
+    @Test
+    @DisplayName("Сгенерированная история не уходит в минус и совпадает с остатками на складах")
+    void generatedHistoryMatchesStock() throws SQLException {
+        DatasetGenerator.Summary summary = new DatasetGenerator(dataSource, properties).generate();
+
+        assertThat(summary.movements()).isEqualTo(3_000);
+        assertThat(count("SELECT COUNT(*) FROM movements")).isEqualTo(3_000);
+        assertThat(count("SELECT COUNT(*) FROM products_movement")).isEqualTo(summary.lines());
+        assertThat(count("SELECT COUNT(DISTINCT type) FROM movements")).isEqualTo(3);
+
+        Map<String, Long> replayed = new HashMap<>();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("""
+                     SELECT m.type, m.warehouse_id, m.target_warehouse_id, pm.product_id, pm.quantity
+                     FROM movements m JOIN products_movement pm ON pm.movement_id = m.id
+                     ORDER BY m.date, m.id
+                     """)) {
+            while (resultSet.next()) {
+                String type = resultSet.getString(1);
+                String source = resultSet.getLong(2) + ":" + resultSet.getLong(4);
+                long quantity = resultSet.getLong(5);
+                if (type.equals("INBOUND")) {
+                    replayed.merge(source, quantity, Long::sum);
+                } else {
+                    assertThat(replayed.merge(source, -quantity, Long::sum)).isNotNegative();
+                    if (type.equals("TRANSFER")) {
+                        replayed.merge(resultSet.getLong(3) + ":" + resultSet.getLong(4), quantity, Long::sum);
+                    }
+                }
+            }
+        }
+        replayed.values().removeIf(quantity -> quantity == 0);
+
+        Map<String, Long> stock = new HashMap<>();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "SELECT warehouse_id, product_id, quantity FROM warehouse_products")) {
+            while (resultSet.next()) {
+                stock.put(resultSet.getLong(1) + ":" + resultSet.getLong(2), resultSet.getLong(3));
+            }
+        }
+        assertThat(stock).isEqualTo(replayed);
+
+        Map<String, Long> latest = new HashMap<>();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("""
+                     SELECT h.warehouse_id, h.product_id, h.quantity FROM stock_history h
+                     WHERE h.quantity <> 0 AND h.epoch_day = (SELECT MAX(d.epoch_day) FROM stock_history d
+                         WHERE d.product_id = h.product_id AND d.warehouse_id = h.warehouse_id)
+                     """)) {
+            while (resultSet.next()) {
+                latest.put(resultSet.getLong(1) + ":" + resultSet.getLong(2), resultSet.getLong(3));
+            }
+        }
+        assertThat(latest).isEqualTo(stock);
+    }
+
+    @Test
+    @DisplayName("Популярность товаров неравномерна")
+    void productPopularityIsSkewed() throws SQLException {
+        new DatasetGenerator(dataSource, properties).generate();
+
+        long lines = count("SELECT COUNT(*) FROM products_movement");
+        long topTenLines = count("""
+                SELECT COALESCE(SUM(lines), 0) FROM (
+                    SELECT COUNT(*) AS lines FROM products_movement
+                    GROUP BY product_id ORDER BY lines DESC LIMIT 10)
+                """);
+        // uniform popularity would give the top 10 of 300 products about 3% of the lines
+        assertThat(topTenLines).isGreaterThan(lines / 5);
+    }
+
+    @Test
+    @DisplayName("Генератор не пишет в непустую базу")
+    void refusesNonEmptyDatabase() {
+        new DatasetGenerator(dataSource, properties).generate();
+
+        assertThatThrownBy(() -> new DatasetGenerator(dataSource, properties).generate())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("not empty");
+    }
+
+    private long count(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
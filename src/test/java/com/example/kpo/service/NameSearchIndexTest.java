@@ -0,0 +1,72 @@
+package com.example.kpo.service;
+
+import com.example.kpo.dto.NameMatchResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NameSearchIndexTest {
+
+    @Test
+    @DisplayName("Поиск находит имена по началу любого слова без учёта регистра и буквы ё")
+    void matchesWordPrefixesIgnoringCase() {
+        NameSearchIndex index = new NameSearchIndex(() -> List.of(
+                new NameMatchResponse(1L, "Электрический чайник A-100"),
+                new NameMatchResponse(2L, "Чайный сервиз"),
+                new NameMatchResponse(3L, "Ёлочная гирлянда"),
+                new NameMatchResponse(4L, "Кофемашина")));
+
+        assertThat(names(index.search("ЧАЙ", 10))).containsExactly("Электрический чайник A-100", "Чайный сервиз");
+        assertThat(names(index.search("100", 10))).containsExactly("Электрический чайник A-100");
+        assertThat(names(index.search("елоч", 10))).containsExactly("Ёлочная гирлянда");
+        assertThat(names(index.search("чай эл", 10))).containsExactly("Электрический чайник A-100");
+        assertThat(index.search("ник", 10)).isEmpty();
+        assertThat(index.search("  ", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Поиск возвращает не больше limit совпадений и проверяет границы limit")
+    void limitsTheNumberOfMatches() {
+        List<NameMatchResponse> products = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            products.add(new NameMatchResponse(id, "Товар " + id));
+        }
+        NameSearchIndex index = new NameSearchIndex(() -> products);
+
+        assertThat(index.search("товар", 5)).hasSize(5);
+        assertThat(names(index.search("товар 12", 3))).containsExactly("Товар 12", "Товар 120", "Товар 121");
+        assertThatThrownBy(() -> index.search("товар", 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.search("товар", NameSearchIndex.MAX_LIMIT + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Индекс загружается один раз и дальше обновляется изменениями")
+    void loadsOnceAndAppliesChanges() {
+        AtomicInteger loads = new AtomicInteger();
+        NameSearchIndex index = new NameSearchIndex(() -> {
+            loads.incrementAndGet();
+            return List.of(new NameMatchResponse(1L, "Старое имя"));
+        });
+        index.put(2L, "Не попадёт до загрузки");
+
+        assertThat(names(index.search("старое", 10))).containsExactly("Старое имя");
+        index.put(1L, "Новое имя");
+        index.put(3L, "Новый товар");
+        index.remove(3L);
+
+        assertThat(index.search("старое", 10)).isEmpty();
+        assertThat(names(index.search("нов", 10))).containsExactly("Новое имя");
+        assertThat(loads).hasValue(1);
+    }
+
+    private static List<String> names(List<NameMatchResponse> matches) {
+        return matches.stream().map(NameMatchResponse::getName).toList();
+    }
+}
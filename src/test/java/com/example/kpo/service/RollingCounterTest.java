@@ -0,0 +1,47 @@
+package com.example.kpo.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RollingCounterTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2024, 3, 10, 12, 0);
+
+    @Test
+    @DisplayName("Сумма считается по корзинам окна, старые корзины выпадают при сдвиге времени")
+    void sumsBucketsInsideTheWindow() {
+        RollingCounter counter = new RollingCounter(Duration.ofDays(1), 7);
+        counter.add(NOON, 5, NOON);
+        counter.add(NOON.minusDays(1), 3, NOON);
+        counter.add(NOON.minusDays(6), 2, NOON);
+
+        assertThat(counter.sum(1, NOON)).isEqualTo(5);
+        assertThat(counter.sum(2, NOON)).isEqualTo(8);
+        assertThat(counter.sum(7, NOON)).isEqualTo(10);
+        assertThat(counter.series(NOON)).containsExactly(2, 0, 0, 0, 0, 3, 5);
+
+        LocalDateTime weekLater = NOON.plusDays(6);
+        assertThat(counter.sum(7, weekLater)).isEqualTo(5);
+        counter.add(weekLater, 1, weekLater);
+        assertThat(counter.series(weekLater)).containsExactly(5, 0, 0, 0, 0, 0, 1);
+        assertThat(counter.sum(7, NOON.plusDays(7))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Отрицательные добавления отменяют прежние, время вне окна не учитывается")
+    void takesBackAdditionsAndIgnoresTimesOutsideTheWindow() {
+        RollingCounter counter = new RollingCounter(Duration.ofMinutes(1), 60);
+        counter.add(NOON.minusSeconds(30), 4, NOON);
+        counter.add(NOON.minusSeconds(30), -4, NOON);
+        counter.add(NOON.minusMinutes(60), 7, NOON);
+        counter.add(NOON.plusMinutes(1), 9, NOON);
+
+        assertThat(counter.sum(60, NOON)).isZero();
+        assertThat(counter.sum(60, NOON.plusMinutes(1))).isZero();
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.kpo.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RollingTallyTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2024, 3, 10, 12, 0);
+
+    @Test
+    @DisplayName("Рейтинг считается по окну, упорядочен по убыванию, при равенстве по id, и теряет истёкшие корзины")
+    void ranksIdsOverTheWindow() {
+        RollingTally tally = new RollingTally(Duration.ofDays(1), 30);
+        tally.add(NOON, 1L, 10, NOON);
+        tally.add(NOON.minusDays(3), 2L, 6, NOON);
+        tally.add(NOON.minusDays(20), 2L, 6, NOON);
+        tally.add(NOON, 3L, 10, NOON);
+        tally.add(NOON, 4L, 5, NOON);
+        tally.add(NOON, 4L, -5, NOON);
+
+        assertThat(tally.top(3, NOON)).containsExactly(Map.entry(2L, 12L), Map.entry(1L, 10L),
+                Map.entry(3L, 10L));
+        assertThat(tally.top(5, NOON.plusDays(10))).containsExactly(Map.entry(1L, 10L),
+                Map.entry(3L, 10L), Map.entry(2L, 6L));
+        tally.add(NOON.plusDays(10), 2L, 5, NOON.plusDays(10));
+        assertThat(tally.top(1, NOON.plusDays(10))).containsExactly(Map.entry(2L, 11L));
+        assertThat(tally.top(5, NOON.plusDays(40))).isEmpty();
+    }
+}
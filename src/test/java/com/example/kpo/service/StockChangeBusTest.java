@@ -0,0 +1,92 @@
+package com.example.kpo.service;
+
+import com.example.kpo.config.StockStreamProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StockChangeBusTest {
+
+    private static final Duration NO_WAIT = Duration.ZERO;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Подписчик получает только изменения своего склада по порядку")
+    void deliversChangesOfTheSubscribedWarehouse() throws Exception {
+        StockChangeBus bus = new StockChangeBus(properties(16, 4), meterRegistry);
+        StockChangeBus.Subscription subscription = bus.subscribe(1L, null);
+
+        bus.publish(change(1L, 10L, 5, 5));
+        bus.publish(change(2L, 10L, 7, 7));
+        bus.publish(change(1L, 11L, -2, 3));
+
+        List<StockChangeBus.StockDelta> received = drain(subscription);
+        assertThat(received).extracting(delta -> delta.change().productId()).containsExactly(10L, 11L);
+        assertThat(received.get(0).id()).isGreaterThan(subscription.getStartId());
+        assertThat(received.get(1).id()).isGreaterThan(received.get(0).id());
+        assertThat(meterRegistry.get("kpo.stock.stream.subscribers").gauge().value()).isEqualTo(1);
+        subscription.close();
+        assertThat(meterRegistry.get("kpo.stock.stream.subscribers").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Переподключение с последним id досылает пропущенные изменения")
+    void resumesFromTheLastEventId() throws Exception {
+        StockChangeBus bus = new StockChangeBus(properties(16, 16), meterRegistry);
+        StockChangeBus.Subscription first = bus.subscribe(1L, null);
+        bus.publish(change(1L, 10L, 1, 1));
+        long lastSeen = drain(first).get(0).id();
+        first.close();
+
+        bus.publish(change(1L, 10L, 1, 2));
+        bus.publish(change(1L, 10L, 1, 3));
+        StockChangeBus.Subscription resumed = bus.subscribe(1L, lastSeen);
+
+        assertThat(resumed.isResetRequired()).isFalse();
+        assertThat(drain(resumed)).extracting(delta -> delta.change().quantity()).containsExactly(2, 3);
+    }
+
+    @Test
+    @DisplayName("Если изменения уже не хранятся или буфер переполнен, подписчику нужен сброс")
+    void requiresResetWhenChangesAreLost() {
+        StockChangeBus bus = new StockChangeBus(properties(2, 2), meterRegistry);
+        StockChangeBus.Subscription slow = bus.subscribe(1L, null);
+        long before = slow.getStartId();
+        for (int quantity = 1; quantity <= 3; quantity++) {
+            bus.publish(change(1L, 10L, 1, quantity));
+        }
+
+        assertThat(slow.isResetRequired()).isTrue();
+        assertThat(bus.subscribe(1L, before).isResetRequired()).isTrue();
+        assertThat(bus.subscribe(1L, before - 1_000_000).isResetRequired()).isTrue();
+        assertThat(bus.subscribe(1L, Long.MAX_VALUE).isResetRequired()).isTrue();
+    }
+
+    private static StockStreamProperties properties(int replaySize, int subscriberBuffer) {
+        StockStreamProperties properties = new StockStreamProperties();
+        properties.setReplaySize(replaySize);
+        properties.setSubscriberBuffer(subscriberBuffer);
+        return properties;
+    }
+
+    private static StockChangedEvent change(Long warehouseId, Long productId, int delta, int quantity) {
+        return new StockChangedEvent(warehouseId, productId, "Товар " + productId, delta, quantity);
+    }
+
+    private static List<StockChangeBus.StockDelta> drain(StockChangeBus.Subscription subscription)
+            throws InterruptedException {
+        List<StockChangeBus.StockDelta> received = new ArrayList<>();
+        StockChangeBus.StockDelta delta;
+        while ((delta = subscription.poll(NO_WAIT)) != null) {
+            received.add(delta);
+        }
+        return received;
+    }
+}
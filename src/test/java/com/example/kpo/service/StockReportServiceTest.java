@@ -10,13 +10,16 @@ import com.example.kpo.entity.Warehouse;
 import com.example.kpo.repository.CategoryRepository;
 import com.example.kpo.repository.MovementRepository;
 import com.example.kpo.repository.WarehouseRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -27,6 +30,7 @@ import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -42,11 +46,19 @@ class StockReportServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private MovementArchiveService movementArchiveService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private StockReportService stockReportService;
 
     @BeforeEach
     void setUp() {
-        stockReportService = new StockReportService(movementRepository, warehouseRepository, categoryRepository);
+        stockReportService = new StockReportService(movementRepository, warehouseRepository, categoryRepository,
+                movementArchiveService, new SimpleMeterRegistry(), transactionManager);
+        when(movementArchiveService.getPosition()).thenReturn(new MovementArchiveService.ArchivePosition(null, 0L));
     }
 
     @Test
@@ -161,7 +173,10 @@ class StockReportServiceTest {
         stockReportService.generateStockReport(request);
 
         ArgumentCaptor<LocalDateTime> captor = ArgumentCaptor.forClass(LocalDateTime.class);
-        verify(movementRepository).findAllForReport(captor.capture());
+        InOrder order = inOrder(transactionManager, movementRepository);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(movementRepository).findAllForReport(captor.capture());
+        order.verify(transactionManager).commit(any());
         assertThat(captor.getValue()).isEqualTo(request.getReportDate().atTime(LocalTime.MAX));
     }
 
@@ -0,0 +1,44 @@
+package com.example.kpo.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+    @Test
+    @DisplayName("Кавычки, запятые и переводы строк внутри поля читаются по RFC 4180")
+    void readsQuotedFields() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(
+                "\uFEFFname,info\r\n\"Чайник, белый\",\"две\nстроки\"\r\n\"\"\"Кавычки\"\"\",\n\nпоследняя,"), 1024);
+
+        assertThat(reader.readRecord()).containsExactly("name", "info");
+        assertThat(reader.getRecordLine()).isEqualTo(1);
+        assertThat(reader.readRecord()).containsExactly("Чайник, белый", "две\nстроки");
+        assertThat(reader.getRecordLine()).isEqualTo(2);
+        assertThat(reader.readRecord()).containsExactly("\"Кавычки\"", "");
+        assertThat(reader.getRecordLine()).isEqualTo(4);
+        assertThat(reader.readRecord()).containsExactly("");
+        assertThat(reader.readRecord()).containsExactly("последняя", "");
+        assertThat(reader.getRecordLine()).isEqualTo(6);
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    @DisplayName("Незакрытая кавычка и слишком длинная запись отклоняются")
+    void rejectsBrokenRecords() throws IOException {
+        CsvReader unterminated = new CsvReader(new StringReader("name\n\"без конца\n"), 1024);
+        unterminated.readRecord();
+        assertThatThrownBy(unterminated::readRecord)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Line 2");
+
+        CsvReader tooLong = new CsvReader(new StringReader("\"" + "x".repeat(100)), 10);
+        assertThatThrownBy(tooLong::readRecord).isInstanceOf(IllegalArgumentException.class);
+    }
+}